@@ -0,0 +1,143 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Employee;
+import io.github.chitralabs.sheetz.examples.model.Order;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixture data shared by all benchmarks.
+ *
+ * Rows are generated the same way E03 generates its large CSV, so every run
+ * (and every fork) measures the same bytes. Input files are written once to
+ * {@code target/bench-data/} and reused by later forks and runs.
+ */
+public final class BenchmarkData {
+
+    /** Row limit of the legacy XLS (BIFF8) format, header row included. */
+    public static final int XLS_MAX_ROWS = 65_536;
+
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Marketing", "Sales", "Finance", "Support"};
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    private static final Path DATA_DIR = Paths.get(System.getProperty("sheetz.bench.dir", "target/bench-data"));
+
+    private BenchmarkData() {}
+
+    /**
+     * Resolves a model name used in {@code @Param} to its class.
+     */
+    public static Class<?> modelClass(String model) {
+        switch (model) {
+            case "Product":  return Product.class;
+            case "Employee": return Employee.class;
+            case "Order":    return Order.class;
+            default: throw new IllegalArgumentException("Unknown model: " + model);
+        }
+    }
+
+    /**
+     * Generates {@code rows} instances of the given model.
+     */
+    public static List<?> rows(String model, int rows) {
+        switch (model) {
+            case "Product":  return products(rows);
+            case "Employee": return employees(rows);
+            case "Order":    return orders(rows);
+            default: throw new IllegalArgumentException("Unknown model: " + model);
+        }
+    }
+
+    public static List<Product> products(int rows) {
+        List<Product> data = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            data.add(new Product(
+                "Product-" + i,
+                10.0 + (i % 500),
+                i % 3 != 0,
+                BASE_DATE.plusDays(i % 365),
+                CATEGORIES[i % CATEGORIES.length]
+            ));
+        }
+        return data;
+    }
+
+    public static List<Employee> employees(int rows) {
+        List<Employee> data = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            data.add(new Employee(
+                "Employee-" + i,
+                DEPARTMENTS[i % DEPARTMENTS.length],
+                50_000.0 + (i % 1000) * 75,
+                BASE_DATE.minusDays(i % 3650)
+            ));
+        }
+        return data;
+    }
+
+    public static List<Order> orders(int rows) {
+        List<Order> data = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            data.add(new Order(
+                "ORD-" + i,
+                "Product-" + (i % 1000),
+                1 + i % 10,
+                BigDecimal.valueOf(500 + (i % 100_000), 2)
+            ));
+        }
+        return data;
+    }
+
+    /**
+     * Returns the path of a fixture file, writing it on first use.
+     *
+     * @throws IllegalArgumentException if the row count does not fit the format
+     */
+    public static String file(String model, int rows, String format) {
+        checkCapacity(rows, format);
+        Path path = DATA_DIR.resolve(model.toLowerCase() + "-" + rows + "." + format);
+        if (!Files.exists(path)) {
+            try {
+                Files.createDirectories(DATA_DIR);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Sheetz.write(rows(model, rows), path.toString());
+        }
+        return path.toString();
+    }
+
+    /**
+     * Returns a fresh output path for write benchmarks.
+     */
+    public static String outputFile(String name, String format) {
+        try {
+            Files.createDirectories(DATA_DIR);
+            return Files.createTempFile(DATA_DIR, name + "-", "." + format).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fails fast for parameter combinations the file format cannot hold,
+     * so JMH reports a clear error instead of a POI exception mid-run.
+     */
+    public static void checkCapacity(int rows, String format) {
+        if ("xls".equals(format) && rows + 1 > XLS_MAX_ROWS) {
+            throw new IllegalArgumentException(
+                "XLS holds at most " + (XLS_MAX_ROWS - 1) + " data rows; run with -p format=csv,xlsx for " + rows + " rows");
+        }
+    }
+}
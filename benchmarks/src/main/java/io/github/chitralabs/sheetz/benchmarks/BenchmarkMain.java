@@ -0,0 +1,31 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * Accepts the usual JMH command line and always attaches the GC profiler, so every
+ * result carries {@code gc.alloc.rate} and {@code gc.alloc.rate.norm} (bytes per operation)
+ * next to throughput and the sample-time percentiles (p0.99).
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ReadBenchmark -p format=csv -p rows=100000
+ * </pre>
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
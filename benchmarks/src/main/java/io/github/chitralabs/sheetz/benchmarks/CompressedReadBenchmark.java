@@ -0,0 +1,94 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.csv.Compression;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A 1M-row {@code Product} CSV read as in E29, plain, gzip-compressed and
+ * zipped, next to inflating the gzip file alone, with and without the
+ * read-ahead thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CompressedReadBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    @Param({"csv", "csv.gz", "zip", "inflate", "inflate-read-ahead"})
+    public String input;
+
+    private Path path;
+    private Path gz;
+
+    @Setup
+    public void setup() throws IOException {
+        Path csv = Paths.get(BenchmarkData.file("Product", ROWS, "csv"));
+        gz = Paths.get(csv + ".gz");
+        if (!Files.exists(gz)) {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz), 1 << 16)) {
+                Files.copy(csv, out);
+            }
+        }
+        Path zip = Paths.get(csv + ".zip");
+        if (!Files.exists(zip)) {
+            try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+                out.putNextEntry(new ZipEntry(csv.getFileName().toString()));
+                Files.copy(csv, out);
+            }
+        }
+        path = "csv".equals(input) ? csv : "zip".equals(input) ? zip : gz;
+    }
+
+    @Benchmark
+    public long read(Blackhole bh) throws IOException {
+        if (input.startsWith("inflate")) return inflate(input.endsWith("read-ahead"));
+        long rows = 0;
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path, Product.class, ',')) {
+            for (Product p : reader) {
+                bh.consume(p);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /** Inflates the gzip file without parsing it, the floor for reading {@code csv.gz}. */
+    private long inflate(boolean readAhead) throws IOException {
+        long bytes = 0;
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Compression.GZIP.open(gz, readAhead)) {
+            for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                bytes += n;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.converter.CachingConverter;
+import io.github.chitralabs.sheetz.examples.converter.MoneyConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing an Amount column, as in E07: {@link MoneyConverter} on every cell
+ * against {@link CachingConverter}, for few and for mostly distinct values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConverterBenchmark {
+
+    private static final int CELLS = 100_000;
+
+    @Param({"50", "100000"})
+    public int distinct;
+
+    private String[] cells;
+    private MoneyConverter plain;
+    private CachingConverter<BigDecimal> cached;
+
+    @Setup
+    public void setup() {
+        MoneyConverter converter = new MoneyConverter();
+        cells = new String[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            // New String instances, as a reader would produce
+            cells[i] = new String((String) converter.toCell(BigDecimal.valueOf(999 + (i % distinct) * 500L, 2)));
+        }
+        plain = converter;
+        cached = CachingConverter.of(new MoneyConverter());
+    }
+
+    @Benchmark
+    public void moneyConverter(Blackhole bh) {
+        for (String cell : cells) {
+            bh.consume(plain.fromCell(cell, null));
+        }
+    }
+
+    @Benchmark
+    public void cachingConverter(Blackhole bh) {
+        for (String cell : cells) {
+            bh.consume(cached.fromCell(cell, null));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.columnar.ColumnarReader;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.ParallelCsvReader;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.model.ProductRecord;
+import io.github.chitralabs.sheetz.reader.StreamingReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV input paths side by side, as in E03, E09, E10, E12 and E22: {@code Sheetz.stream},
+ * the memory-mapped tokenizer with and without object reuse, the parallel range
+ * reader and the columnar reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+public class CsvReaderBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private String path;
+
+    /** Only the parallel reader is parameterised by worker count. */
+    @State(Scope.Benchmark)
+    public static class Workers {
+        @Param({"1", "4"})
+        public int parallelism;
+    }
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Product", rows, "csv");
+    }
+
+    @Benchmark
+    public void sheetzStream(Blackhole bh) {
+        try (StreamingReader<Product> reader = Sheetz.stream(path, Product.class)) {
+            for (Product p : reader) {
+                bh.consume(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapped(Blackhole bh) {
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path, Product.class)) {
+            for (Product p : reader) {
+                bh.consume(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public void mappedReuse(Blackhole bh) {
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path, Product.class).reuse(1)) {
+            for (Product p : reader) {
+                bh.consume(p);
+            }
+        }
+    }
+
+    /** Reuse with primitive price and stock fields, so nothing is boxed. */
+    @Benchmark
+    public void mappedReuseRecord(Blackhole bh) {
+        try (MappedCsvReader<ProductRecord> reader = MappedCsvReader.open(path, ProductRecord.class).reuse(1)) {
+            for (ProductRecord p : reader) {
+                bh.consume(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object columnar() {
+        return ColumnarReader.of(path)
+                .doubles("Price")
+                .dates("Release Date")
+                .strings("Category")
+                .read();
+    }
+
+    @Benchmark
+    public void parallel(Workers workers, Blackhole bh) {
+        ParallelCsvReader.of(Product.class)
+                .file(path)
+                .parallelism(workers.parallelism)
+                .ordered(false)
+                .forEach(bh::consume);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.ParallelCsvWriter;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 1M-row {@code Product} CSV export as in E28: {@code Sheetz.write}, the
+ * single-threaded {@link MappedCsvWriter}, and {@link ParallelCsvWriter} at
+ * 1, 4 and 8 threads, and at 8 threads with gzip level 1.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CsvWriterBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    @Param({"sheetz", "mapped", "parallel-1", "parallel-4", "parallel-8", "parallel-8-gzip"})
+    public String writer;
+
+    private List<Product> products;
+    private String path;
+
+    @Setup
+    public void setup() {
+        products = BenchmarkData.products(ROWS);
+        path = BenchmarkData.outputFile("csv-writer", "csv");
+    }
+
+    @Benchmark
+    public long write() {
+        switch (writer) {
+            case "sheetz":
+                Sheetz.write(products, path);
+                return products.size();
+            case "mapped":
+                try (MappedCsvWriter<Product> out = MappedCsvWriter.open(path, Product.class)) {
+                    out.writeAll(products.iterator());
+                    return out.rowCount();
+                }
+            case "parallel-8-gzip":
+                return ParallelCsvWriter.of(Product.class).file(path).parallelism(8).gzip(1).write(products);
+            default:
+                int threads = Integer.parseInt(writer.substring("parallel-".length()));
+                return ParallelCsvWriter.of(Product.class).file(path).parallelism(threads).write(products);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.csv.DeltaCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.RowChange;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-importing an unchanged file, as in E24: mapping every row with the
+ * memory-mapped reader against hashing every row with {@link DeltaCsvReader}
+ * and mapping none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DeltaBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private String path;
+    private Path store;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Product", rows, "csv");
+        store = Paths.get(BenchmarkData.outputFile("delta-" + rows, "rowhash"));
+        try {
+            // Start from no store, so that the first import records every row
+            Files.delete(store);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (DeltaCsvReader<Product> delta = open()) {
+            delta.forEach(change -> { });
+            delta.commit();
+        }
+    }
+
+    @Benchmark
+    public void fullRead(Blackhole bh) {
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path, Product.class)) {
+            reader.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public long delta(Blackhole bh) {
+        try (DeltaCsvReader<Product> delta = open()) {
+            for (RowChange<Product> change : delta) {
+                bh.consume(change);
+            }
+            return delta.unchanged();
+        }
+    }
+
+    private DeltaCsvReader<Product> open() {
+        return DeltaCsvReader.of(Paths.get(path), Product.class)
+                .key("Product Name")
+                .store(store)
+                .open();
+    }
+}
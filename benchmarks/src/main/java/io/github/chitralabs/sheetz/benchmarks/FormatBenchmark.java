@@ -0,0 +1,120 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.converter.MoneyConverter;
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvWriter;
+import io.github.chitralabs.sheetz.examples.mapping.CompiledFormat;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting the {@code Product} price and date columns and the {@code Order}
+ * amount, as in E27: {@link DecimalFormat}, {@link DateTimeFormatter} and
+ * {@code String.format} per value against {@link CompiledFormat} into a reused
+ * builder, and a 100K-row CSV export each way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class FormatBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private List<Product> products;
+    private BigDecimal[] amounts;
+    private DecimalFormat decimalFormat;
+    private DateTimeFormatter dateFormatter;
+    private CompiledFormat price;
+    private CompiledFormat date;
+    private MoneyConverter money;
+    private StringBuilder cell;
+    private String exportPath;
+
+    @Setup
+    public void setup() {
+        products = BenchmarkData.products(ROWS);
+        amounts = new BigDecimal[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            amounts[i] = BigDecimal.valueOf(i * 1999L, 2);
+        }
+        decimalFormat = new DecimalFormat("#,##0.00");
+        dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        price = CompiledFormat.number("#,##0.00");
+        date = CompiledFormat.date("yyyy-MM-dd");
+        money = new MoneyConverter();
+        cell = new StringBuilder(32);
+        exportPath = BenchmarkData.outputFile("format", "csv");
+    }
+
+    @Benchmark
+    public void formatterPerValue(Blackhole bh) {
+        for (Product p : products) {
+            bh.consume(decimalFormat.format(p.getPrice()));
+            bh.consume(dateFormatter.format(p.getReleaseDate()));
+        }
+    }
+
+    @Benchmark
+    public void compiled(Blackhole bh) {
+        for (Product p : products) {
+            cell.setLength(0);
+            price.format(p.getPrice(), cell);
+            date.format(p.getReleaseDate(), cell);
+            bh.consume(cell.length());
+        }
+    }
+
+    @Benchmark
+    public void moneyStringFormat(Blackhole bh) {
+        for (BigDecimal amount : amounts) {
+            bh.consume("$" + String.format("%,.2f", amount));
+        }
+    }
+
+    @Benchmark
+    public void moneyConverter(Blackhole bh) {
+        for (BigDecimal amount : amounts) {
+            bh.consume(money.toCell(amount));
+        }
+    }
+
+    @Benchmark
+    public void exportFormatter() {
+        try (CsvWriter writer = CsvWriter.open(Paths.get(exportPath), ',')) {
+            writer.write(new String[] {"Product Name", "Price", "In Stock", "Release Date", "Category"});
+            for (Product p : products) {
+                writer.write(new String[] {
+                    p.getName(), decimalFormat.format(p.getPrice()), String.valueOf(p.getInStock()),
+                    dateFormatter.format(p.getReleaseDate()), p.getCategory()
+                });
+            }
+        }
+    }
+
+    @Benchmark
+    public void exportCompiled() {
+        try (MappedCsvWriter<Product> writer = MappedCsvWriter.open(exportPath, Product.class)) {
+            writer.writeAll(products.iterator());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.metrics.CountingMetrics;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+import io.github.chitralabs.sheetz.examples.metrics.SheetzMetrics;
+import io.github.chitralabs.sheetz.examples.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of the metrics hooks from E18 on the memory-mapped reader: nothing
+ * registered, per-file and per-batch totals only, and detailed timing with
+ * allocation measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+public class MetricsBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"none", "counting", "detailed"})
+    public String metrics;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Order", rows, "csv");
+        switch (metrics) {
+            case "counting": Metrics.register(new CountingMetrics(false)); break;
+            case "detailed": Metrics.register(new CountingMetrics(true)); break;
+            default:         Metrics.register(SheetzMetrics.NONE);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metrics.reset();
+    }
+
+    @Benchmark
+    public void mapped(Blackhole bh) {
+        try (MappedCsvReader<Order> reader = MappedCsvReader.open(path, Order.class)) {
+            for (Order order : reader) {
+                bh.consume(order);
+            }
+        }
+    }
+}
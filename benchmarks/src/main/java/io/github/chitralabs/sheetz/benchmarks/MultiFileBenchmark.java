@@ -0,0 +1,69 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.multifile.MultiFileReader;
+import io.github.chitralabs.sheetz.examples.multifile.MultiFileResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A drop folder as in E26: {@code files} small CSV files with a large one
+ * every 500, read one at a time against {@link MultiFileReader#readAll} on
+ * all cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MultiFileBenchmark {
+
+    @Param({"1000"})
+    public int files;
+
+    private List<Path> paths;
+    private MultiFileReader<Product> reader;
+
+    @Setup
+    public void setup() {
+        Path small = Paths.get(BenchmarkData.file("Product", 100, "csv"));
+        Path large = Paths.get(BenchmarkData.file("Product", 100_000, "csv"));
+        paths = new ArrayList<>(files);
+        for (int f = 0; f < files; f++) {
+            paths.add(f % 500 == 0 ? large : small);
+        }
+        reader = MultiFileReader.of(Product.class).maxInFlightBytes(256L << 20);
+    }
+
+    @Benchmark
+    public void sequential(Blackhole bh) {
+        for (Path path : paths) {
+            try (MappedCsvReader<Product> csv = MappedCsvReader.open(path.toString(), Product.class)) {
+                csv.forEach(bh::consume);
+            }
+        }
+    }
+
+    @Benchmark
+    public MultiFileResult<Product> readAll() {
+        return reader.readAll(paths);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Employee;
+import io.github.chitralabs.sheetz.examples.model.Order;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.xlsx.ParallelWorkbookWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XLSX workbooks, as in E14: {@code Sheetz.workbook()} against
+ * {@link ParallelWorkbookWriter} with one sheet per model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelWorkbookBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private List<Product> products;
+    private List<Employee> employees;
+    private List<Order> orders;
+    private String path;
+
+    /** Only the parallel writer is parameterised by thread count. */
+    @State(Scope.Benchmark)
+    public static class Threads {
+        @Param({"1", "3"})
+        public int parallelism;
+    }
+
+    @Setup
+    public void setup() {
+        products = BenchmarkData.products(rows);
+        employees = BenchmarkData.employees(rows);
+        orders = BenchmarkData.orders(rows);
+        path = BenchmarkData.outputFile("parallel-workbook-" + rows, "xlsx");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(path));
+    }
+
+    @Benchmark
+    public void sheetzWorkbook() {
+        Sheetz.workbook()
+              .sheet("Products", products)
+              .sheet("Employees", employees)
+              .sheet("Orders", orders)
+              .write(path);
+    }
+
+    @Benchmark
+    public void parallel(Threads threads) {
+        ParallelWorkbookWriter.create()
+              .sheet("Products", products)
+              .sheet("Employees", employees)
+              .sheet("Orders", orders)
+              .parallelism(threads.parallelism)
+              .write(path);
+    }
+}
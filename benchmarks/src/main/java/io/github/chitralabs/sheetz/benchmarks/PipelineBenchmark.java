@@ -0,0 +1,79 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.pipeline.BatchPipeline;
+import io.github.chitralabs.sheetz.reader.StreamingReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bulk import as in E21: {@code batch(n).forEach(...)} against
+ * {@link BatchPipeline} with 1 to 8 consumers. Each batch waits
+ * {@code insertMillis} to stand in for a database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class PipelineBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"csv", "xlsx"})
+    public String format;
+
+    @Param({"5000"})
+    public int batchSize;
+
+    @Param({"1", "4", "8"})
+    public int consumers;
+
+    @Param({"20"})
+    public int insertMillis;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Product", rows, format);
+    }
+
+    @Benchmark
+    public void batchForEach() {
+        try (StreamingReader<Product> reader = Sheetz.stream(path, Product.class)) {
+            reader.batch(batchSize).forEach(this::insert);
+        }
+    }
+
+    @Benchmark
+    public long pipeline() {
+        try (StreamingReader<Product> reader = Sheetz.stream(path, Product.class)) {
+            return BatchPipeline.from(reader)
+                    .batchSize(batchSize)
+                    .consumers(consumers)
+                    .run(this::insert)
+                    .rows();
+        }
+    }
+
+    private void insert(List<Product> batch) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(insertMillis));
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.xlsx.ProjectedXlsxReader;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxRowWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the five Product columns out of a wide sheet, as in E19:
+ * {@code Sheetz.reader(...).read()} against {@link ProjectedXlsxReader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ProjectionBenchmark {
+
+    private static final String[] MAPPED = {"Product Name", "Price", "In Stock", "Release Date", "Category"};
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"5", "50", "200"})
+    public int columns;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.outputFile("wide-" + columns, "xlsx");
+        String[] header = new String[columns];
+        for (int c = 0; c < columns; c++) {
+            header[c] = "Attribute " + (c + 1);
+        }
+        // Spread the mapped columns across the sheet
+        int step = columns / MAPPED.length;
+        for (int m = 0; m < MAPPED.length; m++) {
+            header[m * step] = MAPPED[m];
+        }
+        List<Product> products = BenchmarkData.products(rows);
+        try (XlsxRowWriter writer = XlsxRowWriter.open(Paths.get(path), "Products", header)) {
+            String[] row = new String[columns];
+            for (int i = 0; i < rows; i++) {
+                Product p = products.get(i);
+                Arrays.fill(row, "attr-" + (i % 97));
+                row[0] = p.getName();
+                row[step] = String.valueOf(p.getPrice());
+                row[2 * step] = String.valueOf(p.getInStock());
+                row[3 * step] = String.valueOf(p.getReleaseDate());
+                row[4 * step] = p.getCategory();
+                writer.write(row);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(path));
+    }
+
+    @Benchmark
+    public List<Product> sheetzReader() {
+        return Sheetz.reader(Product.class).file(path).sheet("Products").read();
+    }
+
+    @Benchmark
+    public List<Product> projected() {
+        return ProjectedXlsxReader.of(Product.class).file(path).sheet("Products").read();
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.RawCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.RowView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A filter over every row of a {@code Product} CSV as in E31: the category
+ * and price of each row checked through {@code Sheetz.readRaw} and through
+ * the reusable {@link RowView} of {@link RawCsvReader}. Compare
+ * {@code gc.alloc.rate.norm} as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RawReadBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Product", rows, "csv");
+    }
+
+    @Benchmark
+    public long readRaw() {
+        List<String[]> raw = Sheetz.readRaw(path);
+        long matches = 0;
+        for (int i = 1; i < raw.size(); i++) {
+            String[] row = raw.get(i);
+            if ("Office".equals(row[4]) && Double.parseDouble(row[1].replace(",", "")) > 300) matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public long rowView() {
+        long matches = 0;
+        try (RawCsvReader reader = RawCsvReader.open(path)) {
+            for (RowView row : reader) {
+                if (row.cellEquals(4, "Office") && row.getDouble(1) > 300) matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-file reads, as in E01 and E08: {@code Sheetz.read}, {@code readMaps} and {@code readRaw}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReadBenchmark {
+
+    @Param({"Product", "Employee", "Order"})
+    public String model;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"csv", "xlsx", "xls"})
+    public String format;
+
+    private Class<?> modelClass;
+    private String path;
+
+    @Setup
+    public void setup() {
+        modelClass = BenchmarkData.modelClass(model);
+        path = BenchmarkData.file(model, rows, format);
+    }
+
+    @Benchmark
+    public List<?> read() {
+        return Sheetz.read(path, modelClass);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> readMaps() {
+        return Sheetz.readMaps(path);
+    }
+
+    @Benchmark
+    public List<String[]> readRaw() {
+        return Sheetz.readRaw(path);
+    }
+}
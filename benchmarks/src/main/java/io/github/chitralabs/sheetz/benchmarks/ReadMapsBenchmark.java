@@ -0,0 +1,57 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.columnar.ColumnTable;
+import io.github.chitralabs.sheetz.examples.columnar.ColumnarReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema-free reads as in E30: {@code Sheetz.readMaps} against
+ * {@code ColumnarReader.inferAll()}, for CSV and XLSX. Compare
+ * {@code gc.alloc.rate.norm} as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReadMapsBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"csv", "xlsx"})
+    public String format;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Order", rows, format);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> readMaps() {
+        return Sheetz.readMaps(path);
+    }
+
+    @Benchmark
+    public ColumnTable inferred() {
+        return ColumnarReader.of(path).inferAll().read();
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.RowIndex;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading one page from the middle of a CSV, as in E23: scanning from row 1
+ * against seeking through a {@link RowIndex} with checkpoints every
+ * {@code interval} rows. {@code build} is the one-off cost of the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class RowIndexBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"100"})
+    public int page;
+
+    @Param({"64", "1024", "16384"})
+    public int interval;
+
+    private String path;
+    private RowIndex index;
+    private long fromRow;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Product", rows, "csv");
+        index = RowIndex.build(Paths.get(path), ',', interval);
+        fromRow = rows / 2;
+    }
+
+    @Benchmark
+    public void scan(Blackhole bh) {
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path, Product.class)) {
+            for (Product p : reader) {
+                if (reader.row() >= fromRow) bh.consume(p);
+                if (reader.row() == fromRow + page - 1) break;
+            }
+        }
+    }
+
+    @Benchmark
+    public void seek(Blackhole bh) {
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path, Product.class)
+                .index(index)
+                .fromRow(fromRow)
+                .limit(page)) {
+            reader.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public RowIndex build() {
+        return RowIndex.build(Paths.get(path), ',', interval);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.examples.xlsx.SharedStringsStore;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxSheetReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Reading a sheet whose text cells are all distinct, as in E20, with the
+ * shared-string table on the heap, off-heap or in a mapped temp file.
+ * Cache size 0 decodes every lookup from the encoded table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SharedStringsBenchmark {
+
+    @Param({"200000"})
+    public int rows;
+
+    @Param({"ON_HEAP", "OFF_HEAP", "TEMP_FILE"})
+    public SharedStringsStore store;
+
+    @Param({"0", "1024"})
+    public int stringCache;
+
+    private Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        path = Paths.get(BenchmarkData.outputFile("shared-strings", "xlsx"));
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(path));
+             Writer out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8))) {
+            part(zip, out, "xl/workbook.xml", "<workbook xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                    + "<sheets><sheet name=\"Ledger\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+            part(zip, out, "xl/_rels/workbook.xml.rels", "<Relationships>"
+                    + "<Relationship Id=\"rId1\" Target=\"worksheets/sheet1.xml\"/></Relationships>");
+
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            out.write("<worksheet><sheetData>");
+            for (int i = 0; i < rows; i++) {
+                out.write("<row r=\"" + (i + 1) + "\"><c t=\"s\"><v>" + 2 * i + "</v></c><c t=\"s\"><v>" + (2 * i + 1) + "</v></c></row>");
+            }
+            out.write("</sheetData></worksheet>");
+            out.flush();
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+            out.write("<sst>");
+            for (int i = 0; i < rows; i++) {
+                out.write("<si><t>TXN-" + i + "-" + Integer.toHexString(i * 0x9E3779B1) + "</t></si>");
+                out.write("<si><t>Settlement " + i + " for account " + (i * 7919 % 100_000) + "</t></si>");
+            }
+            out.write("</sst>");
+            out.flush();
+            zip.closeEntry();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public long read() {
+        long chars = 0;
+        try (XlsxSheetReader reader = XlsxSheetReader.of(path)
+                .sharedStrings(store)
+                .stringCache(stringCache)
+                .open()) {
+            while (reader.next()) {
+                chars += reader.cell(0).length() + reader.cell(1).length();
+            }
+        }
+        return chars;
+    }
+
+    private static void part(ZipOutputStream zip, Writer out, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(xml);
+        out.flush();
+        zip.closeEntry();
+    }
+}
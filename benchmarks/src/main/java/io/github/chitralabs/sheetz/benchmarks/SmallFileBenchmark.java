@@ -0,0 +1,66 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.mapping.ColumnMapper;
+import io.github.chitralabs.sheetz.examples.mapping.ModelRegistry;
+import io.github.chitralabs.sheetz.examples.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fixed cost of reading a small file, as in E25: {@code Sheetz.read}
+ * against the memory-mapped reader, whose mapper comes from
+ * {@link ModelRegistry}; {@code mapper} is that lookup alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class SmallFileBenchmark {
+
+    private static final String[] HEADER = {"Order ID", "Product", "Quantity", "Amount"};
+
+    @Param({"10", "100"})
+    public int rows;
+
+    private String path;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkData.file("Order", rows, "csv");
+        ModelRegistry.warm(Order.class, HEADER);
+    }
+
+    @Benchmark
+    public List<Order> sheetzRead() {
+        return Sheetz.read(path, Order.class);
+    }
+
+    @Benchmark
+    public void mappedRead(Blackhole bh) {
+        try (MappedCsvReader<Order> reader = MappedCsvReader.open(path, Order.class)) {
+            reader.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public ColumnMapper<Order> mapper() {
+        return ColumnMapper.of(Order.class, HEADER);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.reader.StreamingReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming reads, as in E03: row iterator, {@code batch(n)} and {@code stream()}.
+ *
+ * The heap is deliberately small so that a reader which stops streaming and
+ * buffers the file shows up as a failure rather than as a slower number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+public class StreamBenchmark {
+
+    @Param({"Product", "Employee", "Order"})
+    public String model;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"csv", "xlsx", "xls"})
+    public String format;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private Class<?> modelClass;
+    private String path;
+
+    @Setup
+    public void setup() {
+        modelClass = BenchmarkData.modelClass(model);
+        path = BenchmarkData.file(model, rows, format);
+    }
+
+    @Benchmark
+    public void iterator(Blackhole bh) {
+        try (StreamingReader<?> reader = Sheetz.stream(path, modelClass)) {
+            for (Object row : reader) {
+                bh.consume(row);
+            }
+        }
+    }
+
+    @Benchmark
+    public void batch(Blackhole bh) {
+        try (StreamingReader<?> reader = Sheetz.stream(path, modelClass)) {
+            reader.batch(batchSize).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public long stream() {
+        try (StreamingReader<?> reader = Sheetz.stream(path, modelClass)) {
+            return reader.stream().count();
+        }
+    }
+}
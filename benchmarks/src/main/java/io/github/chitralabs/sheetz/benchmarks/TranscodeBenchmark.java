@@ -0,0 +1,62 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.transcode.Transcoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XLSX to CSV, as in E17: {@code Sheetz.read} then {@code Sheetz.write}
+ * against the streaming {@link Transcoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TranscodeBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private String source;
+    private String target;
+
+    @Setup
+    public void setup() {
+        source = BenchmarkData.file("Product", rows, "xlsx");
+        target = BenchmarkData.outputFile("transcode-" + rows, "csv");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(target));
+    }
+
+    @Benchmark
+    public void readThenWrite() {
+        Sheetz.write(Sheetz.read(source, Product.class), target);
+    }
+
+    @Benchmark
+    public long transcoder() {
+        return Transcoder.from(source).to(target).convert();
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Employee;
+import io.github.chitralabs.sheetz.examples.model.Order;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-sheet writes, as in E06: {@code Sheetz.workbook()} with one sheet per model.
+ *
+ * CSV has no sheets, so only XLSX and XLS are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WorkbookBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"xlsx", "xls"})
+    public String format;
+
+    private List<Product> products;
+    private List<Employee> employees;
+    private List<Order> orders;
+    private String path;
+
+    @Setup
+    public void setup() {
+        BenchmarkData.checkCapacity(rows, format);
+        products = BenchmarkData.products(rows);
+        employees = BenchmarkData.employees(rows);
+        orders = BenchmarkData.orders(rows);
+        path = BenchmarkData.outputFile("workbook-" + rows, format);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(path));
+    }
+
+    @Benchmark
+    public void workbook() {
+        Sheetz.workbook()
+              .sheet("Products", products)
+              .sheet("Employees", employees)
+              .sheet("Orders", orders)
+              .write(path);
+    }
+}
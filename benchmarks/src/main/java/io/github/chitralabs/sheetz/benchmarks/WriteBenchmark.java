@@ -0,0 +1,74 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-sheet writes, as in E05: {@code Sheetz.writer(...)}.
+ *
+ * The rows are generated once per trial; only serialization is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class WriteBenchmark {
+
+    @Param({"Product", "Employee", "Order"})
+    public String model;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"csv", "xlsx", "xls"})
+    public String format;
+
+    private Class<?> modelClass;
+    private List<?> data;
+    private String path;
+
+    @Setup
+    public void setup() {
+        BenchmarkData.checkCapacity(rows, format);
+        modelClass = BenchmarkData.modelClass(model);
+        data = BenchmarkData.rows(model, rows);
+        path = BenchmarkData.outputFile("write-" + model.toLowerCase() + "-" + rows, format);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(path));
+    }
+
+    @Benchmark
+    public void writer() {
+        write(modelClass, data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void write(Class<T> type, List<?> rows) {
+        Sheetz.writer(type)
+              .data((List<T>) rows)
+              .file(path)
+              .write();
+    }
+}
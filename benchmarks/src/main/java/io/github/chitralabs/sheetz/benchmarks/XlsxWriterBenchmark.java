@@ -0,0 +1,80 @@
+package io.github.chitralabs.sheetz.benchmarks;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.xlsx.StreamingXlsxWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XLSX export, as in E13: {@code Sheetz.writer(...)} against the windowed
+ * {@link StreamingXlsxWriter}. Watch {@code gc.alloc.rate.norm} as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class XlsxWriterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private List<Product> data;
+    private String path;
+
+    /** Only the streaming writer is parameterised by window size. */
+    @State(Scope.Benchmark)
+    public static class Window {
+        @Param({"100", "1000"})
+        public int rows;
+    }
+
+    @Setup
+    public void setup() {
+        data = BenchmarkData.products(rows);
+        path = BenchmarkData.outputFile("xlsx-writer-" + rows, "xlsx");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(path));
+    }
+
+    @Benchmark
+    public void sheetzWriter() {
+        Sheetz.writer(Product.class)
+              .data(data)
+              .file(path)
+              .write();
+    }
+
+    @Benchmark
+    public void streaming(Window window) {
+        try (StreamingXlsxWriter<Product> writer = StreamingXlsxWriter.of(Product.class)
+                .file(path)
+                .window(window.rows)
+                .open()) {
+            for (Product p : data) {
+                writer.write(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package io.github.chitralabs.sheetz.examples.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code ModelAccessor} for every class with {@code @Column} fields.
+ *
+ * For {@code com.acme.Product} it writes {@code com.acme.Product_SheetzAccessor},
+ * which creates instances with {@code new Product()} and reads and writes each
+ * mapped field through its getter and setter (or directly, if the field is not
+ * private). The examples' {@code ModelAccessors} picks it up by name, so
+ * mapping needs neither reflection nor runtime class spinning.
+ *
+ * Classes the generated code cannot reach (private classes, inner classes,
+ * private constructors, private fields without accessors) are reported as a
+ * note and keep using the runtime accessor.
+ */
+@SupportedAnnotationTypes(ModelAccessorProcessor.COLUMN)
+public class ModelAccessorProcessor extends AbstractProcessor {
+
+    static final String COLUMN = "io.github.chitralabs.sheetz.annotation.Column";
+    private static final String ACCESSOR = "io.github.chitralabs.sheetz.examples.mapping.ModelAccessor";
+    private static final String SUFFIX = "_SheetzAccessor";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Set<TypeElement> models = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    models.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement model : models) {
+            generate(model);
+        }
+        return false;
+    }
+
+    /** One mapped field and the source expressions used to read and write it. */
+    private static final class Slot {
+        final String name;
+        final TypeMirror type;
+        final String setter;
+        final String getter;
+
+        Slot(String name, TypeMirror type, String setter, String getter) {
+            this.name = name;
+            this.type = type;
+            this.setter = setter;
+            this.getter = getter;
+        }
+    }
+
+    private void generate(TypeElement model) {
+        String problem = unreachable(model);
+        List<Slot> slots = new ArrayList<>();
+        if (problem == null) {
+            for (VariableElement field : ElementFilter.fieldsIn(model.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT) || isIgnored(field)) {
+                    continue;
+                }
+                Slot slot = slot(model, field);
+                if (slot == null) {
+                    problem = "field '" + field.getSimpleName() + "' is private and has no setter or getter";
+                    break;
+                }
+                slots.add(slot);
+            }
+        }
+        if (problem != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No accessor generated for " + model.getQualifiedName() + ": " + problem, model);
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(model).getQualifiedName().toString();
+        String simpleName = flatName(model) + SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, model);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source(packageName, simpleName, model.getQualifiedName().toString(), slots));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + qualifiedName + ": " + e.getMessage(), model);
+        }
+    }
+
+    private String unreachable(TypeElement model) {
+        if (model.getKind() != ElementKind.CLASS || model.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "not a concrete class";
+        }
+        for (Element e = model; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return "class is private";
+            if (e.getEnclosingElement() instanceof TypeElement && !e.getModifiers().contains(Modifier.STATIC)) {
+                return "inner classes need an enclosing instance";
+            }
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(model.getEnclosedElements());
+        boolean noArg = constructors.isEmpty();
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                noArg = true;
+            }
+        }
+        return noArg ? null : "no accessible no-arg constructor";
+    }
+
+    private Slot slot(TypeElement model, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        TypeMirror type = field.asType();
+        boolean direct = !field.getModifiers().contains(Modifier.PRIVATE);
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        String setter = null;
+        String getter = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(model.getEnclosedElements())) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) continue;
+            String methodName = method.getSimpleName().toString();
+            if (methodName.equals("set" + capitalized) && method.getParameters().size() == 1
+                    && same(method.getParameters().get(0).asType(), type)) {
+                setter = "target." + methodName + "(%s)";
+            } else if (method.getParameters().isEmpty() && same(method.getReturnType(), type)
+                    && (methodName.equals("get" + capitalized) || (methodName.equals("is" + capitalized) && isBoolean(type)))) {
+                getter = "target." + methodName + "()";
+            }
+        }
+        if (setter == null && direct) setter = "target." + name + " = %s";
+        if (getter == null && direct) getter = "target." + name;
+        return setter == null || getter == null ? null : new Slot(name, type, setter, getter);
+    }
+
+    private boolean isIgnored(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(COLUMN)) continue;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("ignore")) {
+                    return Boolean.TRUE.equals(entry.getValue().getValue());
+                }
+            }
+        }
+        return false;
+    }
+
+    private String source(String packageName, String simpleName, String model, List<Slot> slots) {
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("public final class ").append(simpleName)
+           .append(" implements ").append(ACCESSOR).append("<").append(model).append("> {\n\n");
+
+        out.append("    private static final String[] FIELDS = {");
+        for (int i = 0; i < slots.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append('"').append(slots.get(i).name).append('"');
+        }
+        out.append("};\n\n");
+
+        out.append("    @Override\n    public String[] fieldNames() {\n        return FIELDS.clone();\n    }\n\n");
+        out.append("    @Override\n    public ").append(model).append(" newInstance() {\n        return new ")
+           .append(model).append("();\n    }\n\n");
+
+        out.append("    @Override\n    public void set(").append(model).append(" target, int slot, Object value) {\n");
+        out.append("        switch (slot) {\n");
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            String cast = "(" + boxedName(slot.type) + ") value";
+            out.append("            case ").append(i).append(": ").append(String.format(slot.setter, cast)).append("; return;\n");
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);\n        }\n    }\n\n");
+
+        primitiveSetter(out, model, slots, "setDouble", "double", TypeKind.DOUBLE, "java.lang.Double");
+        primitiveSetter(out, model, slots, "setLong", "long", TypeKind.LONG, "java.lang.Long");
+        primitiveSetter(out, model, slots, "setInt", "int", TypeKind.INT, "java.lang.Integer");
+        primitiveSetter(out, model, slots, "setBoolean", "boolean", TypeKind.BOOLEAN, "java.lang.Boolean");
+
+        out.append("    @Override\n    public Object get(").append(model).append(" target, int slot) {\n");
+        out.append("        switch (slot) {\n");
+        for (int i = 0; i < slots.size(); i++) {
+            out.append("            case ").append(i).append(": return ").append(slots.get(i).getter).append(";\n");
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);\n        }\n    }\n}\n");
+        return out.toString();
+    }
+
+    private void primitiveSetter(StringBuilder out, String model, List<Slot> slots, String method,
+                                 String primitive, TypeKind kind, String wrapper) {
+        out.append("    @Override\n    public void ").append(method).append("(").append(model)
+           .append(" target, int slot, ").append(primitive).append(" value) {\n");
+        out.append("        switch (slot) {\n");
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            if (slot.type.getKind() == kind || slot.type.toString().equals(wrapper)) {
+                out.append("            case ").append(i).append(": ").append(String.format(slot.setter, "value")).append("; return;\n");
+            }
+        }
+        out.append("            default: set(target, slot, value);\n        }\n    }\n\n");
+    }
+
+    private String boxedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private boolean same(TypeMirror a, TypeMirror b) {
+        return processingEnv.getTypeUtils().isSameType(a, b);
+    }
+
+    private static boolean isBoolean(TypeMirror type) {
+        return type.getKind() == TypeKind.BOOLEAN || type.toString().equals("java.lang.Boolean");
+    }
+
+    private static String flatName(TypeElement model) {
+        String name = model.getSimpleName().toString();
+        for (Element e = model.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name = e.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+}
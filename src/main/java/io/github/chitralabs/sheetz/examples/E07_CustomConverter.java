@@ -1,10 +1,14 @@
 package io.github.chitralabs.sheetz.examples;
 
 import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.annotation.Column;
+import io.github.chitralabs.sheetz.examples.converter.CachedMoneyConverter;
+import io.github.chitralabs.sheetz.examples.converter.CachingConverter;
 import io.github.chitralabs.sheetz.examples.converter.MoneyConverter;
 import io.github.chitralabs.sheetz.examples.model.Order;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -15,9 +19,30 @@ import java.util.List;
  * - Using @Column(converter = MoneyConverter.class) for per-field conversion
  * - Registering a converter globally with Sheetz.register()
  * - Round-tripping data through write and read with custom formatting
+ * - Caching converter results for columns that repeat the same values
  */
 public class E07_CustomConverter {
 
+    private static final int REPEATED_ROWS = 300_000;
+    private static final String[] PRODUCTS = {"Laptop", "Headphones", "Desk Lamp", "Office Chair", "Monitor"};
+
+    /** Same columns as Order, with the Amount parse results cached. */
+    public static class CachedOrder {
+        @Column(value = "Order ID", required = true)
+        private String orderId;
+
+        @Column(value = "Product")
+        private String product;
+
+        @Column(value = "Quantity")
+        private Integer quantity;
+
+        @Column(value = "Amount", converter = CachedMoneyConverter.class)
+        private BigDecimal amount;
+
+        public CachedOrder() {}
+    }
+
     public static void main(String[] args) {
         System.out.println("=== E07: Custom Converter ===\n");
 
@@ -51,11 +76,50 @@ public class E07_CustomConverter {
         System.out.println("  fromCell(\"$1,249.00\") → " + converter.fromCell("$1,249.00", null));
         System.out.println("  fromCell(\"999.99\")    → " + converter.fromCell("999.99", null));
 
+        // --- Caching repeated values ---
+        System.out.println("\n--- Caching repeated amounts ---");
+        List<Order> repeated = new ArrayList<>(REPEATED_ROWS);
+        for (int i = 1; i <= REPEATED_ROWS; i++) {
+            repeated.add(new Order("ORD-" + i, PRODUCTS[i % PRODUCTS.length], 1 + i % 5,
+                    BigDecimal.valueOf(999 + (i % 50) * 500, 2)));   // 50 distinct amounts
+        }
+        String repeatedPath = "output/orders_repeated.csv";
+        Sheetz.write(repeated, repeatedPath);
+        repeated = null;
+
+        List<String[]> raw = Sheetz.readRaw(repeatedPath);
+        int amountIndex = Arrays.asList(raw.get(0)).indexOf("Amount");
+        CachingConverter<BigDecimal> cached = CachingConverter.of(new MoneyConverter());
+        long start = System.nanoTime();
+        BigDecimal plainTotal = BigDecimal.ZERO;
+        for (int row = 1; row < raw.size(); row++) {
+            plainTotal = plainTotal.add(converter.fromCell(raw.get(row)[amountIndex], null));
+        }
+        long plainMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        BigDecimal cachedTotal = BigDecimal.ZERO;
+        for (int row = 1; row < raw.size(); row++) {
+            cachedTotal = cachedTotal.add(cached.fromCell(raw.get(row)[amountIndex], null));
+        }
+        long cachedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("  MoneyConverter:   %,5d ms  total %s%n", plainMillis, plainTotal);
+        System.out.printf("  CachingConverter: %,5d ms  total %s%n", cachedMillis, cachedTotal);
+        System.out.println("  " + cached);
+
+        // Per field: @Column(converter = CachedMoneyConverter.class)
+        List<CachedOrder> cachedOrders = Sheetz.read(repeatedPath, CachedOrder.class);
+        System.out.printf("  Read %,d CachedOrder rows; equal amounts share one BigDecimal: %s%n",
+                cachedOrders.size(), cachedOrders.get(0).amount == cachedOrders.get(50).amount);
+
         // --- Global registration alternative ---
         System.out.println("\n--- Global converter registration ---");
         Sheetz.register(BigDecimal.class, new MoneyConverter());
         System.out.println("Registered MoneyConverter globally for BigDecimal");
         System.out.println("Now ALL BigDecimal fields will use MoneyConverter, not just @Column(converter=...) ones");
+        // One cache for every BigDecimal column: safe only because MoneyConverter ignores the ConvertContext
+        Sheetz.register(BigDecimal.class, CachingConverter.of(new MoneyConverter()));
+        System.out.println("A cached converter registers the same way; its one cache is shared by every BigDecimal column,");
+        System.out.println("which is only safe for converters that ignore the ConvertContext, as MoneyConverter does");
 
         // Reset to defaults
         Sheetz.reset();
@@ -0,0 +1,110 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.mapping.ColumnMapper;
+import io.github.chitralabs.sheetz.examples.mapping.ModelAccessors;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+
+/**
+ * E11 — Precompiled Row Mappers
+ *
+ * Demonstrates mapping rows without per-cell reflection:
+ * - ModelAccessors builds one accessor per model class, either generated at
+ *   compile time (mvn compile -Pprecompiled-mappers) or spun up once at runtime
+ *   from LambdaMetafactory
+ * - ColumnMapper resolves the header once and assigns fields through it
+ * - Timing against a Field.set()-per-cell mapper over the same rows
+ */
+public class E11_PrecompiledMappers {
+
+    private static final int ROW_COUNT = 1_000_000;
+    private static final String[] HEADER = {"Product Name", "Price", "In Stock", "Release Date", "Category"};
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== E11: Precompiled Row Mappers ===\n");
+
+        System.out.println("Accessor for Product: " + ModelAccessors.of(Product.class));
+        System.out.println(ModelAccessors.isGenerated(Product.class)
+                ? "  generated at compile time (" + ModelAccessors.generatedName(Product.class) + ")"
+                : "  built at runtime; compile with -Pprecompiled-mappers to use a generated one");
+        System.out.println();
+
+        String[][] rows = new String[ROW_COUNT][];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows[i] = new String[] {
+                "Product-" + i,
+                String.valueOf(10.0 + (i % 500)),
+                String.valueOf(i % 3 != 0),
+                LocalDate.of(2024, 1, 1).plusDays(i % 365).toString(),
+                CATEGORIES[i % CATEGORIES.length]
+            };
+        }
+
+        ColumnMapper<Product> mapper = ColumnMapper.of(Product.class, HEADER);
+        ReflectiveMapper reflective = new ReflectiveMapper();
+
+        // One cold run; for steady-state numbers, CsvReaderBenchmark maps every row of
+        // the memory-mapped reader through ColumnMapper under JMH
+        long start = System.nanoTime();
+        double total = 0;
+        for (int i = 0; i < ROW_COUNT; i++) {
+            total += reflective.map(rows[i]).getPrice();
+        }
+        report("Field.set()", start, total);
+
+        start = System.nanoTime();
+        total = 0;
+        for (int i = 0; i < ROW_COUNT; i++) {
+            total += mapper.map(rows[i], i + 1).getPrice();
+        }
+        report("ColumnMapper", start, total);
+        System.out.println();
+
+        System.out.println("Done!");
+    }
+
+    private static void report(String label, long startNanos, double total) {
+        long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        System.out.printf("  %-14s %,6d ms   %,12d rows/sec   (price total %,.2f)%n",
+                label, millis, ROW_COUNT * 1000L / millis, total);
+    }
+
+    /**
+     * The classic approach: look the fields up once, then call Field.set()
+     * with a boxed value for every cell.
+     */
+    private static final class ReflectiveMapper {
+        private final Field name;
+        private final Field price;
+        private final Field inStock;
+        private final Field releaseDate;
+        private final Field category;
+
+        ReflectiveMapper() throws NoSuchFieldException {
+            name = field("name");
+            price = field("price");
+            inStock = field("inStock");
+            releaseDate = field("releaseDate");
+            category = field("category");
+        }
+
+        Product map(String[] cells) throws ReflectiveOperationException {
+            Product p = Product.class.getDeclaredConstructor().newInstance();
+            name.set(p, cells[0]);
+            price.set(p, Double.valueOf(cells[1]));
+            inStock.set(p, Boolean.valueOf(cells[2]));
+            releaseDate.set(p, LocalDate.parse(cells[3]));
+            category.set(p, cells[4]);
+            return p;
+        }
+
+        private static Field field(String fieldName) throws NoSuchFieldException {
+            Field field = Product.class.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field;
+        }
+    }
+}
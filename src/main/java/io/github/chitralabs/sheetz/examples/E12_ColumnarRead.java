@@ -0,0 +1,106 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.columnar.ColumnTable;
+import io.github.chitralabs.sheetz.examples.columnar.ColumnarReader;
+import io.github.chitralabs.sheetz.examples.columnar.DateColumn;
+import io.github.chitralabs.sheetz.examples.columnar.DoubleColumn;
+import io.github.chitralabs.sheetz.examples.columnar.StringColumn;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * E12 — Columnar Read
+ *
+ * Demonstrates reading only the columns an analytics job needs:
+ * - ColumnarReader selects Price, Release Date and Category by header
+ * - Values land in a double[], epoch days in a long[], and dictionary codes
+ *   for the low-cardinality Category
+ * - Retained heap compared with List&lt;Product&gt; from Sheetz.read()
+ */
+public class E12_ColumnarRead {
+
+    private static final int ROW_COUNT = 500_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E12: Columnar Read ===\n");
+
+        String csvPath = "output/columnar_products.csv";
+        List<Product> data = new ArrayList<>(ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            data.add(new Product(
+                "Product-" + i,
+                10.0 + (i % 500),
+                i % 3 != 0,
+                LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                CATEGORIES[i % CATEGORIES.length]
+            ));
+        }
+        Sheetz.write(data, csvPath);
+        data = null;
+        System.out.println("Wrote " + ROW_COUNT + " rows to " + csvPath + "\n");
+
+        // --- Row objects ---
+        long before = usedHeap();
+        long start = System.currentTimeMillis();
+        List<Product> products = Sheetz.read(csvPath, Product.class);
+        long rowMillis = System.currentTimeMillis() - start;
+        long rowBytes = usedHeap() - before;
+        System.out.printf("Sheetz.read():   %,d rows in %,d ms, %,d KB retained%n",
+                products.size(), rowMillis, rowBytes / 1024);
+        products = null;
+
+        // --- Columns ---
+        before = usedHeap();
+        start = System.currentTimeMillis();
+        ColumnTable table = ColumnarReader.of(csvPath)
+                .doubles("Price")
+                .dates("Release Date")
+                .strings("Category")
+                .read();
+        long columnMillis = System.currentTimeMillis() - start;
+        long columnBytes = usedHeap() - before;
+        System.out.printf("ColumnarReader:  %,d rows in %,d ms, %,d KB retained (estimated %,d KB)%n",
+                table.rowCount(), columnMillis, columnBytes / 1024, table.sizeInBytes() / 1024);
+        if (columnBytes > 0) {
+            System.out.printf("Heap reduction:  %.1fx%n", (double) rowBytes / columnBytes);
+        }
+
+        // --- Aggregate straight over the vectors ---
+        DoubleColumn price = table.doubles("Price");
+        DateColumn released = table.dates("Release Date");
+        StringColumn category = table.strings("Category");
+
+        System.out.printf("%nAverage price: %.2f%n", price.sum() / price.size());
+
+        long latest = Long.MIN_VALUE;
+        for (long day : released.epochDays()) {
+            latest = Math.max(latest, day);
+        }
+        System.out.println("Latest release: " + LocalDate.ofEpochDay(latest));
+
+        System.out.println("Rows per category (" + category.cardinality() + " distinct values):");
+        String[] names = category.dictionary();
+        int[] counts = category.counts();
+        for (int code = 0; code < names.length; code++) {
+            System.out.printf("  %-12s %,d%n", names[code], counts[code]);
+        }
+
+        System.out.println("\nDone!");
+    }
+
+    /**
+     * Heap in use after a few GC requests; good enough to compare retained sizes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
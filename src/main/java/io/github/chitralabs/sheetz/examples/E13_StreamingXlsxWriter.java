@@ -0,0 +1,85 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.xlsx.StreamingXlsxWriter;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * E13 — Streaming XLSX Writer
+ *
+ * Demonstrates exporting more rows than fit in memory:
+ * - Rows are generated lazily and pushed through StreamingXlsxWriter
+ * - Only a window of rows is held; heap use stays flat as the file grows
+ * - autoSize(true) samples column widths from the first window
+ * - Reading a few rows back with Sheetz to check the result
+ */
+public class E13_StreamingXlsxWriter {
+
+    private static final int ROW_COUNT = 2_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E13: Streaming XLSX Writer ===\n");
+
+        String xlsxPath = "output/streamed_products.xlsx";
+        printMemory("Before export");
+        long start = System.currentTimeMillis();
+
+        try (StreamingXlsxWriter<Product> writer = StreamingXlsxWriter.of(Product.class)
+                .file(xlsxPath)
+                .sheet("Products")
+                .window(1000)
+                .autoSize(true)
+                .freezeHeader(true)
+                .open()) {
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                writer.write(product(i));
+                if (i % 500_000 == 0) {
+                    printMemory(String.format("%,d rows", i));
+                }
+            }
+        }
+
+        long millis = System.currentTimeMillis() - start;
+        System.out.printf("%nWrote %,d rows to %s in %,d ms (%,d KB)%n",
+                ROW_COUNT, xlsxPath, millis, new File(xlsxPath).length() / 1024);
+        System.out.println("Excel allows 1,048,576 rows per sheet, so the export continued on 'Products (2)'.\n");
+
+        // --- Rows can also come from a Stream ---
+        String smallPath = "output/streamed_sample.xlsx";
+        try (StreamingXlsxWriter<Product> writer = StreamingXlsxWriter.of(Product.class)
+                .file(smallPath)
+                .autoSize(true)
+                .open()) {
+            writer.writeAll(IntStream.rangeClosed(1, 5).mapToObj(E13_StreamingXlsxWriter::product));
+        }
+
+        System.out.println("--- Reading back " + smallPath + " ---");
+        List<Product> products = Sheetz.read(smallPath, Product.class);
+        products.forEach(p -> System.out.println("  " + p));
+
+        System.out.println("\nDone!");
+    }
+
+    private static Product product(int i) {
+        return new Product(
+            "Product-" + i,
+            10.0 + (i % 500),
+            i % 3 != 0,
+            LocalDate.of(2024, 1, 1).plusDays(i % 365),
+            CATEGORIES[i % CATEGORIES.length]
+        );
+    }
+
+    private static void printMemory(String label) {
+        Runtime rt = Runtime.getRuntime();
+        long used = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
+        long max = rt.maxMemory() / (1024 * 1024);
+        System.out.printf("  [%s] Memory: %,d MB used / %,d MB max%n", label, used, max);
+    }
+}
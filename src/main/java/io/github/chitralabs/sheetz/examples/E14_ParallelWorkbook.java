@@ -0,0 +1,84 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.WorkbookBuilder;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.xlsx.ParallelWorkbookWriter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * E14 — Parallel Workbook
+ *
+ * Demonstrates building a large multi-sheet report on all cores:
+ * - Eight monthly sheets of 100K rows each
+ * - Sheetz.workbook() writes the sheets one after another
+ * - ParallelWorkbookWriter renders and compresses each sheet on its own
+ *   thread, then assembles the zip in one pass
+ */
+public class E14_ParallelWorkbook {
+
+    private static final int SHEET_COUNT = 8;
+    private static final int ROWS_PER_SHEET = 100_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E14: Parallel Workbook ===\n");
+
+        List<List<Product>> months = new ArrayList<>();
+        for (int month = 1; month <= SHEET_COUNT; month++) {
+            List<Product> rows = new ArrayList<>(ROWS_PER_SHEET);
+            for (int i = 1; i <= ROWS_PER_SHEET; i++) {
+                rows.add(new Product(
+                    "Product-" + i,
+                    10.0 + ((i * month) % 500),
+                    i % 3 != 0,
+                    LocalDate.of(2024, month, 1).plusDays(i % 28),
+                    CATEGORIES[i % CATEGORIES.length]
+                ));
+            }
+            months.add(rows);
+        }
+        System.out.printf("Prepared %d sheets of %,d rows; %d cores available%n%n",
+                SHEET_COUNT, ROWS_PER_SHEET, Runtime.getRuntime().availableProcessors());
+
+        // --- Sequential ---
+        long start = System.currentTimeMillis();
+        WorkbookBuilder workbook = Sheetz.workbook();
+        for (int month = 1; month <= SHEET_COUNT; month++) {
+            workbook.sheet(sheetName(month), months.get(month - 1));
+        }
+        workbook.write("output/report_sequential.xlsx");
+        System.out.printf("Sheetz.workbook():       %,6d ms%n", System.currentTimeMillis() - start);
+
+        // --- Parallel, with 1 thread and then all cores ---
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads : new int[] {1, cores}) {
+            start = System.currentTimeMillis();
+            ParallelWorkbookWriter writer = ParallelWorkbookWriter.create()
+                    .parallelism(threads)
+                    .freezeHeader(true);
+            for (int month = 1; month <= SHEET_COUNT; month++) {
+                writer.sheet(sheetName(month), months.get(month - 1));
+            }
+            writer.write("output/report_parallel.xlsx");
+            System.out.printf("ParallelWorkbookWriter:  %,6d ms   (%d thread%s)%n",
+                    System.currentTimeMillis() - start, threads, threads == 1 ? "" : "s");
+        }
+
+        // --- Read one sheet back ---
+        List<Product> march = Sheetz.reader(Product.class)
+                .file("output/report_parallel.xlsx")
+                .sheet(sheetName(3))
+                .read();
+        System.out.printf("%nRead back '%s': %,d rows, first: %s%n", sheetName(3), march.size(), march.get(0));
+
+        System.out.println("\nDone!");
+    }
+
+    private static String sheetName(int month) {
+        return "2024-" + (month < 10 ? "0" : "") + month;
+    }
+}
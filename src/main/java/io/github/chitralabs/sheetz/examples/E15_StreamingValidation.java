@@ -0,0 +1,92 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.ValidationResult;
+import io.github.chitralabs.sheetz.examples.E04_DataValidation.StrictProduct;
+import io.github.chitralabs.sheetz.examples.validation.StreamingValidator;
+import io.github.chitralabs.sheetz.examples.validation.ValidationSummary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * E15 — Streaming Validation
+ *
+ * Demonstrates validating a large supplier file without keeping it in memory:
+ * - StreamingValidator checks CSV chunks on all cores
+ * - Valid rows stream to a consumer; only a sample of errors is kept,
+ *   plus an error count per column
+ * - maxErrors(n) / failFast() stop reading once a threshold is reached
+ * - Counts and success rate match Sheetz.validate()
+ */
+public class E15_StreamingValidation {
+
+    private static final int ROW_COUNT = 1_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E15: Streaming Validation ===\n");
+
+        String csvPath = "output/supplier_products.csv";
+        List<StrictProduct> data = new ArrayList<>(ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            data.add(new StrictProduct(
+                i % 25_000 == 0 ? null : "Product-" + i,                // some names missing
+                i % 40_000 == 0 ? null : 10.0 + (i % 500),               // some prices missing
+                LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                CATEGORIES[i % CATEGORIES.length]
+            ));
+        }
+        Sheetz.write(data, csvPath);
+        data = null;
+        System.out.printf("Wrote %,d rows to %s%n%n", ROW_COUNT, csvPath);
+
+        // --- Baseline: everything in memory ---
+        System.out.println("--- Sheetz.validate() ---");
+        ValidationResult<StrictProduct> result = Sheetz.validate(csvPath, StrictProduct.class);
+        System.out.printf("Total rows: %,d  Valid: %,d  Errors: %,d  Success rate: %.3f%%  (%,d ms)%n",
+                result.totalRows(), result.validCount(), result.errorCount(), result.successRate(), result.durationMs());
+        System.out.printf("Kept in memory: %,d valid rows and %,d errors%n%n", result.validRows().size(), result.errors().size());
+        result = null;
+
+        // --- Streaming: valid rows go to a consumer ---
+        System.out.println("--- StreamingValidator ---");
+        LongAdder consumed = new LongAdder();
+        ValidationSummary summary = StreamingValidator.of(StrictProduct.class)
+                .file(csvPath)
+                .errorSamples(5)
+                .onValid(p -> consumed.increment())   // called from worker threads
+                .validate();
+        System.out.printf("Total rows: %,d  Valid: %,d  Errors: %,d  Success rate: %.3f%%  (%,d ms)%n",
+                summary.totalRows(), summary.validCount(), summary.errorCount(), summary.successRate(), summary.durationMs());
+        System.out.printf("Rows passed to the consumer: %,d%n", consumed.sum());
+        System.out.println("Errors per column:");
+        for (Map.Entry<String, Long> entry : summary.errorCounts().entrySet()) {
+            System.out.printf("  %-14s %,d%n", entry.getKey(), entry.getValue());
+        }
+        System.out.println("First errors:");
+        summary.errors().forEach(e -> System.out.println("  " + e));
+
+        // --- Early abort ---
+        System.out.println("\n--- maxErrors(10) ---");
+        ValidationSummary capped = StreamingValidator.of(StrictProduct.class)
+                .file(csvPath)
+                .maxErrors(10)
+                .validate();
+        System.out.printf("Stopped early: %s after %,d rows and %,d errors (%,d ms)%n",
+                capped.aborted(), capped.totalRows(), capped.errorCount(), capped.durationMs());
+
+        System.out.println("\n--- failFast() ---");
+        ValidationSummary first = StreamingValidator.of(StrictProduct.class)
+                .file(csvPath)
+                .parallelism(1)
+                .failFast()
+                .validate();
+        System.out.println("First failure: " + first.errors().get(0));
+
+        System.out.println("\nDone!");
+    }
+}
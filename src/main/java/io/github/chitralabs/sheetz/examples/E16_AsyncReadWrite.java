@@ -0,0 +1,125 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.async.AsyncSheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * E16 — Async Read/Write
+ *
+ * Demonstrates handling many uploads at once without a thread per file:
+ * - AsyncSheetz.write() and read() return CompletableFutures
+ * - On JDK 21+ they run on virtual threads; on Java 11 on a bounded pool
+ * - stream() publishes rows to a Flow.Subscriber that requests them in batches
+ */
+public class E16_AsyncReadWrite {
+
+    private static final int UPLOADS = 200;
+    private static final int ROWS_PER_UPLOAD = 2_000;
+    private static final int BATCH = 500;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== E16: Async Read/Write ===\n");
+
+        AsyncSheetz async = AsyncSheetz.create();
+        System.out.println("Virtual threads: " + (AsyncSheetz.virtualThreads()
+                ? "yes"
+                : "no, using a pool of " + AsyncSheetz.FALLBACK_THREADS + " threads") + "\n");
+
+        List<Product> rows = new ArrayList<>(ROWS_PER_UPLOAD);
+        for (int i = 1; i <= ROWS_PER_UPLOAD; i++) {
+            rows.add(new Product(
+                "Product-" + i,
+                10.0 + (i % 500),
+                i % 3 != 0,
+                LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                CATEGORIES[i % CATEGORIES.length]
+            ));
+        }
+
+        // --- Write all uploads concurrently ---
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < UPLOADS; i++) {
+            writes.add(async.write(rows, upload(i)));
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        System.out.printf("Wrote %d files of %,d rows in %,d ms%n", UPLOADS, ROWS_PER_UPLOAD, System.currentTimeMillis() - start);
+
+        // --- Read them back: one at a time, then all at once ---
+        start = System.currentTimeMillis();
+        long total = 0;
+        for (int i = 0; i < UPLOADS; i++) {
+            total += Sheetz.read(upload(i), Product.class).size();
+        }
+        System.out.printf("Sheetz.read(), one by one:  %,d rows in %,d ms%n", total, System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        List<CompletableFuture<Integer>> reads = new ArrayList<>();
+        for (int i = 0; i < UPLOADS; i++) {
+            reads.add(async.read(upload(i), Product.class).thenApply(List::size));
+        }
+        total = reads.stream().mapToLong(CompletableFuture::join).sum();
+        System.out.printf("AsyncSheetz.read(), all:    %,d rows in %,d ms%n%n", total, System.currentTimeMillis() - start);
+
+        // --- Publisher with backpressure ---
+        System.out.println("--- stream() in batches of " + BATCH + " ---");
+        BatchSubscriber subscriber = new BatchSubscriber();
+        async.stream(upload(0), Product.class).subscribe(subscriber);
+        subscriber.done.await();
+        System.out.printf("Received %,d rows in %d batches; never more than %d requested at once%n",
+                subscriber.received, subscriber.batches, BATCH);
+
+        System.out.println("\nDone!");
+    }
+
+    private static String upload(int i) {
+        return "output/upload_" + i + ".csv";
+    }
+
+    /** Asks for the next batch only after the current one has been handled. */
+    static class BatchSubscriber implements Flow.Subscriber<Product> {
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile long received;
+        volatile int batches;
+        private Flow.Subscription subscription;
+        private int pending;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            pending = BATCH;
+            subscription.request(BATCH);
+        }
+
+        @Override
+        public void onNext(Product product) {
+            received++;
+            if (--pending == 0) {
+                batches++;               // e.g. insert the batch here
+                pending = BATCH;
+                subscription.request(BATCH);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            System.out.println("Failed: " + error);
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            if (pending != BATCH) batches++;
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.transcode.Transcoder;
+import io.github.chitralabs.sheetz.examples.xlsx.StreamingXlsxWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * E17 — Streaming Transcode
+ *
+ * Demonstrates converting large files without building model objects:
+ * - E08-style conversion: Sheetz.read() into a List, then Sheetz.write()
+ * - Transcoder streams cells from the XLSX reader into a CSV writer
+ * - The reverse direction, with ISO dates becoming Excel date cells
+ * - A different delimiter on the way out
+ */
+public class E17_StreamingTranscode {
+
+    private static final int ROW_COUNT = 500_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E17: Streaming Transcode ===\n");
+
+        String xlsxPath = "output/vendor_products.xlsx";
+        try (StreamingXlsxWriter<Product> writer = StreamingXlsxWriter.of(Product.class)
+                .file(xlsxPath)
+                .sheet("Products")
+                .open()) {
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                writer.write(new Product(
+                    "Product-" + i,
+                    10.0 + (i % 500),
+                    i % 3 != 0,
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    CATEGORIES[i % CATEGORIES.length]
+                ));
+            }
+        }
+        System.out.printf("Wrote %,d rows to %s%n%n", ROW_COUNT, xlsxPath);
+
+        // --- Read everything, then write it again ---
+        long start = System.currentTimeMillis();
+        List<Product> products = Sheetz.read(xlsxPath, Product.class);
+        Sheetz.write(products, "output/vendor_products_pojo.csv");
+        System.out.printf("Sheetz.read() + write():  %,6d ms  (%,d Product objects on the heap)%n",
+                System.currentTimeMillis() - start, products.size());
+        products = null;
+
+        // --- Stream cells straight across ---
+        start = System.currentTimeMillis();
+        long rows = Transcoder.from(xlsxPath)
+                .sheet("Products")
+                .to("output/vendor_products.csv")
+                .convert();
+        System.out.printf("Transcoder XLSX → CSV:    %,6d ms  (%,d rows, one row in memory)%n",
+                System.currentTimeMillis() - start, rows);
+
+        start = System.currentTimeMillis();
+        rows = Transcoder.from("output/vendor_products.csv")
+                .to("output/vendor_products_copy.xlsx")
+                .targetSheet("Products")
+                .convert();
+        System.out.printf("Transcoder CSV → XLSX:    %,6d ms  (%,d rows)%n",
+                System.currentTimeMillis() - start, rows);
+
+        Transcoder.from("output/vendor_products.csv")
+                .to("output/vendor_products_semicolon.csv")
+                .targetDelimiter(';')
+                .convert();
+
+        System.out.println("\n--- First lines of the converted files ---");
+        printHead("output/vendor_products.csv");
+        printHead("output/vendor_products_semicolon.csv");
+
+        System.out.println("\n--- Reading the round-tripped XLSX with a model ---");
+        Sheetz.reader(Product.class)
+                .file("output/vendor_products_copy.xlsx")
+                .sheet("Products")
+                .read()
+                .stream()
+                .limit(3)
+                .forEach(p -> System.out.println("  " + p));
+
+        System.out.println("\nDone!");
+    }
+
+    private static void printHead(String path) throws IOException {
+        try (Stream<String> lines = Files.lines(Paths.get(path))) {
+            lines.limit(3).forEach(line -> System.out.println("  " + line));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.E04_DataValidation.StrictProduct;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.ParallelCsvReader;
+import io.github.chitralabs.sheetz.examples.metrics.CountingMetrics;
+import io.github.chitralabs.sheetz.examples.metrics.JfrMetrics;
+import io.github.chitralabs.sheetz.examples.metrics.Metered;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+import io.github.chitralabs.sheetz.examples.model.Order;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.validation.StreamingValidator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * E18 — Metrics and Tracing
+ *
+ * Demonstrates where time goes inside a read, without a profiler:
+ * - Metrics.register(...) observes every example reader, writer and validator
+ * - CountingMetrics keeps rows/s, bytes, parse/map time, allocation per row,
+ *   time per converter, batch queue depth and error counts per column
+ * - Metered wraps Sheetz.read / write / validate for whole-file numbers
+ * - JfrMetrics emits sheetz.File, sheetz.Batch and sheetz.Converter events
+ */
+public class E18_Metrics {
+
+    private static final int ROW_COUNT = 200_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E18: Metrics and Tracing ===\n");
+
+        String productsPath = "output/metrics_products.csv";
+        String ordersPath = "output/metrics_orders.csv";
+        String supplierPath = "output/metrics_supplier.csv";
+        writeFiles(productsPath, ordersPath, supplierPath);
+
+        // Detailed: also time parse, map and each converter, and measure allocation
+        CountingMetrics counts = new CountingMetrics(true);
+        Metrics.register(counts);
+        try {
+            List<Product> products = Metered.read(productsPath, Product.class);
+            Metered.write(products, "output/metrics_products_copy.csv");
+
+            try (MappedCsvReader<Order> reader = MappedCsvReader.open(ordersPath, Order.class)) {
+                BigDecimal total = BigDecimal.ZERO;
+                for (Order order : reader) {
+                    total = total.add(order.getAmount());
+                }
+                System.out.println("Order total: $" + total);
+            }
+
+            long inStock = ParallelCsvReader.of(Product.class)
+                    .file(productsPath)
+                    .stream()
+                    .filter(Product::getInStock)
+                    .count();
+            System.out.printf("In stock: %,d%n", inStock);
+
+            Metered.validate(supplierPath, StrictProduct.class);
+            StreamingValidator.of(StrictProduct.class).file(supplierPath).validate();
+
+            System.out.println("\n--- CountingMetrics.report() ---");
+            System.out.println(counts.report());
+
+            CountingMetrics.Totals parallel = counts.totals("csv.parallel.read");
+            System.out.printf("csv.parallel.read: %,d batches, at most %d waiting%n",
+                    parallel.batches(), parallel.maxQueueDepth());
+        } finally {
+            Metrics.reset();
+        }
+
+        // --- JFR: events are only recorded while a recording is running ---
+        System.out.println("\n--- JfrMetrics ---");
+        Metrics.register(new JfrMetrics(true));
+        try (MappedCsvReader<Order> reader = MappedCsvReader.open(ordersPath, Order.class)) {
+            reader.forEach(order -> {});
+        } finally {
+            Metrics.reset();
+        }
+        System.out.println("Run with -XX:StartFlightRecording=filename=output/sheetz.jfr, then:");
+        System.out.println("  jfr print --events sheetz.File,sheetz.Converter output/sheetz.jfr");
+
+        System.out.println("\nDone!");
+    }
+
+    private static void writeFiles(String productsPath, String ordersPath, String supplierPath) {
+        List<Product> products = new ArrayList<>(ROW_COUNT);
+        List<Order> orders = new ArrayList<>(ROW_COUNT);
+        List<StrictProduct> supplier = new ArrayList<>(ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            LocalDate date = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+            String category = CATEGORIES[i % CATEGORIES.length];
+            products.add(new Product("Product-" + i, 10.0 + (i % 500), i % 3 != 0, date, category));
+            orders.add(new Order("ORD-" + i, "Product-" + (i % 1000), 1 + i % 5, BigDecimal.valueOf(10_000 + i % 50_000, 2)));
+            supplier.add(new StrictProduct(
+                i % 5_000 == 0 ? null : "Product-" + i,                 // some names missing
+                i % 8_000 == 0 ? null : 10.0 + (i % 500),               // some prices missing
+                date,
+                category
+            ));
+        }
+        Sheetz.write(products, productsPath);
+        Sheetz.write(orders, ordersPath);
+        Sheetz.write(supplier, supplierPath);
+        System.out.printf("Wrote %,d rows each to %s, %s and %s%n%n", ROW_COUNT, productsPath, ordersPath, supplierPath);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.xlsx.ProjectedXlsxReader;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxRowWriter;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxSheetReader;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * E19 — Projected XLSX Reading
+ *
+ * Demonstrates reading 5 mapped columns out of a 200-column vendor sheet:
+ * - Sheetz.reader(...).sheet(...).read() decodes every cell of every row
+ * - ProjectedXlsxReader skips the cells of columns Product does not map,
+ *   including its @Column(ignore = true) field, inside the XML scanner
+ * - XlsxSheetReader with a Projection, for raw cell access to a few columns
+ */
+public class E19_ProjectedXlsxRead {
+
+    private static final int ROW_COUNT = 20_000;
+    private static final int COLUMN_COUNT = 200;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+    /** Where the Product columns sit among the vendor's attribute columns. */
+    private static final int[] MAPPED_AT = {3, 47, 90, 141, 188};
+    private static final String[] MAPPED = {"Product Name", "Price", "In Stock", "Release Date", "Category"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E19: Projected XLSX Reading ===\n");
+
+        Path path = Paths.get("output/vendor_wide.xlsx");
+        writeWideSheet(path);
+        System.out.printf("Wrote %,d rows x %d columns to %s%n%n", ROW_COUNT, COLUMN_COUNT, path);
+
+        // Timed once, cold; ProjectionBenchmark has the JMH numbers at 5, 50 and 200 columns
+        long start = System.currentTimeMillis();
+        List<Product> all = Sheetz.reader(Product.class)
+                .file(path.toString())
+                .sheet("Products")
+                .read();
+        System.out.printf("Sheetz.reader().read():     %,6d ms  (%,d rows, %,d cells decoded)%n",
+                System.currentTimeMillis() - start, all.size(), (long) all.size() * COLUMN_COUNT);
+
+        start = System.currentTimeMillis();
+        List<Product> projected = ProjectedXlsxReader.of(Product.class)
+                .file(path)
+                .sheet("Products")
+                .read();
+        System.out.printf("ProjectedXlsxReader.read(): %,6d ms  (%,d rows, %,d cells decoded)%n%n",
+                System.currentTimeMillis() - start, projected.size(), (long) projected.size() * MAPPED.length);
+
+        // --- Raw access to two columns ---
+        System.out.println("--- XlsxSheetReader with a Projection ---");
+        try (XlsxSheetReader reader = XlsxSheetReader.open(path, "Products",
+                (column, header) -> "Product Name".equals(header) || "Price".equals(header))) {
+            for (int i = 0; i < 4 && reader.next(); i++) {
+                System.out.println("  " + reader.cell(MAPPED_AT[0]) + " | " + reader.cell(MAPPED_AT[1]));
+            }
+        }
+
+        System.out.println("\nDone!");
+    }
+
+    private static void writeWideSheet(Path path) {
+        String[] header = new String[COLUMN_COUNT];
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            header[c] = "Attribute " + (c + 1);
+        }
+        for (int m = 0; m < MAPPED.length; m++) {
+            header[MAPPED_AT[m]] = MAPPED[m];
+        }
+        header[120] = "internalNotes";   // @Column(ignore = true) in Product
+
+        try (XlsxRowWriter writer = XlsxRowWriter.open(path, "Products", header)) {
+            String[] row = new String[COLUMN_COUNT];
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                Arrays.fill(row, "attr-" + (i % 97));
+                row[120] = "note " + i;
+                row[MAPPED_AT[0]] = "Product-" + i;
+                row[MAPPED_AT[1]] = Double.toString(10.0 + (i % 500));
+                row[MAPPED_AT[2]] = Boolean.toString(i % 3 != 0);
+                row[MAPPED_AT[3]] = LocalDate.of(2024, 1, 1).plusDays(i % 365).toString();
+                row[MAPPED_AT[4]] = CATEGORIES[i % CATEGORIES.length];
+                writer.write(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.xlsx.SharedStringsStore;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxSheetReader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * E20 — Shared Strings Store
+ *
+ * Demonstrates reading an XLSX whose text cells are all distinct, so its
+ * shared-string table holds a million entries:
+ * - ON_HEAP keeps every string as a String, so heap grows with the table
+ * - OFF_HEAP keeps them UTF-8 encoded in direct buffers
+ * - TEMP_FILE keeps them in a memory-mapped temp file, deleted on close
+ * - stringCache(n) sets how many decoded strings stay on the heap
+ */
+public class E20_SharedStringsStore {
+
+    private static final int ROW_COUNT = 500_000;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E20: Shared Strings Store ===\n");
+
+        Path path = Paths.get("output/ledger.xlsx");
+        writeLedger(path);
+        System.out.printf("Wrote %,d rows with %,d distinct strings to %s%n%n",
+                ROW_COUNT, 2L * ROW_COUNT + 3, path);
+
+        for (SharedStringsStore store : SharedStringsStore.values()) {
+            long start = System.currentTimeMillis();
+            try (XlsxSheetReader reader = XlsxSheetReader.of(path)
+                    .sharedStrings(store)
+                    .stringCache(1024)
+                    .open()) {
+                // Heap held once the table is loaded and before the first row
+                long heap = usedHeap();
+                long rows = 0;
+                long chars = 0;
+                while (reader.next()) {
+                    rows++;
+                    chars += reader.cell(1).length();
+                }
+                System.out.printf("%-10s %,6d ms  %,5d MB heap after open  (%,d rows, %,d chars)%n",
+                        store, System.currentTimeMillis() - start, heap >> 20, rows, chars);
+            }
+        }
+
+        System.out.println("\nDone!");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * A bare workbook with a shared-string table, as Excel saves it; the
+     * example writers use inline strings instead.
+     */
+    private static void writeLedger(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(path));
+             Writer out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8))) {
+            part(zip, out, "[Content_Types].xml",
+                "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                + "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+                + "</Types>");
+            part(zip, out, "_rels/.rels",
+                "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+            part(zip, out, "xl/workbook.xml",
+                "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+                + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<sheets><sheet name=\"Ledger\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+            part(zip, out, "xl/_rels/workbook.xml.rels",
+                "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                + "<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+                + "</Relationships>");
+
+            // Strings 0-2 are the header; row i uses 3 + 2(i-1) and the one after it
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            out.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+            out.write("<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c><c r=\"C1\" t=\"s\"><v>2</v></c></row>");
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                int r = i + 1;
+                int s = 3 + 2 * (i - 1);
+                out.write("<row r=\"" + r + "\"><c r=\"A" + r + "\"><v>" + i + "</v></c>"
+                        + "<c r=\"B" + r + "\" t=\"s\"><v>" + s + "</v></c>"
+                        + "<c r=\"C" + r + "\" t=\"s\"><v>" + (s + 1) + "</v></c></row>");
+            }
+            out.write("</sheetData></worksheet>");
+            out.flush();
+            zip.closeEntry();
+
+            int count = 3 + 2 * ROW_COUNT;
+            zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+            out.write("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+                    + " count=\"" + count + "\" uniqueCount=\"" + count + "\">");
+            out.write("<si><t>Entry</t></si><si><t>Reference</t></si><si><t>Memo</t></si>");
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                out.write("<si><t>TXN-" + String.format("%08d", i) + "-" + Integer.toHexString(i * 0x9E3779B1) + "</t></si>");
+                out.write("<si><t>Settlement " + i + " for account " + (i * 7919 % 100_000) + "</t></si>");
+            }
+            out.write("</sst>");
+            out.flush();
+            zip.closeEntry();
+        }
+    }
+
+    private static void part(ZipOutputStream zip, Writer out, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write(xml);
+        out.flush();
+        zip.closeEntry();
+    }
+}
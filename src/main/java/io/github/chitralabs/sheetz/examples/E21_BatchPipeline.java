@@ -0,0 +1,147 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.pipeline.BatchFailedException;
+import io.github.chitralabs.sheetz.examples.pipeline.BatchListener;
+import io.github.chitralabs.sheetz.examples.pipeline.BatchPipeline;
+import io.github.chitralabs.sheetz.examples.pipeline.PipelineSummary;
+import io.github.chitralabs.sheetz.examples.pipeline.RetryPolicy;
+import io.github.chitralabs.sheetz.reader.StreamingReader;
+
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * E21 — Batch Pipeline
+ *
+ * Demonstrates a bulk import where parsing overlaps with the inserts:
+ * - E03-style reader.batch(n).forEach(...) waits for every insert
+ * - BatchPipeline hands batches to 8 consumers through a bounded queue
+ * - A retry policy and a listener for batches that fail now and then
+ * - Fail-fast: the first batch that keeps failing stops the import
+ */
+public class E21_BatchPipeline {
+
+    private static final int ROW_COUNT = 200_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E21: Batch Pipeline ===\n");
+
+        String csvPath = "output/import_products.csv";
+        List<Product> data = new ArrayList<>(ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            data.add(new Product(
+                "Product-" + i,
+                10.0 + (i % 500),
+                i % 3 != 0,
+                LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                CATEGORIES[i % CATEGORIES.length]
+            ));
+        }
+        Sheetz.write(data, csvPath);
+        data = null;
+        System.out.printf("Wrote %,d rows to %s%n%n", ROW_COUNT, csvPath);
+
+        FakeDatabase database = new FakeDatabase();
+
+        // --- One batch at a time ---
+        long start = System.currentTimeMillis();
+        try (StreamingReader<Product> reader = Sheetz.stream(csvPath, Product.class)) {
+            reader.batch(BATCH_SIZE).forEach(batch -> {
+                try {
+                    database.bulkInsert(batch);
+                } catch (SQLTransientException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        System.out.printf("batch(%,d).forEach():  %,6d ms  (%,d rows inserted)%n",
+                BATCH_SIZE, System.currentTimeMillis() - start, database.reset());
+
+        // --- Parse while 8 consumers insert ---
+        try (StreamingReader<Product> reader = Sheetz.stream(csvPath, Product.class)) {
+            PipelineSummary summary = BatchPipeline.from(reader)
+                    .batchSize(BATCH_SIZE)
+                    .consumers(8)
+                    .queueCapacity(4)
+                    .run(database::bulkInsert);
+            System.out.printf("BatchPipeline.run():    %,6d ms  (%,d rows inserted)%n", summary.durationMs(), database.reset());
+            System.out.println("  " + summary);
+        }
+
+        // --- Retry batches that hit a transient error ---
+        System.out.println("\n--- Retries ---");
+        database.failEvery(7);
+        try (StreamingReader<Product> reader = Sheetz.stream(csvPath, Product.class)) {
+            PipelineSummary summary = BatchPipeline.from(reader)
+                    .batchSize(BATCH_SIZE)
+                    .consumers(8)
+                    .retry(RetryPolicy.attempts(3, Duration.ofMillis(20)))
+                    .listener(new BatchListener() {
+                        @Override
+                        public void batchFailed(long batch, int rows, int attempt, Exception failure, boolean retrying) {
+                            System.out.printf("  batch %d, attempt %d: %s%s%n",
+                                    batch, attempt, failure.getMessage(), retrying ? ", retrying" : "");
+                        }
+                    })
+                    .run(database::bulkInsert);
+            System.out.println("  " + summary + " (" + database.reset() + " rows inserted)");
+        }
+
+        // --- Stop at a batch that keeps failing ---
+        System.out.println("\n--- Fail fast ---");
+        database.failEvery(1);
+        try (StreamingReader<Product> reader = Sheetz.stream(csvPath, Product.class)) {
+            BatchPipeline.from(reader)
+                    .batchSize(BATCH_SIZE)
+                    .consumers(8)
+                    .retry(RetryPolicy.attempts(2, Duration.ofMillis(20)))
+                    .run(database::bulkInsert);
+        } catch (BatchFailedException e) {
+            System.out.println("  " + e.getMessage());
+            System.out.println("  Before stopping: " + e.summary());
+        }
+
+        System.out.println("\nDone!");
+    }
+
+    /** Stands in for a JDBC batch insert: a round trip plus a cost per row. */
+    private static final class FakeDatabase {
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong calls = new AtomicLong();
+        private volatile int failEvery;
+
+        void bulkInsert(List<Product> batch) throws SQLTransientException {
+            sleep(20 + batch.size() / 250);
+            if (failEvery > 0 && calls.incrementAndGet() % failEvery == 0) {
+                throw new SQLTransientException("deadlock detected");
+            }
+            rows.addAndGet(batch.size());
+        }
+
+        void failEvery(int calls) {
+            this.failEvery = calls;
+        }
+
+        /** Returns the rows inserted since the last reset. */
+        long reset() {
+            calls.set(0);
+            return rows.getAndSet(0);
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.model.ProductRecord;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * E22 — Object Reuse
+ *
+ * Demonstrates streaming a large CSV without allocating per row:
+ * - MappedCsvReader as usual: a new Product, Double and Strings per row
+ * - reuse(1): one Product refilled for every row
+ * - reuse(1) with ProductRecord, whose primitive fields are never boxed
+ * - reuse(2): the previous row stays intact while the next one is read
+ */
+public class E22_ObjectReuse {
+
+    private static final int ROW_COUNT = 2_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E22: Object Reuse ===\n");
+
+        Path path = Paths.get("output/reuse_products.csv");
+        try (CsvWriter writer = CsvWriter.open(path, ',')) {
+            writer.write(new String[] {"Product Name", "Price", "In Stock", "Release Date", "Category"});
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                writer.write(new String[] {
+                    "Product-" + i,
+                    Double.toString(10.0 + (i % 500)),
+                    Boolean.toString(i % 3 != 0),
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365).toString(),
+                    CATEGORIES[i % CATEGORIES.length]
+                });
+            }
+        }
+        System.out.printf("Wrote %,d rows to %s%n%n", ROW_COUNT, path);
+
+        // One pass, enough to see the bytes per row; CsvReaderBenchmark reports
+        // gc.alloc.rate.norm for each of these under JMH
+        double[] total = new double[1];
+
+        measure("new Product per row", () -> {
+            try (MappedCsvReader<Product> reader = MappedCsvReader.open(path.toString(), Product.class)) {
+                reader.forEach(p -> total[0] += p.getPrice());
+            }
+        });
+        measure("reuse(1), Product", () -> {
+            try (MappedCsvReader<Product> reader = MappedCsvReader.open(path.toString(), Product.class).reuse(1)) {
+                reader.forEach(p -> total[0] += p.getPrice());
+            }
+        });
+        measure("reuse(1), ProductRecord", () -> {
+            try (MappedCsvReader<ProductRecord> reader = MappedCsvReader.open(path.toString(), ProductRecord.class).reuse(1)) {
+                reader.forEach(p -> total[0] += p.getPrice());
+            }
+        });
+        System.out.println();
+
+        // --- A ring of two: compare each row with the one before ---
+        System.out.println("--- reuse(2): price changes between neighbouring rows ---");
+        long changes = 0;
+        try (MappedCsvReader<ProductRecord> reader = MappedCsvReader.open(path.toString(), ProductRecord.class).reuse(2)) {
+            ProductRecord previous = null;
+            for (ProductRecord current : reader) {
+                if (previous != null && previous.getPrice() != current.getPrice()) changes++;
+                previous = current;
+            }
+        }
+        System.out.printf("%,d price changes%n", changes);
+
+        System.out.println("\nDone!");
+    }
+
+    private static void measure(String label, Runnable read) {
+        long gcBefore = collections();
+        long allocatedBefore = allocated();
+        long start = System.currentTimeMillis();
+        read.run();
+        long millis = System.currentTimeMillis() - start;
+        long allocated = allocated() - allocatedBefore;
+        System.out.printf("%-26s %,6d ms  %,5d bytes/row  %,4d GCs%n",
+                label, millis, allocated / ROW_COUNT, collections() - gcBefore);
+    }
+
+    /** Bytes allocated so far by this thread, where the JVM can tell. */
+    private static long allocated() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long collections() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.RowIndex;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * E23 — Resumable Read
+ *
+ * Demonstrates random access into a large CSV through a row-offset index:
+ * - RowIndex: a sidecar with the byte offset of every 1024th row
+ * - Paging: rows 1,000,000 to 1,000,100 with fromRow(...).limit(...)
+ * - Resume: an import that fails partway continues after its last commit
+ */
+public class E23_ResumableRead {
+
+    private static final int ROW_COUNT = 2_000_000;
+    private static final int COMMIT_EVERY = 10_000;
+    private static final long FAIL_AT = 1_234_567;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E23: Resumable Read ===\n");
+
+        Path path = Paths.get("output/indexed_products.csv");
+        try (CsvWriter writer = CsvWriter.open(path, ',')) {
+            writer.write(new String[] {"Product Name", "Price", "In Stock", "Release Date", "Category"});
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                writer.write(new String[] {
+                    "Product-" + i,
+                    Double.toString(10.0 + (i % 500)),
+                    Boolean.toString(i % 3 != 0),
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365).toString(),
+                    CATEGORIES[i % CATEGORIES.length]
+                });
+            }
+        }
+        System.out.printf("Wrote %,d rows to %s%n%n", ROW_COUNT, path);
+
+        // --- Build the sidecar once; later opens load it ---
+        System.out.println("--- RowIndex ---");
+        long start = System.currentTimeMillis();
+        RowIndex index = RowIndex.open(path);
+        System.out.printf("Built:  %,6d ms  (%,d rows, %,d bytes in %s)%n", System.currentTimeMillis() - start,
+                index.rows(), Files.size(RowIndex.sidecar(path)), RowIndex.sidecar(path).getFileName());
+        start = System.currentTimeMillis();
+        RowIndex.open(path);
+        System.out.printf("Loaded: %,6d ms%n", System.currentTimeMillis() - start);
+
+        // --- One page, by scanning and by seeking ---
+        System.out.println("\n--- Rows 1,000,000 to 1,000,100 ---");
+        start = System.currentTimeMillis();
+        List<Product> scanned = new ArrayList<>();
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path.toString(), Product.class)) {
+            for (Product p : reader) {
+                if (reader.row() >= 1_000_000) scanned.add(p);
+                if (reader.row() == 1_000_100) break;
+            }
+        }
+        System.out.printf("Scan from row 1:    %,6d ms%n", System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        List<Product> page = new ArrayList<>();
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path.toString(), Product.class)
+                .index(index)
+                .fromRow(1_000_000)
+                .limit(101)) {
+            reader.forEach(page::add);
+        }
+        System.out.printf("fromRow(1,000,000): %,6d ms  (%d rows, same as the scan: %s)%n",
+                System.currentTimeMillis() - start, page.size(), page.toString().equals(scanned.toString()));
+        System.out.println("  first: " + page.get(0));
+
+        // --- An import that fails, then resumes after its last commit ---
+        System.out.println("\n--- Resume after a failure ---");
+        long committed;
+        try {
+            committed = importRows(path, 1);
+        } catch (ImportFailedException e) {
+            committed = e.committed;
+            System.out.printf("Failed at row %,d; rows 1 to %,d were committed%n", e.row, committed);
+        }
+        start = System.currentTimeMillis();
+        long last = importRows(path, committed + 1);
+        System.out.printf("Resumed from row %,d: %,d ms, imported through row %,d%n",
+                committed + 1, System.currentTimeMillis() - start, last);
+
+        System.out.println("\nDone!");
+    }
+
+    /** Imports from {@code fromRow} on, committing every 10,000 rows; returns the last row committed. */
+    private static long importRows(Path path, long fromRow) {
+        long committed = fromRow - 1;
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path.toString(), Product.class).fromRow(fromRow)) {
+            for (Product p : reader) {
+                if (fromRow == 1 && reader.row() == FAIL_AT) {
+                    throw new ImportFailedException(reader.row(), committed);
+                }
+                if (reader.row() % COMMIT_EVERY == 0) committed = reader.row();
+            }
+            return reader.row();
+        }
+    }
+
+    /** Stands in for a database outage partway through an import. */
+    private static final class ImportFailedException extends RuntimeException {
+        final long row;
+        final long committed;
+
+        ImportFailedException(long row, long committed) {
+            super("Import failed at row " + row);
+            this.row = row;
+            this.committed = committed;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.csv.ChangeType;
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.DeltaCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.RowChange;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * E24 — Delta Import
+ *
+ * Demonstrates re-importing a daily file where only a few rows change:
+ * - Day 1: every row is INSERTED, and commit() saves the row hashes
+ * - Day 2: 300 price changes, 50 removed and 100 new products
+ * - Unchanged rows are hashed and skipped, never mapped
+ */
+public class E24_DeltaImport {
+
+    private static final int ROW_COUNT = 1_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E24: Delta Import ===\n");
+
+        Path path = Paths.get("output/daily_products.csv");
+        Path store = Paths.get("output/daily_products.rowhash");
+        Files.deleteIfExists(store);
+
+        // --- Day 1: no store yet, so everything is new ---
+        writeDay(path, 1);
+        System.out.println("--- Day 1 ---");
+        importDelta(path, store);
+        System.out.printf("Hash store: %,d bytes%n", Files.size(store));
+
+        // --- Day 2: a few hundred rows differ ---
+        writeDay(path, 2);
+        System.out.println("\n--- Day 2 ---");
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(path.toString(), Product.class)) {
+            for (Product p : reader) rows++;
+        }
+        System.out.printf("Full read:    %,6d ms  (%,d rows mapped)%n", System.currentTimeMillis() - start, rows);
+        importDelta(path, store);
+
+        // --- Day 2 again: nothing to do ---
+        System.out.println("\n--- Day 2, uploaded again ---");
+        importDelta(path, store);
+
+        System.out.println("\nDone!");
+    }
+
+    private static void importDelta(Path path, Path store) {
+        long start = System.currentTimeMillis();
+        Map<ChangeType, Integer> counts = new EnumMap<>(ChangeType.class);
+        RowChange<Product> sample = null;
+        try (DeltaCsvReader<Product> delta = DeltaCsvReader.of(path, Product.class)
+                .key("Product Name")
+                .store(store)
+                .open()) {
+            for (RowChange<Product> change : delta) {
+                // Stands in for the upsert or delete downstream
+                counts.merge(change.type(), 1, Integer::sum);
+                if (change.type() == ChangeType.CHANGED && sample == null) sample = change;
+            }
+            delta.commit();
+            System.out.printf("Delta read:   %,6d ms  (%,d rows: %,d inserted, %,d changed, %,d deleted, %,d unchanged)%n",
+                    System.currentTimeMillis() - start, delta.rows(),
+                    delta.inserted(), delta.changed(), delta.deleted(), delta.unchanged());
+        }
+        if (sample != null) System.out.println("  e.g. " + sample + ": " + sample.value());
+    }
+
+    /**
+     * The partner's upload for {@code day}. On day 2, every 3,000th product
+     * has a new price, every 20,000th is gone and 100 new ones are appended.
+     */
+    private static void writeDay(Path path, int day) {
+        try (CsvWriter writer = CsvWriter.open(path, ',')) {
+            writer.write(new String[] {"Product Name", "Price", "In Stock", "Release Date", "Category"});
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                if (day == 2 && i % 20_000 == 0) continue;
+                double price = 10.0 + (i % 500) + (day == 2 && i % 3_000 == 0 ? 0.99 : 0);
+                writer.write(product(i, price));
+            }
+            if (day == 2) {
+                for (int i = ROW_COUNT + 1; i <= ROW_COUNT + 100; i++) {
+                    writer.write(product(i, 99.0));
+                }
+            }
+        }
+    }
+
+    private static String[] product(int i, double price) {
+        return new String[] {
+            "Product-" + i,
+            Double.toString(price),
+            Boolean.toString(i % 3 != 0),
+            LocalDate.of(2024, 1, 1).plusDays(i % 365).toString(),
+            CATEGORIES[i % CATEGORIES.length]
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.mapping.ModelRegistry;
+import io.github.chitralabs.sheetz.examples.model.Order;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * E25 — Model Registry
+ *
+ * Demonstrates a worker that reads thousands of small files:
+ * - ModelRegistry.warm(...) at boot resolves annotations, converters, accessors
+ *   and the header layouts the files are known to have
+ * - 2,000 files in those two layouts: no file resolves anything
+ * - A file with a new layout: resolved once, then cached
+ */
+public class E25_ModelRegistry {
+
+    private static final int FILE_COUNT = 2_000;
+    private static final int ROWS_PER_FILE = 20;
+    private static final String[] LAYOUT_A = {"Order ID", "Product", "Quantity", "Amount"};
+    private static final String[] LAYOUT_B = {"Amount", "Quantity", "Order ID", "Product", "Notes"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E25: Model Registry ===\n");
+
+        Path dir = Files.createDirectories(Paths.get("output/orders"));
+        for (int f = 0; f < FILE_COUNT; f++) {
+            writeOrders(dir.resolve("orders-" + f + ".csv"), f % 2 == 0 ? LAYOUT_A : LAYOUT_B, f);
+        }
+        Path reordered = Paths.get("output/orders-reordered.csv");
+        writeOrders(reordered, new String[] {"Product", "Order ID", "Amount", "Quantity"}, FILE_COUNT);
+        System.out.printf("Wrote %,d files of %d orders to %s%n%n", FILE_COUNT, ROWS_PER_FILE, dir);
+
+        // --- At boot ---
+        long start = System.nanoTime();
+        ModelRegistry.warm(Order.class, LAYOUT_A, LAYOUT_B);
+        System.out.printf("warm(Order, 2 layouts): %,8.2f ms%n", (System.nanoTime() - start) / 1e6);
+
+        // --- The batch ---
+        long hits = ModelRegistry.hits();
+        long misses = ModelRegistry.misses();
+        start = System.nanoTime();
+        long rows = 0;
+        for (int f = 0; f < FILE_COUNT; f++) {
+            rows += count(dir.resolve("orders-" + f + ".csv"), Order.class);
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%,d files, %,d rows:  %,8.2f ms  (%.3f ms per file)%n", FILE_COUNT, rows, millis, millis / FILE_COUNT);
+        System.out.printf("  %,d mappers from the cache, %,d resolved%n",
+                ModelRegistry.hits() - hits, ModelRegistry.misses() - misses);
+
+        // --- A layout nobody warmed ---
+        count(reordered, Order.class);
+        count(reordered, Order.class);
+        System.out.printf("%nAfter two reads of a new layout: %d layouts cached for Order; %,d resolved in total%n",
+                ModelRegistry.headers(Order.class), ModelRegistry.misses() - misses);
+
+        System.out.println("\nDone!");
+    }
+
+    private static <T> long count(Path file, Class<T> type) {
+        long rows = 0;
+        try (MappedCsvReader<T> reader = MappedCsvReader.open(file.toString(), type)) {
+            for (T row : reader) rows++;
+        }
+        return rows;
+    }
+
+    private static void writeOrders(Path file, String[] header, int f) {
+        try (CsvWriter writer = CsvWriter.open(file, ',')) {
+            writer.write(header);
+            for (int i = 1; i <= ROWS_PER_FILE; i++) {
+                String[] row = new String[header.length];
+                for (int c = 0; c < header.length; c++) {
+                    switch (header[c]) {
+                        case "Order ID": row[c] = "ORD-" + f + "-" + i; break;
+                        case "Product": row[c] = "Widget " + (i % 7); break;
+                        case "Quantity": row[c] = Integer.toString(i); break;
+                        case "Amount": row[c] = "$" + BigDecimal.valueOf(i * 1999L, 2); break;
+                        default: row[c] = "";
+                    }
+                }
+                writer.write(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.model.Product;
+import io.github.chitralabs.sheetz.examples.multifile.FileResult;
+import io.github.chitralabs.sheetz.examples.multifile.MultiFileReader;
+import io.github.chitralabs.sheetz.examples.multifile.MultiFileResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * E26 — Multi-File Read
+ *
+ * Demonstrates ingesting a drop folder of 3,000 CSV files:
+ * - A loop over the files, one at a time
+ * - MultiFileReader.readAll(...) on all cores, with an in-flight byte limit
+ * - Two broken files that fail on their own without stopping the rest
+ * - streamAll(...) to consume files as they finish
+ */
+public class E26_MultiFileRead {
+
+    private static final int FILE_COUNT = 3_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E26: Multi-File Read ===\n");
+
+        // Mostly small files, every 500th a large one
+        Path dir = Files.createDirectories(Paths.get("output/dropbox"));
+        List<Path> files = new ArrayList<>();
+        for (int f = 0; f < FILE_COUNT; f++) {
+            Path file = dir.resolve("upload-" + f + ".csv");
+            writeProducts(file, f % 500 == 0 ? 100_000 : 50 + f % 200);
+            files.add(file);
+        }
+        Path broken = dir.resolve("broken.csv");
+        Files.write(broken, "Price,Category\n9.99,Home\n".getBytes());
+        files.add(broken);
+        files.add(dir.resolve("missing.csv"));
+        System.out.printf("Wrote %,d files to %s, plus one without a name column and one missing%n%n", FILE_COUNT, dir);
+
+        // --- One at a time ---
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        int failed = 0;
+        for (Path file : files) {
+            try (MappedCsvReader<Product> reader = MappedCsvReader.open(file.toString(), Product.class)) {
+                for (Product p : reader) rows++;
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        }
+        System.out.printf("Sequential loop:  %,6d ms  (%,d rows, %d files failed)%n", System.currentTimeMillis() - start, rows, failed);
+
+        // --- All cores, at most 64 MB of files in flight ---
+        MultiFileReader<Product> reader = MultiFileReader.of(Product.class)
+                .threads(Runtime.getRuntime().availableProcessors())
+                .maxInFlightBytes(64L << 20);
+        MultiFileResult<Product> result = reader.readAll(files);
+        System.out.printf("readAll():        %,6d ms  (%,d rows, %d files failed)%n",
+                result.durationMs(), result.rowCount(), result.failures().size());
+        for (FileResult<Product> failure : result.failures()) {
+            System.out.println("  " + failure);
+        }
+
+        // --- Consume each file as soon as it is read ---
+        start = System.currentTimeMillis();
+        long streamed;
+        try (Stream<FileResult<Product>> results = reader.streamAll(files, false)) {
+            streamed = results.filter(r -> !r.failed()).mapToLong(r -> r.rows().size()).sum();
+        }
+        System.out.printf("streamAll():      %,6d ms  (%,d rows)%n", System.currentTimeMillis() - start, streamed);
+
+        System.out.println("\nDone!");
+    }
+
+    private static void writeProducts(Path file, int rows) {
+        try (CsvWriter writer = CsvWriter.open(file, ',')) {
+            writer.write(new String[] {"Product Name", "Price", "In Stock", "Release Date", "Category"});
+            for (int i = 1; i <= rows; i++) {
+                writer.write(new String[] {
+                    "Product-" + i,
+                    Double.toString(10.0 + (i % 500)),
+                    Boolean.toString(i % 3 != 0),
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365).toString(),
+                    CATEGORIES[i % CATEGORIES.length]
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.converter.MoneyConverter;
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvWriter;
+import io.github.chitralabs.sheetz.examples.mapping.ColumnField;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * E27 — Compiled Formats
+ *
+ * Demonstrates an export of 1M products with formatted columns:
+ * - Price "#,##0.00" and Release Date "yyyy-MM-dd", compiled once per column
+ * - The same export through DecimalFormat and DateTimeFormatter per cell
+ * - Reading the export back
+ * - MoneyConverter writing amounts through the same compiled format
+ */
+public class E27_CompiledFormats {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) {
+        System.out.println("=== E27: Compiled Formats ===\n");
+
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            products.add(new Product("Product-" + i, 10.0 + (i % 500) * 37.25, i % 3 != 0,
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365), CATEGORIES[i % CATEGORIES.length]));
+        }
+        for (ColumnField field : ColumnField.of(Product.class)) {
+            if (field.compiledFormat() != null) System.out.printf("%-14s %s%n", field.header(), field.compiledFormat());
+        }
+        System.out.println();
+
+        // Timed once and cold, so only a rough guide; FormatBenchmark runs the same export under JMH
+        // --- Formatter per cell ---
+        long start = System.currentTimeMillis();
+        DecimalFormat price = new DecimalFormat("#,##0.00");
+        DateTimeFormatter date = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        try (CsvWriter writer = CsvWriter.open(Paths.get("output/export-formatter.csv"), ',')) {
+            writer.write(new String[] {"Product Name", "Price", "In Stock", "Release Date", "Category"});
+            for (Product p : products) {
+                writer.write(new String[] {
+                    p.getName(), price.format(p.getPrice()), String.valueOf(p.getInStock()),
+                    date.format(p.getReleaseDate()), p.getCategory()
+                });
+            }
+        }
+        long formatter = System.currentTimeMillis() - start;
+
+        // --- Compiled per column ---
+        start = System.currentTimeMillis();
+        try (MappedCsvWriter<Product> writer = MappedCsvWriter.open("output/export-compiled.csv", Product.class)) {
+            writer.writeAll(products.iterator());
+        }
+        long compiled = System.currentTimeMillis() - start;
+        System.out.printf("Formatter per cell %,5d ms, compiled %,5d ms%n", formatter, compiled);
+
+        // --- Read it back ---
+        long read = 0;
+        Product last = null;
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open("output/export-compiled.csv", Product.class)) {
+            for (Product p : reader) {
+                read++;
+                last = p;
+            }
+        }
+        System.out.printf("%nRead back %,d rows; last: %s%n", read, last);
+
+        // --- Money amounts ---
+        MoneyConverter money = new MoneyConverter();
+        for (String amount : new String[] {"0.5", "1234.565", "-98765432.1"}) {
+            System.out.printf("MoneyConverter.toCell(%s) = %s%n", amount, money.toCell(new BigDecimal(amount)));
+        }
+
+        System.out.println("\nDone!");
+    }
+}
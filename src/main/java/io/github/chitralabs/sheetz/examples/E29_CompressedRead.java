@@ -0,0 +1,94 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.examples.csv.Compression;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.ParallelCsvWriter;
+import io.github.chitralabs.sheetz.examples.model.Product;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * E29 — Compressed Read
+ *
+ * Demonstrates reading compressed CSV without unpacking it first:
+ * - .csv.gz and .zip detected from the file name
+ * - A gzip file without a .gz name, detected from its magic bytes
+ * - Inflating on a read-ahead thread, overlapped with mapping
+ */
+public class E29_CompressedRead {
+
+    private static final int ROWS = 2_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E29: Compressed Read ===\n");
+
+        Path csv = Paths.get("output/feed.csv");
+        Path gz = Paths.get("output/feed.csv.gz");
+        Path zip = Paths.get("output/feed.zip");
+        Path renamed = Paths.get("output/feed.dat");
+        ParallelCsvWriter.of(Product.class).file(csv).write(products());
+        ParallelCsvWriter.of(Product.class).file(gz).gzip(6).write(products());
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("feed.csv"));
+            Files.copy(csv, out);
+        }
+        Files.copy(gz, renamed, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path file : new Path[]{csv, gz, zip, renamed}) {
+            System.out.printf("%-18s %-5s %,12d bytes%n", file.getFileName(), Compression.detect(file), Files.size(file));
+        }
+
+        // A single cold pass; CompressedReadBenchmark has the steady-state numbers
+        System.out.println();
+        for (Path file : new Path[]{csv, gz, zip}) {
+            long start = System.currentTimeMillis();
+            long rows = count(file);
+            System.out.printf("  %-12s %,d rows in %,5d ms%n", file.getFileName(), rows, System.currentTimeMillis() - start);
+        }
+
+        // --- Inflating alone, on this thread ---
+        long start = System.currentTimeMillis();
+        long bytes = 0;
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Compression.GZIP.open(gz, false)) {
+            for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                bytes += n;
+            }
+        }
+        System.out.printf("  inflate only %,d bytes in %,5d ms%n", bytes, System.currentTimeMillis() - start);
+
+        // --- Resuming inside a compressed file skips rows by reading them ---
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(renamed, Product.class, ',').fromRow(1_500_000).limit(2)) {
+            System.out.println();
+            reader.forEach(System.out::println);
+        }
+
+        System.out.println("\nDone!");
+    }
+
+    private static long count(Path file) {
+        long rows = 0;
+        try (MappedCsvReader<Product> reader = MappedCsvReader.open(file, Product.class, ',').reuse(1)) {
+            for (Product p : reader) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static Stream<Product> products() {
+        return IntStream.rangeClosed(1, ROWS).mapToObj(i -> new Product("Product-" + i, 10.0 + (i % 500) * 37.25,
+                i % 3 != 0, LocalDate.of(2024, 1, 1).plusDays(i % 365), CATEGORIES[i % CATEGORIES.length]));
+    }
+}
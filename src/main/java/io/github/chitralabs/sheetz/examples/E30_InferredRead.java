@@ -0,0 +1,103 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.columnar.ColumnTable;
+import io.github.chitralabs.sheetz.examples.columnar.ColumnarReader;
+import io.github.chitralabs.sheetz.examples.columnar.StringColumn;
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * E30 — Inferred Read
+ *
+ * Demonstrates reading an upload whose headers are not known in advance:
+ * - ColumnarReader.inferAll() types every column from a sample of rows
+ * - A column that changes type past the sample is widened, here to text
+ * - asMaps() as a drop-in for Sheetz.readMaps(), with retained heap compared
+ */
+public class E30_InferredRead {
+
+    private static final int ROW_COUNT = 500_000;
+    private static final String[] STATUSES = {"NEW", "PAID", "SHIPPED", "RETURNED"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E30: Inferred Read ===\n");
+
+        Path csv = Paths.get("output/upload.csv");
+        try (CsvWriter writer = CsvWriter.open(csv, ',')) {
+            writer.write(new String[]{"Order Id", "Customer", "Amount", "Paid", "Ordered", "Status", "Zip", "Reference"});
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                writer.write(new String[]{
+                    String.valueOf(i),
+                    "Customer " + (i % 40_000),
+                    String.valueOf(5 + (i % 1_000) * 0.25),
+                    i % 4 == 0 ? "no" : "yes",
+                    LocalDate.of(2024, 1, 1).plusDays(i % 366).toString(),
+                    STATUSES[i % STATUSES.length],
+                    String.format("%05d", i % 100_000),
+                    // Numbers for the first 400K rows, then codes
+                    i <= 400_000 ? String.valueOf(i) : "R-" + i
+                });
+            }
+        }
+        System.out.printf("Wrote %,d rows to %s (%,d KB)%n%n", ROW_COUNT, csv, Files.size(csv) / 1024);
+
+        // --- One map per row ---
+        long before = usedHeap();
+        long start = System.currentTimeMillis();
+        List<Map<String, Object>> maps = Sheetz.readMaps(csv.toString());
+        long mapMillis = System.currentTimeMillis() - start;
+        long mapBytes = usedHeap() - before;
+        System.out.printf("Sheetz.readMaps():         %,d rows in %,5d ms, %,7d KB retained%n", maps.size(), mapMillis, mapBytes / 1024);
+        maps = null;
+
+        // --- Typed columns ---
+        before = usedHeap();
+        start = System.currentTimeMillis();
+        ColumnTable table = ColumnarReader.of(csv).inferAll().read();
+        long columnMillis = System.currentTimeMillis() - start;
+        long columnBytes = usedHeap() - before;
+        System.out.printf("ColumnarReader.inferAll(): %,d rows in %,5d ms, %,7d KB retained (estimated %,d KB)%n",
+                table.rowCount(), columnMillis, columnBytes / 1024, table.sizeInBytes() / 1024);
+        if (columnBytes > 0) {
+            System.out.printf("Heap reduction:  %.1fx%n", (double) mapBytes / columnBytes);
+        }
+
+        // Zip keeps its leading zeros as text; Reference was widened past the sample
+        System.out.println("\nSchema: " + table.schema());
+
+        // --- Rows as maps, without a map per row ---
+        List<Map<String, Object>> rows = table.asMaps();
+        System.out.println("First row: " + rows.get(0));
+        System.out.println("Last row:  " + rows.get(rows.size() - 1));
+
+        StringColumn status = table.strings("Status");
+        String[] names = status.dictionary();
+        int[] counts = status.counts();
+        System.out.println("\nRows per status:");
+        for (int code = 0; code < names.length; code++) {
+            System.out.printf("  %-10s %,d%n", names[code], counts[code]);
+        }
+        System.out.printf("Paid: %,d%n", table.booleans("Paid").trueCount());
+
+        System.out.println("\nDone!");
+    }
+
+    /**
+     * Heap in use after a few GC requests; good enough to compare retained sizes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
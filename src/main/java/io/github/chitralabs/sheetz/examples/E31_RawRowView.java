@@ -0,0 +1,127 @@
+package io.github.chitralabs.sheetz.examples;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.csv.RawCsvReader;
+import io.github.chitralabs.sheetz.examples.csv.RowView;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * E31 — Raw Row View
+ *
+ * Demonstrates a pass-through job that filters rows and forwards two fields:
+ * - Sheetz.readRaw(): a String[] and a String per cell for every row
+ * - RawCsvReader: one RowView moved from row to row, nothing allocated per row
+ * - Forwarding the selected fields as raw UTF-8 bytes
+ */
+public class E31_RawRowView {
+
+    private static final int ROW_COUNT = 2_000_000;
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Sports", "Books"};
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== E31: Raw Row View ===\n");
+
+        Path path = Paths.get("output/raw_products.csv");
+        try (CsvWriter writer = CsvWriter.open(path, ',')) {
+            writer.write(new String[] {"Product Name", "Price", "In Stock", "Release Date", "Category"});
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                writer.write(new String[] {
+                    "Product-" + i,
+                    Double.toString(10.0 + (i % 500)),
+                    Boolean.toString(i % 3 != 0),
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365).toString(),
+                    CATEGORIES[i % CATEGORIES.length]
+                });
+            }
+        }
+        System.out.printf("Wrote %,d rows to %s%n%n", ROW_COUNT, path);
+
+        // A single run for illustration; RawReadBenchmark times the same filter under JMH
+        long[] matches = new long[1];
+
+        measure("Sheetz.readRaw()", () -> {
+            List<String[]> rows = Sheetz.readRaw(path.toString());
+            for (int i = 1; i < rows.size(); i++) {
+                String[] row = rows.get(i);
+                if ("Office".equals(row[4]) && Double.parseDouble(row[1]) > 300) matches[0]++;
+            }
+        });
+        measure("RawCsvReader, RowView", () -> {
+            try (RawCsvReader reader = RawCsvReader.open(path.toString())) {
+                for (RowView row : reader) {
+                    if (row.cellEquals(4, "Office") && row.getDouble(1) > 300) matches[0]++;
+                }
+            }
+        });
+        System.out.printf("%,d matching rows per reader%n%n", matches[0] / 2);
+
+        // --- Forward name and price of the matching rows, byte for byte ---
+        Path out = Paths.get("output/raw_office.csv");
+        long forwarded = 0;
+        try (RawCsvReader reader = RawCsvReader.open(path.toString());
+             OutputStream sink = new BufferedOutputStream(Files.newOutputStream(out), 1 << 16)) {
+            int name = reader.column("Product Name");
+            int price = reader.column("Price");
+            int category = reader.column("Category");
+            byte[] line = new byte[256];
+            for (RowView row : reader) {
+                if (!row.cellEquals(category, "Office") || row.getDouble(price) <= 300) continue;
+                int needed = row.maxByteLength(name) + row.maxByteLength(price) + 2;
+                if (needed > line.length) line = new byte[needed * 2];
+                int end = row.copyBytes(name, line, 0);
+                line[end++] = ',';
+                end = row.copyBytes(price, line, end);
+                line[end++] = '\n';
+                sink.write(line, 0, end);
+                forwarded++;
+            }
+        }
+        System.out.printf("Forwarded %,d rows to %s%n", forwarded, out);
+        try (BufferedReader forwardedLines = Files.newBufferedReader(out)) {
+            System.out.println("First line: " + forwardedLines.readLine());
+        }
+
+        System.out.println("\nDone!");
+    }
+
+    private static void measure(String label, Runnable read) {
+        long gcBefore = collections();
+        long allocatedBefore = allocated();
+        long start = System.currentTimeMillis();
+        read.run();
+        long millis = System.currentTimeMillis() - start;
+        long allocated = allocated() - allocatedBefore;
+        System.out.printf("%-24s %,6d ms  %,5d bytes/row  %,4d GCs%n",
+                label, millis, allocated / ROW_COUNT, collections() - gcBefore);
+    }
+
+    /** Bytes allocated so far by this thread, where the JVM can tell. */
+    private static long allocated() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long collections() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.chitralabs.sheetz.examples.async;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.ValidationResult;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking front end for {@link Sheetz}: each call runs the blocking read
+ * or write on an executor and returns a {@link CompletableFuture}, and
+ * {@link #stream} publishes rows to a {@link Flow.Subscriber} with backpressure.
+ *
+ * The default executor uses a virtual thread per task when the JVM has them
+ * (JDK 21+), so hundreds of concurrent uploads do not tie up platform threads.
+ * On older JVMs it falls back to a bounded pool of daemon threads.
+ *
+ * <pre>
+ * AsyncSheetz async = AsyncSheetz.create();
+ * async.read("upload.xlsx", Product.class)
+ *      .thenAccept(products -&gt; repository.saveAll(products));
+ * </pre>
+ */
+public final class AsyncSheetz {
+
+    /** Size of the fallback pool; reads and writes block on I/O, so more than one per core. */
+    public static final int FALLBACK_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final Executor executor;
+
+    private AsyncSheetz(Executor executor) {
+        this.executor = executor;
+    }
+
+    /** Uses the shared default executor: virtual threads on JDK 21+, a bounded pool otherwise. */
+    public static AsyncSheetz create() {
+        return new AsyncSheetz(DefaultExecutor.INSTANCE);
+    }
+
+    /** Runs every call on {@code executor}, e.g. to cap concurrency or share a pool. */
+    public static AsyncSheetz using(Executor executor) {
+        if (executor == null) throw new IllegalArgumentException("executor must not be null");
+        return new AsyncSheetz(executor);
+    }
+
+    /** Whether the default executor runs tasks on virtual threads on this JVM. */
+    public static boolean virtualThreads() {
+        return DefaultExecutor.VIRTUAL;
+    }
+
+    public <T> CompletableFuture<List<T>> read(String path, Class<T> type) {
+        return CompletableFuture.supplyAsync(() -> Sheetz.read(path, type), executor);
+    }
+
+    public CompletableFuture<List<Map<String, Object>>> readMaps(String path) {
+        return CompletableFuture.supplyAsync(() -> Sheetz.readMaps(path), executor);
+    }
+
+    public <T> CompletableFuture<ValidationResult<T>> validate(String path, Class<T> type) {
+        return CompletableFuture.supplyAsync(() -> Sheetz.validate(path, type), executor);
+    }
+
+    public <T> CompletableFuture<Void> write(List<T> data, String path) {
+        return CompletableFuture.runAsync(() -> Sheetz.write(data, path), executor);
+    }
+
+    /**
+     * Publishes the rows of {@code path} as {@link Sheetz#stream} reads them.
+     * Nothing is opened until a subscriber requests rows, and each subscriber
+     * gets its own reader.
+     */
+    public <T> Flow.Publisher<T> stream(String path, Class<T> type) {
+        return new ReaderPublisher<>(() -> Sheetz.stream(path, type), executor);
+    }
+
+    /** Created on first use so that plain Sheetz users never start a pool. */
+    private static final class DefaultExecutor {
+        static final boolean VIRTUAL;
+        static final ExecutorService INSTANCE;
+
+        static {
+            ExecutorService virtual = virtualThreadExecutor();
+            VIRTUAL = virtual != null;
+            INSTANCE = virtual != null ? virtual : boundedPool();
+        }
+
+        /** {@code Executors.newVirtualThreadPerTaskExecutor()}, looked up reflectively to keep the Java 11 target. */
+        private static ExecutorService virtualThreadExecutor() {
+            try {
+                Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            } catch (InvocationTargetException e) {
+                // JDK 19 and 20 have the method but reject it unless preview features are on
+                return null;
+            }
+        }
+
+        private static ExecutorService boundedPool() {
+            AtomicInteger count = new AtomicInteger();
+            ThreadFactory factory = task -> {
+                Thread thread = new Thread(task, "sheetz-async-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(FALLBACK_THREADS, FALLBACK_THREADS,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.chitralabs.sheetz.examples.async;
+
+import io.github.chitralabs.sheetz.reader.StreamingReader;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cold publisher over a {@link StreamingReader}: each subscriber opens its own
+ * reader, and rows are only read as fast as the subscriber requests them.
+ * Signals for one subscription, {@code onSubscribe} included, run serially on
+ * the executor; the reader is closed on completion, error or cancellation.
+ */
+final class ReaderPublisher<T> implements Flow.Publisher<T> {
+
+    private final Supplier<StreamingReader<T>> source;
+    private final Executor executor;
+
+    ReaderPublisher(Supplier<StreamingReader<T>> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        new ReaderSubscription<>(subscriber, source, executor).start();
+    }
+
+    private static final class ReaderSubscription<T> implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Supplier<StreamingReader<T>> source;
+        private final Executor executor;
+
+        private final AtomicLong demand = new AtomicLong();
+        /**
+         * Pending drain requests; only the caller that raises it from zero schedules a drain.
+         * Starts at 1 for the task that calls {@code onSubscribe}, so requests made from
+         * {@code onSubscribe} wait for it to return.
+         */
+        private final AtomicInteger work = new AtomicInteger(1);
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException badRequest;
+
+        // Touched only by the draining thread
+        private boolean subscribed;
+        private StreamingReader<T> reader;
+        private Iterator<T> rows;
+        private volatile boolean done;
+
+        ReaderSubscription(Flow.Subscriber<? super T> subscriber, Supplier<StreamingReader<T>> source, Executor executor) {
+            this.subscriber = subscriber;
+            this.source = source;
+            this.executor = executor;
+        }
+
+        void start() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Nothing can run for this subscription; work stays above zero, so requests are ignored
+                done = true;
+                subscriber.onSubscribe(this);
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                badRequest = new IllegalArgumentException("request must be positive, was " + n);
+            } else {
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (work.getAndIncrement() != 0) return;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // No drain is running, so the subscription can be finished here
+                if (!done) {
+                    finish();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!subscribed) {
+                subscribed = true;
+                try {
+                    subscriber.onSubscribe(this);
+                } catch (RuntimeException e) {
+                    // A subscriber that throws from onSubscribe is treated as cancelled
+                    cancelled = true;
+                }
+            }
+            int missed = 1;
+            do {
+                drain();
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) return;
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (badRequest != null) {
+                finish();
+                subscriber.onError(badRequest);
+                return;
+            }
+            try {
+                if (rows == null) {
+                    // Nothing requested yet: do not open the file
+                    if (demand.get() == 0) return;
+                    reader = source.get();
+                    rows = reader.iterator();
+                }
+                long requested = demand.get();
+                long emitted = 0;
+                while (emitted != requested) {
+                    if (cancelled) {
+                        finish();
+                        return;
+                    }
+                    if (!rows.hasNext()) break;
+                    subscriber.onNext(rows.next());
+                    emitted++;
+                }
+                if (!cancelled && !rows.hasNext()) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+            } catch (RuntimeException | Error e) {
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (RuntimeException ignored) {
+                    // The subscriber is told about the original outcome, not the close
+                }
+                reader = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.util.BitSet;
+
+/**
+ * A true/false column backed by a bitmap, one bit per row. Empty cells read as
+ * false; check {@link #isNull(int)} where that matters.
+ */
+public final class BooleanColumn extends Column {
+
+    private final BitSet values = new BitSet();
+
+    BooleanColumn(String name) {
+        super(name, ColumnType.BOOLEAN);
+    }
+
+    public boolean getBoolean(int row) {
+        checkRow(row);
+        return values.get(row);
+    }
+
+    @Override
+    public Boolean get(int row) {
+        return isNull(row) ? null : values.get(row);
+    }
+
+    /** Number of true cells. */
+    public int trueCount() {
+        return values.cardinality();
+    }
+
+    @Override
+    void append(Cells cells, int i) {
+        if (cells.parseBoolean(i)) values.set(size);
+        size++;
+    }
+
+    @Override
+    void appendPlaceholder() {
+        size++;
+    }
+
+    @Override
+    void trim() {
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 16L + values.size() / 8 + nullBytes();
+    }
+}
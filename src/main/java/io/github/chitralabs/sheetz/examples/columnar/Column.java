@@ -0,0 +1,121 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * One column of a {@link ColumnTable}: the values of a single header, stored
+ * in a primitive array instead of one object per row.
+ *
+ * Empty cells are recorded in a null bitmap; the array holds a placeholder
+ * (0, NaN or code -1) at those rows.
+ */
+public abstract class Column {
+
+    private final String name;
+    private final ColumnType type;
+    private final BitSet nulls = new BitSet();
+    int size;
+
+    Column(String name, ColumnType type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /** The header this column was read from. */
+    public String name() {
+        return name;
+    }
+
+    public ColumnType type() {
+        return type;
+    }
+
+    /** Number of rows. */
+    public int size() {
+        return size;
+    }
+
+    /** Whether the cell at {@code row} (0-based) was empty. */
+    public boolean isNull(int row) {
+        checkRow(row);
+        return nulls.get(row);
+    }
+
+    /** Number of empty cells. */
+    public int nullCount() {
+        return nulls.cardinality();
+    }
+
+    /** Approximate bytes of heap held by this column. */
+    public abstract long sizeInBytes();
+
+    /** Value at {@code row} as an object, or {@code null} if the cell was empty. */
+    public abstract Object get(int row);
+
+    /**
+     * Appends cell {@code i} of {@code cells}. Empty cells go to {@link #appendNull()}.
+     *
+     * @throws RuntimeException if the cell cannot be converted to this column's type
+     */
+    abstract void append(Cells cells, int i);
+
+    void appendNull() {
+        nulls.set(size);
+        appendPlaceholder();
+    }
+
+    abstract void appendPlaceholder();
+
+    /**
+     * The rows read so far as a new column of the wider {@code type}, with the
+     * same empty cells: whole numbers become doubles, and any value becomes
+     * its text. Reading then goes on into the new column.
+     */
+    Column widen(ColumnType type) {
+        Column wider = type.create(name);
+        for (int row = 0; row < size; row++) {
+            if (nulls.get(row)) {
+                wider.appendNull();
+            } else if (type == ColumnType.TEXT) {
+                ((StringColumn) wider).appendText(text(row));
+            } else if (type == ColumnType.DOUBLE && this instanceof LongColumn) {
+                ((DoubleColumn) wider).add(((LongColumn) this).getLong(row));
+            } else {
+                throw new IllegalArgumentException("Cannot widen " + this.type + " to " + type);
+            }
+        }
+        return wider;
+    }
+
+    /** The value at a non-empty {@code row} as text, for {@link #widen(ColumnType)}. */
+    String text(int row) {
+        return String.valueOf(get(row));
+    }
+
+    /** Releases spare capacity once reading is done. */
+    abstract void trim();
+
+    long nullBytes() {
+        return nulls.size() / 8;
+    }
+
+    void checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("row " + row + " of " + size);
+    }
+
+    static int grow(int capacity) {
+        return Math.max(16, capacity + (capacity >> 1));
+    }
+
+    static long[] trimmed(long[] values, int size) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + name + ", " + size + " rows}";
+    }
+}
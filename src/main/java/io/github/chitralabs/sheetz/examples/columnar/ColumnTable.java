@@ -0,0 +1,175 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of a {@link ColumnarReader}: the selected columns, each a
+ * primitive vector of the same length, in selection order.
+ *
+ * {@link #row(int)} and {@link #asMaps()} present the rows as maps from header
+ * to value, the shape {@code Sheetz.readMaps} returns, without a map per row:
+ * each view holds the table and a row number, and looks values up in the
+ * columns when asked.
+ */
+public final class ColumnTable {
+
+    private final Map<String, Column> columns;
+    private final int rowCount;
+
+    ColumnTable(List<Column> columns, int rowCount) {
+        Map<String, Column> byName = new LinkedHashMap<>();
+        for (Column column : columns) {
+            column.trim();
+            byName.put(column.name(), column);
+        }
+        this.columns = Collections.unmodifiableMap(byName);
+        this.rowCount = rowCount;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public List<Column> columns() {
+        return new ArrayList<>(columns.values());
+    }
+
+    public Column column(String name) {
+        Column column = columns.get(name);
+        if (column == null) throw new IllegalArgumentException("Column not selected: " + name + "; selected: " + columns.keySet());
+        return column;
+    }
+
+    public DoubleColumn doubles(String name) {
+        return as(name, DoubleColumn.class);
+    }
+
+    public LongColumn longs(String name) {
+        return as(name, LongColumn.class);
+    }
+
+    public DateColumn dates(String name) {
+        return as(name, DateColumn.class);
+    }
+
+    public StringColumn strings(String name) {
+        return as(name, StringColumn.class);
+    }
+
+    public BooleanColumn booleans(String name) {
+        return as(name, BooleanColumn.class);
+    }
+
+    /** Each column's type, in column order. */
+    public Map<String, ColumnType> schema() {
+        Map<String, ColumnType> schema = new LinkedHashMap<>();
+        for (Column column : columns.values()) schema.put(column.name(), column.type());
+        return schema;
+    }
+
+    /**
+     * Row {@code row} (0-based) as a read-only map from header to value, with
+     * {@code null} for empty cells. Values are boxed, and text decoded, on each
+     * {@code get}.
+     */
+    public Map<String, Object> row(int row) {
+        if (row < 0 || row >= rowCount) throw new IndexOutOfBoundsException("row " + row + " of " + rowCount);
+        return new RowMap(row);
+    }
+
+    /** Every row as a {@link #row(int)} view; a drop-in for the list {@code Sheetz.readMaps} returns. */
+    public List<Map<String, Object>> asMaps() {
+        return new AbstractList<Map<String, Object>>() {
+            @Override
+            public Map<String, Object> get(int row) {
+                return row(row);
+            }
+
+            @Override
+            public int size() {
+                return rowCount;
+            }
+        };
+    }
+
+    /** Approximate bytes of heap held by all columns. */
+    public long sizeInBytes() {
+        long total = 0;
+        for (Column column : columns.values()) total += column.sizeInBytes();
+        return total;
+    }
+
+    private <C extends Column> C as(String name, Class<C> type) {
+        Column column = column(name);
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column " + name + " is a " + column.getClass().getSimpleName() + ", not a " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnTable{" + rowCount + " rows, columns=" + columns.keySet() + "}";
+    }
+
+    /** One row over the shared columns. */
+    private final class RowMap extends AbstractMap<String, Object> {
+        private final int row;
+
+        RowMap(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Column column = columns.get(key);
+            return column == null ? null : column.get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columns.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    Iterator<Column> it = columns.values().iterator();
+                    return new Iterator<Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            Column column = it.next();
+                            return new SimpleImmutableEntry<>(column.name(), column.get(row));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columns.size();
+                }
+            };
+        }
+    }
+}
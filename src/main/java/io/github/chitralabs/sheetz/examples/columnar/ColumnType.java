@@ -0,0 +1,78 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The value type of a {@link Column}, as selected on a {@link ColumnarReader}
+ * or inferred from cell text by {@link ColumnarReader#inferAll()}.
+ */
+public enum ColumnType {
+    BOOLEAN("true/false"),
+    LONG("whole number"),
+    DOUBLE("number"),
+    DATE("date"),
+    TEXT("text");
+
+    /** At most 18 digits, so that every match fits a long; no leading zeros, which IDs and zip codes need kept. */
+    private static final Pattern WHOLE = Pattern.compile("[-+]?(0|[1-9]\\d{0,17}|[1-9]\\d{0,2}(,\\d{3}){1,5})");
+    private static final Pattern DECIMAL = Pattern.compile(
+            "[-+]?((0|[1-9]\\d*|[1-9]\\d{0,2}(,\\d{3})+)(\\.\\d+)?|\\.\\d+)([eE][-+]?\\d{1,3})?");
+    private static final Pattern ISO_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    private final String description;
+
+    ColumnType(String description) {
+        this.description = description;
+    }
+
+    /** What the cells must hold, for error messages. */
+    String description() {
+        return description;
+    }
+
+    Column create(String name) {
+        switch (this) {
+            case BOOLEAN: return new BooleanColumn(name);
+            case LONG: return new LongColumn(name);
+            case DOUBLE: return new DoubleColumn(name);
+            case DATE: return new DateColumn(name);
+            default: return new StringColumn(name);
+        }
+    }
+
+    /**
+     * The narrowest type that holds {@code text} without losing anything:
+     * {@code 1/0} stays a number, and {@code 007} stays text.
+     */
+    static ColumnType of(String text) {
+        String value = text.trim();
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true": case "false": case "yes": case "no":
+                return BOOLEAN;
+            default:
+                break;
+        }
+        if (WHOLE.matcher(value).matches()) return LONG;
+        if (DECIMAL.matcher(value).matches()) return DOUBLE;
+        if (ISO_DATE.matcher(value).matches()) {
+            try {
+                LocalDate.parse(value);
+                return DATE;
+            } catch (DateTimeParseException e) {
+                return TEXT;
+            }
+        }
+        return TEXT;
+    }
+
+    /** The narrowest type that holds values of both types; {@code null} is no value yet. */
+    static ColumnType join(ColumnType a, ColumnType b) {
+        if (a == null || a == b) return b;
+        if (b == null) return a;
+        if ((a == LONG || a == DOUBLE) && (b == LONG || b == DOUBLE)) return DOUBLE;
+        return TEXT;
+    }
+}
@@ -0,0 +1,336 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.CsvScanner;
+import io.github.chitralabs.sheetz.examples.csv.RowView;
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+import io.github.chitralabs.sheetz.examples.mapping.MappingException;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxSheetReader;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reads selected columns of a sheet into primitive vectors instead of one
+ * object or map per row.
+ *
+ * <pre>
+ * ColumnTable table = ColumnarReader.of("products.csv")
+ *         .doubles("Price")
+ *         .dates("Release Date")
+ *         .strings("Category")
+ *         .read();
+ * double total = table.doubles("Price").sum();
+ * </pre>
+ *
+ * CSV files are scanned through the memory-mapped tokenizer: cells of
+ * unselected columns are stepped over and never decoded, and numbers and ISO
+ * dates go from bytes to primitives. XLSX sheets are streamed through
+ * {@link XlsxSheetReader} with a projection of the selected columns, so other
+ * columns are skipped in the parser. Legacy XLS files are read whole with
+ * {@code Sheetz.readRaw} and converted column by column.
+ *
+ * For files whose headers are not known in advance, {@link #inferAll()} reads
+ * every column, typed from the first {@link #sampleRows(int)} rows. A later
+ * cell that does not fit its column's type widens the column in place and
+ * reading goes on: whole numbers read so far become doubles, and other values
+ * become their text, so {@code yes} already read as a boolean reads back as
+ * {@code true}. Each file is read at most twice, once to sample and once to
+ * fill the columns.
+ */
+public final class ColumnarReader {
+
+    public static final int DEFAULT_SAMPLE_ROWS = 1_000;
+
+    private final Path file;
+    private final Map<String, Function<String, Column>> selected = new LinkedHashMap<>();
+    private char delimiter = ',';
+    private boolean inferAll;
+    private int sampleRows = DEFAULT_SAMPLE_ROWS;
+
+    private ColumnarReader(Path file) {
+        this.file = file;
+    }
+
+    public static ColumnarReader of(String path) {
+        return new ColumnarReader(Paths.get(path));
+    }
+
+    public static ColumnarReader of(Path path) {
+        return new ColumnarReader(path);
+    }
+
+    /** Reads these headers as {@code double}. */
+    public ColumnarReader doubles(String... headers) {
+        return select(headers, DoubleColumn::new);
+    }
+
+    /** Reads these headers as {@code long}. */
+    public ColumnarReader longs(String... headers) {
+        return select(headers, LongColumn::new);
+    }
+
+    /** Reads these headers as dates, stored as epoch days. */
+    public ColumnarReader dates(String... headers) {
+        return select(headers, DateColumn::new);
+    }
+
+    /** Reads these headers as dictionary-encoded text. */
+    public ColumnarReader strings(String... headers) {
+        return select(headers, StringColumn::new);
+    }
+
+    /** Reads these headers as true/false. */
+    public ColumnarReader booleans(String... headers) {
+        return select(headers, BooleanColumn::new);
+    }
+
+    /**
+     * Also reads every column not selected above, with a type inferred from
+     * its cells. Blank headers are named {@code Column N}, and repeated ones
+     * get a {@code " (2)"} suffix.
+     */
+    public ColumnarReader inferAll() {
+        this.inferAll = true;
+        return this;
+    }
+
+    /** Rows {@link #inferAll()} looks at to pick column types; default {@value #DEFAULT_SAMPLE_ROWS}. */
+    public ColumnarReader sampleRows(int rows) {
+        if (rows < 1) throw new IllegalArgumentException("rows must be at least 1");
+        this.sampleRows = rows;
+        return this;
+    }
+
+    /** CSV field delimiter; default {@code ','}. */
+    public ColumnarReader delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Reads the selected columns.
+     *
+     * @throws IllegalArgumentException if nothing is selected or a header is not in the file
+     * @throws MappingException if a cell cannot be converted to its selected column's type
+     */
+    public ColumnTable read() {
+        if (selected.isEmpty() && !inferAll) throw new IllegalArgumentException("Select at least one column, or call inferAll()");
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx")) return readXlsx();
+        return name.endsWith(".xls") ? readRaw() : readCsv();
+    }
+
+    private ColumnTable readCsv() {
+        List<Spec> specs;
+        try (CsvScanner scanner = CsvScanner.open(file, delimiter)) {
+            String[] header = scanner.next() ? scanner.toArray() : new String[0];
+            ColumnType[] sampled = new ColumnType[header.length];
+            for (int row = 0; inferAll && row < sampleRows && scanner.next(); row++) {
+                sample(scanner.cells(), sampled);
+            }
+            specs = plan(header, sampled);
+        }
+        try (CsvScanner scanner = CsvScanner.open(file, delimiter)) {
+            scanner.next();
+            Selection selection = new Selection(specs, scanner.row());
+            int row = 0;
+            while (scanner.next()) {
+                selection.append(scanner.cells(), ++row);
+            }
+            return new ColumnTable(selection.columns, row);
+        }
+    }
+
+    private ColumnTable readXlsx() {
+        // Without inferAll(), only the selected columns are decoded
+        XlsxSheetReader.Projection projection = inferAll ? null : (column, header) -> selectedKey(header) != null;
+        List<Spec> specs;
+        try (XlsxSheetReader reader = XlsxSheetReader.open(file, null, projection)) {
+            String[] header = reader.next() ? reader.toArray() : new String[0];
+            ColumnType[] sampled = new ColumnType[header.length];
+            for (int row = 0; inferAll && row < sampleRows && reader.next(); row++) {
+                sample(Cells.of(reader.toArray()), sampled);
+            }
+            specs = plan(header, sampled);
+        }
+        try (XlsxSheetReader reader = XlsxSheetReader.open(file, null, projection)) {
+            reader.next();
+            Selection selection = new Selection(specs, null);
+            int row = 0;
+            while (reader.next()) {
+                selection.append(Cells.of(reader.toArray()), ++row);
+            }
+            return new ColumnTable(selection.columns, row);
+        }
+    }
+
+    private ColumnTable readRaw() {
+        List<String[]> rows = Sheetz.readRaw(file.toString());
+        String[] header = rows.isEmpty() ? new String[0] : rows.get(0);
+        ColumnType[] sampled = new ColumnType[header.length];
+        for (int row = 1; inferAll && row <= sampleRows && row < rows.size(); row++) {
+            sample(Cells.of(rows.get(row)), sampled);
+        }
+        List<Spec> specs = plan(header, sampled);
+        Selection selection = new Selection(specs, null);
+        for (int row = 1; row < rows.size(); row++) {
+            selection.append(Cells.of(rows.get(row)), row);
+        }
+        return new ColumnTable(selection.columns, Math.max(0, rows.size() - 1));
+    }
+
+    private ColumnarReader select(String[] headers, Function<String, Column> factory) {
+        for (String header : headers) {
+            selected.put(header, factory);
+        }
+        return this;
+    }
+
+    private static void sample(Cells cells, ColumnType[] sampled) {
+        for (int i = 0; i < sampled.length; i++) {
+            if (sampled[i] != ColumnType.TEXT && !cells.isEmpty(i)) {
+                sampled[i] = ColumnType.join(sampled[i], ColumnType.of(cells.text(i)));
+            }
+        }
+    }
+
+    /** The columns to read: the selected ones, and with {@link #inferAll()} every other one. */
+    private List<Spec> plan(String[] header, ColumnType[] sampled) {
+        List<Spec> specs = new ArrayList<>();
+        if (!inferAll) {
+            for (Map.Entry<String, Function<String, Column>> entry : selected.entrySet()) {
+                int position = indexOf(header, entry.getKey());
+                if (position < 0) {
+                    throw new IllegalArgumentException("Column not found: " + entry.getKey() + "; header: " + Arrays.toString(header));
+                }
+                specs.add(new Spec(entry.getKey(), position, entry.getValue(), null));
+            }
+            return specs;
+        }
+        Set<String> names = new HashSet<>();
+        Set<String> found = new HashSet<>();
+        for (int i = 0; i < header.length; i++) {
+            String key = selectedKey(header[i]);
+            if (key != null && found.add(key)) {
+                names.add(key);
+                specs.add(new Spec(key, i, selected.get(key), null));
+                continue;
+            }
+            String name = header[i] == null || header[i].trim().isEmpty() ? "Column " + (i + 1) : header[i];
+            String unique = name;
+            for (int n = 2; !names.add(unique); n++) unique = name + " (" + n + ")";
+            specs.add(new Spec(unique, i, null, sampled[i] == null ? ColumnType.TEXT : sampled[i]));
+        }
+        for (String key : selected.keySet()) {
+            if (!found.contains(key)) {
+                throw new IllegalArgumentException("Column not found: " + key + "; header: " + Arrays.toString(header));
+            }
+        }
+        return specs;
+    }
+
+    private String selectedKey(String header) {
+        if (header == null) return null;
+        for (String key : selected.keySet()) {
+            if (header.trim().equalsIgnoreCase(key)) return key;
+        }
+        return null;
+    }
+
+    /** One column to read: its name, position in the header, and a selected factory or an inferred type. */
+    private static final class Spec {
+        final String name;
+        final int position;
+        final Function<String, Column> factory;
+        ColumnType inferred;
+
+        Spec(String name, int position, Function<String, Column> factory, ColumnType inferred) {
+            this.name = name;
+            this.position = position;
+            this.factory = factory;
+            this.inferred = inferred;
+        }
+
+        Column create() {
+            return inferred != null ? inferred.create(name) : factory.apply(name);
+        }
+    }
+
+    /** The columns of one read bound to their positions in the header row. */
+    private static final class Selection {
+        final List<Spec> specs;
+        final List<Column> columns = new ArrayList<>();
+        /** The CSV record as bytes, for text columns; {@code null} for Excel. */
+        final RowView bytes;
+
+        Selection(List<Spec> specs, RowView bytes) {
+            this.specs = specs;
+            this.bytes = bytes;
+            for (Spec spec : specs) columns.add(spec.create());
+        }
+
+        void append(Cells cells, long row) {
+            for (int k = 0; k < columns.size(); k++) {
+                Column column = columns.get(k);
+                int i = specs.get(k).position;
+                if (cells.isEmpty(i)) {
+                    column.appendNull();
+                    continue;
+                }
+                try {
+                    if (bytes != null && column instanceof StringColumn) {
+                        ((StringColumn) column).append(bytes, i);
+                    } else {
+                        column.append(cells, i);
+                    }
+                } catch (RuntimeException e) {
+                    if (specs.get(k).inferred == null) {
+                        throw new MappingException(row, column.name(), cells.text(i),
+                                "Not a valid " + column.type().description(), e);
+                    }
+                    appendWidened(k, cells, i);
+                }
+            }
+        }
+
+        /**
+         * Widens inferred column {@code k} in place to fit cell {@code i}, keeping
+         * the rows read so far, and appends the cell: whole numbers become
+         * doubles for a decimal, and anything else becomes text.
+         */
+        private void appendWidened(int k, Cells cells, int i) {
+            Spec spec = specs.get(k);
+            ColumnType wider = ColumnType.join(spec.inferred, ColumnType.of(cells.text(i)));
+            // A cell the type's own parser rejects despite the text looking right is read as text
+            spec.inferred = wider == spec.inferred ? ColumnType.TEXT : wider;
+            Column column = columns.get(k).widen(spec.inferred);
+            columns.set(k, column);
+            if (column instanceof StringColumn) {
+                ((StringColumn) column).appendText(cells.text(i));
+                return;
+            }
+            try {
+                column.append(cells, i);
+            } catch (RuntimeException e) {
+                appendWidened(k, cells, i);
+            }
+        }
+    }
+
+    private static int indexOf(String[] header, String name) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != null && header[i].trim().equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * A date column stored as epoch days in a {@code long[]}.
+ *
+ * Cells are read as ISO-8601 dates ({@code yyyy-MM-dd}); plain numbers are
+ * taken as Excel serial dates, as spreadsheets without a date style store them.
+ */
+public final class DateColumn extends Column {
+
+    private static final long EXCEL_EPOCH_DAY = LocalDate.of(1899, 12, 30).toEpochDay();
+
+    private long[] epochDays = new long[16];
+
+    DateColumn(String name) {
+        super(name, ColumnType.DATE);
+    }
+
+    /** Days since 1970-01-01 at {@code row}; 0 if the cell was empty. */
+    public long epochDay(int row) {
+        checkRow(row);
+        return epochDays[row];
+    }
+
+    @Override
+    public LocalDate get(int row) {
+        return isNull(row) ? null : LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    /** The epoch days as an array of exactly {@link #size()} elements. Do not modify it. */
+    public long[] epochDays() {
+        trim();
+        return epochDays;
+    }
+
+    @Override
+    void append(Cells cells, int i) {
+        long day;
+        try {
+            day = cells.parseIsoDate(i).toEpochDay();
+        } catch (RuntimeException e) {
+            String text = cells.text(i).trim();
+            try {
+                day = EXCEL_EPOCH_DAY + (long) Double.parseDouble(text);
+            } catch (NumberFormatException notSerial) {
+                day = LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text).toEpochDay();
+            }
+        }
+        add(day);
+    }
+
+    @Override
+    void appendPlaceholder() {
+        add(0);
+    }
+
+    private void add(long day) {
+        if (size == epochDays.length) epochDays = Arrays.copyOf(epochDays, grow(size));
+        epochDays[size++] = day;
+    }
+
+    @Override
+    void trim() {
+        epochDays = trimmed(epochDays, size);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 16L + 8L * epochDays.length + nullBytes();
+    }
+}
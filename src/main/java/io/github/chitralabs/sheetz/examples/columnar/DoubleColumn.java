@@ -0,0 +1,82 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.util.Arrays;
+
+/**
+ * A numeric column backed by a {@code double[]}. Empty cells read as {@code NaN}.
+ */
+public final class DoubleColumn extends Column {
+
+    private double[] values = new double[16];
+
+    DoubleColumn(String name) {
+        super(name, ColumnType.DOUBLE);
+    }
+
+    /** Value at {@code row}, or {@code NaN} if the cell was empty. */
+    public double getDouble(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    @Override
+    public Double get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    /** The values as an array of exactly {@link #size()} elements. Do not modify it. */
+    public double[] values() {
+        trim();
+        return values;
+    }
+
+    /** Sum of the non-empty cells. */
+    public double sum() {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            double v = values[i];
+            if (v == v) sum += v;
+        }
+        return sum;
+    }
+
+    @Override
+    void append(Cells cells, int i) {
+        double value;
+        try {
+            value = cells.parseDouble(i);
+        } catch (RuntimeException e) {
+            value = Double.parseDouble(cells.text(i).trim().replace(",", ""));
+        }
+        add(value);
+    }
+
+    @Override
+    String text(int row) {
+        double value = values[row];
+        // Whole values lose the ".0" that Double.toString would add
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    @Override
+    void appendPlaceholder() {
+        add(Double.NaN);
+    }
+
+    void add(double value) {
+        if (size == values.length) values = Arrays.copyOf(values, grow(size));
+        values[size++] = value;
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 16L + 8L * values.length + nullBytes();
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.util.Arrays;
+
+/**
+ * A whole-number column backed by a {@code long[]}. Empty cells read as 0;
+ * check {@link #isNull(int)} where that matters.
+ */
+public final class LongColumn extends Column {
+
+    private long[] values = new long[16];
+
+    LongColumn(String name) {
+        super(name, ColumnType.LONG);
+    }
+
+    public long getLong(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    @Override
+    public Long get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    /** The values as an array of exactly {@link #size()} elements. Do not modify it. */
+    public long[] values() {
+        trim();
+        return values;
+    }
+
+    @Override
+    void append(Cells cells, int i) {
+        long value;
+        try {
+            value = cells.parseLong(i);
+        } catch (RuntimeException e) {
+            value = Long.parseLong(cells.text(i).trim().replace(",", ""));
+        }
+        add(value);
+    }
+
+    @Override
+    void appendPlaceholder() {
+        add(0);
+    }
+
+    private void add(long value) {
+        if (size == values.length) values = Arrays.copyOf(values, grow(size));
+        values[size++] = value;
+    }
+
+    @Override
+    void trim() {
+        values = trimmed(values, size);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return 16L + 8L * values.length + nullBytes();
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.chitralabs.sheetz.examples.columnar;
+
+import io.github.chitralabs.sheetz.examples.csv.RowView;
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A dictionary-encoded text column: each distinct value is stored once, and
+ * each row holds an {@code int} code into the dictionary.
+ *
+ * The dictionary is one UTF-8 byte array with an offset per value, not a
+ * {@code String} per value, so even a column of distinct names costs little
+ * more than its text. Low-cardinality columns such as categories or statuses
+ * shrink to 4 bytes per row. CSV cells are looked up from their bytes, so a
+ * repeated value costs no allocation. {@link #get(int)} decodes a new
+ * {@code String} on each call.
+ */
+public final class StringColumn extends Column {
+
+    private int[] codes = new int[16];
+    /** Value {@code c} is {@code bytes[offsets[c]]} up to {@code offsets[c + 1]}. */
+    private byte[] bytes = new byte[256];
+    private int[] offsets = new int[17];
+    private int cardinality;
+    /** Open-addressing table of code + 1 by value hash, 0 for a free slot; dropped by {@link #trim()}. */
+    private int[] table = new int[64];
+    private int[] hashes = new int[16];
+    /** The bytes of the CSV cell being looked up, reused from row to row. */
+    private byte[] scratch = new byte[64];
+
+    StringColumn(String name) {
+        super(name, ColumnType.TEXT);
+    }
+
+    @Override
+    public String get(int row) {
+        int code = code(row);
+        return code < 0 ? null : value(code);
+    }
+
+    /** Dictionary code at {@code row}, or -1 if the cell was empty. */
+    public int code(int row) {
+        checkRow(row);
+        return codes[row];
+    }
+
+    /** The value with dictionary code {@code code}. */
+    public String value(int code) {
+        if (code < 0 || code >= cardinality) throw new IndexOutOfBoundsException("code " + code + " of " + cardinality);
+        return new String(bytes, offsets[code], offsets[code + 1] - offsets[code], StandardCharsets.UTF_8);
+    }
+
+    /** Number of distinct values. */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /** The distinct values, indexed by code. */
+    public String[] dictionary() {
+        String[] values = new String[cardinality];
+        for (int code = 0; code < cardinality; code++) {
+            values[code] = value(code);
+        }
+        return values;
+    }
+
+    /**
+     * Number of rows per code; a group-by count without touching the strings.
+     */
+    public int[] counts() {
+        int[] counts = new int[cardinality];
+        for (int i = 0; i < size; i++) {
+            if (codes[i] >= 0) counts[codes[i]]++;
+        }
+        return counts;
+    }
+
+    @Override
+    void append(Cells cells, int i) {
+        appendText(cells.text(i));
+    }
+
+    /** Appends cell {@code i} of a CSV record from its bytes; only a new dictionary value is copied. */
+    void append(RowView row, int i) {
+        int length = row.maxByteLength(i);
+        if (length > scratch.length) scratch = new byte[Math.max(length, grow(scratch.length))];
+        add(lookup(scratch, row.copyBytes(i, scratch, 0)));
+    }
+
+    void appendText(String text) {
+        byte[] value = text.getBytes(StandardCharsets.UTF_8);
+        add(lookup(value, value.length));
+    }
+
+    /** The code of the first {@code length} bytes of {@code value}, added to the dictionary if new. */
+    private int lookup(byte[] value, int length) {
+        int hash = hash(value, length);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            int code = entry - 1;
+            if (hashes[code] == hash
+                    && Arrays.equals(bytes, offsets[code], offsets[code + 1], value, 0, length)) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return intern(value, length, hash, slot);
+    }
+
+    /** Adds the first {@code length} bytes of {@code value} to the dictionary at table {@code slot}; returns its code. */
+    private int intern(byte[] value, int length, int hash, int slot) {
+        int code = cardinality;
+        int end = offsets[code];
+        if (end + length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(end + length, grow(bytes.length)));
+        System.arraycopy(value, 0, bytes, end, length);
+        if (code + 2 > offsets.length) offsets = Arrays.copyOf(offsets, grow(offsets.length));
+        offsets[code + 1] = end + length;
+        if (code == hashes.length) hashes = Arrays.copyOf(hashes, grow(code));
+        hashes[code] = hash;
+        table[slot] = code + 1;
+        cardinality++;
+        // Keep the table at most half full
+        if (cardinality * 2 > table.length) rehash(table.length * 2);
+        return code;
+    }
+
+    private void rehash(int capacity) {
+        int[] rehashed = new int[capacity];
+        int mask = capacity - 1;
+        for (int code = 0; code < cardinality; code++) {
+            int slot = hashes[code] & mask;
+            while (rehashed[slot] != 0) slot = (slot + 1) & mask;
+            rehashed[slot] = code + 1;
+        }
+        table = rehashed;
+    }
+
+    private static int hash(byte[] value, int length) {
+        int h = 1;
+        for (int k = 0; k < length; k++) h = 31 * h + value[k];
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    void appendPlaceholder() {
+        add(-1);
+    }
+
+    private void add(int code) {
+        if (size == codes.length) codes = Arrays.copyOf(codes, grow(size));
+        codes[size++] = code;
+    }
+
+    @Override
+    void trim() {
+        if (codes.length != size) codes = Arrays.copyOf(codes, size);
+        int length = offsets[cardinality];
+        if (bytes.length != length) bytes = Arrays.copyOf(bytes, length);
+        if (offsets.length != cardinality + 1) offsets = Arrays.copyOf(offsets, cardinality + 1);
+        table = null;
+        hashes = null;
+        scratch = null;
+    }
+
+    @Override
+    public long sizeInBytes() {
+        long lookup = table == null ? 0 : 16L + 4L * table.length + 16L + 4L * hashes.length + 16L + scratch.length;
+        return 16L + 4L * codes.length + 16L + bytes.length + 16L + 4L * offsets.length + lookup + nullBytes();
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.chitralabs.sheetz.examples.converter;
+
+import java.math.BigDecimal;
+
+/**
+ * {@link MoneyConverter} with its parse results cached, for amount columns
+ * that repeat the same values:
+ * {@code @Column(value = "Amount", converter = CachedMoneyConverter.class)}.
+ */
+public class CachedMoneyConverter extends CachingConverter<BigDecimal> {
+
+    public CachedMoneyConverter() {
+        super(new MoneyConverter());
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.chitralabs.sheetz.examples.converter;
+
+import io.github.chitralabs.sheetz.convert.ConvertContext;
+import io.github.chitralabs.sheetz.convert.Converter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes another converter's {@link #fromCell} results, keyed by the raw
+ * cell value, in a bounded LRU cache. Columns that repeat the same amounts,
+ * dates or category names then parse each distinct value once.
+ *
+ * Only wrap converters whose results are immutable (BigDecimal, LocalDate,
+ * enums, Strings), since every row sharing a value gets the same instance.
+ * Use one instance per column. {@link #toCell} is not cached.
+ *
+ * The cache key is the cell text alone, not the {@link ConvertContext}. An
+ * instance registered globally with {@code Sheetz.register} is shared by every
+ * column of its type, which is only safe when the delegate ignores the context,
+ * as {@link MoneyConverter} does. A converter that reads the column or format
+ * from its context would return one column's result for another.
+ *
+ * For {@code @Column(converter = ...)}, which needs a no-arg constructor,
+ * subclass it as {@link CachedMoneyConverter} does. The cache is split into
+ * independently locked segments so parallel readers can share it.
+ */
+public class CachingConverter<T> implements Converter<T> {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int SEGMENTS = 16;
+    private static final Object NULL = new Object();
+
+    private final Converter<T> delegate;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingConverter(Converter<T> delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    public CachingConverter(Converter<T> delegate, int capacity) {
+        if (delegate == null) throw new IllegalArgumentException("delegate must not be null");
+        if (capacity < SEGMENTS) throw new IllegalArgumentException("capacity must be at least " + SEGMENTS);
+        this.delegate = delegate;
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity / SEGMENTS);
+        }
+    }
+
+    /** Caches {@code delegate} with the default capacity. */
+    public static <T> CachingConverter<T> of(Converter<T> delegate) {
+        return new CachingConverter<>(delegate);
+    }
+
+    /** Returns one shared String instance per distinct cell text, e.g. for a Category column. */
+    public static CachingConverter<String> strings(int capacity) {
+        return new CachingConverter<>(new Text(), capacity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T fromCell(Object value, ConvertContext ctx) {
+        if (value == null) return delegate.fromCell(null, ctx);
+        Segment segment = segments[spread(value.hashCode()) & (SEGMENTS - 1)];
+        Object cached = segment.get(value);
+        if (cached != null) {
+            hits.increment();
+            return cached == NULL ? null : (T) cached;
+        }
+        misses.increment();
+        // Computed outside the lock; two threads may both parse a new value, which is harmless
+        T result = delegate.fromCell(value, ctx);
+        segment.put(value, result == null ? NULL : result);
+        return result;
+    }
+
+    @Override
+    public Object toCell(T value) {
+        return delegate.toCell(value);
+    }
+
+    public long hits() { return hits.sum(); }
+
+    public long misses() { return misses.sum(); }
+
+    /** Fraction of non-null cells answered from the cache, 0 before the first lookup. */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /** Number of distinct values currently cached. */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /** Drops all cached values and resets the statistics. */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d hits, %,d misses (%.1f%% hit rate), %,d cached",
+                delegate.getClass().getSimpleName(), hits(), misses(), hitRate() * 100, size());
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /** An access-ordered map that evicts its least recently used entry. */
+    private static final class Segment {
+        private final LinkedHashMap<Object, Object> map;
+
+        Segment(int capacity) {
+            this.map = new LinkedHashMap<Object, Object>(capacity * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Object get(Object key) { return map.get(key); }
+
+        synchronized void put(Object key, Object value) { map.put(key, value); }
+
+        synchronized int size() { return map.size(); }
+
+        synchronized void clear() { map.clear(); }
+    }
+
+    /** Cell text as-is, so the cache hands out one canonical instance per value. */
+    private static final class Text implements Converter<String> {
+        @Override
+        public String fromCell(Object value, ConvertContext ctx) {
+            return value == null ? null : value.toString();
+        }
+
+        @Override
+        public Object toCell(String value) {
+            return value;
+        }
+    }
+}
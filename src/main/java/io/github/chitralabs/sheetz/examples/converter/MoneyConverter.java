@@ -2,6 +2,7 @@ package io.github.chitralabs.sheetz.examples.converter;
 
 import io.github.chitralabs.sheetz.convert.ConvertContext;
 import io.github.chitralabs.sheetz.convert.Converter;
+import io.github.chitralabs.sheetz.examples.mapping.CompiledFormat;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -9,10 +10,13 @@ import java.math.RoundingMode;
 /**
  * Custom converter that handles monetary values with currency symbols.
  * Parses strings like "$1,234.56" or "1234.56" into BigDecimal.
- * Writes BigDecimal values as "$1,234.56" formatted strings.
+ * Writes BigDecimal values as "$1,234.56" formatted strings, whatever the
+ * default locale.
  */
 public class MoneyConverter implements Converter<BigDecimal> {
 
+    private static final CompiledFormat AMOUNT = CompiledFormat.number("#,##0.00");
+
     @Override
     public BigDecimal fromCell(Object value, ConvertContext ctx) {
         if (value == null) return null;
@@ -27,6 +31,8 @@ public class MoneyConverter implements Converter<BigDecimal> {
     @Override
     public Object toCell(BigDecimal value) {
         if (value == null) return null;
-        return "$" + String.format("%,.2f", value);
+        StringBuilder out = new StringBuilder(16).append('$');
+        AMOUNT.format(value.setScale(2, RoundingMode.HALF_UP), out);
+        return out.toString();
     }
 }
@@ -0,0 +1,16 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+/**
+ * How a row differs from the previous import, as reported by {@link DeltaCsvReader}.
+ */
+public enum ChangeType {
+
+    /** A key that the previous import did not have. */
+    INSERTED,
+
+    /** A key the previous import had, with different cells. */
+    CHANGED,
+
+    /** A key the previous import had that is no longer in the file. */
+    DELETED
+}
@@ -0,0 +1,131 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * How a CSV file is compressed, detected from its extension or its first bytes.
+ *
+ * {@code .gz} and {@code .zst} files are also recognised by their magic
+ * bytes, whatever their name. Zip archives are only recognised by a
+ * {@code .zip} extension, since XLSX workbooks are zip archives too; the
+ * first file in the archive is read. Zstandard needs zstd-jni
+ * ({@code com.github.luben:zstd-jni}) or aircompressor on the classpath.
+ */
+public enum Compression {
+    NONE, GZIP, ZSTD, ZIP;
+
+    private static final int INFLATE_BUFFER = 1 << 16;
+    private static final String[] ZSTD_STREAMS = {
+        "com.github.luben.zstd.ZstdInputStream",
+        "io.airlift.compress.zstd.ZstdInputStream"
+    };
+
+    /** Detects the compression of {@code file}. */
+    public static Compression detect(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz") || name.endsWith(".gzip")) return GZIP;
+        if (name.endsWith(".zst") || name.endsWith(".zstd")) return ZSTD;
+        if (name.endsWith(".zip")) return ZIP;
+        if (!Files.isRegularFile(file)) return NONE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(4);
+            channel.read(head, 0);
+            if (head.position() >= 2 && head.get(0) == (byte) 0x1F && head.get(1) == (byte) 0x8B) return GZIP;
+            if (head.position() == 4 && head.getInt(0) == 0x28B52FFD) return ZSTD;
+            return NONE;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Throws if {@code file} is compressed, for readers that cut files into byte ranges. */
+    static void requireNone(Path file) {
+        Compression compression = detect(file);
+        if (compression != NONE) {
+            throw new IllegalArgumentException(file + " is " + compression + "-compressed and cannot be split into byte ranges");
+        }
+    }
+
+    /** {@code file}'s name without the compression extension: {@code feed.csv} for {@code feed.csv.gz}. */
+    public static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) return name;
+        switch (name.substring(dot + 1).toLowerCase(Locale.ROOT)) {
+            case "gz": case "gzip": case "zst": case "zstd": case "zip":
+                return name.substring(0, dot);
+            default:
+                return name;
+        }
+    }
+
+    /**
+     * Opens {@code file} decompressed. With {@code readAhead}, decompression
+     * runs on a thread of its own through a {@link ReadAheadInputStream}.
+     */
+    public InputStream open(Path file, boolean readAhead) throws IOException {
+        InputStream raw = Files.newInputStream(file);
+        InputStream in;
+        try {
+            in = decompress(raw, file);
+        } catch (IOException | RuntimeException e) {
+            raw.close();
+            throw e;
+        }
+        return readAhead && this != NONE ? new ReadAheadInputStream(in) : in;
+    }
+
+    private InputStream decompress(InputStream raw, Path file) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(raw, INFLATE_BUFFER);
+            case ZSTD:
+                return zstd(new BufferedInputStream(raw, INFLATE_BUFFER));
+            case ZIP: {
+                ZipInputStream zip = new ZipInputStream(new BufferedInputStream(raw, INFLATE_BUFFER));
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    if (!entry.isDirectory()) return zip;
+                }
+                throw new IOException("No file in " + file);
+            }
+            default:
+                return raw;
+        }
+    }
+
+    /** Found by reflection, so that zstd stays an optional dependency. */
+    private static InputStream zstd(InputStream in) throws IOException {
+        for (String name : ZSTD_STREAMS) {
+            Class<?> type;
+            try {
+                type = Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+            try {
+                Constructor<?> constructor = type.getConstructor(InputStream.class);
+                return (InputStream) constructor.newInstance(in);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IllegalStateException("Cannot open zstd stream with " + name, e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot open zstd stream with " + name, e);
+            }
+        }
+        throw new IllegalStateException("Reading zstd needs com.github.luben:zstd-jni on the classpath");
+    }
+}
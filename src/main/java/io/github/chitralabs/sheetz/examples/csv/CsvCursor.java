@@ -0,0 +1,142 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Walks the records of {@code [from, to)} in a file through a sliding memory-mapped window.
+ *
+ * When a record crosses the end of the window, the window is remapped to start
+ * at that record (and doubled if one record does not fit), so records of any
+ * length are returned whole.
+ *
+ * Over an {@link InputStream}, e.g. a decompressed file, the window is a heap
+ * buffer instead: the unfinished record is moved to its start and the rest is
+ * refilled from the stream. Offsets then count the bytes of the stream, and
+ * {@link #seek(long)} is not available.
+ */
+final class CsvCursor {
+
+    /** Default window size; large enough to amortize mapping, small enough for 32-bit offsets. */
+    static final int DEFAULT_WINDOW = 64 * 1024 * 1024;
+    /** Default window over a stream; a few of the reads it is filled with. */
+    static final int STREAM_WINDOW = 4 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final InputStream in;
+    private final long to;
+    private final CsvTokenizer tokenizer;
+    private int window;
+
+    private long base;
+    private int length;
+    private byte[] bytes;
+    private ByteBuffer view;
+    private boolean endOfStream;
+
+    CsvCursor(FileChannel channel, long from, long to, char delimiter, int window) {
+        this.channel = channel;
+        this.in = null;
+        this.to = to;
+        this.tokenizer = new CsvTokenizer(delimiter);
+        this.window = window;
+        map(from);
+    }
+
+    /** Over {@code in}, skipping a leading UTF-8 byte order mark. */
+    CsvCursor(InputStream in, char delimiter, int window) {
+        this.channel = null;
+        this.in = in;
+        this.to = Long.MAX_VALUE;
+        this.tokenizer = new CsvTokenizer(delimiter);
+        this.window = window;
+        refill(0);
+        if (length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
+            tokenizer.reset(view, 3, length, endOfStream);
+        }
+    }
+
+    /**
+     * Advances to the next record; {@link #cells()} then holds it.
+     */
+    boolean next() {
+        while (true) {
+            if (tokenizer.next()) return true;
+            long consumed = base + tokenizer.position();
+            if (tokenizer.incomplete()) {
+                if (tokenizer.position() == 0) {
+                    if (window > Integer.MAX_VALUE / 2) throw new IllegalStateException("Record at byte " + base + " exceeds 1 GB");
+                    window *= 2;
+                }
+            } else if (in != null ? endOfStream : consumed >= to) {
+                return false;
+            }
+            if (in != null) {
+                refill(tokenizer.position());
+            } else {
+                map(consumed);
+            }
+        }
+    }
+
+    /** The current record. Valid until the next call to {@link #next()}. */
+    CsvTokenizer cells() {
+        return tokenizer;
+    }
+
+    /** File offset where the current record starts. */
+    long recordOffset() {
+        return base + tokenizer.recordStart();
+    }
+
+    /** File offset just past the current record. */
+    long offset() {
+        return base + tokenizer.position();
+    }
+
+    /** Moves to {@code offset}, which must be the start of a record. */
+    void seek(long offset) {
+        if (in != null) throw new IllegalStateException("A stream cannot seek");
+        map(offset);
+    }
+
+    private void map(long from) {
+        base = from;
+        length = (int) Math.min(window, to - from);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+            tokenizer.reset(buffer, 0, length, from + length >= to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Keeps the bytes from {@code from} on, moved to the start of the buffer, and fills the rest from the stream. */
+    private void refill(int from) {
+        int keep = length - from;
+        if (bytes == null || window > bytes.length) {
+            byte[] grown = new byte[window];
+            if (bytes != null) System.arraycopy(bytes, from, grown, 0, keep);
+            bytes = grown;
+            view = ByteBuffer.wrap(bytes);
+        } else {
+            System.arraycopy(bytes, from, bytes, 0, keep);
+        }
+        base += from;
+        length = keep;
+        try {
+            while (length < bytes.length && !endOfStream) {
+                int n = in.read(bytes, length, bytes.length - length);
+                if (n < 0) endOfStream = true;
+                else length += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        tokenizer.reset(view, 0, length, endOfStream);
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.convert.Converter;
+import io.github.chitralabs.sheetz.examples.mapping.ColumnField;
+import io.github.chitralabs.sheetz.examples.mapping.CompiledFormat;
+import io.github.chitralabs.sheetz.examples.mapping.ModelAccessor;
+import io.github.chitralabs.sheetz.examples.mapping.ModelAccessors;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * How the CSV writers render the cells of one model class: converters first,
+ * then the field's {@link CompiledFormat}, then ISO dates and plain numbers.
+ * Holds no per-row state, so one instance serves any number of threads.
+ */
+final class CsvRowFormat<T> {
+
+    private static final CompiledFormat ISO_DATE = CompiledFormat.date("uuuu-MM-dd");
+
+    private final ModelAccessor<T> accessor;
+    private final int[] slots;
+    private final Converter<Object>[] converters;
+    private final CompiledFormat[] formats;
+    private final String[] header;
+
+    @SuppressWarnings("unchecked")
+    CsvRowFormat(Class<T> type) {
+        this.accessor = ModelAccessors.of(type);
+        List<ColumnField> fields = ColumnField.of(type);
+        int n = fields.size();
+        this.slots = new int[n];
+        this.converters = new Converter[n];
+        this.formats = new CompiledFormat[n];
+        this.header = new String[n];
+        for (int i = 0; i < n; i++) {
+            ColumnField field = fields.get(i);
+            slots[i] = field.slot();
+            converters[i] = field.converter();
+            formats[i] = field.compiledFormat();
+            header[i] = field.header();
+        }
+    }
+
+    int columns() {
+        return slots.length;
+    }
+
+    /** The {@code @Column} headers in declaration order. */
+    String[] header() {
+        return header.clone();
+    }
+
+    /** Appends the text of column {@code i} of {@code row}; nothing for {@code null}. */
+    void cell(T row, int i, StringBuilder out) {
+        Object value = accessor.get(row, slots[i]);
+        if (value == null) return;
+        if (converters[i] != null) {
+            Object converted = converters[i].toCell(value);
+            if (converted != null) out.append(converted);
+        } else if (formats[i] != null) {
+            formats[i].format(value, out);
+        } else if (value instanceof LocalDate) {
+            ISO_DATE.format(value, out);
+        } else if (value instanceof Double) {
+            out.append(((Double) value).doubleValue());
+        } else if (value instanceof Long || value instanceof Integer) {
+            out.append(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            out.append(((Boolean) value).booleanValue());
+        } else {
+            out.append(value);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Record-at-a-time access to the raw cells of a memory-mapped CSV file, for
+ * readers that do not map rows onto a model.
+ *
+ * Each record is exposed as {@link Cells} and as a {@link RowView} over the
+ * mapped bytes, so a caller only pays for the cells it actually reads. The header, if any, is the first
+ * record. A leading UTF-8 BOM is skipped. A compressed file (see
+ * {@link Compression}) is read as a stream, and cannot be split.
+ *
+ * For multi-core readers, {@link #split} cuts the file into record-aligned
+ * chunks, and {@link #open(Path, char, Chunk)} scans one chunk.
+ *
+ * <pre>
+ * try (CsvScanner scanner = CsvScanner.open(path, ',')) {
+ *     while (scanner.next()) {
+ *         total += scanner.cells().parseDouble(1);
+ *     }
+ * }
+ * </pre>
+ */
+public final class CsvScanner implements AutoCloseable {
+
+    /** The mapped file, or null when {@link #in} streams a compressed one. */
+    private final FileChannel channel;
+    private final InputStream in;
+    private final CsvCursor cursor;
+    private RowView row;
+
+    /** A record-aligned byte range {@code [start, end)} of a CSV file, from {@link #split}. */
+    public static final class Chunk {
+        private final long start;
+        private final long end;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long start() { return start; }
+
+        public long end() { return end; }
+    }
+
+    /** The header of a CSV file and its data records cut into chunks. */
+    public static final class Split {
+        private final String[] header;
+        private final List<Chunk> chunks;
+
+        Split(String[] header, List<Chunk> chunks) {
+            this.header = header;
+            this.chunks = chunks;
+        }
+
+        public String[] header() { return header.clone(); }
+
+        /** The data records in file order, excluding the header. */
+        public List<Chunk> chunks() { return chunks; }
+    }
+
+    private CsvScanner(Path file, char delimiter, Chunk chunk) throws IOException {
+        Compression compression = Compression.detect(file);
+        if (compression != Compression.NONE) {
+            if (chunk != null) throw new IllegalArgumentException("A compressed file cannot be scanned in chunks: " + file);
+            this.channel = null;
+            this.in = compression.open(file, true);
+            try {
+                this.cursor = new CsvCursor(in, delimiter, CsvCursor.STREAM_WINDOW);
+            } catch (RuntimeException e) {
+                in.close();
+                throw e;
+            }
+            return;
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.in = null;
+        try {
+            long from = chunk != null ? chunk.start : CsvSplitter.bomLength(channel);
+            long to = chunk != null ? chunk.end : channel.size();
+            this.cursor = new CsvCursor(channel, from, to, delimiter, CsvCursor.DEFAULT_WINDOW);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Scans the whole file, header first. */
+    public static CsvScanner open(Path path, char delimiter) {
+        return open(path, delimiter, null);
+    }
+
+    /** Scans only the records of {@code chunk}; a {@code null} chunk scans the whole file. */
+    public static CsvScanner open(Path path, char delimiter, Chunk chunk) {
+        try {
+            return new CsvScanner(path, delimiter, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the header and splits the records after it into about {@code chunks}
+     * record-aligned chunks (more for very large files, fewer for small ones).
+     */
+    public static Split split(Path path, char delimiter, int chunks) {
+        Compression.requireNone(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = CsvSplitter.bomLength(channel);
+            long headerEnd = CsvSplitter.recordEnd(channel, start, size, false);
+            String[] header = new String[0];
+            if (headerEnd > start) {
+                CsvCursor cursor = new CsvCursor(channel, start, headerEnd, delimiter, CsvCursor.DEFAULT_WINDOW);
+                if (cursor.next()) header = cursor.cells().toArray();
+            }
+            List<Chunk> result = new ArrayList<>();
+            for (CsvSplitter.Range range : CsvSplitter.split(channel, headerEnd, size, chunks)) {
+                result.add(new Chunk(range.start, range.end));
+            }
+            return new Split(header, Collections.unmodifiableList(result));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Advances to the next non-blank record. */
+    public boolean next() {
+        return cursor.next();
+    }
+
+    /** The current record. Valid until the next call to {@link #next()}. */
+    public Cells cells() {
+        return cursor.cells();
+    }
+
+    /**
+     * The current record as a {@link RowView}. The same view is returned for
+     * every record, and follows {@link #next()}.
+     */
+    public RowView row() {
+        if (row == null) row = new RowView(cursor.cells());
+        return row;
+    }
+
+    /** The current record's cells, copied into a new array. */
+    public String[] toArray() {
+        return cursor.cells().toArray();
+    }
+
+    /** File offset where the current record starts. */
+    public long recordOffset() {
+        return cursor.recordOffset();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (channel != null) channel.close();
+            if (in != null) in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
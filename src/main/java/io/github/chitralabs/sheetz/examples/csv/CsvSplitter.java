@@ -0,0 +1,144 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a CSV file into byte ranges that start and end on record boundaries.
+ *
+ * A newline only ends a record when it is outside quotes, and whether a byte
+ * is inside quotes depends on every quote before it. The split therefore runs
+ * in three steps, the first and last of them in parallel:
+ * <ol>
+ *   <li>cut the file into equal chunks and count the quote bytes in each;</li>
+ *   <li>a prefix sum of the counts gives the quote state at each chunk start
+ *       (an escaped {@code ""} adds two, so parity is preserved);</li>
+ *   <li>from each chunk start, scan forward to the first newline outside quotes.</li>
+ * </ol>
+ */
+final class CsvSplitter {
+
+    /** Upper bound for one range, well below the 2 GB limit of a single mapping. */
+    static final long MAX_RANGE_BYTES = 64L * 1024 * 1024;
+
+    private static final int SCAN_BLOCK = 64 * 1024;
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+
+    private CsvSplitter() {}
+
+    /** A half-open byte range {@code [start, end)} of whole records. */
+    static final class Range {
+        final long start;
+        final long end;
+
+        Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Returns 3 if the file starts with a UTF-8 byte order mark, otherwise 0.
+     */
+    static long bomLength(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(3);
+        int read = channel.read(head, 0);
+        boolean bom = read == 3 && head.get(0) == (byte) 0xEF && head.get(1) == (byte) 0xBB && head.get(2) == (byte) 0xBF;
+        return bom ? 3 : 0;
+    }
+
+    /**
+     * Splits {@code [from, size)} into about {@code chunks} record-aligned ranges.
+     * {@code from} must be the start of a record.
+     */
+    static List<Range> split(FileChannel channel, long from, long size, int chunks) {
+        long length = size - from;
+        if (length <= 0) return new ArrayList<>();
+        int count = (int) Math.max(chunks, (length + MAX_RANGE_BYTES - 1) / MAX_RANGE_BYTES);
+        count = (int) Math.max(1, Math.min(count, length / 1024 + 1));
+        long chunk = (length + count - 1) / count;
+
+        long[] starts = new long[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = Math.min(size, from + i * chunk);
+        }
+        int n = count;
+        long[] quotes = IntStream.range(0, n).parallel()
+                .mapToLong(i -> countQuotes(channel, starts[i], i + 1 < n ? starts[i + 1] : size))
+                .toArray();
+
+        boolean[] inQuotes = new boolean[n];
+        long running = 0;
+        for (int i = 0; i < n; i++) {
+            inQuotes[i] = (running & 1) == 1;
+            running += quotes[i];
+        }
+
+        long[] boundaries = IntStream.range(0, n).parallel()
+                .mapToLong(i -> i == 0 ? from : recordEnd(channel, starts[i], size, inQuotes[i]))
+                .toArray();
+
+        List<Range> ranges = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long start = boundaries[i];
+            long end = i + 1 < n ? boundaries[i + 1] : size;
+            if (end > start) {
+                ranges.add(new Range(start, end));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns the offset just past the first record terminator at or after
+     * {@code from}, or {@code size} if the file ends first.
+     */
+    static long recordEnd(FileChannel channel, long from, long size, boolean inQuotes) {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK);
+        long position = from;
+        try {
+            while (position < size) {
+                block.clear();
+                int read = channel.read(block, position);
+                if (read <= 0) break;
+                for (int i = 0; i < read; i++) {
+                    byte b = block.get(i);
+                    if (b == QUOTE) {
+                        inQuotes = !inQuotes;
+                    } else if (b == LF && !inQuotes) {
+                        return position + i + 1;
+                    }
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return size;
+    }
+
+    private static long countQuotes(FileChannel channel, long start, long end) {
+        if (end <= start) return 0;
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            long count = 0;
+            for (int i = 0, limit = buffer.limit(); i < limit; i++) {
+                if (buffer.get(i) == QUOTE) count++;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
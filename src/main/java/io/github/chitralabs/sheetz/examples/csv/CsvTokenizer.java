@@ -0,0 +1,454 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Zero-copy RFC 4180 tokenizer over a region of a UTF-8 byte buffer, usually a
+ * {@code MappedByteBuffer}.
+ *
+ * {@link #next()} only records where each field starts and ends; nothing is
+ * copied or decoded. The tokenizer is itself the {@link Cells} view of the
+ * current record: numbers, booleans and ISO dates are parsed straight from the
+ * bytes, and a {@code String} is only created by {@link #text(int)}.
+ *
+ * Repeated dates come back as one shared {@code LocalDate}, and with
+ * {@link #shareStrings(boolean)} short repeated cells as one shared {@code String}.
+ *
+ * Handles quoted fields with embedded delimiters, newlines and doubled quotes,
+ * and LF or CRLF line endings. Blank lines are skipped.
+ * Not thread-safe; each worker uses its own tokenizer.
+ */
+final class CsvTokenizer implements Cells {
+
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final int SHARED_STRINGS = 256;
+    private static final int SHARED_STRING_LENGTH = 32;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final byte delimiter;
+
+    private ByteBuffer buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean incomplete;
+    private int recordStart;
+
+    private int count;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16];
+    private byte[] scratch = new byte[256];
+    /** Recently parsed dates, by day; a year of days fits without collisions. */
+    private final LocalDate[] dates = new LocalDate[512];
+    /** Recently read short ASCII cells, by hash; null unless sharing. */
+    private String[] strings;
+
+    CsvTokenizer(char delimiter) {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must be a single ASCII character other than quote or newline");
+        }
+        this.delimiter = (byte) delimiter;
+    }
+
+    /**
+     * Points the tokenizer at {@code buffer[from, to)}.
+     *
+     * @param endOfInput whether {@code to} is the end of the data; if not, a
+     *                   record cut off at {@code to} is reported by {@link #incomplete()}
+     */
+    void reset(ByteBuffer buffer, int from, int to, boolean endOfInput) {
+        this.buffer = buffer;
+        this.position = from;
+        this.limit = to;
+        this.endOfInput = endOfInput;
+        this.incomplete = false;
+        this.count = 0;
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return {@code false} at the end of the region, or when the next record
+     *         runs past it (see {@link #incomplete()})
+     */
+    boolean next() {
+        while (position < limit) {
+            int end = tokenize(position);
+            if (end < 0) {
+                incomplete = true;
+                count = 0;
+                return false;
+            }
+            recordStart = position;
+            position = end;
+            if (count == 1 && starts[0] == ends[0] && !escaped[0] && buffer.get(recordStart) != QUOTE) {
+                continue;
+            }
+            return true;
+        }
+        count = 0;
+        return false;
+    }
+
+    /** Whether the last {@link #next()} stopped at a record that crosses the region end. */
+    boolean incomplete() {
+        return incomplete;
+    }
+
+    /** Buffer position where the current record starts. */
+    int recordStart() {
+        return recordStart;
+    }
+
+    /** Buffer position just past the current record; where the next one starts. */
+    int position() {
+        return position;
+    }
+
+    /** Buffer position just past the current record's content, before its line ending. */
+    int recordEnd() {
+        int end = position;
+        while (end > recordStart && (buffer.get(end - 1) == LF || buffer.get(end - 1) == CR)) end--;
+        return end;
+    }
+
+    /** The buffer the current record lies in. */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /** Upper bound of the bytes {@link #copy(int, byte[], int)} writes for cell {@code i}. */
+    int rawLength(int i) {
+        return i < count ? ends[i] - starts[i] : 0;
+    }
+
+    /** Copies the UTF-8 bytes of cell {@code i} to {@code dest[at...]}; returns the index past them. */
+    int copy(int i, byte[] dest, int at) {
+        if (i >= count) return at;
+        for (int p = starts[i]; p < ends[i]; p++) {
+            byte b = buffer.get(p);
+            dest[at++] = b;
+            if (b == QUOTE && escaped[i]) p++;
+        }
+        return at;
+    }
+
+    /**
+     * Whether {@link #text(int)} returns the same {@code String} for a
+     * repeated short ASCII cell, such as a category, instead of a new one.
+     */
+    void shareStrings(boolean share) {
+        strings = share ? new String[SHARED_STRINGS] : null;
+    }
+
+    /** Copies the current record's cells into a new array. */
+    String[] toArray() {
+        String[] cells = new String[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = text(i);
+        }
+        return cells;
+    }
+
+    /**
+     * Tokenizes the record at {@code p}; returns the position after it, or -1 if
+     * it is cut off by the region end.
+     */
+    private int tokenize(int p) {
+        count = 0;
+        while (true) {
+            int start;
+            int end;
+            boolean escapes = false;
+            if (p < limit && buffer.get(p) == QUOTE) {
+                start = ++p;
+                while (true) {
+                    if (p >= limit) {
+                        if (!endOfInput) return -1;
+                        end = p;
+                        break;
+                    }
+                    if (buffer.get(p) == QUOTE) {
+                        if (p + 1 >= limit && !endOfInput) return -1;
+                        if (p + 1 < limit && buffer.get(p + 1) == QUOTE) {
+                            escapes = true;
+                            p += 2;
+                            continue;
+                        }
+                        end = p++;
+                        break;
+                    }
+                    p++;
+                }
+                // Bytes between the closing quote and the delimiter are ignored
+                while (p < limit && !isEnd(buffer.get(p))) p++;
+            } else {
+                start = p;
+                while (p < limit && !isEnd(buffer.get(p))) p++;
+                end = p;
+            }
+            add(start, end, escapes);
+
+            if (p >= limit) {
+                return endOfInput ? p : -1;
+            }
+            byte b = buffer.get(p);
+            if (b == delimiter) {
+                p++;
+                continue;
+            }
+            if (b == CR) {
+                p++;
+                if (p >= limit && !endOfInput) return -1;
+            }
+            if (p < limit && buffer.get(p) == LF) p++;
+            return p;
+        }
+    }
+
+    private boolean isEnd(byte b) {
+        return b == delimiter || b == LF || b == CR;
+    }
+
+    private void add(int start, int end, boolean escapes) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = escapes;
+        count++;
+    }
+
+    // --- Cells ---
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty(int i) {
+        return i >= count || starts[i] == ends[i];
+    }
+
+    @Override
+    public String text(int i) {
+        if (i >= count) return null;
+        int start = starts[i];
+        int length = ends[i] - start;
+        if (length == 0) return "";
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (escaped[i]) {
+            int n = 0;
+            for (int p = start; p < ends[i]; p++) {
+                byte b = buffer.get(p);
+                scratch[n++] = b;
+                if (b == QUOTE) p++;
+            }
+            length = n;
+        } else {
+            for (int n = 0; n < length; n++) {
+                scratch[n] = buffer.get(start + n);
+            }
+        }
+        if (strings != null && length <= SHARED_STRING_LENGTH) return shared(length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /** {@code scratch[0, length)} as a String, reusing the last one with the same hash if it matches. */
+    private String shared(int length) {
+        int hash = 0;
+        for (int n = 0; n < length; n++) {
+            byte b = scratch[n];
+            if (b < 0) return new String(scratch, 0, length, StandardCharsets.UTF_8);
+            hash = 31 * hash + b;
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SHARED_STRINGS - 1);
+        String cached = strings[slot];
+        if (cached != null && cached.length() == length) {
+            int n = 0;
+            while (n < length && cached.charAt(n) == scratch[n]) n++;
+            if (n == length) return cached;
+        }
+        String text = new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+        strings[slot] = text;
+        return text;
+    }
+
+    @Override
+    public double parseDouble(int i) {
+        int p = skipSpaces(starts[i], ends[i]);
+        int end = trimSpaces(p, ends[i]);
+        boolean negative = false;
+        if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+            negative = buffer.get(p) == '-';
+            p++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        boolean any = false;
+        int exponent = 0;
+        for (; p < end; p++) {
+            byte b = buffer.get(p);
+            if (b >= '0' && b <= '9') {
+                any = true;
+                if (digits >= 18) throw new NumberFormatException("Too many digits for the fast path");
+                mantissa = mantissa * 10 + (b - '0');
+                if (mantissa != 0) digits++;
+                if (dot) scale++;
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else if (b == ',' && !dot) {
+                // grouping separator
+            } else if ((b == 'e' || b == 'E') && any) {
+                exponent = exponent(p + 1, end);
+                break;
+            } else {
+                throw new NumberFormatException("Not a number");
+            }
+        }
+        if (!any) throw new NumberFormatException("Not a number");
+        int power = exponent - scale;
+        if (mantissa >= (1L << 53) || power < -22 || power > 22) {
+            throw new NumberFormatException("Outside the exact fast path");
+        }
+        // Both operands are exact doubles, so one multiply or divide is correctly rounded
+        double value = power >= 0 ? mantissa * POWERS_OF_TEN[power] : mantissa / POWERS_OF_TEN[-power];
+        return negative ? -value : value;
+    }
+
+    private int exponent(int p, int end) {
+        boolean negative = false;
+        if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+            negative = buffer.get(p) == '-';
+            p++;
+        }
+        if (p >= end) throw new NumberFormatException("Missing exponent");
+        int value = 0;
+        for (; p < end; p++) {
+            byte b = buffer.get(p);
+            if (b < '0' || b > '9' || value > 1000) throw new NumberFormatException("Bad exponent");
+            value = value * 10 + (b - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    @Override
+    public long parseLong(int i) {
+        int p = skipSpaces(starts[i], ends[i]);
+        int end = trimSpaces(p, ends[i]);
+        boolean negative = false;
+        if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+            negative = buffer.get(p) == '-';
+            p++;
+        }
+        // The same input as CellParser.integer: digits, grouping commas and at most a ".0" suffix
+        if (end - p >= 2 && buffer.get(end - 2) == '.' && buffer.get(end - 1) == '0') end -= 2;
+        if (p >= end) throw new NumberFormatException("Not a number");
+        long value = 0;
+        boolean digits = false;
+        for (; p < end; p++) {
+            byte b = buffer.get(p);
+            if (b >= '0' && b <= '9') {
+                // Accumulated below zero, so that Long.MIN_VALUE fits as in Long.parseLong
+                value = Math.subtractExact(Math.multiplyExact(value, 10), b - '0');
+                digits = true;
+            } else if (b != ',') {
+                throw new NumberFormatException("Not a whole number");
+            }
+        }
+        if (!digits) throw new NumberFormatException("Not a number");
+        return negative ? value : Math.negateExact(value);
+    }
+
+    @Override
+    public boolean parseBoolean(int i) {
+        int start = skipSpaces(starts[i], ends[i]);
+        int end = trimSpaces(start, ends[i]);
+        switch (end - start) {
+            case 1: {
+                int b = lower(buffer.get(start));
+                if (b == '1' || b == 'y') return true;
+                if (b == '0' || b == 'n') return false;
+                break;
+            }
+            case 2: if (matches(start, "no")) return false; break;
+            case 3: if (matches(start, "yes")) return true; break;
+            case 4: if (matches(start, "true")) return true; break;
+            case 5: if (matches(start, "false")) return false; break;
+            default: break;
+        }
+        throw new IllegalArgumentException("Not a boolean");
+    }
+
+    @Override
+    public LocalDate parseIsoDate(int i) {
+        int p = skipSpaces(starts[i], ends[i]);
+        int end = trimSpaces(p, ends[i]);
+        if (end - p != 10 || buffer.get(p + 4) != '-' || buffer.get(p + 7) != '-') {
+            throw new IllegalArgumentException("Not an ISO date");
+        }
+        int year = digits(p, 4);
+        int month = digits(p + 5, 2);
+        int day = digits(p + 8, 2);
+        // Consecutive days land in consecutive slots
+        int slot = (year * 372 + month * 31 + day) & (dates.length - 1);
+        LocalDate cached = dates[slot];
+        if (cached != null && cached.getDayOfMonth() == day && cached.getMonthValue() == month && cached.getYear() == year) {
+            return cached;
+        }
+        LocalDate date = LocalDate.of(year, month, day);
+        dates[slot] = date;
+        return date;
+    }
+
+    private int digits(int p, int n) {
+        int value = 0;
+        for (int k = 0; k < n; k++) {
+            byte b = buffer.get(p + k);
+            if (b < '0' || b > '9') throw new IllegalArgumentException("Not an ISO date");
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private boolean matches(int p, String lowercase) {
+        for (int k = 0; k < lowercase.length(); k++) {
+            if (lower(buffer.get(p + k)) != lowercase.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    private static int lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b;
+    }
+
+    private int skipSpaces(int p, int end) {
+        while (p < end && buffer.get(p) == ' ') p++;
+        return p;
+    }
+
+    private int trimSpaces(int start, int end) {
+        while (end > start && buffer.get(end - 1) == ' ') end--;
+        return end;
+    }
+}
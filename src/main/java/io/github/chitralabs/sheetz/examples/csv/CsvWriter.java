@@ -0,0 +1,145 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes rows of cell text as RFC 4180 CSV in UTF-8.
+ *
+ * A field is quoted only when it contains the delimiter, a quote or a line
+ * break, or starts or ends with a space; quotes inside are doubled.
+ * {@code null} cells are written as empty fields. Lines end with {@code \n}.
+ */
+public final class CsvWriter implements AutoCloseable {
+
+    private final Writer out;
+    private final char delimiter;
+    private long rowCount;
+    /** Copy of the field passed to {@link #field(int, StringBuilder)}. */
+    private char[] chars = new char[64];
+
+    public CsvWriter(Writer out, char delimiter) {
+        if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must not be a quote or newline");
+        }
+        this.out = out;
+        this.delimiter = delimiter;
+    }
+
+    /** Creates or replaces {@code file}, creating its parent directories. */
+    public static CsvWriter open(Path file, char delimiter) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 16);
+            return new CsvWriter(out, delimiter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(String[] cells) {
+        write(cells, cells.length);
+    }
+
+    /** Writes the first {@code width} cells, padding with empty fields past the end of {@code cells}. */
+    public void write(String[] cells, int width) {
+        try {
+            for (int i = 0; i < width; i++) {
+                if (i > 0) out.write(delimiter);
+                if (i < cells.length && cells[i] != null) field(cells[i]);
+            }
+            out.write('\n');
+            rowCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Writes field {@code i} of the current row from {@code text}, without copying it to a String. */
+    void field(int i, StringBuilder text) throws IOException {
+        if (i > 0) out.write(delimiter);
+        int length = text.length();
+        if (length > chars.length) chars = new char[Math.max(length, chars.length * 2)];
+        text.getChars(0, length, chars, 0);
+        if (!needsQuotes(chars, length)) {
+            out.write(chars, 0, length);
+            return;
+        }
+        out.write('"');
+        int from = 0;
+        for (int at = 0; at < length; at++) {
+            if (chars[at] == '"') {
+                out.write(chars, from, at - from + 1);
+                out.write('"');
+                from = at + 1;
+            }
+        }
+        out.write(chars, from, length - from);
+        out.write('"');
+    }
+
+    /** Ends the row started by {@link #field(int, StringBuilder)}. */
+    void endRow() throws IOException {
+        out.write('\n');
+        rowCount++;
+    }
+
+    /** Rows written so far, header included. */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void field(String text) throws IOException {
+        if (!needsQuotes(text, delimiter)) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        int from = 0;
+        for (int quote = text.indexOf('"'); quote >= 0; quote = text.indexOf('"', from)) {
+            out.write(text, from, quote - from + 1);
+            out.write('"');
+            from = quote + 1;
+        }
+        out.write(text, from, text.length() - from);
+        out.write('"');
+    }
+
+    /** Whether {@code text} must be quoted as a field delimited by {@code delimiter}. */
+    static boolean needsQuotes(CharSequence text, char delimiter) {
+        int length = text.length();
+        if (length == 0) return false;
+        if (text.charAt(0) == ' ' || text.charAt(length - 1) == ' ') return true;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    private boolean needsQuotes(char[] text, int length) {
+        if (length == 0) return false;
+        if (text[0] == ' ' || text[length - 1] == ' ') return true;
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
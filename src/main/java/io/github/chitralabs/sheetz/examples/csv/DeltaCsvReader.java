@@ -0,0 +1,288 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.examples.mapping.ColumnMapper;
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads only what changed in a CSV file since the previous import.
+ *
+ * Every record is hashed (XXH64) straight from the mapped bytes and looked up
+ * by its key in the hash store the previous import left behind. Unchanged rows
+ * are neither decoded nor mapped; inserted and changed rows come back as
+ * mapped {@link RowChange}s in file order, followed by a {@link ChangeType#DELETED}
+ * for each key that is gone.
+ *
+ * <pre>
+ * try (DeltaCsvReader&lt;Product&gt; delta = DeltaCsvReader.of(path, Product.class)
+ *         .key("Product Name")
+ *         .open()) {
+ *     for (RowChange&lt;Product&gt; change : delta) { repository.apply(change); }
+ *     delta.commit();
+ * }
+ * </pre>
+ *
+ * The new hashes only replace the store on {@link #commit()}, so an import
+ * that fails partway reports the same changes again next time. Keys should be
+ * unique. A record counts as changed when its bytes change, so re-quoting a
+ * cell or changing the header marks rows as changed. Reports to the registered
+ * {@link Metrics} as {@code csv.delta.read} when closed. Compressed files
+ * are read as a stream, as {@link MappedCsvReader} reads them.
+ *
+ * Only CSV is read: the row hash is taken over the record's raw bytes, which
+ * an Excel sheet does not have. Export a sheet to CSV to import it as a delta.
+ */
+public final class DeltaCsvReader<T> implements Iterable<RowChange<T>>, AutoCloseable {
+
+    private final Path store;
+    /** The mapped file, or null when {@link #in} streams a compressed one. */
+    private final FileChannel channel;
+    private final InputStream in;
+    private final CsvCursor cursor;
+    private final ColumnMapper<T> mapper;
+    private final FileProbe probe;
+    private final int[] keyColumns;
+    private final RowHashes previous;
+    private final RowHashes current;
+    private final boolean[] seen;
+
+    private byte[] keyBytes;
+    private ByteBuffer keyView;
+    private long row;
+    /** Where the next key probably is in {@link #previous}. */
+    private int expected;
+    private long inserted;
+    private long changed;
+    private long deleted;
+    private long unchanged;
+    private boolean iterated;
+    private boolean done;
+
+    private DeltaCsvReader(Builder<T> builder) throws IOException {
+        this.store = builder.store != null ? builder.store : defaultStore(builder.file);
+        this.previous = RowHashes.load(store);
+        this.current = new RowHashes(previous.size(), previous.keyEnd());
+        this.seen = new boolean[previous.size()];
+        // Started first: a metrics hook that throws must not leave the file open
+        this.probe = Metrics.start("csv.delta.read", builder.file);
+        FileChannel opened = null;
+        InputStream stream = null;
+        try {
+            Compression compression = Compression.detect(builder.file);
+            if (compression == Compression.NONE) opened = FileChannel.open(builder.file, StandardOpenOption.READ);
+            this.channel = opened;
+            if (channel != null) {
+                long size = channel.size();
+                probe.bytes(size);
+                this.cursor = new CsvCursor(channel, CsvSplitter.bomLength(channel), size, builder.delimiter, CsvCursor.DEFAULT_WINDOW);
+            } else {
+                probe.bytes(Files.size(builder.file));
+                stream = compression.open(builder.file, true);
+                this.cursor = new CsvCursor(stream, builder.delimiter, CsvCursor.STREAM_WINDOW);
+            }
+            this.in = stream;
+            String[] header = cursor.next() ? cursor.cells().toArray() : new String[0];
+            this.mapper = ColumnMapper.of(builder.type, header, probe);
+            this.keyColumns = new int[builder.key.length];
+            for (int k = 0; k < keyColumns.length; k++) {
+                keyColumns[k] = column(header, builder.key[k], builder.file);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (opened != null) opened.close();
+            if (stream != null) stream.close();
+            probe.finish(e);
+            throw e;
+        }
+    }
+
+    public static <T> Builder<T> of(Path file, Class<T> type) {
+        return new Builder<>(file, type);
+    }
+
+    /** The store used when none is set: {@code products.csv.rowhash} next to the file. */
+    public static Path defaultStore(Path file) {
+        return file.resolveSibling(file.getFileName() + ".rowhash");
+    }
+
+    public static final class Builder<T> {
+        private final Path file;
+        private final Class<T> type;
+        private String[] key;
+        private Path store;
+        private char delimiter = ',';
+
+        private Builder(Path file, Class<T> type) {
+            this.file = file;
+            this.type = type;
+        }
+
+        /** The header names of the columns that identify a row. Required. */
+        public Builder<T> key(String... columns) {
+            if (columns == null || columns.length == 0) throw new IllegalArgumentException("key needs at least one column");
+            this.key = columns.clone();
+            return this;
+        }
+
+        /**
+         * The hash store to compare with and to replace on {@link #commit()}.
+         * Defaults to {@link #defaultStore(Path)}; set it when each day's file
+         * has a new name.
+         */
+        public Builder<T> store(Path store) {
+            this.store = store;
+            return this;
+        }
+
+        public Builder<T> delimiter(char delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        public DeltaCsvReader<T> open() {
+            if (key == null) throw new IllegalArgumentException("key(...) must be set");
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".xlsx") || name.endsWith(".xls")) {
+                throw new IllegalArgumentException(file + " is an Excel file; DeltaCsvReader reads CSV only");
+            }
+            try {
+                return new DeltaCsvReader<>(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the change iterator. Like {@code StreamingReader}, a reader can be iterated once.
+     */
+    @Override
+    public Iterator<RowChange<T>> iterator() {
+        if (iterated) throw new IllegalStateException("DeltaCsvReader can only be iterated once");
+        iterated = true;
+        return new Iterator<RowChange<T>>() {
+            private RowChange<T> next;
+            private boolean scanned;
+            private int deletion;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && !scanned) {
+                    if (!cursor.next()) {
+                        scanned = true;
+                        break;
+                    }
+                    next = compare(++row);
+                }
+                while (next == null && deletion < seen.length) {
+                    int i = deletion++;
+                    if (!seen[i]) {
+                        deleted++;
+                        next = new RowChange<>(ChangeType.DELETED, previous.key(i), 0, null);
+                    }
+                }
+                if (next == null) done = true;
+                return next != null;
+            }
+
+            @Override
+            public RowChange<T> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                RowChange<T> change = next;
+                next = null;
+                return change;
+            }
+        };
+    }
+
+    /** Hashes the current record; returns its change, or null if it is unchanged. */
+    private RowChange<T> compare(long row) {
+        CsvTokenizer cells = cursor.cells();
+        int length = keyColumns.length;
+        for (int column : keyColumns) {
+            length += cells.rawLength(column);
+        }
+        byte[] bytes = current.reserve(length);
+        if (bytes != keyBytes) {
+            keyBytes = bytes;
+            keyView = ByteBuffer.wrap(bytes);
+        }
+        int from = current.keyEnd();
+        int to = from;
+        for (int k = 0; k < keyColumns.length; k++) {
+            if (k > 0) bytes[to++] = RowHashes.KEY_SEPARATOR;
+            to = cells.copy(keyColumns[k], bytes, to);
+        }
+        long keyHash = XxHash64.hash(keyView, from, to, 0);
+        long rowHash = XxHash64.hash(cells.buffer(), cells.recordStart(), cells.recordEnd(), 0);
+        current.add(keyHash, rowHash, to);
+
+        int before = previous.find(keyHash, expected);
+        ChangeType type;
+        if (before < 0) {
+            type = ChangeType.INSERTED;
+            inserted++;
+        } else {
+            seen[before] = true;
+            expected = before + 1;
+            if (previous.rowHash(before) == rowHash) {
+                unchanged++;
+                return null;
+            }
+            type = ChangeType.CHANGED;
+            changed++;
+        }
+        return new RowChange<>(type, RowHashes.key(bytes, from, to), row, mapper.map(cells, row));
+    }
+
+    /**
+     * Replaces the hash store with this file's hashes, so that the next import
+     * compares with this one. Call it once every change has been applied.
+     */
+    public void commit() {
+        if (!done) throw new IllegalStateException("Every change must be read before commit()");
+        try {
+            current.save(store);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Data rows read so far. */
+    public long rows() { return row; }
+    public long inserted() { return inserted; }
+    public long changed() { return changed; }
+    public long deleted() { return deleted; }
+    /** Rows that were hashed and skipped. */
+    public long unchanged() { return unchanged; }
+
+    @Override
+    public void close() {
+        probe.rows(row);
+        probe.finish();
+        try {
+            if (channel != null) channel.close();
+            if (in != null) in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int column(String[] header, String name, Path file) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != null && header[i].trim().equalsIgnoreCase(name)) return i;
+        }
+        throw new IllegalArgumentException("No column '" + name + "' in " + file);
+    }
+}
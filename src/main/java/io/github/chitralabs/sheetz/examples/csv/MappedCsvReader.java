@@ -0,0 +1,258 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.examples.mapping.ColumnMapper;
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Single-threaded CSV streaming reader over a memory-mapped file.
+ *
+ * A drop-in for {@code Sheetz.stream(csv, type)} on hot import paths: records are
+ * tokenized in place on the mapped bytes (see {@link CsvTokenizer}), and only
+ * String fields allocate a {@code String}. Memory use is one mapping window,
+ * regardless of file size. Reports to the registered {@link Metrics} as
+ * {@code csv.mapped.read} when closed.
+ *
+ * With {@link #reuse(int)}, rows are mapped into a few model instances that are
+ * refilled in turn, so a long read allocates next to nothing per row.
+ *
+ * {@link #fromRow(long)} and {@link #limit(long)} read a slice of the file. The
+ * start is found through a {@link RowIndex} sidecar, so reading rows
+ * 1,000,000 to 1,000,100 does not tokenize the rows before them, and an import
+ * that failed can resume after the last row it committed.
+ *
+ * Compressed files ({@code .csv.gz}, {@code .csv.zst}, {@code .zip}, see
+ * {@link Compression}) are read as a stream instead of mapped, decompressed on
+ * a read-ahead thread so that inflating overlaps with mapping; the size
+ * reported is the compressed size. {@link #fromRow(long)} then skips rows by
+ * reading them.
+ *
+ * <pre>
+ * try (MappedCsvReader&lt;Product&gt; reader = MappedCsvReader.open("huge.csv", Product.class)) {
+ *     for (Product p : reader) { process(p); }
+ * }
+ * </pre>
+ */
+public final class MappedCsvReader<T> implements Iterable<T>, AutoCloseable {
+
+    private final Path file;
+    private final char delimiter;
+    /** The mapped file, or null when {@link #in} streams a compressed one. */
+    private final FileChannel channel;
+    private final InputStream in;
+    private final CsvCursor cursor;
+    private final ColumnMapper<T> mapper;
+    private final FileProbe probe;
+    private long row;
+    /** Rows skipped by {@link #fromRow(long)}. */
+    private long startRow;
+    private boolean iterated;
+    /** Instances refilled in turn; null unless {@link #reuse(int)}. */
+    private T[] ring;
+    private long fromRow = 1;
+    private long limit = Long.MAX_VALUE;
+    private RowIndex index;
+
+    private MappedCsvReader(Path file, Class<T> type, char delimiter) throws IOException {
+        this.file = file;
+        this.delimiter = delimiter;
+        // Started first: a metrics hook that throws must not leave the file open
+        this.probe = Metrics.start("csv.mapped.read", file);
+        FileChannel opened = null;
+        InputStream stream = null;
+        try {
+            Compression compression = Compression.detect(file);
+            if (compression == Compression.NONE) opened = FileChannel.open(file, StandardOpenOption.READ);
+            this.channel = opened;
+            if (channel != null) {
+                long size = channel.size();
+                probe.bytes(size);
+                this.cursor = new CsvCursor(channel, CsvSplitter.bomLength(channel), size, delimiter, CsvCursor.DEFAULT_WINDOW);
+            } else {
+                probe.bytes(Files.size(file));
+                stream = compression.open(file, true);
+                this.cursor = new CsvCursor(stream, delimiter, CsvCursor.STREAM_WINDOW);
+            }
+            this.in = stream;
+            String[] header = cursor.next() ? cursor.cells().toArray() : new String[0];
+            this.mapper = ColumnMapper.of(type, header, probe);
+        } catch (IOException | RuntimeException e) {
+            if (opened != null) opened.close();
+            if (stream != null) stream.close();
+            probe.finish(e);
+            throw e;
+        }
+    }
+
+    public static <T> MappedCsvReader<T> open(String path, Class<T> type) {
+        return open(Paths.get(path), type, ',');
+    }
+
+    public static <T> MappedCsvReader<T> open(Path path, Class<T> type, char delimiter) {
+        try {
+            return new MappedCsvReader<>(path, type, delimiter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps rows into a ring of {@code instances} model objects instead of a new
+     * one per row. A returned row is overwritten {@code instances} rows later,
+     * so copy out what you keep, and do not collect the rows. Short repeated
+     * text cells come back as one shared String. Must be called before iterating.
+     */
+    @SuppressWarnings("unchecked")
+    public MappedCsvReader<T> reuse(int instances) {
+        if (instances < 1) throw new IllegalArgumentException("instances must be at least 1");
+        if (iterated) throw new IllegalStateException("reuse(...) must be called before iterating");
+        ring = (T[]) new Object[instances];
+        cursor.cells().shareStrings(true);
+        return this;
+    }
+
+    /**
+     * Starts at data row {@code row} (1-based; the header is not a row). Past
+     * row 1 this seeks through {@link #index(RowIndex)}, or else through the
+     * file's sidecar, which is built on first use. Must be called before iterating.
+     */
+    public MappedCsvReader<T> fromRow(long row) {
+        if (row < 1) throw new IllegalArgumentException("row must be at least 1");
+        if (iterated) throw new IllegalStateException("fromRow(...) must be called before iterating");
+        this.fromRow = row;
+        return this;
+    }
+
+    /** Reads at most {@code rows} rows. */
+    public MappedCsvReader<T> limit(long rows) {
+        if (rows < 0) throw new IllegalArgumentException("limit must not be negative");
+        if (iterated) throw new IllegalStateException("limit(...) must be called before iterating");
+        this.limit = rows;
+        return this;
+    }
+
+    /** The index {@link #fromRow(long)} seeks through, e.g. one with a finer interval. */
+    public MappedCsvReader<T> index(RowIndex index) {
+        this.index = index;
+        return this;
+    }
+
+    /** Number of the row last returned, e.g. to resume from after a failure. */
+    public long row() {
+        return row;
+    }
+
+    /**
+     * Returns the row iterator. Like {@code StreamingReader}, a reader can be iterated once.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        if (iterated) throw new IllegalStateException("MappedCsvReader can only be iterated once");
+        iterated = true;
+        if (fromRow > 1) seek();
+        startRow = row;
+        long end = limit > Long.MAX_VALUE - row ? Long.MAX_VALUE : row + limit;
+        boolean detailed = probe.detailed();
+        long allocationMark = probe.allocationMark();
+        return new Iterator<T>() {
+            private boolean ready;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready && !done && row >= end) {
+                    done = true;
+                    probe.allocatedSince(allocationMark);
+                }
+                if (!ready && !done) {
+                    if (detailed) {
+                        long start = System.nanoTime();
+                        ready = cursor.next();
+                        probe.parsed(System.nanoTime() - start);
+                    } else {
+                        ready = cursor.next();
+                    }
+                    done = !ready;
+                    if (done) probe.allocatedSince(allocationMark);
+                }
+                return ready;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ready = false;
+                if (!detailed) return map(++row);
+                long start = System.nanoTime();
+                T item = map(++row);
+                probe.mapped(System.nanoTime() - start);
+                return item;
+            }
+        };
+    }
+
+    /** Moves the cursor to the start of row {@link #fromRow}. */
+    private void seek() {
+        if (channel == null) {
+            // A compressed file has no byte offsets to seek to
+            long skipped = 0;
+            while (skipped < fromRow - 1 && cursor.next()) {
+                skipped++;
+            }
+            row = fromRow - 1;
+            return;
+        }
+        if (index == null) index = RowIndex.open(file, delimiter, RowIndex.DEFAULT_INTERVAL);
+        long checkpoint = index.checkpointRow(fromRow);
+        row = fromRow - 1;
+        if (checkpoint < 1) return;
+        cursor.seek(index.checkpointOffset(fromRow));
+        long skipped = 0;
+        while (checkpoint + skipped < fromRow && cursor.next()) {
+            skipped++;
+        }
+    }
+
+    private T map(long row) {
+        if (ring == null) return mapper.map(cursor.cells(), row);
+        int slot = (int) (row % ring.length);
+        T target = ring[slot];
+        if (target == null) {
+            target = mapper.newInstance();
+            ring[slot] = target;
+        }
+        return mapper.mapInto(target, cursor.cells(), row);
+    }
+
+    /** Sequential stream over the remaining rows. */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void close() {
+        probe.rows(row - startRow);
+        probe.finish();
+        try {
+            if (channel != null) channel.close();
+            if (in != null) in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
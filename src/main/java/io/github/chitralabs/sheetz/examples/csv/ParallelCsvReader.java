@@ -0,0 +1,258 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.examples.mapping.ColumnMapper;
+import io.github.chitralabs.sheetz.examples.mapping.MappingException;
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Multi-core reader for large CSV files.
+ *
+ * The file is split into byte ranges aligned to record boundaries (quoted
+ * newlines included, see {@link CsvSplitter}); each range is memory-mapped,
+ * tokenized in place (see {@link CsvTokenizer}) and mapped independently, so
+ * the work scales with the number of cores.
+ *
+ * <pre>
+ * try (Stream&lt;Product&gt; rows = ParallelCsvReader.of(Product.class)
+ *         .file("huge.csv")
+ *         .parallelism(8)
+ *         .ordered(false)
+ *         .stream()) {
+ *     double total = rows.mapToDouble(Product::getPrice).sum();
+ * }
+ * </pre>
+ *
+ * Only uncompressed UTF-8 input with a header row is supported. A UTF-8 byte order mark is skipped.
+ * Each range is reported to the registered {@link Metrics} as a batch of
+ * {@code csv.parallel.read}, with the ranges not yet finished as queue depth.
+ */
+public final class ParallelCsvReader<T> {
+
+    /** Ranges per worker, so that a slow range does not leave other cores idle. */
+    private static final int RANGES_PER_WORKER = 4;
+
+    private final Class<T> type;
+    private Path file;
+    private char delimiter = ',';
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean ordered = true;
+
+    private ParallelCsvReader(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> ParallelCsvReader<T> of(Class<T> type) {
+        return new ParallelCsvReader<>(type);
+    }
+
+    public ParallelCsvReader<T> file(String path) {
+        return file(Paths.get(path));
+    }
+
+    public ParallelCsvReader<T> file(Path path) {
+        this.file = path;
+        return this;
+    }
+
+    public ParallelCsvReader<T> delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Number of worker threads used by {@link #forEach} and {@link #read}; the file is
+     * split into several ranges per worker. Defaults to the number of available processors.
+     */
+    public ParallelCsvReader<T> parallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Whether rows keep their file order (default {@code true}). Unordered
+     * streams avoid buffering in order-sensitive operations and scale better.
+     */
+    public ParallelCsvReader<T> ordered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Opens a parallel stream over all rows. The stream holds the file open and must be closed.
+     *
+     * Terminal operations run on the {@link ForkJoinPool} that invokes them: the
+     * common pool by default. Use {@link #forEach} to run on a pool sized by
+     * {@link #parallelism(int)} instead.
+     */
+    public Stream<T> stream() {
+        if (file == null) throw new IllegalStateException("file(...) is required");
+        // Started first: a metrics hook that throws must not leave the file open
+        FileProbe probe = Metrics.start("csv.parallel.read", file);
+        FileChannel channel;
+        try {
+            channel = open(file);
+        } catch (RuntimeException e) {
+            probe.finish(e);
+            throw e;
+        }
+        try {
+            long size = channel.size();
+            probe.bytes(size);
+            long start = CsvSplitter.bomLength(channel);
+            long headerEnd = CsvSplitter.recordEnd(channel, start, size, false);
+            String[] header = readHeader(channel, start, headerEnd);
+            ColumnMapper<T> mapper = ColumnMapper.of(type, header, probe);
+
+            List<CsvSplitter.Range> ranges = CsvSplitter.split(channel, headerEnd, size, parallelism * RANGES_PER_WORKER);
+            AtomicInteger pending = new AtomicInteger(ranges.size());
+            Stream<T> rows = ranges.parallelStream()
+                    .flatMap(range -> parseRange(channel, range, mapper, probe, pending).stream());
+            if (!ordered) rows = rows.unordered();
+            return rows.onClose(() -> {
+                try {
+                    close(channel);
+                } finally {
+                    // Report the run even if closing the file fails
+                    probe.finish();
+                }
+            });
+        } catch (IOException e) {
+            close(channel);
+            probe.finish(e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            close(channel);
+            probe.finish(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@code action} for every row on a dedicated pool of {@link #parallelism(int)} threads.
+     * With {@code ordered(true)} rows arrive in file order, one at a time.
+     */
+    public void forEach(Consumer<? super T> action) {
+        run(rows -> {
+            if (ordered) rows.forEachOrdered(action); else rows.forEach(action);
+            return null;
+        });
+    }
+
+    /**
+     * Reads all rows into a list, in file order if {@code ordered(true)}.
+     */
+    public List<T> read() {
+        return run(rows -> rows.collect(Collectors.toList()));
+    }
+
+    private <R> R run(Function<Stream<T>, R> terminal) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (Stream<T> rows = stream()) {
+            return pool.submit(() -> terminal.apply(rows)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading " + file, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<T> parseRange(FileChannel channel, CsvSplitter.Range range, ColumnMapper<T> mapper,
+                               FileProbe probe, AtomicInteger pending) {
+        long started = probe.enabled() ? System.nanoTime() : 0;
+        long allocationMark = probe.allocationMark();
+        MappedByteBuffer buffer = map(channel, range.start, range.length());
+        CsvTokenizer tokenizer = new CsvTokenizer(delimiter);
+        tokenizer.reset(buffer, 0, buffer.limit(), true);
+        List<T> rows = new ArrayList<>();
+        long index = 0;
+        if (probe.detailed()) {
+            long parse = 0;
+            long mapping = 0;
+            long t0 = System.nanoTime();
+            while (tokenizer.next()) {
+                long t1 = System.nanoTime();
+                parse += t1 - t0;
+                try {
+                    rows.add(mapper.map(tokenizer, ++index));
+                } catch (MappingException e) {
+                    throw e.atOffset(range.start + tokenizer.recordStart());
+                }
+                t0 = System.nanoTime();
+                mapping += t0 - t1;
+            }
+            probe.parsed(parse + System.nanoTime() - t0);
+            probe.mapped(mapping);
+        } else {
+            while (tokenizer.next()) {
+                try {
+                    rows.add(mapper.map(tokenizer, ++index));
+                } catch (MappingException e) {
+                    throw e.atOffset(range.start + tokenizer.recordStart());
+                }
+            }
+        }
+        if (probe.enabled()) {
+            probe.allocatedSince(allocationMark);
+            probe.rows(rows.size());
+            probe.batch(rows.size(), System.nanoTime() - started, pending.decrementAndGet());
+        }
+        return rows;
+    }
+
+    private String[] readHeader(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer = map(channel, start, end - start);
+        CsvTokenizer tokenizer = new CsvTokenizer(delimiter);
+        tokenizer.reset(buffer, 0, buffer.limit(), true);
+        return tokenizer.next() ? tokenizer.toArray() : new String[0];
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileChannel open(Path file) {
+        Compression.requireNone(file);
+        try {
+            return FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
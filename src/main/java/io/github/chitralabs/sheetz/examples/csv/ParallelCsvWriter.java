@@ -0,0 +1,376 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Multi-core writer for large CSV exports, the counterpart of {@link ParallelCsvReader}.
+ *
+ * Rows are cut into chunks of {@link #chunkRows(int)}; each chunk is rendered
+ * on the pool (converters, compiled {@code @Column} formats, quoting) straight
+ * into a UTF-8 byte buffer sized from the chunks before it. The caller's thread
+ * only cuts chunks and writes the finished buffers to a {@link FileChannel} in
+ * order, several at a time with gathering writes, so the export scales with
+ * the number of cores instead of one formatting thread.
+ *
+ * <pre>
+ * long rows = ParallelCsvWriter.of(Product.class)
+ *         .file("export.csv.gz")
+ *         .delimiter('|')
+ *         .gzip(6)
+ *         .write(products);
+ * </pre>
+ *
+ * The output is the same as {@link MappedCsvWriter}'s. With {@link #gzip(int)}
+ * each chunk is also compressed on its worker, as a gzip member of its own;
+ * gzip readers, {@code GZIPInputStream} included, read the members as one
+ * stream. At most two chunks per worker are in flight, so a {@link Stream}
+ * source is not read further ahead than that. If a row fails, the partial file
+ * is deleted. Each chunk is reported to the registered {@link Metrics} as a
+ * batch of {@code csv.parallel.write}, with the chunks in flight as queue depth.
+ */
+public final class ParallelCsvWriter<T> {
+
+    public static final int DEFAULT_CHUNK_ROWS = 8192;
+    private static final int CHUNKS_PER_WORKER = 2;
+    /** Buffers handed to one gathering write. */
+    private static final int MAX_GATHER = 16;
+
+    private final Class<T> type;
+    private Path file;
+    private char delimiter = ',';
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private ExecutorService executor;
+    private int chunkRows = DEFAULT_CHUNK_ROWS;
+    private int gzipLevel = -1;
+
+    private ParallelCsvWriter(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> ParallelCsvWriter<T> of(Class<T> type) {
+        return new ParallelCsvWriter<>(type);
+    }
+
+    public ParallelCsvWriter<T> file(String path) {
+        return file(Paths.get(path));
+    }
+
+    public ParallelCsvWriter<T> file(Path path) {
+        this.file = path;
+        return this;
+    }
+
+    public ParallelCsvWriter<T> delimiter(char delimiter) {
+        if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must not be a quote or newline");
+        }
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /** Threads to render with when no executor is given; default is the number of cores. */
+    public ParallelCsvWriter<T> parallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /** Renders on this executor instead of a pool of its own. The executor is not shut down. */
+    public ParallelCsvWriter<T> executor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /** Rows per chunk; default {@value #DEFAULT_CHUNK_ROWS}. */
+    public ParallelCsvWriter<T> chunkRows(int rows) {
+        if (rows < 1) throw new IllegalArgumentException("chunkRows must be at least 1");
+        this.chunkRows = rows;
+        return this;
+    }
+
+    /** Compresses the output as gzip at {@code level}, from 0 (store) to 9. Off by default. */
+    public ParallelCsvWriter<T> gzip(int level) {
+        if (level < 0 || level > 9) throw new IllegalArgumentException("gzip level must be between 0 and 9");
+        this.gzipLevel = level;
+        return this;
+    }
+
+    /** Writes the header and {@code rows}; returns the number of data rows written. */
+    public long write(List<? extends T> rows) {
+        return write(new Iterator<List<? extends T>>() {
+            private int from;
+
+            @Override
+            public boolean hasNext() {
+                return from < rows.size();
+            }
+
+            @Override
+            public List<? extends T> next() {
+                int to = Math.min(rows.size(), from + chunkRows);
+                List<? extends T> chunk = rows.subList(from, to);
+                from = to;
+                return chunk;
+            }
+        });
+    }
+
+    /** Writes the header and the rows of {@code rows}, reading it as chunks are written. */
+    public long write(Stream<? extends T> rows) {
+        Iterator<? extends T> iterator = rows.iterator();
+        return write(new Iterator<List<? extends T>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<? extends T> next() {
+                List<T> chunk = new ArrayList<>(chunkRows);
+                while (chunk.size() < chunkRows && iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                }
+                return chunk;
+            }
+        });
+    }
+
+    private long write(Iterator<List<? extends T>> chunks) {
+        if (file == null) throw new IllegalStateException("file(...) must be set");
+        CsvRowFormat<T> format = new CsvRowFormat<>(type);
+        FileProbe probe = Metrics.start("csv.parallel.write", file);
+        ExecutorService pool = executor != null ? executor : new ForkJoinPool(parallelism);
+        int maxInFlight = CHUNKS_PER_WORKER * parallelism;
+        ArrayDeque<CompletableFuture<ByteBuffer>> inFlight = new ArrayDeque<>();
+        AtomicInteger pending = new AtomicInteger();
+        Chunks<T> renderer = new Chunks<>(format, delimiter, gzipLevel);
+        long rows = 0;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                inFlight.add(CompletableFuture.completedFuture(renderer.header()));
+                while (chunks.hasNext()) {
+                    List<? extends T> chunk = chunks.next();
+                    rows += chunk.size();
+                    pending.incrementAndGet();
+                    inFlight.add(CompletableFuture.supplyAsync(() -> {
+                        long start = System.nanoTime();
+                        ByteBuffer bytes = renderer.render(chunk);
+                        probe.batch(chunk.size(), System.nanoTime() - start, pending.decrementAndGet());
+                        return bytes;
+                    }, pool));
+                    if (inFlight.size() > maxInFlight) drain(inFlight, maxInFlight, channel);
+                }
+                drain(inFlight, 0, channel);
+                probe.bytes(channel.size());
+            }
+            probe.rows(rows);
+            probe.finish();
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            for (CompletableFuture<ByteBuffer> future : inFlight) {
+                future.cancel(false);
+            }
+            // A partial export must not pass for a complete one
+            deleteQuietly(file);
+            probe.finish(e);
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        } finally {
+            if (pool != executor) pool.shutdown();
+        }
+    }
+
+    /** Writes finished chunks in order until at most {@code keep} are in flight. */
+    private static void drain(ArrayDeque<CompletableFuture<ByteBuffer>> inFlight, int keep, FileChannel channel) throws IOException {
+        List<ByteBuffer> batch = new ArrayList<>(MAX_GATHER);
+        while (inFlight.size() > keep) {
+            batch.clear();
+            batch.add(join(inFlight.poll()));
+            // Chunks behind the first that are already done go out in the same write
+            while (!inFlight.isEmpty() && inFlight.peek().isDone() && batch.size() < MAX_GATHER) {
+                batch.add(join(inFlight.poll()));
+            }
+            ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) remaining += buffer.remaining();
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        }
+    }
+
+    private static ByteBuffer join(CompletableFuture<ByteBuffer> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // best effort; the write already failed
+        }
+    }
+
+    /** Renders chunks to bytes; shared by the workers, with no state but the size estimate. */
+    private static final class Chunks<T> {
+        private final CsvRowFormat<T> format;
+        private final char delimiter;
+        private final int gzipLevel;
+        /** Bytes per row seen so far, to size the next chunk's buffer. */
+        private volatile int rowBytes = 64;
+
+        Chunks(CsvRowFormat<T> format, char delimiter, int gzipLevel) {
+            this.format = format;
+            this.delimiter = delimiter;
+            this.gzipLevel = gzipLevel;
+        }
+
+        ByteBuffer header() {
+            Utf8Buffer out = new Utf8Buffer(256);
+            StringBuilder cell = new StringBuilder(32);
+            String[] header = format.header();
+            for (int i = 0; i < header.length; i++) {
+                if (i > 0) out.put(delimiter);
+                cell.setLength(0);
+                out.field(cell.append(header[i]), delimiter);
+            }
+            out.put('\n');
+            return finish(out);
+        }
+
+        ByteBuffer render(List<? extends T> rows) {
+            // A little headroom over the estimate, so a typical chunk never grows its buffer
+            Utf8Buffer out = new Utf8Buffer(rows.size() * rowBytes + rows.size() * rowBytes / 8 + 64);
+            StringBuilder cell = new StringBuilder(64);
+            int columns = format.columns();
+            for (T row : rows) {
+                for (int i = 0; i < columns; i++) {
+                    if (i > 0) out.put(delimiter);
+                    cell.setLength(0);
+                    format.cell(row, i, cell);
+                    out.field(cell, delimiter);
+                }
+                out.put('\n');
+            }
+            if (!rows.isEmpty()) rowBytes = Math.max(8, out.size / rows.size());
+            return finish(out);
+        }
+
+        private ByteBuffer finish(Utf8Buffer out) {
+            if (gzipLevel < 0) return ByteBuffer.wrap(out.bytes, 0, out.size);
+            Bytes compressed = new Bytes(out.size / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 1 << 16) {
+                {
+                    def.setLevel(gzipLevel);
+                }
+            }) {
+                gzip.write(out.bytes, 0, out.size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return compressed.buffer();
+        }
+    }
+
+    /** A growable UTF-8 byte buffer that CSV fields are encoded into. */
+    private static final class Utf8Buffer {
+        byte[] bytes;
+        int size;
+
+        Utf8Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        /** Appends {@code text} as one field, quoted as {@link CsvWriter} quotes it. */
+        void field(StringBuilder text, char delimiter) {
+            int length = text.length();
+            boolean quote = CsvWriter.needsQuotes(text, delimiter);
+            // Worst case: three bytes per char, every char a doubled quote, plus the quotes
+            ensure(length * 3 + 2);
+            if (quote) bytes[size++] = '"';
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    if (c == '"' && quote) bytes[size++] = '"';
+                    bytes[size++] = (byte) c;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    codePoint(Character.toCodePoint(c, text.charAt(++i)));
+                } else {
+                    codePoint(Character.isSurrogate(c) ? '?' : c);
+                }
+            }
+            if (quote) bytes[size++] = '"';
+        }
+
+        void put(char c) {
+            ensure(3);
+            if (c < 0x80) bytes[size++] = (byte) c;
+            else codePoint(c);
+        }
+
+        private void codePoint(int c) {
+            if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | c >> 6);
+                bytes[size++] = (byte) (0x80 | c & 0x3F);
+            } else if (c < 0x10000) {
+                bytes[size++] = (byte) (0xE0 | c >> 12);
+                bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | c & 0x3F);
+            } else {
+                bytes[size++] = (byte) (0xF0 | c >> 18);
+                bytes[size++] = (byte) (0x80 | c >> 12 & 0x3F);
+                bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        private void ensure(int more) {
+            if (size + more > bytes.length) {
+                byte[] grown = new byte[Math.max(size + more, bytes.length * 2)];
+                System.arraycopy(bytes, 0, grown, 0, size);
+                bytes = grown;
+            }
+        }
+    }
+
+    /** Compressed bytes, handed to the channel without a copy. */
+    private static final class Bytes extends ByteArrayOutputStream {
+        Bytes(int capacity) {
+            super(capacity);
+        }
+
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
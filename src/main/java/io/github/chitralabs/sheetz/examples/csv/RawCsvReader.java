@@ -0,0 +1,127 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the data rows of a CSV file as one reusable {@link RowView}, a
+ * fast path under {@code Sheetz.readRaw} for jobs that forward or filter a
+ * few fields of every row.
+ *
+ * <pre>
+ * try (RawCsvReader reader = RawCsvReader.open("feed.csv")) {
+ *     int category = reader.column("Category");
+ *     for (RowView row : reader) {
+ *         if (row.cellEquals(category, "Office")) out.append(row.cell(0)).append('\n');
+ *     }
+ * }
+ * </pre>
+ *
+ * Every iteration step returns the same view, moved to the next row, so
+ * nothing is allocated per row; copy out what you keep. Compressed files are
+ * read as in {@link CsvScanner}. Reports to the registered {@link Metrics} as
+ * {@code csv.raw.read}.
+ */
+public final class RawCsvReader implements Iterable<RowView>, AutoCloseable {
+
+    private final CsvScanner scanner;
+    private final String[] header;
+    private final FileProbe probe;
+    private long row;
+    private boolean iterated;
+
+    private RawCsvReader(Path file, char delimiter) {
+        this.probe = Metrics.start("csv.raw.read", file);
+        CsvScanner opened = null;
+        try {
+            probe.bytes(Files.size(file));
+            opened = CsvScanner.open(file, delimiter);
+            this.header = opened.next() ? opened.toArray() : new String[0];
+        } catch (IOException e) {
+            if (opened != null) opened.close();
+            probe.finish(e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            if (opened != null) opened.close();
+            probe.finish(e);
+            throw e;
+        }
+        this.scanner = opened;
+    }
+
+    public static RawCsvReader open(String path) {
+        return new RawCsvReader(Paths.get(path), ',');
+    }
+
+    public static RawCsvReader open(Path path, char delimiter) {
+        return new RawCsvReader(path, delimiter);
+    }
+
+    /** The header row. */
+    public String[] header() {
+        return header.clone();
+    }
+
+    /**
+     * Position of {@code name} in the header, ignoring case and surrounding spaces.
+     *
+     * @throws IllegalArgumentException if the header has no such column
+     */
+    public int column(String name) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != null && header[i].trim().equalsIgnoreCase(name)) return i;
+        }
+        throw new IllegalArgumentException("Column not found: " + name + "; header: " + String.join(", ", header));
+    }
+
+    /** Number of the row the view is on, 1 for the first data row. */
+    public long row() {
+        return row;
+    }
+
+    /**
+     * Returns the row iterator. Like {@code StreamingReader}, a reader can be iterated once.
+     */
+    @Override
+    public Iterator<RowView> iterator() {
+        if (iterated) throw new IllegalStateException("RawCsvReader can only be iterated once");
+        iterated = true;
+        RowView view = scanner.row();
+        return new Iterator<RowView>() {
+            private boolean ready;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready && !done) {
+                    ready = scanner.next();
+                    done = !ready;
+                }
+                return ready;
+            }
+
+            @Override
+            public RowView next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                ready = false;
+                row++;
+                return view;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        probe.rows(row);
+        probe.finish();
+        scanner.close();
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a slow source, such as a decompressing stream, on a thread of its own,
+ * ahead of the consumer.
+ *
+ * The reading thread fills a ring of {@code buffers} reusable byte arrays
+ * and hands each over when it is full; the consumer reads from it and hands it
+ * back. Inflating the next megabytes therefore overlaps with parsing and
+ * mapping the current ones, and nothing is allocated per read. A failure of
+ * the source is rethrown to the consumer once the buffers filled before it
+ * have been read.
+ *
+ * <pre>
+ * try (InputStream in = new ReadAheadInputStream(new GZIPInputStream(raw, 1 &lt;&lt; 16), 4, 1 &lt;&lt; 20)) { ... }
+ * </pre>
+ *
+ * Not thread-safe on the consumer side; {@link #close()} stops the reading
+ * thread and closes the source.
+ */
+public final class ReadAheadInputStream extends InputStream {
+
+    public static final int DEFAULT_BUFFERS = 4;
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final InputStream source;
+    private final BlockingQueue<Buffer> free;
+    private final BlockingQueue<Buffer> filled;
+    private final Thread reader;
+
+    private Buffer current;
+    private int position;
+    private boolean finished;
+    private volatile boolean closed;
+
+    public ReadAheadInputStream(InputStream source) {
+        this(source, DEFAULT_BUFFERS, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ReadAheadInputStream(InputStream source, int buffers, int bufferSize) {
+        if (buffers < 2) throw new IllegalArgumentException("buffers must be at least 2");
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be positive");
+        this.source = source;
+        this.free = new ArrayBlockingQueue<>(buffers);
+        // One more slot than buffers, for the end-of-stream marker
+        this.filled = new ArrayBlockingQueue<>(buffers + 1);
+        for (int i = 0; i < buffers; i++) {
+            free.add(new Buffer(new byte[bufferSize]));
+        }
+        this.reader = new Thread(this::fill, "sheetz-read-ahead");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /** Runs on the reading thread: fills free buffers until the source ends or fails. */
+    private void fill() {
+        try {
+            while (!closed) {
+                Buffer buffer = free.take();
+                int length = 0;
+                while (length < buffer.bytes.length) {
+                    int n = source.read(buffer.bytes, length, buffer.bytes.length - length);
+                    if (n < 0) break;
+                    length += n;
+                }
+                buffer.length = length;
+                if (length > 0) filled.put(buffer);
+                if (length < buffer.bytes.length) {
+                    filled.put(Buffer.END);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Closed by the consumer
+        } catch (IOException | RuntimeException | Error e) {
+            // Without the marker, the consumer would wait forever
+            if (!closed) filled.offer(Buffer.failed(e));
+            if (e instanceof Error) throw (Error) e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensure()) return -1;
+        return current.bytes[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (!ensure()) return -1;
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current.bytes, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    /** Makes sure {@link #current} has unread bytes; false at the end of the stream. */
+    private boolean ensure() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+        if (current != null && position < current.length) return true;
+        if (finished) return false;
+        if (current != null) {
+            free.add(current);
+            current = null;
+        }
+        Buffer next;
+        try {
+            next = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading ahead");
+        }
+        if (next == Buffer.END) {
+            finished = true;
+            return false;
+        }
+        if (next.failure != null) {
+            finished = true;
+            if (next.failure instanceof IOException) throw new IOException(next.failure.getMessage(), next.failure);
+            if (next.failure instanceof Error) throw new IOException("Read-ahead thread failed", next.failure);
+            throw (RuntimeException) next.failure;
+        }
+        current = next;
+        position = 0;
+        return true;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        reader.interrupt();
+        source.close();
+    }
+
+    /** One buffer of the ring, or the end-of-stream or failure marker. */
+    private static final class Buffer {
+        static final Buffer END = new Buffer(new byte[0]);
+
+        final byte[] bytes;
+        int length;
+        Throwable failure;
+
+        Buffer(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        static Buffer failed(Throwable failure) {
+            Buffer buffer = new Buffer(new byte[0]);
+            buffer.failure = failure;
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+/**
+ * One inserted, changed or deleted row, as reported by {@link DeltaCsvReader}.
+ */
+public final class RowChange<T> {
+
+    private final ChangeType type;
+    private final String key;
+    private final long row;
+    private final T value;
+
+    RowChange(ChangeType type, String key, long row, T value) {
+        this.type = type;
+        this.key = key;
+        this.row = row;
+        this.value = value;
+    }
+
+    public ChangeType type() { return type; }
+
+    /** The key cells; several key columns are joined with {@code '|'}. */
+    public String key() { return key; }
+
+    /** The 1-based data row in the current file; 0 for {@link ChangeType#DELETED}. */
+    public long row() { return row; }
+
+    /** The mapped row; {@code null} for {@link ChangeType#DELETED}, whose cells are gone. */
+    public T value() { return value; }
+
+    @Override
+    public String toString() {
+        return type + " " + key + (value == null ? "" : " (row " + row + ")");
+    }
+}
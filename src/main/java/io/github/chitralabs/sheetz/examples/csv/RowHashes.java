@@ -0,0 +1,178 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The hash store of {@link DeltaCsvReader}: for every row of an import, the
+ * hash of its key, the hash of its record and the key bytes themselves, so
+ * that deleted rows can still be named. About 20 bytes plus the key per row.
+ */
+final class RowHashes {
+
+    /** Separates the cells of a key made of several columns. */
+    static final byte KEY_SEPARATOR = 0x1F;
+
+    private static final int MAGIC = 0x535A5248; // "SZRH"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private int count;
+    private long[] keyHashes;
+    private long[] rowHashes;
+    /** Key {@code i} is {@code keys[keyEnds[i - 1], keyEnds[i])}. */
+    private int[] keyEnds;
+    private byte[] keys;
+    /** Open-addressing table of row index + 1 by key hash; built on first lookup. */
+    private int[] table;
+
+    RowHashes(int rows, int keyBytes) {
+        int capacity = Math.max(16, rows);
+        keyHashes = new long[capacity];
+        rowHashes = new long[capacity];
+        keyEnds = new int[capacity];
+        keys = new byte[keyBytes];
+    }
+
+    /** The store in {@code file}, or an empty one if there is none yet. */
+    static RowHashes load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, HEADER_BYTES, file);
+            int count = header.getInt(8);
+            int keyBytes = header.getInt(12);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || count < 0 || keyBytes < 0) {
+                throw new IOException(file + " is not a row hash store");
+            }
+            ByteBuffer body = read(channel, HEADER_BYTES, count * 20L + keyBytes, file);
+            RowHashes hashes = new RowHashes(0, keyBytes);
+            hashes.keyHashes = new long[count];
+            hashes.rowHashes = new long[count];
+            hashes.keyEnds = new int[count];
+            body.asLongBuffer().get(hashes.keyHashes);
+            body.position(count * 8);
+            body.asLongBuffer().get(hashes.rowHashes);
+            body.position(count * 16);
+            body.asIntBuffer().get(hashes.keyEnds);
+            body.position(count * 20);
+            body.get(hashes.keys);
+            hashes.count = count;
+            return hashes;
+        } catch (NoSuchFileException e) {
+            return new RowHashes(0, 0);
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    long rowHash(int i) {
+        return rowHashes[i];
+    }
+
+    String key(int i) {
+        int start = i == 0 ? 0 : keyEnds[i - 1];
+        return key(keys, start, keyEnds[i]);
+    }
+
+    static String key(byte[] bytes, int from, int to) {
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8).replace((char) KEY_SEPARATOR, '|');
+    }
+
+    /**
+     * Index of the row with {@code keyHash}, or -1. Tries {@code expected}
+     * first: a file in the same order as last time never touches the table.
+     */
+    int find(long keyHash, int expected) {
+        if (expected < count && keyHashes[expected] == keyHash) return expected;
+        if (table == null) buildTable();
+        int mask = table.length - 1;
+        for (int slot = spread(keyHash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int i = table[slot] - 1;
+            if (keyHashes[i] == keyHash) return i;
+        }
+        return -1;
+    }
+
+    /** Room for a key of up to {@code length} bytes; returns the array to copy it into at {@link #keyEnd()}. */
+    byte[] reserve(int length) {
+        int end = keyEnd();
+        if (end + length > keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(end + length, keys.length * 2));
+        }
+        return keys;
+    }
+
+    /** Where the next key starts in the array from {@link #reserve(int)}. */
+    int keyEnd() {
+        return count == 0 ? 0 : keyEnds[count - 1];
+    }
+
+    /** Appends a row whose key was copied to {@code [keyEnd(), keyEnd)}. */
+    void add(long keyHash, long rowHash, int keyEnd) {
+        if (count == keyHashes.length) {
+            int capacity = Math.max(16, count * 2);
+            keyHashes = Arrays.copyOf(keyHashes, capacity);
+            rowHashes = Arrays.copyOf(rowHashes, capacity);
+            keyEnds = Arrays.copyOf(keyEnds, capacity);
+        }
+        keyHashes[count] = keyHash;
+        rowHashes[count] = rowHash;
+        keyEnds[count] = keyEnd;
+        count++;
+        table = null;
+    }
+
+    /** Writes to a temporary file first, so a failed save leaves the old store intact. */
+    void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + count * 20 + keyEnd());
+        out.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(keyEnd());
+        out.asLongBuffer().put(keyHashes, 0, count);
+        out.position(out.position() + count * 8);
+        out.asLongBuffer().put(rowHashes, 0, count);
+        out.position(out.position() + count * 8);
+        out.asIntBuffer().put(keyEnds, 0, count);
+        out.position(out.position() + count * 4);
+        out.put(keys, 0, keyEnd());
+        out.flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) channel.write(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, long length, Path file) throws IOException {
+        if (length > Integer.MAX_VALUE || position + length > channel.size()) throw new IOException(file + " is truncated");
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException(file + " is truncated");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void buildTable() {
+        int size = Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1;
+        table = new int[size];
+        int mask = size - 1;
+        for (int i = 0; i < count; i++) {
+            int slot = spread(keyHashes[i]) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = i + 1;
+        }
+    }
+
+    private static int spread(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
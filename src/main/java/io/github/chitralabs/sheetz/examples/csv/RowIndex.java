@@ -0,0 +1,192 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Byte offsets of every {@code interval}-th data row of a CSV file, kept in a
+ * sidecar file next to it ({@code products.csv.rowidx}).
+ *
+ * With the index, {@link MappedCsvReader#fromRow(long)} seeks to the nearest
+ * checkpoint at or before a row and tokenizes at most {@code interval - 1}
+ * rows from there, instead of every row before it. At the default interval a
+ * 50M-row file needs about 50K checkpoints, 400 KB on disk.
+ *
+ * The sidecar records the size and modification time of the CSV file; when
+ * either changes, {@link #open(Path)} rebuilds it with one pass over the file.
+ * Row numbers are 1-based data rows, as in {@code MappedCsvReader}; the header
+ * is not a row.
+ *
+ * <pre>
+ * RowIndex index = RowIndex.open(Paths.get("huge.csv"));
+ * System.out.println(index.rows() + " rows");
+ * </pre>
+ */
+public final class RowIndex {
+
+    /** Default rows between checkpoints. */
+    public static final int DEFAULT_INTERVAL = 1024;
+
+    private static final int MAGIC = 0x535A5249; // "SZRI"
+    private static final int VERSION = 1;
+
+    private final long fileSize;
+    private final long modified;
+    private final char delimiter;
+    private final int interval;
+    private final long rows;
+    private final long[] offsets;
+
+    private RowIndex(long fileSize, long modified, char delimiter, int interval, long rows, long[] offsets) {
+        this.fileSize = fileSize;
+        this.modified = modified;
+        this.delimiter = delimiter;
+        this.interval = interval;
+        this.rows = rows;
+        this.offsets = offsets;
+    }
+
+    /** The sidecar file for {@code csv}. */
+    public static Path sidecar(Path csv) {
+        return csv.resolveSibling(csv.getFileName() + ".rowidx");
+    }
+
+    public static RowIndex open(Path csv) {
+        return open(csv, ',', DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Loads the sidecar index of {@code csv}, or builds and saves it if it is
+     * missing, stale, or was built with another delimiter or interval. If the
+     * sidecar cannot be written, the index is still returned and is rebuilt
+     * next time.
+     */
+    public static RowIndex open(Path csv, char delimiter, int interval) {
+        if (interval < 1) throw new IllegalArgumentException("interval must be at least 1");
+        try {
+            long size = Files.size(csv);
+            long modified = Files.getLastModifiedTime(csv).toMillis();
+            RowIndex index = load(sidecar(csv));
+            if (index != null && index.fileSize == size && index.modified == modified
+                    && index.delimiter == delimiter && index.interval == interval) {
+                return index;
+            }
+            index = build(csv, delimiter, interval);
+            try {
+                index.save(sidecar(csv));
+            } catch (IOException e) {
+                // Read-only directory: keep the index in memory only
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Scans {@code csv} once and records a checkpoint every {@code interval} rows, without saving it. */
+    public static RowIndex build(Path csv, char delimiter, int interval) {
+        if (interval < 1) throw new IllegalArgumentException("interval must be at least 1");
+        Compression.requireNone(csv);
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long modified = Files.getLastModifiedTime(csv).toMillis();
+            CsvCursor cursor = new CsvCursor(channel, CsvSplitter.bomLength(channel), size, delimiter, CsvCursor.DEFAULT_WINDOW);
+            long[] offsets = new long[16];
+            int count = 0;
+            long rows = 0;
+            if (cursor.next()) {
+                // Where row 1 would start, even if there is none
+                offsets[count++] = cursor.offset();
+                while (cursor.next()) {
+                    if (rows > 0 && rows % interval == 0) {
+                        if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+                        offsets[count++] = cursor.recordOffset();
+                    }
+                    rows++;
+                }
+            }
+            return new RowIndex(size, modified, delimiter, interval, rows, Arrays.copyOf(offsets, count));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Data rows in the file when the index was built. */
+    public long rows() {
+        return rows;
+    }
+
+    /** Rows between checkpoints. */
+    public int interval() {
+        return interval;
+    }
+
+    /** The nearest row at or before {@code row} that has a checkpoint; 0 if the file has no header. */
+    public long checkpointRow(long row) {
+        if (row < 1) throw new IllegalArgumentException("row must be at least 1");
+        if (offsets.length == 0) return 0;
+        return (long) checkpoint(row) * interval + 1;
+    }
+
+    /** Byte offset where {@link #checkpointRow(long)} starts. */
+    public long checkpointOffset(long row) {
+        if (row < 1) throw new IllegalArgumentException("row must be at least 1");
+        if (offsets.length == 0) return 0;
+        return offsets[checkpoint(row)];
+    }
+
+    private int checkpoint(long row) {
+        return (int) Math.min((row - 1) / interval, offsets.length - 1);
+    }
+
+    private static RowIndex load(Path sidecar) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            long size = in.readLong();
+            long modified = in.readLong();
+            char delimiter = in.readChar();
+            int interval = in.readInt();
+            long rows = in.readLong();
+            int count = in.readInt();
+            if (count < 0) return null;
+            long[] offsets = new long[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = in.readLong();
+            }
+            return new RowIndex(size, modified, delimiter, interval, rows, offsets);
+        } catch (NoSuchFileException | EOFException e) {
+            return null;
+        }
+    }
+
+    /** Writes to a temporary file first, so readers never see half an index. */
+    private void save(Path sidecar) throws IOException {
+        Path temp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(modified);
+            out.writeChar(delimiter);
+            out.writeInt(interval);
+            out.writeLong(rows);
+            out.writeInt(offsets.length);
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+        }
+        Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
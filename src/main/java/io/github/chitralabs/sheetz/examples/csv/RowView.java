@@ -0,0 +1,221 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A reusable view of the current CSV record, for pass-through jobs that only
+ * forward or filter a few fields.
+ *
+ * Nothing is allocated per record or per cell. {@link #cell(int)} decodes into
+ * a buffer kept for that column, {@link #copyBytes(int, byte[], int)} copies
+ * the raw UTF-8 bytes, and numbers are parsed straight from the bytes. Only
+ * {@link #text(int)}, {@link #toArray()} and {@code toString()} on a cell
+ * create Strings.
+ *
+ * <pre>
+ * RowView row = scanner.row();
+ * while (scanner.next()) {
+ *     if (row.cellEquals(4, "Office") &amp;&amp; row.getDouble(1) &gt; 100) {
+ *         int end = row.copyBytes(0, out, 0);
+ *     }
+ * }
+ * </pre>
+ *
+ * Everything a view returns is only valid until the next record. Not thread-safe.
+ */
+public final class RowView {
+
+    private static final Text MISSING = new Text(0);
+
+    private final CsvTokenizer cells;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private byte[] scratch = new byte[256];
+    private ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+    /** The decoded text of each column, reused from record to record. */
+    private Text[] texts = new Text[16];
+
+    RowView(CsvTokenizer cells) {
+        this.cells = cells;
+    }
+
+    /** Number of cells in the record. */
+    public int size() {
+        return cells.size();
+    }
+
+    /** Whether cell {@code i} is missing or has no content. */
+    public boolean isEmpty(int i) {
+        return cells.isEmpty(i);
+    }
+
+    /**
+     * Cell {@code i} as text, unquoted; empty if the record has no cell
+     * {@code i}. The sequence is reused for column {@code i} of the next record.
+     */
+    public CharSequence cell(int i) {
+        if (i >= cells.size()) return MISSING;
+        if (i >= texts.length) texts = Arrays.copyOf(texts, Math.max(i + 1, texts.length * 2));
+        Text text = texts[i];
+        int length = copy(i);
+        if (text == null || text.chars.length < length) {
+            text = new Text(Math.max(length, 32));
+            texts[i] = text;
+        }
+        decode(length, text);
+        return text;
+    }
+
+    /** Whether cell {@code i} holds exactly {@code value}. */
+    public boolean cellEquals(int i, CharSequence value) {
+        CharSequence cell = cell(i);
+        int length = cell.length();
+        if (length != value.length()) return false;
+        for (int k = 0; k < length; k++) {
+            if (cell.charAt(k) != value.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    /** Upper bound of the bytes {@link #copyBytes(int, byte[], int)} writes for cell {@code i}. */
+    public int maxByteLength(int i) {
+        return cells.rawLength(i);
+    }
+
+    /**
+     * Copies the UTF-8 bytes of cell {@code i}, unquoted, to {@code dest} at
+     * {@code at}; returns the index past them.
+     */
+    public int copyBytes(int i, byte[] dest, int at) {
+        return cells.copy(i, dest, at);
+    }
+
+    /**
+     * Cell {@code i} as a number; grouping commas are allowed.
+     *
+     * @throws NumberFormatException if the cell is empty or not a number
+     */
+    public double getDouble(int i) {
+        requireValue(i);
+        try {
+            return cells.parseDouble(i);
+        } catch (RuntimeException e) {
+            // Off the fast path: more than 18 digits, or not a number at all
+            return Double.parseDouble(cell(i).toString().trim().replace(",", ""));
+        }
+    }
+
+    /**
+     * Cell {@code i} as a whole number; grouping commas and a ".0" suffix are allowed.
+     *
+     * @throws NumberFormatException if the cell is empty or not a whole number
+     */
+    public long getLong(int i) {
+        requireValue(i);
+        try {
+            return cells.parseLong(i);
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Out of range for a long: " + cell(i));
+        } catch (RuntimeException e) {
+            throw new NumberFormatException("Not a whole number: " + cell(i));
+        }
+    }
+
+    /**
+     * Cell {@code i} as true/false, yes/no, y/n or 1/0, in any case.
+     *
+     * @throws IllegalArgumentException if the cell is empty or not one of those
+     */
+    public boolean getBoolean(int i) {
+        if (cells.isEmpty(i)) throw new IllegalArgumentException("Cell " + i + " is empty");
+        return cells.parseBoolean(i);
+    }
+
+    /** Cell {@code i} as a new String, or {@code null} if the record has no cell {@code i}. */
+    public String text(int i) {
+        return cells.text(i);
+    }
+
+    /** The record's cells, copied into a new array. */
+    public String[] toArray() {
+        return cells.toArray();
+    }
+
+    private void requireValue(int i) {
+        if (cells.isEmpty(i)) throw new NumberFormatException("Cell " + i + " is empty");
+    }
+
+    /** Copies cell {@code i}'s bytes to {@link #scratch}; returns their length. */
+    private int copy(int i) {
+        int length = cells.rawLength(i);
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            scratchBuffer = ByteBuffer.wrap(scratch);
+        }
+        return cells.copy(i, scratch, 0);
+    }
+
+    /** Decodes the first {@code length} bytes of {@link #scratch} into {@code text}. */
+    private void decode(int length, Text text) {
+        char[] chars = text.chars;
+        int n = 0;
+        while (n < length && scratch[n] >= 0) {
+            chars[n] = (char) scratch[n];
+            n++;
+        }
+        if (n == length) {
+            text.length = length;
+            return;
+        }
+        // Non-ASCII: a UTF-8 byte never decodes to more than one char
+        scratchBuffer.limit(length).position(n);
+        CharBuffer out = text.buffer;
+        out.clear().position(n);
+        decoder.reset();
+        decoder.decode(scratchBuffer, out, true);
+        decoder.flush(out);
+        text.length = out.position();
+    }
+
+    /** The decoded text of one column. */
+    private static final class Text implements CharSequence {
+        final char[] chars;
+        final CharBuffer buffer;
+        int length;
+
+        Text(int capacity) {
+            chars = new char[capacity];
+            buffer = CharBuffer.wrap(chars);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index " + index + " of " + length);
+            return chars[index];
+        }
+
+        /** Allocates a String. */
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) throw new IndexOutOfBoundsException(start + ".." + end + " of " + length);
+            return new String(chars, start, end - start);
+        }
+
+        /** Allocates a String. */
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
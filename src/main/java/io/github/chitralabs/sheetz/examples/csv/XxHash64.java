@@ -0,0 +1,82 @@
+package io.github.chitralabs.sheetz.examples.csv;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * XXH64 over a region of a byte buffer, read in place.
+ *
+ * Fast enough to hash every record of a large file at close to memory speed,
+ * and 64 bits, so that a million rows collide with a probability of about
+ * one in 30 million.
+ */
+final class XxHash64 {
+
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+
+    private XxHash64() {}
+
+    /** Hash of {@code buffer[from, to)}; the buffer's byte order does not matter. */
+    static long hash(ByteBuffer buffer, int from, int to, long seed) {
+        boolean swap = buffer.order() == ByteOrder.BIG_ENDIAN;
+        int p = from;
+        long h;
+        if (to - from >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            for (int limit = to - 32; p <= limit; p += 32) {
+                v1 = round(v1, longAt(buffer, p, swap));
+                v2 = round(v2, longAt(buffer, p + 8, swap));
+                v3 = round(v3, longAt(buffer, p + 16, swap));
+                v4 = round(v4, longAt(buffer, p + 24, swap));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += to - from;
+        for (; p + 8 <= to; p += 8) {
+            h ^= round(0, longAt(buffer, p, swap));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+        }
+        if (p + 4 <= to) {
+            int word = buffer.getInt(p);
+            h ^= ((swap ? Integer.reverseBytes(word) : word) & 0xFFFFFFFFL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        for (; p < to; p++) {
+            h ^= (buffer.get(p) & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+        }
+        h ^= h >>> 33;
+        h *= P2;
+        h ^= h >>> 29;
+        h *= P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long longAt(ByteBuffer buffer, int p, boolean swap) {
+        long value = buffer.getLong(p);
+        return swap ? Long.reverseBytes(value) : value;
+    }
+
+    private static long round(long acc, long lane) {
+        return Long.rotateLeft(acc + lane * P2, 31) * P1;
+    }
+
+    private static long merge(long acc, long value) {
+        return (acc ^ round(0, value)) * P1 + P4;
+    }
+}
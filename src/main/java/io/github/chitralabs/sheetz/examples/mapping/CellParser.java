@@ -0,0 +1,112 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts cell text to the Java type of a {@link ColumnField}.
+ *
+ * Mirrors what Sheetz does for the built-in types: numbers may carry grouping
+ * commas (as written by {@code format = "#,##0.00"}), booleans accept
+ * true/false, yes/no and 1/0, and date cells may hold either formatted text
+ * or an Excel serial number.
+ */
+final class CellParser {
+
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private CellParser() {}
+
+    /**
+     * Parses {@code text} for {@code column}. Empty cells resolve to the
+     * column's default value, or {@code null}.
+     */
+    static Object parse(String text, ColumnField column) {
+        if (text == null || text.isEmpty()) {
+            text = column.defaultValue();
+            if (text == null) return null;
+        }
+        if (column.converter() != null) {
+            return column.converter().fromCell(text, null);
+        }
+        Class<?> type = column.type();
+        if (type == String.class) return text;
+        if (type == Double.class || type == double.class) return Double.parseDouble(number(text));
+        if (type == Integer.class || type == int.class) return Integer.parseInt(integer(text));
+        if (type == Long.class || type == long.class) return Long.parseLong(integer(text));
+        if (type == Boolean.class || type == boolean.class) return parseBoolean(text);
+        if (type == LocalDate.class) return parseDate(text, column);
+        if (type == LocalDateTime.class) return parseDateTime(text, column);
+        if (type == BigDecimal.class) return new BigDecimal(number(text));
+        if (type == Float.class || type == float.class) return Float.parseFloat(number(text));
+        if (type == Short.class || type == short.class) return Short.parseShort(integer(text));
+        if (type == BigInteger.class) return new BigInteger(integer(text));
+        if (type.isEnum()) return parseEnum(type, text);
+        throw new IllegalArgumentException("Unsupported field type " + type.getName() + " without a converter");
+    }
+
+    static Boolean parseBoolean(String text) {
+        switch (text.trim().toLowerCase()) {
+            case "true": case "yes": case "y": case "1":
+                return Boolean.TRUE;
+            case "false": case "no": case "n": case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("Not a boolean");
+        }
+    }
+
+    static LocalDate parseDate(String text, ColumnField column) {
+        try {
+            return column.dateFormatter() != null
+                    ? LocalDate.parse(text.trim(), column.dateFormatter())
+                    : LocalDate.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            if (!isSerial(text)) throw e;
+            return EXCEL_EPOCH.plusDays((long) Double.parseDouble(text));
+        }
+    }
+
+    static LocalDateTime parseDateTime(String text, ColumnField column) {
+        try {
+            return column.dateFormatter() != null
+                    ? LocalDateTime.parse(text.trim(), column.dateFormatter())
+                    : LocalDateTime.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            if (!isSerial(text)) throw e;
+            double serial = Double.parseDouble(text);
+            long days = (long) serial;
+            long nanos = Math.round((serial - days) * 86_400_000_000_000d);
+            return EXCEL_EPOCH.plusDays(days).atStartOfDay().plusNanos(nanos);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parseEnum(Class<?> type, String text) {
+        return Enum.valueOf((Class<? extends Enum>) type, text.trim());
+    }
+
+    /** Strips grouping separators and surrounding whitespace from a number. */
+    static String number(String text) {
+        String trimmed = text.trim();
+        return trimmed.indexOf(',') >= 0 ? trimmed.replace(",", "") : trimmed;
+    }
+
+    /** Like {@link #number}, and accepts whole numbers written as "42.0". */
+    static String integer(String text) {
+        String n = number(text);
+        return n.endsWith(".0") ? n.substring(0, n.length() - 2) : n;
+    }
+
+    private static boolean isSerial(String text) {
+        if (text.isEmpty()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != '.') return false;
+        }
+        return true;
+    }
+}
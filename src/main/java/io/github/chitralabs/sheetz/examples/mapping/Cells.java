@@ -0,0 +1,42 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.time.LocalDate;
+
+/**
+ * The cells of one row, as seen by {@link ColumnMapper}.
+ *
+ * Readers that tokenize raw bytes implement the typed accessors directly on the
+ * bytes, so numeric, boolean and ISO date cells never become a {@code String}.
+ * The typed accessors throw a {@link RuntimeException} for input they do not
+ * handle; the mapper then falls back to {@link #text(int)}.
+ */
+public interface Cells {
+
+    /** Number of cells in the row. */
+    int size();
+
+    /** Whether cell {@code i} is missing or has no content. */
+    boolean isEmpty(int i);
+
+    /** Cell {@code i} as text; allocates a String. */
+    String text(int i);
+
+    /** Cell {@code i} as a number; grouping commas are allowed. */
+    double parseDouble(int i);
+
+    /** Cell {@code i} as a whole number; grouping commas and a ".0" suffix are allowed. */
+    long parseLong(int i);
+
+    /** Cell {@code i} as true/false, yes/no, y/n or 1/0, in any case. */
+    boolean parseBoolean(int i);
+
+    /** Cell {@code i} as an ISO-8601 date ({@code yyyy-MM-dd}). */
+    LocalDate parseIsoDate(int i);
+
+    /**
+     * Wraps already-split cell text.
+     */
+    static Cells of(String[] cells) {
+        return new StringCells(cells);
+    }
+}
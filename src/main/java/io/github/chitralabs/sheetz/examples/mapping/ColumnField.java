@@ -0,0 +1,153 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import io.github.chitralabs.sheetz.annotation.Column;
+import io.github.chitralabs.sheetz.convert.Converter;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One mapped field of a model class, resolved from its {@code @Column} annotation.
+ *
+ * Fields without {@code @Column} are mapped by field name; fields marked
+ * {@code @Column(ignore = true)}, static and transient fields are skipped.
+ */
+public final class ColumnField {
+
+    /** How {@link ColumnMapper} reads a cell for this field. */
+    enum Kind { STRING, DOUBLE, LONG, INT, BOOLEAN, ISO_DATE, TEXT }
+
+    private static final ClassValue<List<ColumnField>> CACHE = new ClassValue<List<ColumnField>>() {
+        @Override
+        protected List<ColumnField> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private final Field field;
+    private final int slot;
+    private final String header;
+    private final int index;
+    private final boolean required;
+    private final String defaultValue;
+    private final String format;
+    private final int width;
+    private final Converter<Object> converter;
+    private final DateTimeFormatter dateFormatter;
+    private final CompiledFormat compiledFormat;
+    private final Kind kind;
+
+    private ColumnField(Field field, int slot, Column column) {
+        this.field = field;
+        this.slot = slot;
+        this.header = column == null || column.value().isEmpty() ? field.getName() : column.value();
+        this.index = column == null ? -1 : column.index();
+        this.required = column != null && column.required();
+        this.defaultValue = column == null || column.defaultValue().isEmpty() ? null : column.defaultValue();
+        this.format = column == null || column.format().isEmpty() ? null : column.format();
+        this.width = column == null ? -1 : column.width();
+        this.converter = column == null ? null : instantiate(column.converter());
+        this.dateFormatter = format != null && TemporalAccessor.class.isAssignableFrom(field.getType())
+                ? DateTimeFormatter.ofPattern(format) : null;
+        this.compiledFormat = CompiledFormat.of(field.getType(), format);
+        this.kind = kindOf(field.getType(), format, converter);
+        field.setAccessible(true);
+    }
+
+    private static Kind kindOf(Class<?> type, String format, Converter<Object> converter) {
+        if (converter != null) return Kind.TEXT;
+        if (type == String.class) return Kind.STRING;
+        if (type == Double.class || type == double.class) return Kind.DOUBLE;
+        if (type == Long.class || type == long.class) return Kind.LONG;
+        if (type == Integer.class || type == int.class) return Kind.INT;
+        if (type == Boolean.class || type == boolean.class) return Kind.BOOLEAN;
+        if (type == LocalDate.class && (format == null || format.equals("yyyy-MM-dd") || format.equals("uuuu-MM-dd"))) {
+            return Kind.ISO_DATE;
+        }
+        return Kind.TEXT;
+    }
+
+    /**
+     * Returns the mapped fields of {@code type} in declaration order. The result is cached per class.
+     */
+    public static List<ColumnField> of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    private static List<ColumnField> resolve(Class<?> type) {
+        List<ColumnField> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+            Column column = field.getAnnotation(Column.class);
+            if (column != null && column.ignore()) continue;
+            fields.add(new ColumnField(field, fields.size(), column));
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Converter<Object> instantiate(Class<? extends Converter> type) {
+        // The annotation default is a placeholder type, not a real converter
+        if (type == null || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                || type.getEnclosingClass() == Converter.class || type.getEnclosingClass() == Column.class) {
+            return null;
+        }
+        try {
+            Constructor<? extends Converter> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Converter " + type.getName() + " needs a no-arg constructor", e);
+        }
+    }
+
+    public Field field() { return field; }
+
+    public String name() { return field.getName(); }
+
+    /** Position of this field in {@link #of(Class)}; the slot used by {@link ModelAccessor}. */
+    public int slot() { return slot; }
+
+    public Class<?> type() { return field.getType(); }
+
+    /** Header text: {@code @Column.value()}, or the field name. */
+    public String header() { return header; }
+
+    /** Explicit 0-based column index, or -1 to match by header. */
+    public int index() { return index; }
+
+    public boolean required() { return required; }
+
+    /** Fallback for empty cells, or {@code null}. */
+    public String defaultValue() { return defaultValue; }
+
+    /** Date or number pattern, or {@code null}. */
+    public String format() { return format; }
+
+    /** Column width in characters, or -1. */
+    public int width() { return width; }
+
+    /** Per-field converter from {@code @Column(converter = ...)}, or {@code null}. */
+    public Converter<Object> converter() { return converter; }
+
+    /** Compiled {@link #format()} for date/time fields, or {@code null}. */
+    DateTimeFormatter dateFormatter() { return dateFormatter; }
+
+    /** {@link #format()} compiled for writing date and number values, or {@code null}. */
+    public CompiledFormat compiledFormat() { return compiledFormat; }
+
+    Kind kind() { return kind; }
+
+    @Override
+    public String toString() {
+        return "ColumnField{" + name() + " <- '" + header + "'}";
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+
+import java.util.List;
+
+/**
+ * Maps rows of cells onto instances of an {@code @Column} model.
+ *
+ * A mapper is bound to one header row: the position of each mapped field is
+ * resolved once, so mapping a row is a single pass over its cells. The
+ * positions are cached by {@link ModelRegistry}, so a mapper for a header
+ * seen before costs one lookup. Fields are
+ * assigned through the model's {@link ModelAccessor}, with no per-cell
+ * reflection; numeric and boolean cells reach primitive fields unboxed.
+ * {@link #mapInto} refills an existing instance instead, for readers that
+ * reuse their model objects.
+ * Instances are immutable and safe to share between threads. With a detailed
+ * {@link FileProbe}, time spent in each converter is recorded.
+ */
+public final class ColumnMapper<T> {
+
+    private final Class<T> type;
+    private final ModelAccessor<T> accessor;
+    private final ColumnField[] byPosition;
+    /** Per position, what {@link #mapInto} stores for an empty cell with no default: null or a primitive zero. */
+    private final Object[] emptyValues;
+    private final List<ColumnField> missingRequired;
+    private final FileProbe probe;
+
+    private ColumnMapper(Class<T> type, String[] header, FileProbe probe) {
+        this.type = type;
+        this.probe = probe;
+        this.accessor = ModelAccessors.of(type);
+        HeaderBinding binding = ModelRegistry.binding(type, header);
+        this.byPosition = binding.byPosition;
+        this.emptyValues = binding.emptyValues;
+        this.missingRequired = binding.missingRequired;
+    }
+
+    /**
+     * Creates a mapper for {@code type} bound to the given header row.
+     */
+    public static <T> ColumnMapper<T> of(Class<T> type, String[] header) {
+        return new ColumnMapper<>(type, header, FileProbe.NONE);
+    }
+
+    /**
+     * Creates a mapper that reports converter times to {@code probe}.
+     */
+    public static <T> ColumnMapper<T> of(Class<T> type, String[] header, FileProbe probe) {
+        return new ColumnMapper<>(type, header, probe);
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    /** A new, empty model instance, e.g. for {@link #mapInto}. */
+    public T newInstance() {
+        return accessor.newInstance();
+    }
+
+    /**
+     * Maps one row of cell text.
+     *
+     * @param cells cell text by position; may be shorter or longer than the header
+     * @param row   1-based data row number, used in error messages
+     * @throws MappingException if a required cell is empty or a value cannot be converted
+     */
+    public T map(String[] cells, long row) {
+        return map(Cells.of(cells), row);
+    }
+
+    /**
+     * Maps one row. Numeric, boolean and ISO date fields are read through the
+     * typed accessors of {@code cells}; only String fields and fields with a
+     * converter or a custom format ask for the cell text.
+     *
+     * @param cells the row; may be shorter or longer than the header
+     * @param row   1-based data row number, used in error messages
+     * @throws MappingException if a required cell is empty or a value cannot be converted
+     */
+    public T map(Cells cells, long row) {
+        return fill(accessor.newInstance(), cells, row, false);
+    }
+
+    /**
+     * Maps one row into {@code target}, overwriting every field the header
+     * maps: empty cells without a default become null, or zero for primitive
+     * fields. Fields the header does not map are left as they are. If this
+     * throws, {@code target} may hold part of the row.
+     *
+     * @return {@code target}
+     * @throws MappingException if a required cell is empty or a value cannot be converted
+     */
+    public T mapInto(T target, Cells cells, long row) {
+        return fill(target, cells, row, true);
+    }
+
+    private T fill(T target, Cells cells, long row, boolean reused) {
+        if (!missingRequired.isEmpty()) {
+            ColumnField field = missingRequired.get(0);
+            throw new MappingException(row, field.header(), null, "Required column is missing", null);
+        }
+        for (int i = 0; i < byPosition.length; i++) {
+            ColumnField field = byPosition[i];
+            if (field == null) continue;
+            try {
+                if (cells.isEmpty(i) || !setFast(target, field, cells, i)) {
+                    Object value = setParsed(target, field, cells.isEmpty(i) ? null : cells.text(i), row);
+                    if (value == null && reused) accessor.set(target, field.slot(), emptyValues[i]);
+                }
+            } catch (MappingException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new MappingException(row, field.header(), cells.text(i), "Cannot assign " + field.name(), e);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Assigns cell {@code i} straight from the typed accessors of {@code cells}.
+     * Returns {@code false} if the field needs the text path instead.
+     */
+    private boolean setFast(T target, ColumnField field, Cells cells, int i) {
+        int slot = field.slot();
+        switch (field.kind()) {
+            case STRING:
+                accessor.set(target, slot, cells.text(i));
+                return true;
+            case DOUBLE: {
+                double value;
+                try { value = cells.parseDouble(i); } catch (RuntimeException e) { return false; }
+                accessor.setDouble(target, slot, value);
+                return true;
+            }
+            case LONG: {
+                long value;
+                try { value = cells.parseLong(i); } catch (RuntimeException e) { return false; }
+                accessor.setLong(target, slot, value);
+                return true;
+            }
+            case INT: {
+                int value;
+                try { value = Math.toIntExact(cells.parseLong(i)); } catch (RuntimeException e) { return false; }
+                accessor.setInt(target, slot, value);
+                return true;
+            }
+            case BOOLEAN: {
+                boolean value;
+                try { value = cells.parseBoolean(i); } catch (RuntimeException e) { return false; }
+                accessor.setBoolean(target, slot, value);
+                return true;
+            }
+            case ISO_DATE: {
+                Object value;
+                try { value = cells.parseIsoDate(i); } catch (RuntimeException e) { return false; }
+                accessor.set(target, slot, value);
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    /** The general path: defaults, converters, custom formats and error reporting. Returns the value set, if any. */
+    private Object setParsed(T target, ColumnField field, String text, long row) {
+        Object value;
+        try {
+            if (probe.detailed() && field.converter() != null) {
+                long start = System.nanoTime();
+                value = CellParser.parse(text, field);
+                probe.converted(field.converter().getClass(), System.nanoTime() - start);
+            } else {
+                value = CellParser.parse(text, field);
+            }
+        } catch (RuntimeException e) {
+            throw new MappingException(row, field.header(), text, "Cannot convert to " + field.type().getSimpleName(), e);
+        }
+        if (value == null) {
+            if (field.required()) {
+                throw new MappingException(row, field.header(), text, "Required value is empty", null);
+            }
+            return null;
+        }
+        accessor.set(target, field.slot(), value);
+        return value;
+    }
+}
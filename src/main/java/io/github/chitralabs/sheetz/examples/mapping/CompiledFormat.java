@@ -0,0 +1,381 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A {@code @Column(format = ...)} pattern resolved once into a routine that
+ * appends a value's text to a reusable {@link StringBuilder}.
+ *
+ * Date patterns made of {@code yyyy} or {@code uuuu}, {@code MM}, {@code dd},
+ * {@code HH}, {@code mm} and {@code ss} with literal separators, and number
+ * patterns such as {@code 0}, {@code 0.00}, {@code #,##0} and {@code #,##0.00},
+ * write their digits straight into the builder: no intermediate String, no
+ * locale lookup. Any other pattern, and values those routines do not cover
+ * (years past 9999, NaN, huge numbers), go through {@link DateTimeFormatter}
+ * or {@link DecimalFormat} with {@link Locale#ROOT} symbols, which give the
+ * same text. Numbers are rounded half-even, as {@link DecimalFormat} does.
+ *
+ * <pre>
+ * CompiledFormat price = CompiledFormat.number("#,##0.00");
+ * price.format(1234.5, line);   // 1,234.50
+ * </pre>
+ *
+ * Immutable and thread-safe.
+ */
+public abstract class CompiledFormat {
+
+    private static final long[] POW10 = new long[19];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10;
+    }
+
+    private final String pattern;
+
+    private CompiledFormat(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /** Compiles a {@link DateTimeFormatter} pattern. */
+    public static CompiledFormat date(String pattern) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        int[] ops = FieldDate.compile(pattern);
+        return ops != null ? new FieldDate(pattern, ops, formatter) : new DateFallback(pattern, formatter);
+    }
+
+    /** Compiles a {@link DecimalFormat} pattern. */
+    public static CompiledFormat number(String pattern) {
+        NumberFallback fallback = new NumberFallback(pattern);
+        FixedPoint fixed = FixedPoint.compile(pattern, fallback);
+        return fixed != null ? fixed : fallback;
+    }
+
+    /** The format for a field of {@code type} with {@code pattern}, or {@code null} if neither applies. */
+    static CompiledFormat of(Class<?> type, String pattern) {
+        if (pattern == null) return null;
+        if (TemporalAccessor.class.isAssignableFrom(type)) return date(pattern);
+        if (Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class && type != char.class)) {
+            return number(pattern);
+        }
+        return null;
+    }
+
+    /** Appends {@code value} formatted; values of another type are appended with {@code toString()}. */
+    public abstract void format(Object value, StringBuilder out);
+
+    /** Formats {@code value} into a new String. */
+    public String format(Object value) {
+        StringBuilder out = new StringBuilder(24);
+        format(value, out);
+        return out.toString();
+    }
+
+    /** True if the digits are written directly, false if every value goes through the JDK formatter. */
+    public abstract boolean compiled();
+
+    public String pattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledFormat{'" + pattern + "'" + (compiled() ? "" : ", fallback") + "}";
+    }
+
+    /** Writes {@code value} as at least {@code width} digits, ending at {@code end}. */
+    private static void digits(StringBuilder out, int end, long value, int width) {
+        for (int i = end - 1; i >= end - width; i--) {
+            out.setCharAt(i, (char) ('0' + value % 10));
+            value /= 10;
+        }
+    }
+
+    /** A date pattern of fixed-width numeric fields and literals. */
+    private static final class FieldDate extends CompiledFormat {
+        private static final int YEAR = -1, MONTH = -2, DAY = -3, HOUR = -4, MINUTE = -5, SECOND = -6;
+
+        /** Fields as the negative codes above, literals as their char. */
+        private final int[] ops;
+        private final int length;
+        private final boolean hasTime;
+        private final boolean yearOfEra;
+        private final DateTimeFormatter formatter;
+
+        FieldDate(String pattern, int[] ops, DateTimeFormatter formatter) {
+            super(pattern);
+            this.ops = ops;
+            boolean time = false;
+            int length = 0;
+            for (int op : ops) {
+                time |= op <= HOUR;
+                length += op == YEAR ? 4 : op < 0 ? 2 : 1;
+            }
+            this.length = length;
+            this.hasTime = time;
+            this.yearOfEra = pattern.indexOf('y') >= 0;
+            this.formatter = formatter;
+        }
+
+        /** The ops of {@code pattern}, or null if it uses anything else. */
+        static int[] compile(String pattern) {
+            int[] ops = new int[pattern.length()];
+            int n = 0;
+            for (int i = 0; i < pattern.length(); ) {
+                char c = pattern.charAt(i);
+                int run = 1;
+                while (i + run < pattern.length() && pattern.charAt(i + run) == c) run++;
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    int op = field(c, run);
+                    if (op == 0) return null;
+                    ops[n++] = op;
+                } else if (c == '\'' || c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                    // Quoted text and optional sections are left to DateTimeFormatter
+                    return null;
+                } else {
+                    for (int k = 0; k < run; k++) ops[n++] = c;
+                }
+                i += run;
+            }
+            return Arrays.copyOf(ops, n);
+        }
+
+        private static int field(char c, int run) {
+            switch (c) {
+                case 'y': case 'u': return run == 4 ? YEAR : 0;
+                case 'M': return run == 2 ? MONTH : 0;
+                case 'd': return run == 2 ? DAY : 0;
+                case 'H': return run == 2 ? HOUR : 0;
+                case 'm': return run == 2 ? MINUTE : 0;
+                case 's': return run == 2 ? SECOND : 0;
+                default: return 0;
+            }
+        }
+
+        @Override
+        public void format(Object value, StringBuilder out) {
+            LocalDate date;
+            LocalDateTime dateTime = null;
+            if (value instanceof LocalDate && !hasTime) {
+                date = (LocalDate) value;
+            } else if (value instanceof LocalDateTime) {
+                dateTime = (LocalDateTime) value;
+                date = dateTime.toLocalDate();
+            } else {
+                appendOther(value, out);
+                return;
+            }
+            int year = date.getYear();
+            if (year > 9999 || year < (yearOfEra ? 1 : 0)) {
+                formatter.formatTo((TemporalAccessor) value, out);
+                return;
+            }
+            int at = out.length();
+            out.setLength(at + length);
+            for (int op : ops) {
+                switch (op) {
+                    case YEAR:   digits(out, at += 4, year, 4); break;
+                    case MONTH:  digits(out, at += 2, date.getMonthValue(), 2); break;
+                    case DAY:    digits(out, at += 2, date.getDayOfMonth(), 2); break;
+                    case HOUR:   digits(out, at += 2, dateTime.getHour(), 2); break;
+                    case MINUTE: digits(out, at += 2, dateTime.getMinute(), 2); break;
+                    case SECOND: digits(out, at += 2, dateTime.getSecond(), 2); break;
+                    default:     out.setCharAt(at++, (char) op);
+                }
+            }
+        }
+
+        private void appendOther(Object value, StringBuilder out) {
+            if (value instanceof TemporalAccessor) {
+                formatter.formatTo((TemporalAccessor) value, out);
+            } else {
+                out.append(value);
+            }
+        }
+
+        @Override
+        public boolean compiled() {
+            return true;
+        }
+    }
+
+    /** Any other date pattern. */
+    private static final class DateFallback extends CompiledFormat {
+        private final DateTimeFormatter formatter;
+
+        DateFallback(String pattern, DateTimeFormatter formatter) {
+            super(pattern);
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void format(Object value, StringBuilder out) {
+            if (value instanceof TemporalAccessor) {
+                formatter.formatTo((TemporalAccessor) value, out);
+            } else {
+                out.append(value);
+            }
+        }
+
+        @Override
+        public boolean compiled() {
+            return false;
+        }
+    }
+
+    /** A number pattern of integer digits with optional grouping by three and a fixed number of decimals. */
+    private static final class FixedPoint extends CompiledFormat {
+        /** Past this, {@code value * 10^decimals} is not exact enough to round from. */
+        private static final double MAX_SCALED = 1e12;
+
+        private final int minInteger;
+        private final int decimals;
+        private final boolean grouping;
+        private final long scale;
+        private final NumberFallback fallback;
+
+        private FixedPoint(String pattern, int minInteger, int decimals, boolean grouping, NumberFallback fallback) {
+            super(pattern);
+            this.minInteger = minInteger;
+            this.decimals = decimals;
+            this.grouping = grouping;
+            this.scale = POW10[decimals];
+            this.fallback = fallback;
+        }
+
+        /** Parses {@code 0.00}, {@code #,##0} and the like, or returns null for anything else. */
+        static FixedPoint compile(String pattern, NumberFallback fallback) {
+            int dot = pattern.indexOf('.');
+            String integer = dot < 0 ? pattern : pattern.substring(0, dot);
+            String fraction = dot < 0 ? "" : pattern.substring(dot + 1);
+            if (dot >= 0 && fraction.isEmpty()) return null;
+            if (integer.isEmpty() && fraction.isEmpty()) return null;
+            int zeros = 0;
+            for (int i = 0; i < integer.length(); i++) {
+                char c = integer.charAt(i);
+                if (c == '0') zeros++;
+                else if (c == '#' && zeros > 0) return null;
+                else if (c != '#' && c != ',') return null;
+            }
+            int comma = integer.lastIndexOf(',');
+            if (comma >= 0 && (comma == 0 || integer.length() - comma - 1 != 3)) return null;
+            for (int i = 0; i < fraction.length(); i++) {
+                if (fraction.charAt(i) != '0') return null;
+            }
+            if (zeros > 18 || fraction.length() > 9) return null;
+            return new FixedPoint(pattern, zeros, fraction.length(), comma >= 0, fallback);
+        }
+
+        @Override
+        public void format(Object value, StringBuilder out) {
+            if (value instanceof Double || value instanceof Float) {
+                format(((Number) value).doubleValue(), out);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                long n = ((Number) value).longValue();
+                if (n == Long.MIN_VALUE || Math.abs(n) > Long.MAX_VALUE / scale) {
+                    fallback.format(value, out);
+                } else {
+                    append(Math.abs(n) * scale, n < 0, out);
+                }
+            } else if (value instanceof BigDecimal) {
+                BigDecimal rounded = ((BigDecimal) value).setScale(decimals, RoundingMode.HALF_EVEN);
+                if (rounded.unscaledValue().bitLength() >= 63) {
+                    fallback.format(value, out);
+                } else {
+                    append(Math.abs(rounded.unscaledValue().longValue()), ((BigDecimal) value).signum() < 0, out);
+                }
+            } else {
+                fallback.format(value, out);
+            }
+        }
+
+        private void format(double value, StringBuilder out) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                fallback.format(value, out);
+                return;
+            }
+            boolean negative = value < 0 || (value == 0 && 1 / value < 0);
+            double scaled = Math.abs(value) * scale;
+            if (scaled >= MAX_SCALED) {
+                fallback.format(value, out);
+                return;
+            }
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            long units;
+            if (Math.abs(fraction - 0.5) < 1e-3) {
+                // Too close to a tie to trust the product: round the exact binary value
+                units = new BigDecimal(Math.abs(value)).setScale(decimals, RoundingMode.HALF_EVEN).unscaledValue().longValue();
+            } else {
+                units = (long) floor + (fraction > 0.5 ? 1 : 0);
+            }
+            append(units, negative, out);
+        }
+
+        /** Appends {@code units / 10^decimals} with its sign, grouping and decimals. */
+        private void append(long units, boolean negative, StringBuilder out) {
+            long integer = units / scale;
+            long fraction = units % scale;
+            int integerDigits = 0;
+            for (long n = integer; n > 0; n /= 10) integerDigits++;
+            integerDigits = Math.max(integerDigits, minInteger);
+            if (integerDigits == 0 && decimals == 0) integerDigits = 1;
+            int commas = grouping && integerDigits > 0 ? (integerDigits - 1) / 3 : 0;
+
+            if (negative) out.append('-');
+            int start = out.length();
+            int end = start + integerDigits + commas + (decimals > 0 ? decimals + 1 : 0);
+            out.setLength(end);
+            int at = end;
+            if (decimals > 0) {
+                digits(out, at, fraction, decimals);
+                at -= decimals;
+                out.setCharAt(--at, '.');
+            }
+            for (int d = 0; d < integerDigits; d++) {
+                if (commas > 0 && d > 0 && d % 3 == 0) out.setCharAt(--at, ',');
+                out.setCharAt(--at, (char) ('0' + integer % 10));
+                integer /= 10;
+            }
+        }
+
+        @Override
+        public boolean compiled() {
+            return true;
+        }
+    }
+
+    /** Any other number pattern, and the values {@link FixedPoint} hands back. */
+    private static final class NumberFallback extends CompiledFormat {
+        private final ThreadLocal<DecimalFormat> format;
+
+        NumberFallback(String pattern) {
+            super(pattern);
+            DecimalFormat prototype = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.ROOT));
+            this.format = ThreadLocal.withInitial(() -> (DecimalFormat) prototype.clone());
+        }
+
+        @Override
+        public void format(Object value, StringBuilder out) {
+            if (value instanceof Number) {
+                out.append(format.get().format(value));
+            } else {
+                out.append(value);
+            }
+        }
+
+        @Override
+        public boolean compiled() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link ModelAccessor} spun up at runtime, once per model class.
+ *
+ * Setters, getters and the no-arg constructor are turned into ordinary lambdas
+ * with {@link LambdaMetafactory}, so the JIT sees plain interface calls it can
+ * inline. Each field gets a setter lambda specialized to its primitive type.
+ * Fields without a setter or getter method fall back to field method handles.
+ */
+final class HandleAccessor<T> implements ModelAccessor<T> {
+
+    private final Class<T> type;
+    private final String[] names;
+    private final Supplier<T> constructor;
+    private final BiConsumer<T, Object>[] setters;
+    private final ObjDoubleConsumer<T>[] doubleSetters;
+    private final ObjLongConsumer<T>[] longSetters;
+    private final ObjIntConsumer<T>[] intSetters;
+    private final ObjBooleanConsumer<T>[] booleanSetters;
+    private final Function<T, Object>[] getters;
+
+    @SuppressWarnings("unchecked")
+    HandleAccessor(Class<T> type) {
+        this.type = type;
+        List<ColumnField> fields = ColumnField.of(type);
+        int n = fields.size();
+        this.names = new String[n];
+        this.setters = new BiConsumer[n];
+        this.doubleSetters = new ObjDoubleConsumer[n];
+        this.longSetters = new ObjLongConsumer[n];
+        this.intSetters = new ObjIntConsumer[n];
+        this.booleanSetters = new ObjBooleanConsumer[n];
+        this.getters = new Function[n];
+
+        MethodHandles.Lookup lookup = lookup(type);
+        this.constructor = constructor(lookup, type);
+        for (int slot = 0; slot < n; slot++) {
+            ColumnField field = fields.get(slot);
+            names[slot] = field.name();
+            MethodHandle setter = setter(lookup, type, field);
+            Class<?> fieldType = field.type();
+            setters[slot] = lambda(lookup, BiConsumer.class, "accept", setter,
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    MethodType.methodType(void.class, type, wrap(fieldType)));
+            if (fieldType == double.class || fieldType == Double.class) {
+                doubleSetters[slot] = lambda(lookup, ObjDoubleConsumer.class, "accept", setter,
+                        MethodType.methodType(void.class, Object.class, double.class),
+                        MethodType.methodType(void.class, type, double.class));
+            } else if (fieldType == long.class || fieldType == Long.class) {
+                longSetters[slot] = lambda(lookup, ObjLongConsumer.class, "accept", setter,
+                        MethodType.methodType(void.class, Object.class, long.class),
+                        MethodType.methodType(void.class, type, long.class));
+            } else if (fieldType == int.class || fieldType == Integer.class) {
+                intSetters[slot] = lambda(lookup, ObjIntConsumer.class, "accept", setter,
+                        MethodType.methodType(void.class, Object.class, int.class),
+                        MethodType.methodType(void.class, type, int.class));
+            } else if (fieldType == boolean.class || fieldType == Boolean.class) {
+                booleanSetters[slot] = lambda(lookup, ObjBooleanConsumer.class, "accept", setter,
+                        MethodType.methodType(void.class, Object.class, boolean.class),
+                        MethodType.methodType(void.class, type, boolean.class));
+            }
+            getters[slot] = lambda(lookup, Function.class, "apply", getter(lookup, type, field),
+                    MethodType.methodType(Object.class, Object.class),
+                    MethodType.methodType(wrap(fieldType), type));
+        }
+    }
+
+    @Override
+    public String[] fieldNames() {
+        return names.clone();
+    }
+
+    @Override
+    public T newInstance() {
+        return constructor.get();
+    }
+
+    @Override
+    public void set(T target, int slot, Object value) {
+        setters[slot].accept(target, value);
+    }
+
+    @Override
+    public void setDouble(T target, int slot, double value) {
+        ObjDoubleConsumer<T> setter = doubleSetters[slot];
+        if (setter != null) setter.accept(target, value); else set(target, slot, value);
+    }
+
+    @Override
+    public void setLong(T target, int slot, long value) {
+        ObjLongConsumer<T> setter = longSetters[slot];
+        if (setter != null) setter.accept(target, value); else set(target, slot, value);
+    }
+
+    @Override
+    public void setInt(T target, int slot, int value) {
+        ObjIntConsumer<T> setter = intSetters[slot];
+        if (setter != null) setter.accept(target, value); else set(target, slot, value);
+    }
+
+    @Override
+    public void setBoolean(T target, int slot, boolean value) {
+        ObjBooleanConsumer<T> setter = booleanSetters[slot];
+        if (setter != null) setter.accept(target, value); else set(target, slot, value);
+    }
+
+    @Override
+    public Object get(T target, int slot) {
+        return getters[slot].apply(target);
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> constructor(MethodHandles.Lookup lookup, Class<T> type) {
+        MethodHandle handle;
+        try {
+            handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " needs a no-arg constructor", e);
+        }
+        return lambda(lookup, Supplier.class, "get", handle,
+                MethodType.methodType(Object.class), MethodType.methodType(type));
+    }
+
+    /** The public {@code setX} method of the field, or a direct field setter. */
+    private static MethodHandle setter(MethodHandles.Lookup lookup, Class<?> type, ColumnField field) {
+        Method method = method(type, "set" + capitalize(field.name()), void.class, field.type());
+        try {
+            return method != null ? lookup.unreflect(method) : lookup.unreflectSetter(field.field());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot write " + type.getName() + "." + field.name(), e);
+        }
+    }
+
+    /** The public {@code getX}/{@code isX} method of the field, or a direct field getter. */
+    private static MethodHandle getter(MethodHandles.Lookup lookup, Class<?> type, ColumnField field) {
+        Method method = method(type, "get" + capitalize(field.name()), field.type());
+        if (method == null && (field.type() == boolean.class || field.type() == Boolean.class)) {
+            method = method(type, "is" + capitalize(field.name()), field.type());
+        }
+        try {
+            return method != null ? lookup.unreflect(method) : lookup.unreflectGetter(field.field());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot read " + type.getName() + "." + field.name(), e);
+        }
+    }
+
+    private static Method method(Class<?> type, String name, Class<?> returnType, Class<?>... parameters) {
+        try {
+            Method method = type.getMethod(name, parameters);
+            return method.getReturnType() == returnType && !Modifier.isStatic(method.getModifiers()) ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Implements {@code functionalInterface} with {@code target}. Direct method
+     * handles become real lambdas; field handles, which LambdaMetafactory does
+     * not accept, are wrapped instead.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F lambda(MethodHandles.Lookup lookup, Class<? super F> functionalInterface, String method,
+                                MethodHandle target, MethodType erased, MethodType instantiated) {
+        try {
+            return (F) LambdaMetafactory.metafactory(lookup, method, MethodType.methodType(functionalInterface),
+                    erased, target, instantiated).getTarget().invoke();
+        } catch (Throwable e) {
+            return (F) wrapped(functionalInterface, target.asType(erased));
+        }
+    }
+
+    private static Object wrapped(Class<?> functionalInterface, MethodHandle handle) {
+        if (functionalInterface == Supplier.class) {
+            return (Supplier<Object>) () -> invoke(() -> handle.invoke());
+        }
+        if (functionalInterface == Function.class) {
+            return (Function<Object, Object>) t -> invoke(() -> handle.invoke(t));
+        }
+        if (functionalInterface == BiConsumer.class) {
+            return (BiConsumer<Object, Object>) (t, v) -> invoke(() -> handle.invoke(t, v));
+        }
+        if (functionalInterface == ObjDoubleConsumer.class) {
+            return (ObjDoubleConsumer<Object>) (t, v) -> invoke(() -> handle.invoke(t, v));
+        }
+        if (functionalInterface == ObjLongConsumer.class) {
+            return (ObjLongConsumer<Object>) (t, v) -> invoke(() -> handle.invoke(t, v));
+        }
+        if (functionalInterface == ObjIntConsumer.class) {
+            return (ObjIntConsumer<Object>) (t, v) -> invoke(() -> handle.invoke(t, v));
+        }
+        if (functionalInterface == ObjBooleanConsumer.class) {
+            return (ObjBooleanConsumer<Object>) (t, v) -> invoke(() -> handle.invoke(t, v));
+        }
+        throw new IllegalArgumentException("Unsupported functional interface " + functionalInterface.getName());
+    }
+
+    private interface Invocation {
+        Object run() throws Throwable;
+    }
+
+    private static Object invoke(Invocation invocation) {
+        try {
+            return invocation.run();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    @Override
+    public String toString() {
+        return "HandleAccessor{" + type.getName() + "}";
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Where each field of a model sits in one header row; the part of a
+ * {@link ColumnMapper} that {@link ModelRegistry} shares between files with
+ * the same header. Immutable.
+ */
+final class HeaderBinding {
+
+    final ColumnField[] byPosition;
+    /** Per position, what {@code mapInto} stores for an empty cell with no default: null or a primitive zero. */
+    final Object[] emptyValues;
+    final List<ColumnField> missingRequired;
+
+    HeaderBinding(Class<?> type, String[] header) {
+        this.byPosition = new ColumnField[header.length];
+        this.emptyValues = new Object[header.length];
+        List<ColumnField> missing = new ArrayList<>();
+        for (ColumnField field : ColumnField.of(type)) {
+            int position = field.index() >= 0 ? field.index() : indexOf(header, field.header());
+            if (position >= 0 && position < header.length) {
+                byPosition[position] = field;
+                emptyValues[position] = field.type().isPrimitive() ? Array.get(Array.newInstance(field.type(), 1), 0) : null;
+            } else if (field.required()) {
+                missing.add(field);
+            }
+        }
+        this.missingRequired = Collections.unmodifiableList(missing);
+    }
+
+    private static int indexOf(String[] header, String name) {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != null && header[i].trim().equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+}
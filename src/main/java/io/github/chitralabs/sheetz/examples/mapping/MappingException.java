@@ -0,0 +1,50 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+/**
+ * Thrown when a cell cannot be mapped onto its {@code @Column} field.
+ * Carries the same details as {@code ValidationResult.RowError}.
+ */
+public class MappingException extends RuntimeException {
+
+    private final long row;
+    private final long offset;
+    private final String column;
+    private final String value;
+    private final String reason;
+
+    public MappingException(long row, String column, String value, String reason, Throwable cause) {
+        this(row, -1, column, value, reason, cause);
+    }
+
+    private MappingException(long row, long offset, String column, String value, String reason, Throwable cause) {
+        super(offset < 0
+                ? String.format("Row %d [%s]: %s (value: %s)", row, column, reason, value)
+                : String.format("Record at byte %d [%s]: %s (value: %s)", offset, column, reason, value), cause);
+        this.row = row;
+        this.offset = offset;
+        this.column = column;
+        this.value = value;
+        this.reason = reason;
+    }
+
+    /**
+     * Returns a copy located by the record's byte offset in the file. Used by
+     * readers that split a file into ranges and do not know global row numbers.
+     */
+    public MappingException atOffset(long offset) {
+        return new MappingException(-1, offset, column, value, reason, getCause());
+    }
+
+    /** 1-based data row number (the header is row 0), or -1 if only {@link #offset()} is known. */
+    public long row() { return row; }
+
+    /** Byte offset of the record in the file, or -1 if located by {@link #row()}. */
+    public long offset() { return offset; }
+
+    public String column() { return column; }
+
+    public String value() { return value; }
+
+    /** The message without the location prefix. */
+    public String reason() { return reason; }
+}
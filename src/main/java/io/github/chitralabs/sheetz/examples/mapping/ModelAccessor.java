@@ -0,0 +1,33 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+/**
+ * Reflection-free access to the mapped fields of one model class.
+ *
+ * Fields are addressed by slot: the position of the field in
+ * {@link ColumnField#of(Class)}. The primitive setters exist so that a mapper
+ * can hand over a parsed {@code double}, {@code long}, {@code int} or
+ * {@code boolean} without boxing it when the field itself is primitive.
+ *
+ * Implementations are either generated at compile time by the optional
+ * {@code sheetz-examples-processor} annotation processor, or built at runtime
+ * from method handles; see {@link ModelAccessors#of(Class)}.
+ */
+public interface ModelAccessor<T> {
+
+    /** Field names in slot order. */
+    String[] fieldNames();
+
+    T newInstance();
+
+    void set(T target, int slot, Object value);
+
+    void setDouble(T target, int slot, double value);
+
+    void setLong(T target, int slot, long value);
+
+    void setInt(T target, int slot, int value);
+
+    void setBoolean(T target, int slot, boolean value);
+
+    Object get(T target, int slot);
+}
@@ -0,0 +1,64 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves and caches the {@link ModelAccessor} of each model class.
+ *
+ * A compile-time accessor generated by {@code sheetz-examples-processor} is used
+ * when it is on the classpath; it is named after the model with a
+ * {@code _SheetzAccessor} suffix, nested class names joined by {@code _}
+ * (e.g. {@code E04_DataValidation_StrictProduct_SheetzAccessor}). Otherwise an
+ * accessor is spun up once from {@code LambdaMetafactory} and method handles.
+ */
+public final class ModelAccessors {
+
+    /** Suffix of accessor classes generated by the annotation processor. */
+    public static final String GENERATED_SUFFIX = "_SheetzAccessor";
+
+    private static final ClassValue<ModelAccessor<?>> CACHE = new ClassValue<ModelAccessor<?>>() {
+        @Override
+        protected ModelAccessor<?> computeValue(Class<?> type) {
+            ModelAccessor<?> generated = generated(type);
+            return generated != null ? generated : new HandleAccessor<>(type);
+        }
+    };
+
+    private ModelAccessors() {}
+
+    @SuppressWarnings("unchecked")
+    public static <T> ModelAccessor<T> of(Class<T> type) {
+        return (ModelAccessor<T>) CACHE.get(type);
+    }
+
+    /** Whether {@code type} is served by a compile-time generated accessor. */
+    public static boolean isGenerated(Class<?> type) {
+        return !(CACHE.get(type) instanceof HandleAccessor);
+    }
+
+    /** Binary name of the generated accessor for {@code type}. */
+    public static String generatedName(Class<?> type) {
+        String name = type.getName();
+        int dot = name.lastIndexOf('.');
+        return name.substring(0, dot + 1) + name.substring(dot + 1).replace('$', '_') + GENERATED_SUFFIX;
+    }
+
+    private static ModelAccessor<?> generated(Class<?> type) {
+        Class<?> accessorType;
+        try {
+            accessorType = Class.forName(generatedName(type), true, type.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        try {
+            ModelAccessor<?> accessor = (ModelAccessor<?>) accessorType.getDeclaredConstructor().newInstance();
+            // Slots must line up with the runtime view of the model, or the accessor is stale
+            List<ColumnField> fields = ColumnField.of(type);
+            String[] expected = fields.stream().map(ColumnField::name).toArray(String[]::new);
+            return Arrays.equals(expected, accessor.fieldNames()) ? accessor : null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return null;
+        }
+    }
+}
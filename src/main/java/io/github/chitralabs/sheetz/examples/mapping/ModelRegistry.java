@@ -0,0 +1,126 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Everything the readers resolve per model class, resolved once per JVM.
+ *
+ * Annotation metadata and converter instances ({@link ColumnField}) and the
+ * field accessor ({@link ModelAccessors}) are cached per class; on top of that
+ * this caches, per class and per distinct header row, where each field sits,
+ * so that a {@link ColumnMapper} for a header seen before costs one hash
+ * lookup. Workers that read thousands of small files with a few header
+ * layouts then pay for resolution a few times, not once per file.
+ *
+ * {@link #warm} does the resolution up front, e.g. at boot, so that the first
+ * file does not pay for it either:
+ *
+ * <pre>
+ * ModelRegistry.warm(Product.class, Employee.class, Order.class);
+ * </pre>
+ *
+ * Thread-safe. At most {@value #MAX_HEADERS} header layouts are kept per
+ * class; further layouts are resolved on every use.
+ */
+public final class ModelRegistry {
+
+    /** Header layouts cached per model class. */
+    public static final int MAX_HEADERS = 256;
+
+    private static final ClassValue<ConcurrentMap<Signature, HeaderBinding>> BINDINGS =
+            new ClassValue<ConcurrentMap<Signature, HeaderBinding>>() {
+                @Override
+                protected ConcurrentMap<Signature, HeaderBinding> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private ModelRegistry() {}
+
+    /**
+     * Resolves the annotations, converters and accessor of each type, creates
+     * one instance, and caches the header each type is written with: its
+     * column headers in declaration order.
+     */
+    public static void warm(Class<?>... types) {
+        for (Class<?> type : types) {
+            List<ColumnField> fields = ColumnField.of(type);
+            ModelAccessors.of(type).newInstance();
+            String[] header = new String[fields.size()];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = fields.get(i).header();
+            }
+            binding(type, header);
+        }
+    }
+
+    /** Like {@link #warm(Class[])} for one type, also caching other header rows its files are known to have. */
+    public static void warm(Class<?> type, String[] header, String[]... more) {
+        warm(new Class<?>[] {type});
+        binding(type, header);
+        for (String[] other : more) {
+            binding(type, other);
+        }
+    }
+
+    /** Header layouts cached for {@code type}. */
+    public static int headers(Class<?> type) {
+        return BINDINGS.get(type).size();
+    }
+
+    /** Mappers created from a cached header layout, since start. */
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    /** Mappers that had to resolve their header layout, since start. */
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    static HeaderBinding binding(Class<?> type, String[] header) {
+        ConcurrentMap<Signature, HeaderBinding> bindings = BINDINGS.get(type);
+        HeaderBinding binding = bindings.get(new Signature(header));
+        if (binding != null) {
+            HITS.increment();
+            return binding;
+        }
+        MISSES.increment();
+        binding = new HeaderBinding(type, header);
+        if (bindings.size() < MAX_HEADERS) {
+            // The caller may reuse its array, so the key keeps a copy
+            HeaderBinding raced = bindings.putIfAbsent(new Signature(header.clone()), binding);
+            if (raced != null) binding = raced;
+        }
+        return binding;
+    }
+
+    /** A header row as a map key; compared cell by cell, as read. */
+    private static final class Signature {
+        private final String[] header;
+        private final int hash;
+
+        Signature(String[] header) {
+            this.header = header;
+            this.hash = Arrays.hashCode(header);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Signature && ((Signature) other).hash == hash
+                    && Arrays.equals(((Signature) other).header, header);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+/**
+ * The {@code boolean} counterpart of {@link java.util.function.ObjDoubleConsumer},
+ * which the JDK does not provide. Public because generated setter lambdas live in
+ * the model's package.
+ */
+@FunctionalInterface
+public interface ObjBooleanConsumer<T> {
+
+    void accept(T target, boolean value);
+}
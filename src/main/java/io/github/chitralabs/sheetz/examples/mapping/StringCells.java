@@ -0,0 +1,50 @@
+package io.github.chitralabs.sheetz.examples.mapping;
+
+import java.time.LocalDate;
+
+/**
+ * {@link Cells} over a {@code String[]}, for readers that already produce text.
+ */
+final class StringCells implements Cells {
+
+    private final String[] cells;
+
+    StringCells(String[] cells) {
+        this.cells = cells;
+    }
+
+    @Override
+    public int size() {
+        return cells.length;
+    }
+
+    @Override
+    public boolean isEmpty(int i) {
+        return i >= cells.length || cells[i] == null || cells[i].isEmpty();
+    }
+
+    @Override
+    public String text(int i) {
+        return i < cells.length ? cells[i] : null;
+    }
+
+    @Override
+    public double parseDouble(int i) {
+        return Double.parseDouble(CellParser.number(cells[i]));
+    }
+
+    @Override
+    public long parseLong(int i) {
+        return Long.parseLong(CellParser.integer(cells[i]));
+    }
+
+    @Override
+    public boolean parseBoolean(int i) {
+        return CellParser.parseBoolean(cells[i]);
+    }
+
+    @Override
+    public LocalDate parseIsoDate(int i) {
+        return LocalDate.parse(cells[i].trim());
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps running totals per operation in memory, for tests, examples and
+ * services that poll their numbers. {@link #report()} prints them as a table.
+ */
+public final class CountingMetrics implements SheetzMetrics {
+
+    private final boolean detailed;
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    /** @param detailed also time phases and converters, and measure allocation */
+    public CountingMetrics(boolean detailed) {
+        this.detailed = detailed;
+    }
+
+    @Override
+    public boolean detailed() {
+        return detailed;
+    }
+
+    @Override
+    public FileListener fileStarted(String operation, String file) {
+        Totals t = totals.computeIfAbsent(operation, Totals::new);
+        return new FileListener() {
+            @Override
+            public void batchFinished(int rows, long nanos, int queueDepth) {
+                t.batches.increment();
+                t.maxQueueDepth.accumulate(queueDepth);
+            }
+
+            @Override
+            public void fileFinished(FileStats stats) {
+                t.add(stats);
+            }
+        };
+    }
+
+    /** Totals for {@code operation}, or {@code null} if it has not run. */
+    public Totals totals(String operation) {
+        return totals.get(operation);
+    }
+
+    public void clear() {
+        totals.clear();
+    }
+
+    /** One line per operation, then converter times and error counts where there are any. */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-24s %6s %12s %10s %12s %10s %10s %12s%n",
+                "operation", "files", "rows", "ms", "rows/s", "parse ms", "map ms", "bytes/row"));
+        for (Totals t : new TreeMap<>(totals).values()) {
+            long rows = t.rows.sum();
+            long nanos = t.nanos.sum();
+            long allocated = t.allocatedBytes();
+            out.append(String.format("%-24s %6d %,12d %,10d %,12.0f %,10d %,10d %12s%n",
+                    t.operation, t.files.sum(), rows, nanos / 1_000_000, nanos == 0 ? 0 : rows * 1e9 / nanos,
+                    t.parseNanos.sum() / 1_000_000, t.mapNanos.sum() / 1_000_000,
+                    allocated < 0 || rows == 0 ? "n/a" : String.format("%,d", allocated / rows)));
+            for (Map.Entry<String, long[]> converter : new TreeMap<>(t.converters).entrySet()) {
+                long[] time = converter.getValue();
+                out.append(String.format("    converter %-40s %,12d calls %,10d ms%n",
+                        converter.getKey(), time[0], time[1] / 1_000_000));
+            }
+            for (Map.Entry<String, LongAdder> error : new TreeMap<>(t.errors).entrySet()) {
+                out.append(String.format("    errors in %-39s %,12d%n", error.getKey(), error.getValue().sum()));
+            }
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+
+    /** Running totals for one operation. */
+    public static final class Totals {
+        private final String operation;
+        private final LongAdder files = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder parseNanos = new LongAdder();
+        private final LongAdder mapNanos = new LongAdder();
+        private final LongAdder allocated = new LongAdder();
+        private volatile boolean allocationUnknown;
+        private final LongAdder batches = new LongAdder();
+        private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+        private final Map<String, long[]> converters = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        Totals(String operation) {
+            this.operation = operation;
+        }
+
+        void add(FileStats stats) {
+            files.increment();
+            if (stats.failure() != null) failures.increment();
+            rows.add(stats.rows());
+            bytes.add(stats.bytes());
+            nanos.add(stats.nanos());
+            parseNanos.add(stats.parseNanos());
+            mapNanos.add(stats.mapNanos());
+            // once one file's allocation is unknown, the total is too
+            if (stats.allocatedBytes() < 0) allocationUnknown = true; else allocated.add(stats.allocatedBytes());
+            stats.converters().forEach((name, time) -> converters.merge(name,
+                    new long[] {time.calls(), time.nanos()},
+                    (a, b) -> new long[] {a[0] + b[0], a[1] + b[1]}));
+            stats.errors().forEach((column, count) -> errors.computeIfAbsent(column, c -> new LongAdder()).add(count));
+        }
+
+        public long files() { return files.sum(); }
+
+        public long failures() { return failures.sum(); }
+
+        public long rows() { return rows.sum(); }
+
+        public long bytes() { return bytes.sum(); }
+
+        public long nanos() { return nanos.sum(); }
+
+        /** Heap allocated across all files, or -1 if it was not measured for some. */
+        public long allocatedBytes() { return allocationUnknown ? -1 : allocated.sum(); }
+
+        public long batches() { return batches.sum(); }
+
+        public long maxQueueDepth() { return maxQueueDepth.get(); }
+
+        public long errors() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
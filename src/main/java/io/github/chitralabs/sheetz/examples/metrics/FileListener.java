@@ -0,0 +1,19 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+/**
+ * Receives the numbers for one file; see {@link SheetzMetrics#fileStarted}.
+ */
+public interface FileListener {
+
+    FileListener NONE = stats -> {};
+
+    /**
+     * One batch of rows is done: a chunk of a parallel read, a writer window, a sheet.
+     *
+     * @param queueDepth batches still waiting when this one finished, 0 if the work is not queued
+     */
+    default void batchFinished(int rows, long nanos, int queueDepth) {}
+
+    /** The file is done, successfully or not. Called once. */
+    void fileFinished(FileStats stats);
+}
@@ -0,0 +1,140 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the numbers for one file on behalf of a reader or writer and hands
+ * them to its {@link FileListener}. Safe to update from several worker threads.
+ *
+ * When no metrics are registered, readers get {@link #NONE}, whose methods
+ * return immediately. Readers should still only read the clock when
+ * {@link #detailed()} is true.
+ */
+public final class FileProbe {
+
+    /** Records nothing. */
+    public static final FileProbe NONE = new FileProbe(null, null, null, false);
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final String operation;
+    private final String file;
+    private final FileListener listener;
+    private final boolean detailed;
+    private final long start = System.nanoTime();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder mapNanos = new LongAdder();
+    private final LongAdder allocated = new LongAdder();
+    private final Map<Class<?>, LongAdder[]> converters = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean allocationMeasured;
+    private volatile boolean allocationUnknown;
+
+    FileProbe(String operation, String file, FileListener listener, boolean detailed) {
+        this.operation = operation;
+        this.file = file;
+        this.listener = listener;
+        this.detailed = detailed && listener != null;
+    }
+
+    public boolean enabled() {
+        return listener != null;
+    }
+
+    /** Whether to time phases and converters and to measure allocation. */
+    public boolean detailed() {
+        return detailed;
+    }
+
+    public void rows(long count) {
+        if (listener != null) rows.add(count);
+    }
+
+    public void bytes(long count) {
+        if (listener != null) bytes.add(count);
+    }
+
+    public void parsed(long nanos) {
+        if (listener != null) parseNanos.add(nanos);
+    }
+
+    public void mapped(long nanos) {
+        if (listener != null) mapNanos.add(nanos);
+    }
+
+    /** One call to {@code converter} that took {@code nanos}. */
+    public void converted(Class<?> converter, long nanos) {
+        if (listener == null) return;
+        LongAdder[] time = converters.computeIfAbsent(converter, c -> new LongAdder[] {new LongAdder(), new LongAdder()});
+        time[0].increment();
+        time[1].add(nanos);
+    }
+
+    public void error(String column) {
+        errors(column, 1);
+    }
+
+    /** {@code count} validation or mapping errors in {@code column}. */
+    public void errors(String column, long count) {
+        if (listener != null) errors.computeIfAbsent(column == null ? "" : column, c -> new LongAdder()).add(count);
+    }
+
+    /** Reports a finished batch; see {@link FileListener#batchFinished}. */
+    public void batch(int rows, long nanos, int queueDepth) {
+        if (listener == null) return;
+        synchronized (listener) {
+            listener.batchFinished(rows, nanos, queueDepth);
+        }
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, to pass to {@link #allocatedSince}
+     * from the same thread. Returns -1 unless detailed and supported by the JVM.
+     */
+    public long allocationMark() {
+        if (!detailed) return -1;
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        allocationUnknown = true;
+        return -1;
+    }
+
+    /** Adds what the current thread allocated since {@code mark}. */
+    public void allocatedSince(long mark) {
+        if (mark < 0) return;
+        long now = allocationMark();
+        if (now >= mark) allocated.add(now - mark);
+        allocationMeasured = true;
+    }
+
+    /** Reports the file as done. Only the first call has an effect. */
+    public void finish() {
+        finish(null);
+    }
+
+    /** Reports the file as failed with {@code failure}, or done if it is null. */
+    public void finish(Throwable failure) {
+        if (listener == null || !finished.compareAndSet(false, true)) return;
+        Map<String, FileStats.ConverterTime> converterTimes = new LinkedHashMap<>();
+        converters.forEach((type, time) ->
+                converterTimes.put(type.getName(), new FileStats.ConverterTime(time[0].sum(), time[1].sum())));
+        Map<String, Long> errorCounts = new LinkedHashMap<>();
+        errors.forEach((column, count) -> errorCounts.put(column, count.sum()));
+        long allocation = !allocationMeasured || allocationUnknown ? -1 : allocated.sum();
+        FileStats stats = new FileStats(operation, file, rows.sum(), bytes.sum(), System.nanoTime() - start,
+                parseNanos.sum(), mapNanos.sum(), allocation, converterTimes, errorCounts, failure);
+        synchronized (listener) {
+            listener.fileFinished(stats);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What one reader or writer did with one file. Phase times and allocation are
+ * only measured when {@link SheetzMetrics#detailed()} is on, and are 0 otherwise.
+ * Phases run on several threads in parallel readers, so they can add up to more
+ * than {@link #nanos()}.
+ */
+public final class FileStats {
+
+    /** Calls to one converter and the time spent in them. */
+    public static final class ConverterTime {
+        private final long calls;
+        private final long nanos;
+
+        ConverterTime(long calls, long nanos) {
+            this.calls = calls;
+            this.nanos = nanos;
+        }
+
+        public long calls() { return calls; }
+
+        public long nanos() { return nanos; }
+    }
+
+    private final String operation;
+    private final String file;
+    private final long rows;
+    private final long bytes;
+    private final long nanos;
+    private final long parseNanos;
+    private final long mapNanos;
+    private final long allocatedBytes;
+    private final Map<String, ConverterTime> converters;
+    private final Map<String, Long> errors;
+    private final Throwable failure;
+
+    FileStats(String operation, String file, long rows, long bytes, long nanos, long parseNanos, long mapNanos,
+              long allocatedBytes, Map<String, ConverterTime> converters, Map<String, Long> errors, Throwable failure) {
+        this.operation = operation;
+        this.file = file;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.nanos = nanos;
+        this.parseNanos = parseNanos;
+        this.mapNanos = mapNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.converters = Collections.unmodifiableMap(new LinkedHashMap<>(converters));
+        this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+        this.failure = failure;
+    }
+
+    public String operation() { return operation; }
+
+    public String file() { return file; }
+
+    /** Data rows read or written, header excluded. */
+    public long rows() { return rows; }
+
+    /** Size of the file read or written, or 0 if unknown. */
+    public long bytes() { return bytes; }
+
+    /** Wall-clock time from start to finish. */
+    public long nanos() { return nanos; }
+
+    /** Time spent splitting records into cells. */
+    public long parseNanos() { return parseNanos; }
+
+    /** Time spent turning cells into objects, converters included. */
+    public long mapNanos() { return mapNanos; }
+
+    /** Heap allocated by the threads doing the work, or -1 if not measured or the JVM cannot tell. */
+    public long allocatedBytes() { return allocatedBytes; }
+
+    /** Time per converter class name. */
+    public Map<String, ConverterTime> converters() { return converters; }
+
+    /** Validation or mapping errors per column. */
+    public Map<String, Long> errors() { return errors; }
+
+    /** Why the file did not finish, or {@code null}. */
+    public Throwable failure() { return failure; }
+
+    public double rowsPerSecond() {
+        return nanos == 0 ? 0 : rows * 1e9 / nanos;
+    }
+
+    public long allocatedBytesPerRow() {
+        return rows == 0 || allocatedBytes < 0 ? -1 : allocatedBytes / rows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %,d rows in %,d ms (%,.0f rows/s)",
+                operation, file, rows, nanos / 1_000_000, rowsPerSecond());
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.Map;
+
+/**
+ * Emits Java Flight Recorder events, so slow files and converters show up in
+ * a production recording without attaching a profiler:
+ * {@code sheetz.File} per file (its duration is the file's), {@code sheetz.Batch}
+ * per batch and {@code sheetz.Converter} per converter per file.
+ * Events only cost anything while a recording has them enabled.
+ *
+ * <pre>
+ * Metrics.register(new JfrMetrics(true));
+ * // java -XX:StartFlightRecording=filename=import.jfr ...
+ * // jfr print --events sheetz.File import.jfr
+ * </pre>
+ */
+public final class JfrMetrics implements SheetzMetrics {
+
+    private final boolean detailed;
+
+    /** @param detailed also time phases and converters, and measure allocation */
+    public JfrMetrics(boolean detailed) {
+        this.detailed = detailed;
+    }
+
+    @Override
+    public boolean detailed() {
+        return detailed;
+    }
+
+    @Override
+    public FileListener fileStarted(String operation, String file) {
+        FileEvent event = new FileEvent();
+        event.begin();
+        return new FileListener() {
+            @Override
+            public void batchFinished(int rows, long nanos, int queueDepth) {
+                BatchEvent batch = new BatchEvent();
+                if (!batch.isEnabled()) return;
+                batch.operation = operation;
+                batch.file = file;
+                batch.rows = rows;
+                batch.time = nanos;
+                batch.queueDepth = queueDepth;
+                batch.commit();
+            }
+
+            @Override
+            public void fileFinished(FileStats stats) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.file = file;
+                    event.rows = stats.rows();
+                    event.bytes = stats.bytes();
+                    event.parseTime = stats.parseNanos();
+                    event.mapTime = stats.mapNanos();
+                    event.allocated = stats.allocatedBytes();
+                    event.errors = stats.errors().values().stream().mapToLong(Long::longValue).sum();
+                    event.failure = stats.failure() == null ? null : stats.failure().toString();
+                    event.commit();
+                }
+                for (Map.Entry<String, FileStats.ConverterTime> converter : stats.converters().entrySet()) {
+                    ConverterEvent timing = new ConverterEvent();
+                    if (!timing.isEnabled()) break;
+                    timing.file = file;
+                    timing.converter = converter.getKey();
+                    timing.calls = converter.getValue().calls();
+                    timing.time = converter.getValue().nanos();
+                    timing.commit();
+                }
+            }
+        };
+    }
+
+    @Name("sheetz.File")
+    @Label("Sheetz File")
+    @Category({"Sheetz"})
+    @Description("One file read or written")
+    @StackTrace(false)
+    static final class FileEvent extends Event {
+        @Label("Operation") String operation;
+        @Label("File") String file;
+        @Label("Rows") long rows;
+        @Label("Bytes") @DataAmount long bytes;
+        @Label("Parse Time") @Timespan long parseTime;
+        @Label("Map Time") @Timespan long mapTime;
+        @Label("Allocated") @DataAmount long allocated;
+        @Label("Errors") long errors;
+        @Label("Failure") String failure;
+    }
+
+    @Name("sheetz.Batch")
+    @Label("Sheetz Batch")
+    @Category({"Sheetz"})
+    @Description("One chunk, window or sheet of a file")
+    @StackTrace(false)
+    static final class BatchEvent extends Event {
+        @Label("Operation") String operation;
+        @Label("File") String file;
+        @Label("Rows") int rows;
+        @Label("Time") @Timespan long time;
+        @Label("Queue Depth") int queueDepth;
+    }
+
+    @Name("sheetz.Converter")
+    @Label("Sheetz Converter")
+    @Category({"Sheetz"})
+    @Description("Time spent in one converter while reading one file")
+    @StackTrace(false)
+    static final class ConverterEvent extends Event {
+        @Label("File") String file;
+        @Label("Converter") String converter;
+        @Label("Calls") long calls;
+        @Label("Time") @Timespan long time;
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.ValidationResult;
+
+import java.io.File;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * {@link Sheetz#read}, {@link Sheetz#write} and {@link Sheetz#validate} reported
+ * to the registered {@link Metrics} as {@code sheetz.read}, {@code sheetz.write}
+ * and {@code sheetz.validate}. Sheetz does not expose its phases, so these give
+ * whole-file numbers: time, rows, bytes, allocation and validation errors per column.
+ *
+ * <pre>
+ * List&lt;Product&gt; products = Metered.read("products.xlsx", Product.class);
+ * </pre>
+ */
+public final class Metered {
+
+    private Metered() {}
+
+    public static <T> List<T> read(String path, Class<T> type) {
+        FileProbe probe = Metrics.start("sheetz.read", path);
+        List<T> rows = run(probe, () -> Sheetz.read(path, type));
+        probe.rows(rows.size());
+        probe.bytes(new File(path).length());
+        probe.finish();
+        return rows;
+    }
+
+    public static <T> void write(List<T> rows, String path) {
+        FileProbe probe = Metrics.start("sheetz.write", path);
+        run(probe, () -> {
+            Sheetz.write(rows, path);
+            return null;
+        });
+        probe.rows(rows.size());
+        probe.bytes(new File(path).length());
+        probe.finish();
+    }
+
+    public static <T> ValidationResult<T> validate(String path, Class<T> type) {
+        FileProbe probe = Metrics.start("sheetz.validate", path);
+        ValidationResult<T> result = run(probe, () -> Sheetz.validate(path, type));
+        probe.rows(result.totalRows());
+        probe.bytes(new File(path).length());
+        for (ValidationResult.RowError error : result.errors()) {
+            probe.error(error.column());
+        }
+        probe.finish();
+        return result;
+    }
+
+    /** Runs {@code call}, measuring its allocation and finishing the probe if it fails. */
+    private static <R> R run(FileProbe probe, Supplier<R> call) {
+        long mark = probe.allocationMark();
+        try {
+            return call.get();
+        } catch (RuntimeException | Error e) {
+            probe.finish(e);
+            throw e;
+        } finally {
+            probe.allocatedSince(mark);
+        }
+    }
+}
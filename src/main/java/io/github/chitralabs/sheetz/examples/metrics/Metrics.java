@@ -0,0 +1,42 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+/**
+ * The registered {@link SheetzMetrics}, shared by all example readers and writers.
+ *
+ * <pre>
+ * CountingMetrics counts = new CountingMetrics(true);
+ * Metrics.register(counts);
+ * ...
+ * System.out.println(counts.report());
+ * </pre>
+ */
+public final class Metrics {
+
+    private static volatile SheetzMetrics registered = SheetzMetrics.NONE;
+
+    private Metrics() {}
+
+    /** Replaces the registered metrics; applies to files started from now on. */
+    public static void register(SheetzMetrics metrics) {
+        if (metrics == null) throw new IllegalArgumentException("metrics must not be null");
+        registered = metrics;
+    }
+
+    /** Back to {@link SheetzMetrics#NONE}. */
+    public static void reset() {
+        registered = SheetzMetrics.NONE;
+    }
+
+    public static SheetzMetrics registered() {
+        return registered;
+    }
+
+    /** Starts a probe for one file; {@link FileProbe#NONE} when nothing is registered. */
+    public static FileProbe start(String operation, Object file) {
+        SheetzMetrics metrics = registered;
+        if (metrics == SheetzMetrics.NONE) return FileProbe.NONE;
+        String name = String.valueOf(file);
+        FileListener listener = metrics.fileStarted(operation, name);
+        return new FileProbe(operation, name, listener == null ? FileListener.NONE : listener, metrics.detailed());
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.chitralabs.sheetz.examples.metrics;
+
+/**
+ * Service interface for observing the example readers and writers. Register
+ * an implementation with {@link Metrics#register}.
+ *
+ * Each file a reader or writer works on gets a {@link FileListener} from
+ * {@link #fileStarted}. Per-row numbers are accumulated by the reader and
+ * reported once per batch and once per file, so an implementation is never
+ * called on the per-row hot path.
+ */
+@FunctionalInterface
+public interface SheetzMetrics {
+
+    /** Reports nothing; the default until something is registered. */
+    SheetzMetrics NONE = (operation, file) -> FileListener.NONE;
+
+    /**
+     * A reader or writer started on {@code file}.
+     *
+     * @param operation what is running, e.g. {@code csv.parallel.read}
+     * @return the listener for this file; called from any thread, but not concurrently
+     */
+    FileListener fileStarted(String operation, String file);
+
+    /**
+     * Whether readers should also time parsing, mapping and each converter
+     * separately, and measure allocation. This costs a few clock reads per row,
+     * so it is off by default.
+     */
+    default boolean detailed() {
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.chitralabs.sheetz.examples.model;
+
+import io.github.chitralabs.sheetz.annotation.Column;
+
+import java.time.LocalDate;
+
+/**
+ * The Product columns with primitive price and stock fields, so that a reader
+ * refilling one instance per row (E22) never boxes them.
+ */
+public class ProductRecord {
+
+    @Column(value = "Product Name", required = true)
+    private String name;
+
+    @Column(value = "Price")
+    private double price;
+
+    @Column(value = "In Stock")
+    private boolean inStock;
+
+    @Column(value = "Release Date", format = "yyyy-MM-dd")
+    private LocalDate releaseDate;
+
+    @Column(value = "Category", defaultValue = "General")
+    private String category;
+
+    public ProductRecord() {}
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+
+    public boolean isInStock() { return inStock; }
+    public void setInStock(boolean inStock) { this.inStock = inStock; }
+
+    public LocalDate getReleaseDate() { return releaseDate; }
+    public void setReleaseDate(LocalDate releaseDate) { this.releaseDate = releaseDate; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    @Override
+    public String toString() {
+        return String.format("ProductRecord{name='%s', price=%.2f, inStock=%s, releaseDate=%s, category='%s'}",
+                name, price, inStock, releaseDate, category);
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.chitralabs.sheetz.examples.multifile;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The rows of one file read by {@link MultiFileReader}, or why it could not be read.
+ */
+public final class FileResult<T> {
+
+    private final int index;
+    private final Path path;
+    private final List<T> rows;
+    private final RuntimeException failure;
+    private final long durationMs;
+
+    FileResult(int index, Path path, List<T> rows, RuntimeException failure, long durationMs) {
+        this.index = index;
+        this.path = path;
+        this.rows = rows == null ? Collections.emptyList() : Collections.unmodifiableList(rows);
+        this.failure = failure;
+        this.durationMs = durationMs;
+    }
+
+    /** Position of the file in the collection that was passed in. */
+    public int index() { return index; }
+
+    public Path path() { return path; }
+
+    /** The mapped rows; empty if the file {@link #failed()}. */
+    public List<T> rows() { return rows; }
+
+    public boolean failed() { return failure != null; }
+
+    /** Why the file could not be read, or {@code null}. */
+    public RuntimeException failure() { return failure; }
+
+    public long durationMs() { return durationMs; }
+
+    @Override
+    public String toString() {
+        return path.getFileName() + (failed() ? ": " + failure.getMessage() : ": " + rows.size() + " rows");
+    }
+}
@@ -0,0 +1,344 @@
+package io.github.chitralabs.sheetz.examples.multifile;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.Compression;
+import io.github.chitralabs.sheetz.examples.csv.MappedCsvReader;
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads many CSV, XLSX and XLS files into one model type on a work-stealing
+ * pool, with global limits on the files read at once and on their bytes.
+ *
+ * <pre>
+ * MultiFileResult&lt;Product&gt; result = MultiFileReader.of(Product.class)
+ *         .threads(8)
+ *         .maxInFlightBytes(256L &lt;&lt; 20)
+ *         .readAll(paths);
+ * result.failures().forEach(f -&gt; log.warn("Skipped {}", f.path(), f.failure()));
+ * </pre>
+ *
+ * A file is only started when fewer than {@link #threads(int)} files are being
+ * read and its bytes fit in {@link #maxInFlightBytes(long)}; a file larger than
+ * the whole budget is read on its own. XLSX, XLS and compressed CSV files
+ * count four times their size, since they inflate when read. Files are started largest first,
+ * alternating with the smallest, so that big files overlap with many small
+ * ones instead of with each other.
+ *
+ * CSV files, {@code .csv.gz}, {@code .csv.zst} and {@code .zip} included, go
+ * through {@link MappedCsvReader}, other formats through
+ * {@code Sheetz.read}. A file that fails to read becomes a failed
+ * {@link FileResult}; the other files are not affected. Runs are reported to
+ * the registered {@link Metrics} as {@code multifile.read}, with a batch per file.
+ */
+public final class MultiFileReader<T> {
+
+    /** How much more memory than its size an XLSX, XLS or compressed file takes while it is read. */
+    static final int WORKBOOK_WEIGHT = 4;
+
+    private final Class<T> type;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long maxInFlightBytes = Runtime.getRuntime().maxMemory() / 4;
+    private ExecutorService pool;
+    private String name = "multifile";
+
+    private MultiFileReader(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> MultiFileReader<T> of(Class<T> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new MultiFileReader<>(type);
+    }
+
+    /** Files read at once. Defaults to the number of available processors. */
+    public MultiFileReader<T> threads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Bytes of the files being read, and in {@link #streamAll} of files read
+     * but not yet consumed. Defaults to a quarter of the maximum heap.
+     */
+    public MultiFileReader<T> maxInFlightBytes(long bytes) {
+        if (bytes < 1) throw new IllegalArgumentException("maxInFlightBytes must be positive");
+        this.maxInFlightBytes = bytes;
+        return this;
+    }
+
+    /**
+     * Runs the reads on {@code pool}, e.g. one shared by several readers; the
+     * limits still apply to this reader. By default each run creates a
+     * {@link ForkJoinPool} of {@link #threads(int)} workers and shuts it down.
+     */
+    public MultiFileReader<T> pool(ExecutorService pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Name the runs are reported under to the registered {@link Metrics}. Default {@code multifile}. */
+    public MultiFileReader<T> name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /** Reads every file and returns once all are read, failed or not. */
+    public MultiFileResult<T> readAll(Collection<Path> files) {
+        long started = System.currentTimeMillis();
+        Run run = new Run(files, false);
+        try {
+            for (int index : run.schedule()) {
+                run.start(index);
+            }
+            run.awaitAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish(new IllegalStateException("Interrupted while reading " + files.size() + " files", e));
+        }
+        run.finish(null);
+        return new MultiFileResult<>(Arrays.asList(run.results), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Streams one {@link FileResult} per file as files are read, in input
+     * order if {@code ordered}, else as each finishes. Files are read ahead of
+     * the consumer within the limits; close the stream to stop early.
+     */
+    public Stream<FileResult<T>> streamAll(Collection<Path> files, boolean ordered) {
+        Run run = new Run(files, true);
+        Thread dispatcher = new Thread(() -> {
+            try {
+                for (int index : ordered ? run.inputOrder() : run.schedule()) {
+                    run.start(index);
+                }
+            } catch (InterruptedException e) {
+                // The stream was closed
+            }
+        }, name + "-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        Iterator<FileResult<T>> iterator = new Iterator<FileResult<T>>() {
+            private int consumed;
+
+            @Override
+            public boolean hasNext() {
+                if (consumed < run.results.length) return true;
+                run.finish(null);
+                return false;
+            }
+
+            @Override
+            public FileResult<T> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                try {
+                    FileResult<T> result = ordered ? run.awaitResult(consumed) : run.awaitNext();
+                    consumed++;
+                    run.consumed(result.index());
+                    return result;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    IllegalStateException interrupted = new IllegalStateException("Interrupted while reading " + files.size() + " files", e);
+                    run.finish(interrupted);
+                    throw interrupted;
+                }
+            }
+        };
+        int characteristics = Spliterator.SIZED | Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(Spliterators.spliterator(iterator, run.results.length, characteristics), false)
+                .onClose(() -> {
+                    dispatcher.interrupt();
+                    run.finish(null);
+                });
+    }
+
+    /** State of one {@link #readAll} or {@link #streamAll}: the files, the budget and the results. */
+    private final class Run {
+        private final Path[] paths;
+        private final long[] sizes;
+        /** Sizes, with workbooks counted {@link #WORKBOOK_WEIGHT} times. */
+        private final long[] weights;
+        private final FileResult<T>[] results;
+        private final boolean holdUntilConsumed;
+        private final ExecutorService executor;
+        private final boolean ownExecutor;
+        private final FileProbe probe;
+        private final BlockingQueue<FileResult<T>> finished = new LinkedBlockingQueue<>();
+        private final AtomicReference<Error> fatal = new AtomicReference<>();
+
+        // Guarded by this
+        private int reading;
+        private long inFlight;
+        private int done;
+        private boolean closed;
+
+        @SuppressWarnings("unchecked")
+        Run(Collection<Path> files, boolean holdUntilConsumed) {
+            if (files == null) throw new IllegalArgumentException("files must not be null");
+            this.paths = files.toArray(new Path[0]);
+            this.sizes = new long[paths.length];
+            this.weights = new long[paths.length];
+            for (int i = 0; i < paths.length; i++) {
+                sizes[i] = size(paths[i]);
+                boolean inflates = !isCsv(paths[i]) || Compression.detect(paths[i]) != Compression.NONE;
+                weights[i] = inflates ? sizes[i] * WORKBOOK_WEIGHT : sizes[i];
+            }
+            this.results = (FileResult<T>[]) new FileResult<?>[paths.length];
+            this.holdUntilConsumed = holdUntilConsumed;
+            this.ownExecutor = pool == null;
+            this.executor = ownExecutor ? new ForkJoinPool(threads) : pool;
+            this.probe = Metrics.start("multifile.read", name);
+        }
+
+        int[] inputOrder() {
+            int[] order = new int[paths.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            return order;
+        }
+
+        /** Largest first, alternating with the smallest. */
+        int[] schedule() {
+            Integer[] bySize = new Integer[paths.length];
+            for (int i = 0; i < bySize.length; i++) bySize[i] = i;
+            Arrays.sort(bySize, Comparator.comparingLong((Integer i) -> weights[i]).reversed());
+            int[] order = new int[bySize.length];
+            int large = 0;
+            int small = bySize.length - 1;
+            for (int n = 0; n < order.length; n++) {
+                order[n] = n % 2 == 0 ? bySize[large++] : bySize[small--];
+            }
+            return order;
+        }
+
+        /** Waits for a thread and for the file's bytes, then submits it. */
+        void start(int index) throws InterruptedException {
+            long weight = weights[index];
+            synchronized (this) {
+                while (!closed && (reading >= threads || (inFlight > 0 && inFlight + weight > maxInFlightBytes))) {
+                    wait();
+                }
+                if (closed) return;
+                reading++;
+                inFlight += weight;
+            }
+            probe.bytes(sizes[index]);
+            executor.execute(() -> read(index));
+        }
+
+        private void read(int index) {
+            long started = System.nanoTime();
+            FileResult<T> result;
+            try {
+                List<T> rows = readFile(paths[index]);
+                result = new FileResult<>(index, paths[index], rows, null, (System.nanoTime() - started) / 1_000_000);
+                probe.rows(rows.size());
+            } catch (RuntimeException e) {
+                result = new FileResult<>(index, paths[index], null, e, (System.nanoTime() - started) / 1_000_000);
+                probe.error("file");
+            } catch (Error e) {
+                fatal.compareAndSet(null, e);
+                result = new FileResult<>(index, paths[index], null, new IllegalStateException("Stopped by " + e, e), 0);
+            }
+            probe.batch(result.rows().size(), System.nanoTime() - started, finished.size());
+            synchronized (this) {
+                results[index] = result;
+                reading--;
+                if (!holdUntilConsumed) inFlight -= weights[index];
+                done++;
+                notifyAll();
+            }
+            finished.add(result);
+        }
+
+        private List<T> readFile(Path path) {
+            if (!isCsv(path)) return Sheetz.read(path.toString(), type);
+            List<T> rows = new ArrayList<>();
+            try (MappedCsvReader<T> reader = MappedCsvReader.open(path.toString(), type)) {
+                reader.forEach(rows::add);
+            }
+            return rows;
+        }
+
+        synchronized void awaitAll() throws InterruptedException {
+            while (done < results.length) wait();
+        }
+
+        synchronized FileResult<T> awaitResult(int index) throws InterruptedException {
+            while (results[index] == null) wait();
+            throwFatal();
+            return results[index];
+        }
+
+        FileResult<T> awaitNext() throws InterruptedException {
+            FileResult<T> result = finished.take();
+            throwFatal();
+            return result;
+        }
+
+        /** Releases the bytes of a streamed file once the consumer has it. */
+        synchronized void consumed(int index) {
+            inFlight -= weights[index];
+            notifyAll();
+        }
+
+        /** Stops starting files, shuts down an own pool and reports the run; once. */
+        void finish(RuntimeException failure) {
+            synchronized (this) {
+                if (closed) return;
+                closed = true;
+                notifyAll();
+            }
+            if (ownExecutor) executor.shutdown();
+            if (failure != null) {
+                probe.finish(failure);
+                throw failure;
+            }
+            Error error = fatal.get();
+            probe.finish(error);
+            if (error != null) throw error;
+        }
+
+        private void throwFatal() {
+            Error error = fatal.get();
+            if (error != null) throw error;
+        }
+
+        private long size(Path path) {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                // Fails again when read, and becomes a failed result then
+                return 0;
+            }
+        }
+    }
+
+    /** CSV files, compressed ones ({@code .csv.gz}, {@code .csv.zst}, {@code .zip}) included. */
+    private static boolean isCsv(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".zip") || Compression.baseName(path).toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+}
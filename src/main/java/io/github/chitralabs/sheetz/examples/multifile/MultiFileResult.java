@@ -0,0 +1,56 @@
+package io.github.chitralabs.sheetz.examples.multifile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link MultiFileReader#readAll}: one {@link FileResult} per file,
+ * in the order the files were passed in.
+ */
+public final class MultiFileResult<T> {
+
+    private final List<FileResult<T>> files;
+    private final long durationMs;
+
+    MultiFileResult(List<FileResult<T>> files, long durationMs) {
+        this.files = Collections.unmodifiableList(files);
+        this.durationMs = durationMs;
+    }
+
+    public List<FileResult<T>> files() { return files; }
+
+    /** Every row of the files that were read, file by file in input order. */
+    public List<T> rows() {
+        List<T> rows = new ArrayList<>((int) Math.min(Integer.MAX_VALUE, rowCount()));
+        for (FileResult<T> file : files) {
+            rows.addAll(file.rows());
+        }
+        return rows;
+    }
+
+    public long rowCount() {
+        long count = 0;
+        for (FileResult<T> file : files) {
+            count += file.rows().size();
+        }
+        return count;
+    }
+
+    /** The files that could not be read. */
+    public List<FileResult<T>> failures() {
+        List<FileResult<T>> failures = new ArrayList<>();
+        for (FileResult<T> file : files) {
+            if (file.failed()) failures.add(file);
+        }
+        return failures;
+    }
+
+    public long durationMs() { return durationMs; }
+
+    @Override
+    public String toString() {
+        return String.format("MultiFileResult{files=%d, rows=%d, failed=%d, %d ms}",
+                files.size(), rowCount(), failures().size(), durationMs);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.chitralabs.sheetz.examples.pipeline;
+
+/**
+ * Thrown by a fail-fast {@link BatchPipeline} when a batch fails its last
+ * try. The cause is the handler's last failure.
+ */
+public class BatchFailedException extends RuntimeException {
+
+    private final long batch;
+    private final long firstRow;
+    private final int rows;
+    private final int attempts;
+    private transient PipelineSummary summary;
+
+    BatchFailedException(long batch, long firstRow, int rows, int attempts, Exception cause) {
+        super(String.format("Batch %d (rows %d-%d) failed after %d attempt%s: %s",
+                batch, firstRow, firstRow + rows - 1, attempts, attempts == 1 ? "" : "s", cause), cause);
+        this.batch = batch;
+        this.firstRow = firstRow;
+        this.rows = rows;
+        this.attempts = attempts;
+    }
+
+    /** 1-based number of the batch in read order. */
+    public long batch() { return batch; }
+
+    /** 1-based data row number of the batch's first row. */
+    public long firstRow() { return firstRow; }
+
+    public int rows() { return rows; }
+
+    public int attempts() { return attempts; }
+
+    /** What the pipeline had done when it stopped. */
+    public PipelineSummary summary() { return summary; }
+
+    void summary(PipelineSummary summary) {
+        this.summary = summary;
+    }
+}
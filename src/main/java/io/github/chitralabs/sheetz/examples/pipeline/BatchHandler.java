@@ -0,0 +1,18 @@
+package io.github.chitralabs.sheetz.examples.pipeline;
+
+import java.util.List;
+
+/**
+ * Consumes one batch of a {@link BatchPipeline}, e.g. with a JDBC batch insert.
+ * Called from several consumer threads at once.
+ */
+@FunctionalInterface
+public interface BatchHandler<T> {
+
+    /**
+     * Handles {@code batch}. The list is read-only and is refilled with other
+     * rows once this returns; copy it to keep it. Throwing fails this attempt,
+     * and the pipeline's {@link RetryPolicy} decides whether it is tried again.
+     */
+    void handle(List<T> batch) throws Exception;
+}
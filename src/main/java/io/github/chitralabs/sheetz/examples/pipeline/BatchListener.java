@@ -0,0 +1,26 @@
+package io.github.chitralabs.sheetz.examples.pipeline;
+
+/**
+ * Hears about each batch of a {@link BatchPipeline}. Called on the consumer
+ * threads, so implementations must be thread-safe. Batches are numbered
+ * from 1 in read order.
+ */
+public interface BatchListener {
+
+    BatchListener NONE = new BatchListener() {};
+
+    /**
+     * The handler accepted batch {@code batch}.
+     *
+     * @param attempts tries it took, 1 if it succeeded first time
+     * @param nanos time from the first try to success, retry waits included
+     */
+    default void batchFinished(long batch, int rows, int attempts, long nanos) {}
+
+    /**
+     * One try of batch {@code batch} failed.
+     *
+     * @param retrying whether the batch will be tried again
+     */
+    default void batchFailed(long batch, int rows, int attempt, Exception failure, boolean retrying) {}
+}
@@ -0,0 +1,320 @@
+package io.github.chitralabs.sheetz.examples.pipeline;
+
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads rows into batches on the calling thread while several consumer
+ * threads handle earlier batches, so parsing never waits for the database.
+ *
+ * <pre>
+ * try (StreamingReader&lt;Product&gt; reader = Sheetz.stream("products.xlsx", Product.class)) {
+ *     PipelineSummary summary = BatchPipeline.from(reader)
+ *             .batchSize(5000)
+ *             .consumers(8)
+ *             .queueCapacity(4)
+ *             .retry(RetryPolicy.attempts(3, Duration.ofMillis(200)))
+ *             .run(batch -&gt; repository.bulkInsert(batch));
+ * }
+ * </pre>
+ *
+ * Full batches wait in a queue of {@link #queueCapacity(int)}; when it is full
+ * the reader blocks, so at most {@code queueCapacity + consumers + 1} batches
+ * exist at once. Their lists are reused, so a run allocates no lists after
+ * the first few batches. Batches are handled in any order.
+ *
+ * If reading fails, batches already read are still handled before the
+ * failure is rethrown. If a listener or the retry policy throws, the run
+ * stops reading, drains the queue and rethrows it. Runs are reported to the registered {@link Metrics} as
+ * {@code pipeline}, with each handled batch and the queue depth at that time.
+ */
+public final class BatchPipeline<T> {
+
+    private final Iterable<? extends T> source;
+    private int batchSize = 1000;
+    private int consumers = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 4;
+    private RetryPolicy retry = RetryPolicy.NONE;
+    private BatchListener listener = BatchListener.NONE;
+    private boolean failFast = true;
+    private String name = "pipeline";
+
+    private BatchPipeline(Iterable<? extends T> source) {
+        this.source = source;
+    }
+
+    /** Batches the rows of {@code source}, e.g. a {@code StreamingReader}; the caller closes it. */
+    public static <T> BatchPipeline<T> from(Iterable<? extends T> source) {
+        if (source == null) throw new IllegalArgumentException("source must not be null");
+        return new BatchPipeline<>(source);
+    }
+
+    /** Rows per batch; the last batch may be smaller. Default 1000. */
+    public BatchPipeline<T> batchSize(int rows) {
+        if (rows < 1) throw new IllegalArgumentException("batchSize must be at least 1");
+        this.batchSize = rows;
+        return this;
+    }
+
+    /** Threads calling the handler. Defaults to the number of available processors. */
+    public BatchPipeline<T> consumers(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("consumers must be at least 1");
+        this.consumers = threads;
+        return this;
+    }
+
+    /** Full batches that may wait for a consumer before reading blocks. Default 4. */
+    public BatchPipeline<T> queueCapacity(int batches) {
+        if (batches < 1) throw new IllegalArgumentException("queueCapacity must be at least 1");
+        this.queueCapacity = batches;
+        return this;
+    }
+
+    /** When to try a failed batch again. Default {@link RetryPolicy#NONE}. */
+    public BatchPipeline<T> retry(RetryPolicy retry) {
+        this.retry = retry == null ? RetryPolicy.NONE : retry;
+        return this;
+    }
+
+    public BatchPipeline<T> listener(BatchListener listener) {
+        this.listener = listener == null ? BatchListener.NONE : listener;
+        return this;
+    }
+
+    /**
+     * Whether a batch that fails its last try stops the run (default
+     * {@code true}). Reading stops, batches not yet started are dropped, and
+     * {@link #run} throws {@link BatchFailedException}. Otherwise the batch
+     * is counted in {@link PipelineSummary#failedBatches()} and the run goes on.
+     */
+    public BatchPipeline<T> failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /** Name the run is reported under to the registered {@link Metrics}. Default {@code pipeline}. */
+    public BatchPipeline<T> name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /** Reads every row and hands each batch to {@code handler}; returns once all are handled. */
+    public PipelineSummary run(BatchHandler<T> handler) {
+        if (handler == null) throw new IllegalArgumentException("handler must not be null");
+        return new Run<T>(this, handler).execute();
+    }
+
+    /** A full batch and its place in the source. */
+    private static final class Batch<T> {
+        final long number;
+        final List<T> rows;
+
+        Batch(long number, List<T> rows) {
+            this.number = number;
+            this.rows = rows;
+        }
+    }
+
+    /** State of one {@link #run}: the queues, the consumers and the counts. */
+    private static final class Run<T> {
+        private static final Batch<Object> END = new Batch<>(0, null);
+
+        private final BatchPipeline<T> settings;
+        private final BatchHandler<T> handler;
+        private final BlockingQueue<Batch<T>> queue;
+        private final BlockingQueue<List<T>> free;
+        private final int maxBuffers;
+        private final FileProbe probe;
+        private int buffers;
+
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder failedBatches = new LongAdder();
+        private final LongAdder failedRows = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder latency = new LongAdder();
+        private final AtomicLong maxLatency = new AtomicLong();
+        /** The first batch given up on in fail-fast mode, or what a listener, the retry policy or the JVM threw. */
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean stopped;
+
+        Run(BatchPipeline<T> settings, BatchHandler<T> handler) {
+            this.settings = settings;
+            this.handler = handler;
+            this.queue = new ArrayBlockingQueue<>(settings.queueCapacity);
+            this.maxBuffers = settings.queueCapacity + settings.consumers + 1;
+            this.free = new ArrayBlockingQueue<>(maxBuffers);
+            this.probe = Metrics.start("pipeline", settings.name);
+        }
+
+        PipelineSummary execute() {
+            long started = System.currentTimeMillis();
+            ExecutorService pool = Executors.newFixedThreadPool(settings.consumers, threads());
+            for (int i = 0; i < settings.consumers; i++) {
+                pool.execute(this::consume);
+            }
+            RuntimeException readFailure = null;
+            try {
+                try {
+                    produce();
+                } catch (RuntimeException e) {
+                    readFailure = e;
+                } finally {
+                    for (int i = 0; i < settings.consumers; i++) {
+                        queue.put(end());
+                    }
+                }
+                pool.shutdown();
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                stopped = true;
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+                IllegalStateException interrupted = new IllegalStateException("Interrupted while running " + settings.name, e);
+                probe.finish(interrupted);
+                throw interrupted;
+            }
+
+            PipelineSummary summary = new PipelineSummary(batches.sum(), rows.sum(), failedBatches.sum(), failedRows.sum(),
+                    retries.sum(), System.currentTimeMillis() - started, latency.sum(), maxLatency.get(),
+                    failure.get() instanceof BatchFailedException);
+            probe.rows(summary.rows());
+            Throwable failed = failure.get();
+            if (failed instanceof BatchFailedException) {
+                ((BatchFailedException) failed).summary(summary);
+                probe.finish(failed);
+                throw (BatchFailedException) failed;
+            }
+            if (failed != null) {
+                probe.finish(failed);
+                if (failed instanceof RuntimeException) throw (RuntimeException) failed;
+                throw (Error) failed;
+            }
+            if (readFailure != null) {
+                probe.finish(readFailure);
+                throw readFailure;
+            }
+            probe.finish();
+            return summary;
+        }
+
+        /** Fills batches from the source on the calling thread. */
+        private void produce() throws InterruptedException {
+            Iterator<? extends T> it = settings.source.iterator();
+            long number = 0;
+            List<T> batch = null;
+            while (!stopped && it.hasNext()) {
+                if (batch == null) batch = buffer();
+                batch.add(it.next());
+                if (batch.size() == settings.batchSize) {
+                    queue.put(new Batch<>(++number, batch));
+                    batch = null;
+                }
+            }
+            if (!stopped && batch != null) {
+                queue.put(new Batch<>(++number, batch));
+            }
+        }
+
+        /** A cleared list: a returned one if there is one, else a new one up to the limit. */
+        private List<T> buffer() throws InterruptedException {
+            List<T> batch = free.poll();
+            if (batch != null) return batch;
+            if (buffers < maxBuffers) {
+                buffers++;
+                return new ArrayList<>(settings.batchSize);
+            }
+            return free.take();
+        }
+
+        private void consume() {
+            try {
+                while (true) {
+                    Batch<T> batch = queue.take();
+                    if (batch.rows == null) return;
+                    try {
+                        if (!stopped) handle(batch);
+                    } catch (RuntimeException | Error e) {
+                        // Thrown by the listener, the retry policy or the JVM, not the handler.
+                        // Keep draining so that the reader never blocks on a full queue
+                        failure.compareAndSet(null, e);
+                        stopped = true;
+                    } finally {
+                        batch.rows.clear();
+                        free.offer(batch.rows);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // shutdownNow: the run is being abandoned
+            }
+        }
+
+        private void handle(Batch<T> batch) throws InterruptedException {
+            List<T> view = Collections.unmodifiableList(batch.rows);
+            int size = batch.rows.size();
+            long started = System.nanoTime();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    handler.handle(view);
+                } catch (Exception e) {
+                    long delay = stopped ? -1 : settings.retry.delayMillis(attempt, e);
+                    settings.listener.batchFailed(batch.number, size, attempt, e, delay >= 0);
+                    if (delay < 0) {
+                        giveUp(batch, size, attempt, e);
+                        return;
+                    }
+                    retries.increment();
+                    if (delay > 0) Thread.sleep(delay);
+                    continue;
+                }
+                long nanos = System.nanoTime() - started;
+                batches.increment();
+                rows.add(size);
+                latency.add(nanos);
+                maxLatency.accumulateAndGet(nanos, Math::max);
+                settings.listener.batchFinished(batch.number, size, attempt, nanos);
+                probe.batch(size, nanos, queue.size());
+                return;
+            }
+        }
+
+        private void giveUp(Batch<T> batch, int size, int attempts, Exception cause) {
+            failedBatches.increment();
+            failedRows.add(size);
+            if (settings.failFast) {
+                long firstRow = (batch.number - 1) * settings.batchSize + 1;
+                failure.compareAndSet(null, new BatchFailedException(batch.number, firstRow, size, attempts, cause));
+                stopped = true;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Batch<T> end() {
+            return (Batch<T>) (Batch<?>) END;
+        }
+
+        private ThreadFactory threads() {
+            AtomicInteger count = new AtomicInteger();
+            return task -> {
+                Thread thread = new Thread(task, settings.name + "-consumer-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.chitralabs.sheetz.examples.pipeline;
+
+/**
+ * Outcome of a {@link BatchPipeline} run.
+ */
+public final class PipelineSummary {
+
+    private final long batches;
+    private final long rows;
+    private final long failedBatches;
+    private final long failedRows;
+    private final long retries;
+    private final long durationMs;
+    private final long latencyNanos;
+    private final long maxLatencyNanos;
+    private final boolean aborted;
+
+    PipelineSummary(long batches, long rows, long failedBatches, long failedRows, long retries,
+                    long durationMs, long latencyNanos, long maxLatencyNanos, boolean aborted) {
+        this.batches = batches;
+        this.rows = rows;
+        this.failedBatches = failedBatches;
+        this.failedRows = failedRows;
+        this.retries = retries;
+        this.durationMs = durationMs;
+        this.latencyNanos = latencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.aborted = aborted;
+    }
+
+    /** Batches the handler accepted. */
+    public long batches() { return batches; }
+
+    /** Rows in the accepted batches. */
+    public long rows() { return rows; }
+
+    /** Batches given up on after their last retry. */
+    public long failedBatches() { return failedBatches; }
+
+    public long failedRows() { return failedRows; }
+
+    /** Tries beyond the first, over all batches. */
+    public long retries() { return retries; }
+
+    public long durationMs() { return durationMs; }
+
+    /** Accepted rows per second of the whole run. */
+    public double rowsPerSecond() {
+        return durationMs == 0 ? 0 : rows * 1000.0 / durationMs;
+    }
+
+    /** Mean time from a batch's first try to its success, retry waits included. */
+    public double meanLatencyMs() {
+        return batches == 0 ? 0 : latencyNanos / 1e6 / batches;
+    }
+
+    public double maxLatencyMs() {
+        return maxLatencyNanos / 1e6;
+    }
+
+    /** Whether the run stopped early on a failed batch; see {@link BatchPipeline#failFast}. */
+    public boolean aborted() { return aborted; }
+
+    @Override
+    public String toString() {
+        return String.format("%,d rows in %,d batches, %,d ms (%,.0f rows/s), latency mean %.1f ms max %.1f ms, "
+                        + "%,d retries, %,d failed batches%s",
+                rows, batches, durationMs, rowsPerSecond(), meanLatencyMs(), maxLatencyMs(),
+                retries, failedBatches, aborted ? ", aborted" : "");
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.chitralabs.sheetz.examples.pipeline;
+
+import java.time.Duration;
+
+/**
+ * Decides whether a failed batch is handed to the {@link BatchHandler} again.
+ */
+@FunctionalInterface
+public interface RetryPolicy {
+
+    /** Never retries. */
+    RetryPolicy NONE = (attempt, failure) -> -1;
+
+    /**
+     * Milliseconds to wait before trying again, or a negative number to give up.
+     *
+     * @param attempt the attempt that failed, from 1
+     * @param failure what the handler threw
+     */
+    long delayMillis(int attempt, Exception failure);
+
+    /**
+     * Up to {@code maxAttempts} tries in all, waiting {@code backoff} after the
+     * first failure and twice as long after each one after that.
+     */
+    static RetryPolicy attempts(int maxAttempts, Duration backoff) {
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be at least 1");
+        long base = backoff.toMillis();
+        return (attempt, failure) -> attempt >= maxAttempts ? -1 : base << Math.min(attempt - 1, 20);
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.chitralabs.sheetz.examples.transcode;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.CsvScanner;
+import io.github.chitralabs.sheetz.examples.csv.CsvWriter;
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+import io.github.chitralabs.sheetz.examples.xlsx.SharedStringsStore;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxRowWriter;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxSheetReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts between CSV and XLSX by streaming cell text from a source reader
+ * straight into a target writer. No model class, no reflection and no
+ * per-row objects beyond one {@code String[]}, so memory stays flat however
+ * large the file is.
+ *
+ * The first row is the header: it stays the first CSV line, or becomes a
+ * bold, frozen header row in XLSX. Dates keep their cell format on the way
+ * to CSV, and ISO dates become date cells on the way to XLSX.
+ * XLS sources are read through {@link Sheetz#readRaw}, which loads the
+ * sheet first; XLS is not supported as a target. Runs are reported to the
+ * registered {@link Metrics} as {@code transcode}, with the source size as bytes.
+ *
+ * <pre>
+ * long rows = Transcoder.from("vendor.xlsx")
+ *         .sheet("Prices")
+ *         .to("vendor.csv")
+ *         .targetDelimiter(';')
+ *         .convert();
+ * </pre>
+ */
+public final class Transcoder {
+
+    private final Path source;
+    private Path target;
+    private String sheet;
+    private String targetSheet = "Sheet1";
+    private char delimiter = ',';
+    private char targetDelimiter = ',';
+    private SharedStringsStore sharedStrings = SharedStringsStore.ON_HEAP;
+
+    private Transcoder(Path source) {
+        this.source = source;
+    }
+
+    public static Transcoder from(String path) {
+        return from(Paths.get(path));
+    }
+
+    public static Transcoder from(Path path) {
+        return new Transcoder(path);
+    }
+
+    public Transcoder to(String path) {
+        return to(Paths.get(path));
+    }
+
+    public Transcoder to(Path path) {
+        this.target = path;
+        return this;
+    }
+
+    /** Source sheet of an XLSX file; the first sheet by default. */
+    public Transcoder sheet(String name) {
+        this.sheet = name;
+        return this;
+    }
+
+    /** Sheet name in an XLSX target. Default {@code Sheet1}. */
+    public Transcoder targetSheet(String name) {
+        this.targetSheet = name;
+        return this;
+    }
+
+    /** Delimiter of a CSV source. Default {@code ','}. */
+    public Transcoder delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /** Delimiter of a CSV target. Default {@code ','}. */
+    public Transcoder targetDelimiter(char delimiter) {
+        this.targetDelimiter = delimiter;
+        return this;
+    }
+
+    /** Where an XLSX source's shared-string table is kept. Default {@link SharedStringsStore#ON_HEAP}. */
+    public Transcoder sharedStrings(SharedStringsStore store) {
+        this.sharedStrings = store;
+        return this;
+    }
+
+    /**
+     * Runs the conversion.
+     *
+     * @return the number of data rows written, header excluded
+     */
+    public long convert() {
+        if (target == null) throw new IllegalStateException("to(...) is required");
+        if (source.toAbsolutePath().normalize().equals(target.toAbsolutePath().normalize())) {
+            throw new IllegalArgumentException("Source and target are the same file: " + source);
+        }
+        Format to = Format.of(target);
+        if (to == Format.XLS) throw new IllegalArgumentException("XLS is not supported as a target; use .xlsx");
+
+        FileProbe probe = Metrics.start("transcode", source);
+        try (RowSource rows = open(source)) {
+            String[] header = rows.next() ? rows.row() : new String[0];
+            long count = to == Format.CSV ? toCsv(rows, header) : toXlsx(rows, header);
+            probe.rows(count);
+            probe.bytes(Files.size(source));
+            probe.finish();
+            return count;
+        } catch (IOException e) {
+            probe.finish(e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            probe.finish(e);
+            throw e;
+        }
+    }
+
+    private long toCsv(RowSource rows, String[] header) {
+        try (CsvWriter out = CsvWriter.open(target, targetDelimiter)) {
+            out.write(header);
+            // Keep the output rectangular: every line as wide as the header, or wider
+            while (rows.next()) {
+                String[] row = rows.row();
+                out.write(row, Math.max(row.length, header.length));
+            }
+            return out.rowCount() - 1;
+        }
+    }
+
+    private long toXlsx(RowSource rows, String[] header) {
+        try (XlsxRowWriter out = XlsxRowWriter.open(target, targetSheet, header)) {
+            while (rows.next()) {
+                out.write(rows.row());
+            }
+            return out.rowCount();
+        }
+    }
+
+    private RowSource open(Path path) {
+        switch (Format.of(path)) {
+            case XLSX: return new XlsxSource(XlsxSheetReader.of(path).sheet(sheet).sharedStrings(sharedStrings).open());
+            case XLS:  return new ListSource(Sheetz.readRaw(path.toString()));
+            default:   return new CsvSource(CsvScanner.open(path, delimiter));
+        }
+    }
+
+    private enum Format {
+        CSV, XLSX, XLS;
+
+        static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".xlsx")) return XLSX;
+            if (name.endsWith(".xls")) return XLS;
+            return CSV;
+        }
+    }
+
+    /** Rows of cell text, header first. */
+    private interface RowSource extends AutoCloseable {
+        boolean next();
+
+        /** The current row; the caller may keep it. */
+        String[] row();
+
+        @Override
+        void close();
+    }
+
+    private static final class CsvSource implements RowSource {
+        private final CsvScanner scanner;
+
+        CsvSource(CsvScanner scanner) { this.scanner = scanner; }
+
+        public boolean next() { return scanner.next(); }
+
+        public String[] row() { return scanner.toArray(); }
+
+        public void close() { scanner.close(); }
+    }
+
+    private static final class XlsxSource implements RowSource {
+        private final XlsxSheetReader reader;
+
+        XlsxSource(XlsxSheetReader reader) { this.reader = reader; }
+
+        public boolean next() { return reader.next(); }
+
+        public String[] row() { return reader.toArray(); }
+
+        public void close() { reader.close(); }
+    }
+
+    private static final class ListSource implements RowSource {
+        private final Iterator<String[]> rows;
+        private String[] current;
+
+        ListSource(List<String[]> rows) { this.rows = rows.iterator(); }
+
+        public boolean next() {
+            current = rows.hasNext() ? rows.next() : null;
+            return current != null;
+        }
+
+        public String[] row() { return current; }
+
+        public void close() {}
+    }
+}
@@ -0,0 +1,293 @@
+package io.github.chitralabs.sheetz.examples.validation;
+
+import io.github.chitralabs.sheetz.Sheetz;
+import io.github.chitralabs.sheetz.examples.csv.CsvScanner;
+import io.github.chitralabs.sheetz.examples.mapping.Cells;
+import io.github.chitralabs.sheetz.examples.mapping.ColumnMapper;
+import io.github.chitralabs.sheetz.examples.mapping.MappingException;
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+import io.github.chitralabs.sheetz.examples.xlsx.XlsxSheetReader;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Validates a file of any size against an {@code @Column} model without
+ * holding its rows.
+ *
+ * <pre>
+ * ValidationSummary summary = StreamingValidator.of(StrictProduct.class)
+ *         .file("supplier.csv")
+ *         .onValid(row -&gt; sink.add(row))
+ *         .maxErrors(1_000)
+ *         .validate();
+ * </pre>
+ *
+ * CSV files are split into record-aligned chunks that are validated on
+ * {@link #parallelism(int)} threads. Valid rows go to the {@code onValid}
+ * consumer as they are found, so it must be thread-safe when parallelism is
+ * above 1; rows do not arrive in file order. Only a bounded sample of errors is
+ * kept, plus a counter per column. Once {@code maxErrors} rows have failed,
+ * every worker stops at its next row.
+ *
+ * XLSX sheets are streamed through {@link XlsxSheetReader} and validated on
+ * the calling thread as rows arrive, so {@code maxErrors} stops the read too.
+ * Legacy XLS files have no streaming reader here: they are loaded whole with
+ * {@code Sheetz.readRaw}, and only then validated.
+ * Runs are reported to the registered {@link Metrics} as {@code validate.streaming},
+ * with each CSV chunk as a batch and the error counts per column.
+ */
+public final class StreamingValidator<T> {
+
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final Class<T> type;
+    private Path file;
+    private char delimiter = ',';
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long maxErrors = Long.MAX_VALUE;
+    private int errorSamples = 100;
+    private Consumer<? super T> onValid = row -> { };
+
+    private StreamingValidator(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> StreamingValidator<T> of(Class<T> type) {
+        return new StreamingValidator<>(type);
+    }
+
+    public StreamingValidator<T> file(String path) {
+        return file(Paths.get(path));
+    }
+
+    public StreamingValidator<T> file(Path path) {
+        this.file = path;
+        return this;
+    }
+
+    public StreamingValidator<T> delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /** Worker threads for CSV files; defaults to the number of available processors. */
+    public StreamingValidator<T> parallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /** Stops reading once this many rows have failed. */
+    public StreamingValidator<T> maxErrors(long maxErrors) {
+        if (maxErrors < 1) throw new IllegalArgumentException("maxErrors must be >= 1");
+        this.maxErrors = maxErrors;
+        return this;
+    }
+
+    /** Stops reading at the first failed row. */
+    public StreamingValidator<T> failFast() {
+        return maxErrors(1);
+    }
+
+    /** How many errors to keep as samples; the rest are only counted. Default 100. */
+    public StreamingValidator<T> errorSamples(int errorSamples) {
+        if (errorSamples < 0) throw new IllegalArgumentException("errorSamples must be >= 0");
+        this.errorSamples = errorSamples;
+        return this;
+    }
+
+    /** Receives every valid row. Called from worker threads. */
+    public StreamingValidator<T> onValid(Consumer<? super T> onValid) {
+        this.onValid = onValid;
+        return this;
+    }
+
+    public ValidationSummary validate() {
+        if (file == null) throw new IllegalStateException("file(...) is required");
+        long start = System.nanoTime();
+        FileProbe probe = Metrics.start("validate.streaming", file);
+        AtomicLong errors = new AtomicLong();
+        AtomicBoolean aborted = new AtomicBoolean();
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        try {
+            List<Chunk> chunks = name.endsWith(".xlsx") ? validateXlsx(errors, aborted, probe)
+                    : name.endsWith(".xls") ? validateRaw(errors, aborted, probe)
+                    : validateCsv(errors, aborted, probe);
+            ValidationSummary summary = summarize(chunks, (System.nanoTime() - start) / 1_000_000);
+            probe.rows(summary.totalRows());
+            summary.errorCounts().forEach(probe::errors);
+            probe.finish();
+            return summary;
+        } catch (RuntimeException | Error e) {
+            probe.finish(e);
+            throw e;
+        }
+    }
+
+    /** What one worker saw in one chunk of the file. */
+    private final class Chunk {
+        long rows;
+        long valid;
+        boolean complete;
+        final List<Sample> samples = new ArrayList<>();
+        final Map<String, Long> columns = new HashMap<>();
+
+        void validate(Cells cells, ColumnMapper<T> mapper, long offset, AtomicLong errors, AtomicBoolean aborted) {
+            long row = ++rows;
+            T value;
+            try {
+                value = mapper.map(cells, row);
+            } catch (MappingException e) {
+                columns.merge(e.column(), 1L, Long::sum);
+                if (samples.size() < errorSamples) {
+                    samples.add(new Sample(row, offset, e));
+                }
+                if (errors.incrementAndGet() >= maxErrors) aborted.set(true);
+                return;
+            }
+            valid++;
+            onValid.accept(value);
+        }
+    }
+
+    /** A sampled error, located within its chunk. */
+    private static final class Sample {
+        final long row;
+        final long offset;
+        final MappingException error;
+
+        Sample(long row, long offset, MappingException error) {
+            this.row = row;
+            this.offset = offset;
+            this.error = error;
+        }
+    }
+
+    private List<Chunk> validateCsv(AtomicLong errors, AtomicBoolean aborted, FileProbe probe) {
+        CsvScanner.Split split = CsvScanner.split(file, delimiter, parallelism * CHUNKS_PER_WORKER);
+        ColumnMapper<T> mapper = ColumnMapper.of(type, split.header(), probe);
+        List<Chunk> chunks = new ArrayList<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        AtomicInteger pending = new AtomicInteger(split.chunks().size());
+        for (CsvScanner.Chunk range : split.chunks()) {
+            Chunk chunk = new Chunk();
+            chunks.add(chunk);
+            tasks.add(() -> {
+                long started = System.nanoTime();
+                try (CsvScanner scanner = CsvScanner.open(file, delimiter, range)) {
+                    while (!aborted.get()) {
+                        if (!scanner.next()) {
+                            chunk.complete = true;
+                            break;
+                        }
+                        chunk.validate(scanner.cells(), mapper, scanner.recordOffset(), errors, aborted);
+                    }
+                }
+                probe.batch((int) chunk.rows, System.nanoTime() - started, pending.decrementAndGet());
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating " + file, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdown();
+        }
+        return chunks;
+    }
+
+    private List<Chunk> validateXlsx(AtomicLong errors, AtomicBoolean aborted, FileProbe probe) {
+        Chunk chunk = new Chunk();
+        try (XlsxSheetReader reader = XlsxSheetReader.open(file)) {
+            if (reader.next()) {
+                ColumnMapper<T> mapper = ColumnMapper.of(type, reader.toArray(), probe);
+                while (!aborted.get()) {
+                    if (!reader.next()) {
+                        chunk.complete = true;
+                        break;
+                    }
+                    chunk.validate(Cells.of(reader.toArray()), mapper, -1, errors, aborted);
+                }
+            } else {
+                chunk.complete = true;
+            }
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    private List<Chunk> validateRaw(AtomicLong errors, AtomicBoolean aborted, FileProbe probe) {
+        List<String[]> rows = Sheetz.readRaw(file.toString());
+        Chunk chunk = new Chunk();
+        if (!rows.isEmpty()) {
+            ColumnMapper<T> mapper = ColumnMapper.of(type, rows.get(0), probe);
+            int i = 1;
+            for (; i < rows.size() && !aborted.get(); i++) {
+                chunk.validate(Cells.of(rows.get(i)), mapper, -1, errors, aborted);
+            }
+            chunk.complete = i == rows.size();
+        } else {
+            chunk.complete = true;
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    private ValidationSummary summarize(List<Chunk> chunks, long durationMs) {
+        long total = 0;
+        long valid = 0;
+        List<ValidationSummary.RowError> samples = new ArrayList<>();
+        Map<String, Long> columns = new HashMap<>();
+        // Row numbers are exact as long as every chunk in front was read to the end
+        boolean counted = true;
+        for (Chunk chunk : chunks) {
+            for (Sample sample : chunk.samples) {
+                if (samples.size() == errorSamples) break;
+                MappingException e = sample.error;
+                long row = counted ? total + sample.row : -1;
+                samples.add(new ValidationSummary.RowError(row, sample.offset, e.column(), e.reason(), e.value()));
+            }
+            chunk.columns.forEach((column, count) -> columns.merge(column, count, Long::sum));
+            total += chunk.rows;
+            valid += chunk.valid;
+            counted &= chunk.complete;
+        }
+        Map<String, Long> byFrequency = new LinkedHashMap<>();
+        columns.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(e -> byFrequency.put(e.getKey(), e.getValue()));
+        // Reaching maxErrors on the very last row is not an early stop
+        boolean aborted = !counted;
+        return new ValidationSummary(total, valid, total - valid, durationMs, aborted, samples, byFrequency);
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.chitralabs.sheetz.examples.validation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link StreamingValidator} run: exact counts, a bounded sample
+ * of errors and error counts per column. Unlike {@code ValidationResult}, valid
+ * rows are not kept; they went to the validator's consumer.
+ */
+public final class ValidationSummary {
+
+    private final long totalRows;
+    private final long validCount;
+    private final long errorCount;
+    private final long durationMs;
+    private final boolean aborted;
+    private final List<RowError> errors;
+    private final Map<String, Long> errorCounts;
+
+    ValidationSummary(long totalRows, long validCount, long errorCount, long durationMs, boolean aborted,
+                      List<RowError> errors, Map<String, Long> errorCounts) {
+        this.totalRows = totalRows;
+        this.validCount = validCount;
+        this.errorCount = errorCount;
+        this.durationMs = durationMs;
+        this.aborted = aborted;
+        this.errors = Collections.unmodifiableList(errors);
+        this.errorCounts = Collections.unmodifiableMap(errorCounts);
+    }
+
+    /** Rows validated. If {@link #aborted()}, the rows read before stopping. */
+    public long totalRows() { return totalRows; }
+
+    public long validCount() { return validCount; }
+
+    /** Rows that failed validation. */
+    public long errorCount() { return errorCount; }
+
+    /** Percentage of valid rows, 0 to 100. */
+    public double successRate() {
+        return totalRows == 0 ? 100.0 : validCount * 100.0 / totalRows;
+    }
+
+    public long durationMs() { return durationMs; }
+
+    /** Whether validation stopped early because {@code maxErrors} was reached. */
+    public boolean aborted() { return aborted; }
+
+    /** The first errors in file order, up to the validator's sample size. */
+    public List<RowError> errors() { return errors; }
+
+    /** Number of failed rows per column header, most frequent first. */
+    public Map<String, Long> errorCounts() { return errorCounts; }
+
+    public boolean hasErrors() { return errorCount > 0; }
+
+    /** Whether every row was read and none failed. */
+    public boolean isValid() { return errorCount == 0 && !aborted; }
+
+    /** One failed row, with the same details as {@code ValidationResult.RowError}. */
+    public static final class RowError {
+        private final long row;
+        private final long offset;
+        private final String column;
+        private final String message;
+        private final String value;
+
+        RowError(long row, long offset, String column, String message, String value) {
+            this.row = row;
+            this.offset = offset;
+            this.column = column;
+            this.message = message;
+            this.value = value;
+        }
+
+        /**
+         * 1-based data row number, or -1 when validation was aborted before the
+         * rows in front of this one were counted; {@link #offset()} still locates it.
+         */
+        public long row() { return row; }
+
+        /** Byte offset of the record in a CSV file, or -1 for spreadsheets. */
+        public long offset() { return offset; }
+
+        public String column() { return column; }
+
+        public String message() { return message; }
+
+        public String value() { return value; }
+
+        @Override
+        public String toString() {
+            String where = row >= 0 ? "Row " + row : "Record at byte " + offset;
+            return String.format("%s [%s]: %s (value: %s)", where, column, message, value);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A zip entry compressed ahead of time into a temp file as raw deflate data,
+ * with the CRC and sizes a zip header needs. Lets the expensive compression run
+ * on any thread, while {@link ZipAssembler} only copies bytes.
+ */
+final class DeflatedPart implements AutoCloseable {
+
+    private final String name;
+    private final Path data;
+    private final CRC32 crc = new CRC32();
+    private final Deflater deflater;
+    private final Counter compressed;
+    private final OutputStream stream;
+    private long size;
+
+    DeflatedPart(String name, int level) throws IOException {
+        this.name = name;
+        this.data = Files.createTempFile("sheetz-part", ".deflate");
+        this.deflater = new Deflater(level, true);
+        this.compressed = new Counter(new BufferedOutputStream(Files.newOutputStream(data), 1 << 16));
+        DeflaterOutputStream deflated = new DeflaterOutputStream(compressed, deflater, 1 << 16);
+        this.stream = new FilterOutputStream(deflated) {
+            @Override
+            public void write(int b) throws IOException {
+                crc.update(b);
+                size++;
+                deflated.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                crc.update(b, off, len);
+                size += len;
+                deflated.write(b, off, len);
+            }
+        };
+    }
+
+    /** Where the uncompressed entry content is written; close it when done. */
+    OutputStream stream() {
+        return stream;
+    }
+
+    String name() { return name; }
+
+    Path data() { return data; }
+
+    long crc() { return crc.getValue(); }
+
+    long size() { return size; }
+
+    long compressedSize() { return compressed.count; }
+
+    /** Deletes the temp file. */
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        Files.deleteIfExists(data);
+    }
+
+    private static final class Counter extends FilterOutputStream {
+        long count;
+
+        Counter(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * Multi-sheet XLSX writer that renders and compresses the sheets concurrently.
+ *
+ * <pre>
+ * ParallelWorkbookWriter.create()
+ *         .sheet("Products", products)
+ *         .sheet("Employees", employees)
+ *         .parallelism(4)
+ *         .write("report.xlsx");
+ * </pre>
+ *
+ * Each sheet is rendered to XML and deflated on its own thread into a temp file.
+ * Nothing needs merging across threads: cells use inline strings instead of a
+ * shared-string table, and the style table is built from every sheet's model
+ * before rendering starts. The zip is then assembled in one sequential pass
+ * that only copies the compressed bytes, into a temp file that is moved over
+ * the target at the end. If a sheet or the assembly fails, the temp file is
+ * deleted and whatever was at the target is left as it was. Reports to the registered {@link Metrics}
+ * as {@code xlsx.parallel.write}, one batch per sheet.
+ */
+public final class ParallelWorkbookWriter {
+
+    private static final int WIDTH_SAMPLE = 1000;
+
+    private final List<Sheet<?>> sheets = new ArrayList<>();
+    private ExecutorService executor;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int compression = Deflater.DEFAULT_COMPRESSION;
+    private boolean autoSize;
+    private boolean freezeHeader;
+
+    private ParallelWorkbookWriter() {}
+
+    public static ParallelWorkbookWriter create() {
+        return new ParallelWorkbookWriter();
+    }
+
+    private static final class Sheet<T> {
+        final String name;
+        final Class<T> type;
+        final List<? extends T> rows;
+
+        Sheet(String name, Class<T> type, List<? extends T> rows) {
+            this.name = name;
+            this.type = type;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Adds a sheet; the model class is taken from the first row.
+     *
+     * @throws IllegalArgumentException if {@code rows} is empty; use {@link #sheet(String, Class, List)}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ParallelWorkbookWriter sheet(String name, List<T> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Sheet " + name + " is empty; pass its model class with sheet(name, type, rows)");
+        }
+        return sheet(name, (Class<T>) rows.get(0).getClass(), rows);
+    }
+
+    public <T> ParallelWorkbookWriter sheet(String name, Class<T> type, List<? extends T> rows) {
+        sheets.add(new Sheet<>(XlsxPackage.checkSheetName(name), type, rows));
+        return this;
+    }
+
+    /** Threads to render with when no executor is given; default is the number of cores. */
+    public ParallelWorkbookWriter parallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /** Renders on this executor instead of a pool of its own. The executor is not shut down. */
+    public ParallelWorkbookWriter executor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /** Deflate level from 0 (store) to 9; lower is faster and larger. */
+    public ParallelWorkbookWriter compression(int level) {
+        if (level < -1 || level > 9) throw new IllegalArgumentException("compression must be between 0 and 9");
+        this.compression = level;
+        return this;
+    }
+
+    /** Sizes columns from the first {@value #WIDTH_SAMPLE} rows of each sheet. */
+    public ParallelWorkbookWriter autoSize(boolean autoSize) {
+        this.autoSize = autoSize;
+        return this;
+    }
+
+    public ParallelWorkbookWriter freezeHeader(boolean freezeHeader) {
+        this.freezeHeader = freezeHeader;
+        return this;
+    }
+
+    public void write(String path) {
+        write(Paths.get(path));
+    }
+
+    public void write(Path path) {
+        if (sheets.isEmpty()) throw new IllegalStateException("Add at least one sheet");
+        List<String> names = new ArrayList<>();
+        Set<String> unique = new HashSet<>();
+        for (Sheet<?> sheet : sheets) {
+            // Excel compares sheet names case-insensitively
+            if (!unique.add(sheet.name.toLowerCase(Locale.ROOT))) throw new IllegalArgumentException("Duplicate sheet name: " + sheet.name);
+            names.add(sheet.name);
+        }
+
+        // Every model's styles are registered here, before any thread reads the table
+        StyleTable styles = new StyleTable();
+        List<SheetWriter<?>> writers = new ArrayList<>();
+        for (Sheet<?> sheet : sheets) {
+            writers.add(new SheetWriter<>(sheet.type, styles));
+        }
+
+        FileProbe probe = Metrics.start("xlsx.parallel.write", path);
+        AtomicInteger pending = new AtomicInteger(sheets.size());
+        ExecutorService pool = executor != null ? executor : Executors.newFixedThreadPool(Math.min(parallelism, sheets.size()));
+        List<CompletableFuture<DeflatedPart>> rendered = new ArrayList<>();
+        try {
+            for (int i = 0; i < sheets.size(); i++) {
+                int index = i;
+                rendered.add(CompletableFuture.supplyAsync(() -> {
+                    long start = System.nanoTime();
+                    DeflatedPart part = render(index, sheets.get(index), writers.get(index));
+                    int rows = sheets.get(index).rows.size();
+                    probe.rows(rows);
+                    probe.batch(rows, System.nanoTime() - start, pending.decrementAndGet());
+                    return part;
+                }, pool));
+            }
+            assemble(path, names, styles, rendered);
+            probe.bytes(size(path));
+            probe.finish();
+        } catch (RuntimeException e) {
+            probe.finish(e);
+            throw e;
+        } finally {
+            if (pool != executor) pool.shutdown();
+            for (CompletableFuture<DeflatedPart> future : rendered) {
+                future.thenAccept(ParallelWorkbookWriter::delete);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> DeflatedPart render(int index, Sheet<?> sheet, SheetWriter<?> sheetWriter) {
+        Sheet<T> typed = (Sheet<T>) sheet;
+        SheetWriter<T> writer = (SheetWriter<T>) sheetWriter;
+        DeflatedPart part = null;
+        try {
+            part = new DeflatedPart(XlsxPackage.sheetEntry(index), compression);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(part.stream(), StandardCharsets.UTF_8), 1 << 16)) {
+                List<? extends T> sample = typed.rows.subList(0, Math.min(typed.rows.size(), WIDTH_SAMPLE));
+                writer.begin(out, writer.widths(sample, autoSize), freezeHeader);
+                for (T row : typed.rows) {
+                    writer.row(out, row);
+                }
+                writer.end(out);
+            }
+            return part;
+        } catch (IOException | RuntimeException e) {
+            delete(part);
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+    }
+
+    private void assemble(Path path, List<String> sheetNames, StyleTable styles,
+                          List<CompletableFuture<DeflatedPart>> rendered) {
+        Path parent = path.toAbsolutePath().getParent();
+        // Written beside the target and moved over it, so a failed run leaves the previous workbook alone
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (parent != null) Files.createDirectories(parent);
+            try (ZipAssembler zip = new ZipAssembler(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                // Sheets are written in order as they finish; later sheets keep rendering meanwhile
+                for (CompletableFuture<DeflatedPart> future : rendered) {
+                    zip.add(future.join());
+                }
+                for (Map.Entry<String, String> entry : XlsxPackage.parts(sheetNames, styles).entrySet()) {
+                    try (DeflatedPart part = new DeflatedPart(entry.getKey(), compression)) {
+                        try (OutputStream out = part.stream()) {
+                            out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                        }
+                        zip.add(part);
+                    }
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException(e);
+        } catch (CompletionException e) {
+            deleteQuietly(temp);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } catch (RuntimeException | Error e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // best effort; the write already failed
+        }
+    }
+
+    private static void delete(DeflatedPart part) {
+        if (part == null) return;
+        try {
+            part.close();
+        } catch (IOException ignored) {
+            // best effort; the file is in the temp directory
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import io.github.chitralabs.sheetz.examples.mapping.ColumnField;
+import io.github.chitralabs.sheetz.examples.mapping.ColumnMapper;
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads an XLSX sheet into an {@code @Column} model, decoding only the columns
+ * the model maps. Cells of other columns, including {@code @Column(ignore = true)}
+ * fields and headers the model never declares, are skipped in the parser, and
+ * only the shared strings of mapped columns are loaded (see {@link XlsxSheetReader.Projection}).
+ * Other sheets of the workbook are never inflated.
+ *
+ * <pre>
+ * List&lt;Product&gt; products = ProjectedXlsxReader.of(Product.class)
+ *         .file("vendor.xlsx")
+ *         .sheet("Products")
+ *         .read();
+ * </pre>
+ *
+ * Reports to the registered {@link Metrics} as {@code xlsx.projected.read}.
+ */
+public final class ProjectedXlsxReader<T> {
+
+    private final Class<T> type;
+    private Path file;
+    private String sheet;
+    private SharedStringsStore sharedStrings = SharedStringsStore.ON_HEAP;
+
+    private ProjectedXlsxReader(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> ProjectedXlsxReader<T> of(Class<T> type) {
+        return new ProjectedXlsxReader<>(type);
+    }
+
+    public ProjectedXlsxReader<T> file(String path) {
+        return file(Paths.get(path));
+    }
+
+    public ProjectedXlsxReader<T> file(Path path) {
+        this.file = path;
+        return this;
+    }
+
+    /** The sheet to read; the first sheet by default. */
+    public ProjectedXlsxReader<T> sheet(String name) {
+        this.sheet = name;
+        return this;
+    }
+
+    /** Where the shared-string table is kept. Default {@link SharedStringsStore#ON_HEAP}. */
+    public ProjectedXlsxReader<T> sharedStrings(SharedStringsStore store) {
+        this.sharedStrings = store;
+        return this;
+    }
+
+    /** Reads all rows into a list. */
+    public List<T> read() {
+        List<T> rows = new ArrayList<>();
+        forEach(rows::add);
+        return rows;
+    }
+
+    /** Passes each row to {@code action} as it is read, so the sheet is never held in memory. */
+    public void forEach(Consumer<? super T> action) {
+        if (file == null) throw new IllegalStateException("file(...) is required");
+        FileProbe probe = Metrics.start("xlsx.projected.read", file);
+        long row = 0;
+        try (XlsxSheetReader reader = XlsxSheetReader.of(file)
+                .sheet(sheet)
+                .projection(projection(type))
+                .sharedStrings(sharedStrings)
+                .open()) {
+            probe.bytes(file.toFile().length());
+            if (reader.next()) {
+                ColumnMapper<T> mapper = ColumnMapper.of(type, reader.toArray(), probe);
+                while (reader.next()) {
+                    action.accept(mapper.map(reader.toArray(), ++row));
+                }
+            }
+            probe.rows(row);
+            probe.finish();
+        } catch (RuntimeException e) {
+            probe.rows(row);
+            probe.finish(e);
+            throw e;
+        }
+    }
+
+    /** Columns with a mapped header, matched as {@link ColumnMapper} does, or a mapped index. */
+    static XlsxSheetReader.Projection projection(Class<?> type) {
+        List<ColumnField> fields = ColumnField.of(type);
+        return (column, header) -> {
+            for (ColumnField field : fields) {
+                if (field.index() >= 0 ? field.index() == column
+                        : header != null && header.trim().equalsIgnoreCase(field.header())) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+}
@@ -0,0 +1,245 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A loaded shared-string table: appended in index order, then read by index.
+ * See {@link SharedStringsStore} for the layouts. Not thread-safe.
+ */
+abstract class SharedStrings implements Closeable {
+
+    /** Decoded strings kept by the encoded stores unless told otherwise. */
+    static final int DEFAULT_CACHE = 1024;
+
+    static SharedStrings create(SharedStringsStore store, int cacheSize) throws IOException {
+        switch (store) {
+            case OFF_HEAP:  return new Encoded(new DirectBytes(), new DirectBytes(), cacheSize);
+            case TEMP_FILE: return new Encoded(new FileBytes("strings"), new FileBytes("offsets"), cacheSize);
+            default:        return new OnHeap();
+        }
+    }
+
+    /** Appends the next entry; {@code null} for an entry that is not needed. */
+    abstract void add(String value) throws IOException;
+
+    /** Called once every entry is added. */
+    void seal() throws IOException {}
+
+    /** Entry {@code index}; entries added as null read as null or empty. */
+    abstract String get(int index);
+
+    abstract int size();
+
+    @Override
+    public void close() throws IOException {}
+
+    private static final class OnHeap extends SharedStrings {
+        private final List<String> strings = new ArrayList<>();
+
+        void add(String value) { strings.add(value); }
+
+        String get(int index) { return strings.get(index); }
+
+        int size() { return strings.size(); }
+    }
+
+    /** UTF-8 bytes back to back, with the start of each entry in a second store. */
+    private static final class Encoded extends SharedStrings {
+        private final Bytes data;
+        private final Bytes offsets;
+        private final Map<Integer, String> cache;
+        private final byte[] offset = new byte[8];
+        private byte[] scratch = new byte[256];
+        private int size;
+
+        Encoded(Bytes data, Bytes offsets, int cacheSize) {
+            this.data = data;
+            this.offsets = offsets;
+            this.cache = cacheSize <= 0 ? null : new LinkedHashMap<Integer, String>(Math.min(cacheSize, 1 << 16), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+
+        void add(String value) throws IOException {
+            ByteBuffer.wrap(offset).putLong(0, data.size());
+            offsets.append(offset, 0, 8);
+            if (value != null && !value.isEmpty()) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                data.append(utf8, 0, utf8.length);
+            }
+            size++;
+        }
+
+        void seal() throws IOException {
+            data.seal();
+            offsets.seal();
+        }
+
+        String get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Shared string " + index + " of " + size);
+            if (cache != null) {
+                String cached = cache.get(index);
+                if (cached != null) return cached;
+            }
+            long start = offsets.readLong(8L * index);
+            long end = index + 1 < size ? offsets.readLong(8L * (index + 1)) : data.size();
+            int length = (int) (end - start);
+            if (length > scratch.length) scratch = new byte[Math.max(length, scratch.length * 2)];
+            data.read(start, scratch, length);
+            String value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            if (cache != null) cache.put(index, value);
+            return value;
+        }
+
+        int size() { return size; }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                data.close();
+            } finally {
+                offsets.close();
+            }
+        }
+    }
+
+    /**
+     * Append-only bytes in fixed-size buffers, read back by position once sealed.
+     * An entry may straddle two buffers.
+     */
+    private abstract static class Bytes implements Closeable {
+        private final int shift;
+        final List<ByteBuffer> buffers = new ArrayList<>();
+        long size;
+
+        Bytes(int shift) {
+            this.shift = shift;
+        }
+
+        abstract void append(byte[] b, int off, int len) throws IOException;
+
+        void seal() throws IOException {}
+
+        final long size() {
+            return size;
+        }
+
+        final void read(long position, byte[] dst, int length) {
+            int done = 0;
+            while (done < length) {
+                long at = position + done;
+                ByteBuffer buffer = buffers.get((int) (at >>> shift));
+                int offset = (int) (at & ((1L << shift) - 1));
+                int n = Math.min(length - done, buffer.limit() - offset);
+                buffer.duplicate().position(offset).get(dst, done, n);   // Java 11: no absolute bulk get
+                done += n;
+            }
+        }
+
+        final long readLong(long position) {
+            ByteBuffer buffer = buffers.get((int) (position >>> shift));
+            int offset = (int) (position & ((1L << shift) - 1));
+            // offsets are 8-byte aligned and buffer sizes are multiples of 8, so a long never straddles
+            return buffer.getLong(offset);
+        }
+
+        final int capacity() {
+            return 1 << shift;
+        }
+    }
+
+    /** Direct buffers of 4 MB, allocated as the table grows. */
+    private static final class DirectBytes extends Bytes {
+        DirectBytes() {
+            super(22);
+        }
+
+        void append(byte[] b, int off, int len) {
+            while (len > 0) {
+                ByteBuffer last = buffers.isEmpty() ? null : buffers.get(buffers.size() - 1);
+                if (last == null || !last.hasRemaining()) {
+                    last = ByteBuffer.allocateDirect(capacity());
+                    buffers.add(last);
+                }
+                int n = Math.min(len, last.remaining());
+                last.put(b, off, n);
+                off += n;
+                len -= n;
+                size += n;
+            }
+        }
+
+        void seal() {
+            for (ByteBuffer buffer : buffers) buffer.flip();
+        }
+
+        @Override
+        public void close() {
+            // direct buffers are freed when they become unreachable
+            buffers.clear();
+        }
+    }
+
+    /** A temporary file written through a 64 KB buffer, then mapped in 1 GB windows. */
+    private static final class FileBytes extends Bytes {
+        private final Path file;
+        private final FileChannel channel;
+        private final ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+
+        FileBytes(String name) throws IOException {
+            super(30);
+            this.file = Files.createTempFile("sheetz-" + name, ".bin");
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void append(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!pending.hasRemaining()) flush();
+                int n = Math.min(len, pending.remaining());
+                pending.put(b, off, n);
+                off += n;
+                len -= n;
+                size += n;
+            }
+        }
+
+        void seal() throws IOException {
+            flush();
+            for (long start = 0; start < size; start += capacity()) {
+                buffers.add(channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(capacity(), size - start)));
+            }
+        }
+
+        private void flush() throws IOException {
+            pending.flip();
+            while (pending.hasRemaining()) channel.write(pending);
+            pending.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            buffers.clear();
+            channel.close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // still mapped on some platforms; try again at exit
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
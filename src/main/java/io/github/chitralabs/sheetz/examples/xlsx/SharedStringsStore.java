@@ -0,0 +1,27 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+/**
+ * Where an XLSX reader keeps the workbook's shared-string table while it reads.
+ *
+ * Excel stores every distinct text cell once in {@code sharedStrings.xml}, and
+ * cells refer to it by index, in any order. The table therefore has to be at
+ * hand for the whole read; for workbooks with millions of distinct strings it
+ * can be larger than the sheet data itself.
+ */
+public enum SharedStringsStore {
+
+    /** As {@code String}s on the heap. Fastest; heap use grows with the table. */
+    ON_HEAP,
+
+    /**
+     * UTF-8 encoded in direct buffers outside the heap, with an offset index
+     * there too. Heap use is bounded by the decoded-string cache.
+     */
+    OFF_HEAP,
+
+    /**
+     * UTF-8 encoded in a temporary file that is memory-mapped for reading and
+     * deleted on close. Bounded heap, and the OS decides how much stays in memory.
+     */
+    TEMP_FILE
+}
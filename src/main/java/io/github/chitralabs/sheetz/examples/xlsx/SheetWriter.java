@@ -0,0 +1,195 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import io.github.chitralabs.sheetz.convert.Converter;
+import io.github.chitralabs.sheetz.examples.mapping.ColumnField;
+import io.github.chitralabs.sheetz.examples.mapping.ModelAccessor;
+import io.github.chitralabs.sheetz.examples.mapping.ModelAccessors;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Renders the worksheet XML of one sheet of {@code T} rows, one row at a time.
+ *
+ * Text is written as inline strings, so a sheet needs no shared-string table
+ * and its XML depends only on its own rows and the fixed {@link StyleTable}.
+ * Instances hold per-sheet state and are not thread-safe.
+ */
+final class SheetWriter<T> {
+
+    /** Excel serial day of 1970-01-01. */
+    static final long EPOCH_SERIAL = 25_569;
+    private static final int MAX_WIDTH = 100;
+
+    private final ModelAccessor<T> accessor;
+    private final List<ColumnField> fields;
+    private final Converter<Object>[] converters;
+    private final int[] styles;
+    private final String[] references;
+    private int row;
+    private String rowNumber;
+
+    @SuppressWarnings("unchecked")
+    SheetWriter(Class<T> type, StyleTable styleTable) {
+        this.accessor = ModelAccessors.of(type);
+        this.fields = ColumnField.of(type);
+        int n = fields.size();
+        this.converters = new Converter[n];
+        this.styles = new int[n];
+        this.references = new String[n];
+        for (int i = 0; i < n; i++) {
+            ColumnField field = fields.get(i);
+            converters[i] = field.converter();
+            styles[i] = styleTable.register(field);
+            references[i] = columnName(i);
+        }
+    }
+
+    /** Rows written to the current sheet, header included. */
+    int rows() {
+        return row;
+    }
+
+    /**
+     * Column widths in characters: {@code @Column(width)} where set, otherwise
+     * sampled from the header and {@code sample} when {@code autoSize} is on,
+     * otherwise 0 for Excel's default.
+     */
+    int[] widths(List<? extends T> sample, boolean autoSize) {
+        int[] widths = new int[fields.size()];
+        for (int i = 0; i < widths.length; i++) {
+            ColumnField field = fields.get(i);
+            if (field.width() > 0) {
+                widths[i] = field.width();
+            } else if (autoSize) {
+                int max = field.header().length();
+                for (T item : sample) {
+                    max = Math.max(max, displayLength(value(item, i)));
+                }
+                widths[i] = Math.min(max + 2, MAX_WIDTH);
+            }
+        }
+        return widths;
+    }
+
+    /**
+     * Writes the worksheet start, the column widths and the header row.
+     */
+    void begin(Writer out, int[] widths, boolean freezeHeader) throws IOException {
+        row = 0;
+        WorksheetXml.begin(out, widths, freezeHeader);
+        startRow(out);
+        for (int i = 0; i < fields.size(); i++) {
+            WorksheetXml.text(out, references[i], rowNumber, fields.get(i).header(), StyleTable.HEADER);
+        }
+        WorksheetXml.endRow(out);
+    }
+
+    /** Writes one data row. */
+    void row(Writer out, T item) throws IOException {
+        if (row >= XlsxPackage.MAX_ROWS) {
+            throw new IllegalStateException("A sheet holds at most " + XlsxPackage.MAX_ROWS + " rows");
+        }
+        startRow(out);
+        for (int i = 0; i < fields.size(); i++) {
+            cell(out, i, value(item, i));
+        }
+        WorksheetXml.endRow(out);
+    }
+
+    /** Writes the worksheet end. */
+    void end(Writer out) throws IOException {
+        WorksheetXml.end(out);
+    }
+
+    private void startRow(Writer out) throws IOException {
+        rowNumber = Integer.toString(++row);
+        WorksheetXml.startRow(out, rowNumber);
+    }
+
+    private Object value(T item, int i) {
+        Object value = accessor.get(item, fields.get(i).slot());
+        return converters[i] != null ? converters[i].toCell(value) : value;
+    }
+
+    private void cell(Writer out, int i, Object value) throws IOException {
+        if (value == null) return;
+        if (value instanceof Number) {
+            String number = number((Number) value);
+            if (number == null) {
+                text(out, i, value.toString(), StyleTable.DEFAULT);
+            } else {
+                numeric(out, i, number, styles[i]);
+            }
+        } else if (value instanceof Boolean) {
+            WorksheetXml.bool(out, references[i], rowNumber, (Boolean) value);
+        } else if (value instanceof LocalDate) {
+            long serial = ((LocalDate) value).toEpochDay() + EPOCH_SERIAL;
+            numeric(out, i, Long.toString(serial), dateStyle(i, StyleTable.DATE));
+        } else if (value instanceof LocalDateTime) {
+            numeric(out, i, Double.toString(serial((LocalDateTime) value)), dateStyle(i, StyleTable.DATE_TIME));
+        } else if (value instanceof Date) {
+            LocalDateTime local = LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault());
+            numeric(out, i, Double.toString(serial(local)), dateStyle(i, StyleTable.DATE_TIME));
+        } else {
+            text(out, i, value.toString(), styles[i]);
+        }
+    }
+
+    private int dateStyle(int i, int fallback) {
+        return styles[i] != StyleTable.DEFAULT ? styles[i] : fallback;
+    }
+
+    private void numeric(Writer out, int i, String number, int style) throws IOException {
+        WorksheetXml.numeric(out, references[i], rowNumber, number, style);
+    }
+
+    private void text(Writer out, int i, String text, int style) throws IOException {
+        WorksheetXml.text(out, references[i], rowNumber, text, style);
+    }
+
+    /** The cell value of {@code n}, or {@code null} if it has none (NaN, infinity). */
+    private static String number(Number n) {
+        if (n instanceof Double || n instanceof Float) {
+            double d = n.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) return null;
+            return n instanceof Float ? Float.toString(n.floatValue()) : Double.toString(d);
+        }
+        if (n instanceof BigDecimal) return ((BigDecimal) n).toPlainString();
+        return n.toString();
+    }
+
+    static double serial(LocalDateTime value) {
+        double day = value.toLocalDate().toEpochDay() + EPOCH_SERIAL;
+        return day + value.toLocalTime().toNanoOfDay() / 86_400_000_000_000.0;
+    }
+
+    private static int displayLength(Object value) {
+        if (value == null) return 0;
+        if (value instanceof LocalDate) return 10;
+        if (value instanceof LocalDateTime || value instanceof Date) return 19;
+        if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+            // room for grouping separators and two decimals
+            String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+            int dot = text.indexOf('.');
+            int integer = dot < 0 ? text.length() : dot;
+            return integer + integer / 3 + 3;
+        }
+        return value.toString().length();
+    }
+
+    /** Column letters for 0-based {@code index}: A..Z, AA..ZZ, AAA... */
+    static String columnName(int index) {
+        StringBuilder name = new StringBuilder(3);
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            name.append((char) ('A' + (n - 1) % 26));
+        }
+        return name.reverse().toString();
+    }
+}
@@ -0,0 +1,315 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import io.github.chitralabs.sheetz.examples.metrics.FileProbe;
+import io.github.chitralabs.sheetz.examples.metrics.Metrics;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Push-style XLSX writer whose heap use does not grow with the row count.
+ *
+ * Rows are buffered in a window of {@code window} rows; when it fills, the
+ * rows are rendered to worksheet XML and dropped. With {@code autoSize(true)}
+ * column widths are sampled from the first window, since they must be written
+ * before any row. A sheet that reaches Excel's row limit continues on a new
+ * sheet named {@code "Sheet (2)"}, {@code "Sheet (3)"}, and so on. Reports to
+ * the registered {@link Metrics} as {@code xlsx.streaming.write}, one batch per window.
+ *
+ * <pre>
+ * try (StreamingXlsxWriter&lt;Product&gt; writer = StreamingXlsxWriter.of(Product.class)
+ *         .file("export.xlsx")
+ *         .sheet("Products")
+ *         .autoSize(true)
+ *         .open()) {
+ *     writer.writeAll(productStream);
+ * }
+ * </pre>
+ */
+public final class StreamingXlsxWriter<T> implements AutoCloseable {
+
+    /** Where worksheet XML goes while rows are being written. */
+    public enum Strategy {
+        /** Straight into the zip entry of the output file. */
+        DIRECT_TO_ZIP,
+        /**
+         * Into an uncompressed temporary file per sheet, zipped on {@link #close()}.
+         * The output file is only created once all rows are written.
+         */
+        TEMP_FILE
+    }
+
+    private final Builder<T> config;
+    private final StyleTable styles = new StyleTable();
+    private final SheetWriter<T> sheet;
+    private final List<T> window;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<Path> tempFiles = new ArrayList<>();
+    private final FileProbe probe;
+
+    private ZipOutputStream zip;
+    private Writer out;
+    private int[] widths;
+    private long rowCount;
+    private boolean closed;
+
+    private StreamingXlsxWriter(Builder<T> config) throws IOException {
+        this.config = config;
+        this.sheet = new SheetWriter<>(config.type, styles);
+        this.window = new ArrayList<>(Math.min(config.window, 10_000));
+        this.probe = Metrics.start("xlsx.streaming.write", config.file);
+        if (config.strategy == Strategy.DIRECT_TO_ZIP) {
+            try {
+                zip = openZip(config.file, config.compression);
+            } catch (IOException | RuntimeException e) {
+                probe.finish(e);
+                throw e;
+            }
+        }
+    }
+
+    public static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /** Settings for a {@link StreamingXlsxWriter}. */
+    public static final class Builder<T> {
+        private final Class<T> type;
+        private Path file;
+        private String sheetName = "Sheet1";
+        private int window = 1000;
+        private boolean autoSize;
+        private boolean freezeHeader;
+        private int compression = Deflater.DEFAULT_COMPRESSION;
+        private Strategy strategy = Strategy.DIRECT_TO_ZIP;
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        public Builder<T> file(String path) {
+            return file(Paths.get(path));
+        }
+
+        public Builder<T> file(Path path) {
+            this.file = path;
+            return this;
+        }
+
+        public Builder<T> sheet(String name) {
+            this.sheetName = XlsxPackage.checkSheetName(name);
+            return this;
+        }
+
+        /** Rows held in memory before they are written out; also the width sample size. Default 1000. */
+        public Builder<T> window(int rows) {
+            if (rows < 1) throw new IllegalArgumentException("window must be at least 1");
+            this.window = rows;
+            return this;
+        }
+
+        public Builder<T> autoSize(boolean autoSize) {
+            this.autoSize = autoSize;
+            return this;
+        }
+
+        public Builder<T> freezeHeader(boolean freezeHeader) {
+            this.freezeHeader = freezeHeader;
+            return this;
+        }
+
+        /** Deflate level from 0 (store) to 9; lower is faster and larger. */
+        public Builder<T> compression(int level) {
+            if (level < -1 || level > 9) throw new IllegalArgumentException("compression must be between 0 and 9");
+            this.compression = level;
+            return this;
+        }
+
+        public Builder<T> strategy(Strategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        public StreamingXlsxWriter<T> open() {
+            if (file == null) throw new IllegalStateException("file(...) is required");
+            try {
+                return new StreamingXlsxWriter<>(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Adds one row. */
+    public void write(T row) {
+        if (closed) throw new IllegalStateException("Writer is closed");
+        window.add(row);
+        rowCount++;
+        if (window.size() >= config.window) {
+            flush();
+        }
+    }
+
+    public void writeAll(Iterator<? extends T> rows) {
+        while (rows.hasNext()) {
+            write(rows.next());
+        }
+    }
+
+    /** Adds every row of {@code rows}, in encounter order. Does not close the stream. */
+    public void writeAll(Stream<? extends T> rows) {
+        rows.forEachOrdered(this::write);
+    }
+
+    /** Data rows written so far, across all sheets. */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the remaining rows and finishes the file.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        try {
+            flush();
+            if (out == null) startSheet();
+            finishSheet();
+            if (config.strategy == Strategy.TEMP_FILE) {
+                zip = openZip(config.file, config.compression);
+                for (int i = 0; i < tempFiles.size(); i++) {
+                    zip.putNextEntry(new ZipEntry(XlsxPackage.sheetEntry(i)));
+                    Files.copy(tempFiles.get(i), zip);
+                    zip.closeEntry();
+                }
+            }
+            XlsxPackage.writeParts(zip, sheetNames, styles);
+            zip.close();
+            probe.rows(rowCount);
+            probe.bytes(Files.size(config.file));
+            probe.finish();
+        } catch (IOException e) {
+            probe.finish(e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            probe.finish(e);
+            throw e;
+        } finally {
+            closed = true;
+            closeQuietly(zip);
+            deleteTempFiles();
+        }
+    }
+
+    private void flush() {
+        long start = System.nanoTime();
+        int rows = window.size();
+        try {
+            for (T row : window) {
+                if (out == null || sheet.rows() >= XlsxPackage.MAX_ROWS) {
+                    if (out != null) finishSheet();
+                    startSheet();
+                }
+                sheet.row(out, row);
+            }
+            window.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (rows > 0) probe.batch(rows, System.nanoTime() - start, 0);
+    }
+
+    private void startSheet() throws IOException {
+        if (widths == null) {
+            widths = sheet.widths(window, config.autoSize);
+        }
+        int index = sheetNames.size();
+        sheetNames.add(index == 0 ? config.sheetName : continuationName(config.sheetName, index + 1));
+        OutputStream target;
+        if (config.strategy == Strategy.DIRECT_TO_ZIP) {
+            zip.putNextEntry(new ZipEntry(XlsxPackage.sheetEntry(index)));
+            target = new EntryStream(zip);
+        } else {
+            Path temp = Files.createTempFile("sheetz-sheet", ".xml");
+            tempFiles.add(temp);
+            target = Files.newOutputStream(temp);
+        }
+        out = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 1 << 16);
+        sheet.begin(out, widths, config.freezeHeader);
+    }
+
+    private void finishSheet() throws IOException {
+        sheet.end(out);
+        out.close();
+    }
+
+    static void closeQuietly(ZipOutputStream zip) {
+        if (zip == null) return;
+        try {
+            zip.close();
+        } catch (IOException ignored) {
+            // already failing; the original exception is more useful
+        }
+    }
+
+    private void deleteTempFiles() {
+        for (Path temp : tempFiles) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // best effort; the file is in the temp directory
+            }
+        }
+    }
+
+    static ZipOutputStream openZip(Path file, int compression) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file));
+        zip.setLevel(compression);
+        return zip;
+    }
+
+    /** The current zip entry as a stream; closing it closes the entry, not the zip. */
+    static final class EntryStream extends FilterOutputStream {
+        private final ZipOutputStream zip;
+
+        EntryStream(ZipOutputStream zip) {
+            super(zip);
+            this.zip = zip;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            zip.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.closeEntry();
+        }
+    }
+
+    /** {@code "Products (2)"}, shortening the base name to stay within 31 characters. */
+    static String continuationName(String base, int number) {
+        String suffix = " (" + number + ")";
+        return base.substring(0, Math.min(base.length(), 31 - suffix.length())) + suffix;
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import io.github.chitralabs.sheetz.examples.mapping.ColumnField;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The cell styles of a generated workbook, fixed before any sheet is written.
+ *
+ * There is a default style, a bold header style, default date and date-time
+ * styles, and one style per distinct {@code @Column(format)} of the models being
+ * written. Because the table is complete up front, sheets can be rendered
+ * independently (even concurrently) and {@code styles.xml} needs no merging.
+ */
+final class StyleTable {
+
+    static final int DEFAULT = 0;
+    static final int HEADER = 1;
+    static final int DATE = 2;
+    static final int DATE_TIME = 3;
+
+    private static final int FIRST_CUSTOM_FORMAT = 164;
+
+    /** Excel format code to numFmtId, in registration order. */
+    private final Map<String, Integer> formats = new LinkedHashMap<>();
+    /** numFmtId of each cellXfs entry from DATE on. */
+    private final List<Integer> styles = new ArrayList<>();
+
+    StyleTable() {
+        styles.add(formatId("yyyy-mm-dd"));
+        styles.add(formatId("yyyy-mm-dd hh:mm:ss"));
+    }
+
+    /**
+     * Style index for the data cells of {@code field}.
+     */
+    int register(ColumnField field) {
+        Class<?> type = field.type();
+        String format = field.format();
+        if (field.converter() != null) return DEFAULT;
+        if (type == LocalDate.class || type == LocalDateTime.class) {
+            if (format == null) return type == LocalDate.class ? DATE : DATE_TIME;
+            return style(formatId(excelDatePattern(format)));
+        }
+        if (format != null && isNumeric(type)) {
+            return style(formatId(format));
+        }
+        return DEFAULT;
+    }
+
+    /** The {@code xl/styles.xml} part. */
+    String xml() {
+        StringBuilder xml = new StringBuilder(1024);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        xml.append("<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        xml.append("<numFmts count=\"").append(formats.size()).append("\">");
+        for (Map.Entry<String, Integer> format : formats.entrySet()) {
+            xml.append("<numFmt numFmtId=\"").append(format.getValue()).append("\" formatCode=\"");
+            XmlText.escape(xml, format.getKey());
+            xml.append("\"/>");
+        }
+        xml.append("</numFmts>");
+        xml.append("<fonts count=\"2\">")
+           .append("<font><sz val=\"11\"/><name val=\"Calibri\"/></font>")
+           .append("<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font>")
+           .append("</fonts>");
+        xml.append("<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>")
+           .append("<fill><patternFill patternType=\"gray125\"/></fill></fills>");
+        xml.append("<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>");
+        xml.append("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+        xml.append("<cellXfs count=\"").append(2 + styles.size()).append("\">");
+        xml.append("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>");
+        xml.append("<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>");
+        for (int numFmtId : styles) {
+            xml.append("<xf numFmtId=\"").append(numFmtId)
+               .append("\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>");
+        }
+        xml.append("</cellXfs>");
+        xml.append("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        xml.append("</styleSheet>");
+        return xml.toString();
+    }
+
+    private int formatId(String code) {
+        return formats.computeIfAbsent(code, c -> FIRST_CUSTOM_FORMAT + formats.size());
+    }
+
+    private int style(int numFmtId) {
+        int index = styles.indexOf(numFmtId);
+        if (index < 0) {
+            styles.add(numFmtId);
+            index = styles.size() - 1;
+        }
+        return DATE + index;
+    }
+
+    /** Java date pattern to Excel format code: months are {@code m}, hours {@code h}. */
+    static String excelDatePattern(String pattern) {
+        return pattern.replace('M', 'm').replace('H', 'h').replace("a", "AM/PM");
+    }
+
+    static boolean isNumeric(Class<?> type) {
+        return (type.isPrimitive() && type != boolean.class && type != char.class)
+                || Number.class.isAssignableFrom(type)
+                || type == BigDecimal.class || type == BigInteger.class;
+    }
+}
@@ -0,0 +1,475 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pull scanner over the raw UTF-8 bytes of worksheet XML.
+ *
+ * It understands only the markup that carries cell data: {@code <row>},
+ * {@code <c>} with its {@code r}, {@code t} and {@code s} attributes,
+ * {@code <v>} and inline {@code <is>} text. Everything else is skipped by
+ * bytes, so a cell nobody asks for costs a scan to its end tag instead of a
+ * round of XML events. Element prefixes are ignored; entities, CDATA and
+ * line endings in text are handled as an XML parser would.
+ */
+final class WorksheetScanner implements Closeable {
+
+    private static final int START = 0, END = 1, EMPTY = 2;
+    private static final int OTHER = 0, ROW = 1, C = 2, V = 3, T = 4, RPH = 5;
+
+    private static final byte[] CDATA_OPEN = "<![CDATA[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CDATA_CLOSE = "]]>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_OPEN = "<!--".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_CLOSE = "-->".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PI_CLOSE = "?>".getBytes(StandardCharsets.US_ASCII);
+
+    private final InputStream in;
+    private byte[] buf = new byte[1 << 16];
+    private int pos;
+    private int limit;
+
+    private int tagKind;
+    private int tagName;
+    private boolean anyTag;
+
+    private int rowNumber;
+    private boolean rowEmpty;
+    private int column;
+    private String type;
+    private int style;
+    private boolean cellEmpty;
+    private boolean cellOpen;
+
+    private byte[] text = new byte[256];
+    private int textLength;
+
+    WorksheetScanner(InputStream in) throws IOException {
+        this.in = in;
+        if (ensure(2) && ((buf[0] == (byte) 0xFE && buf[1] == (byte) 0xFF) || (buf[0] == (byte) 0xFF && buf[1] == (byte) 0xFE))) {
+            throw new IllegalArgumentException("UTF-16 worksheets are not supported");
+        }
+        if (ensure(3) && buf[0] == (byte) 0xEF && buf[1] == (byte) 0xBB && buf[2] == (byte) 0xBF) pos = 3;
+    }
+
+    /** Advances to the next {@code <row>}; false at the end of the sheet. */
+    boolean nextRow() throws IOException {
+        while (nextTag()) {
+            if (tagName == ROW && tagKind != END) {
+                rowEmpty = tagKind == EMPTY;
+                column = -1;
+                cellOpen = false;
+                return true;
+            }
+        }
+        if (!anyTag) throw malformed("no XML elements");
+        return false;
+    }
+
+    /** Excel's 1-based number of the current row. */
+    int rowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Advances to the next {@code <c>} of the current row; false at {@code </row>}.
+     * Its content can then be read with {@link #content()} or passed over with {@link #skipCell()}.
+     */
+    boolean nextCell() throws IOException {
+        if (rowEmpty) return false;
+        if (cellOpen) skipCell();
+        while (nextTag()) {
+            if (tagName == C && tagKind != END) {
+                cellEmpty = tagKind == EMPTY;
+                cellOpen = !cellEmpty;
+                return true;
+            }
+            if (tagName == ROW && tagKind == END) return false;
+        }
+        rowEmpty = true;
+        return false;
+    }
+
+    /** 0-based column of the current cell. */
+    int column() {
+        return column;
+    }
+
+    /** The cell's {@code t} attribute, or null when it has none (a number). */
+    String type() {
+        return type;
+    }
+
+    /** The cell's {@code s} attribute, or -1 when it has none. */
+    int style() {
+        return style;
+    }
+
+    /**
+     * The text of an inline string cell, otherwise the {@code <v>} value;
+     * null if the cell has neither. Phonetic runs are left out.
+     */
+    String content() throws IOException {
+        if (!cellOpen) return null;
+        cellOpen = false;
+        boolean inline = "inlineStr".equals(type);
+        String value = null;
+        boolean phonetic = false;
+        boolean any = false;
+        textLength = 0;
+        while (nextTag()) {
+            if (tagName == C && tagKind == END) break;
+            if (tagName == RPH) {
+                phonetic = tagKind == START;
+            } else if (tagKind == START) {
+                if (tagName == V && !inline) {
+                    textLength = 0;
+                    readText();
+                    value = new String(text, 0, textLength, StandardCharsets.UTF_8);
+                } else if (tagName == T && inline && !phonetic) {
+                    readText();
+                    any = true;
+                }
+            } else if (tagKind == EMPTY && tagName == T && inline && !phonetic) {
+                any = true;
+            } else if (tagKind == EMPTY && tagName == V && !inline) {
+                value = "";
+            }
+        }
+        if (inline) return any ? new String(text, 0, textLength, StandardCharsets.UTF_8) : null;
+        return value;
+    }
+
+    /**
+     * Moves past the current cell without decoding it: only end tags are
+     * looked at, until {@code </c>}.
+     */
+    void skipCell() throws IOException {
+        if (!cellOpen) return;
+        cellOpen = false;
+        while (skipTo((byte) '<')) {
+            if (!ensure(2)) throw malformed("unexpected end of input");
+            byte second = buf[pos + 1];
+            if (second == '/' && ensure(4) && buf[pos + 2] == 'c' && buf[pos + 3] == '>') {
+                pos += 4;
+                return;
+            }
+            if (second == '/') {
+                int length = tagLength();
+                int nameStart = pos + 2;
+                int nameEnd = pos + length - 1;
+                for (int i = nameStart; i < nameEnd; i++) {
+                    if (buf[i] == ':') nameStart = i + 1;
+                }
+                while (nameEnd > nameStart && isSpace(buf[nameEnd - 1])) nameEnd--;
+                pos += length;
+                if (nameEnd - nameStart == 1 && buf[nameStart] == 'c') return;
+            } else if (second == '!' && startsWith(CDATA_OPEN)) {
+                skipPast(CDATA_CLOSE);
+            } else if (second == '!' && startsWith(COMMENT_OPEN)) {
+                skipPast(COMMENT_CLOSE);
+            } else {
+                pos++;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // --- tags ---
+
+    /** Reads the next element tag, skipping text, comments, CDATA and processing instructions. */
+    private boolean nextTag() throws IOException {
+        while (true) {
+            if (!skipTo((byte) '<')) return false;
+            if (!ensure(2)) throw malformed("unexpected end of input");
+            byte second = buf[pos + 1];
+            if (second == '!') {
+                if (startsWith(CDATA_OPEN)) skipPast(CDATA_CLOSE);
+                else if (startsWith(COMMENT_OPEN)) skipPast(COMMENT_CLOSE);
+                else pos += tagLength();
+                continue;
+            }
+            if (second == '?') {
+                skipPast(PI_CLOSE);
+                continue;
+            }
+            int length = tagLength();
+            parseTag(pos, pos + length - 1);
+            pos += length;
+            anyTag = true;
+            return true;
+        }
+    }
+
+    /** Length of the tag at {@code pos}, up to and including the {@code >} outside quotes. */
+    private int tagLength() throws IOException {
+        byte quote = 0;
+        int i = pos + 1;
+        while (true) {
+            if (i >= limit) {
+                int offset = i - pos;
+                if (!ensure(offset + 1)) throw malformed("unterminated tag");
+                i = pos + offset;
+            }
+            byte b = buf[i];
+            if (quote != 0) {
+                if (b == quote) quote = 0;
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                return i + 1 - pos;
+            }
+            i++;
+        }
+    }
+
+    /** Parses the complete tag in {@code buf[start..end]}, where {@code end} is its {@code >}. */
+    private void parseTag(int start, int end) {
+        int i = start + 1;
+        boolean closing = buf[i] == '/';
+        if (closing) i++;
+        int nameStart = i;
+        while (i < end && !isSpace(buf[i]) && buf[i] != '/') {
+            if (buf[i] == ':') nameStart = i + 1;
+            i++;
+        }
+        tagName = name(nameStart, i);
+        tagKind = closing ? END : buf[end - 1] == '/' ? EMPTY : START;
+        if (closing || (tagName != ROW && tagName != C)) return;
+
+        boolean hasRef = false;
+        if (tagName == C) {
+            type = null;
+            style = -1;
+        }
+        while (i < end) {
+            while (i < end && isSpace(buf[i])) i++;
+            if (i >= end || buf[i] == '/') break;
+            int attrStart = i;
+            while (i < end && buf[i] != '=' && !isSpace(buf[i])) i++;
+            int attrEnd = i;
+            while (i < end && buf[i] != '"' && buf[i] != '\'') i++;
+            if (i >= end) throw malformed("attribute without a value");
+            byte quote = buf[i++];
+            int valueStart = i;
+            while (i < end && buf[i] != quote) i++;
+            int valueEnd = i++;
+            if (attrEnd - attrStart != 1) continue;
+            byte attr = buf[attrStart];
+            if (attr == 'r') {
+                hasRef = true;
+                if (tagName == ROW) rowNumber = digits(valueStart, valueEnd);
+                else column = letters(valueStart, valueEnd);
+            } else if (tagName == C && attr == 't') {
+                type = type(valueStart, valueEnd);
+            } else if (tagName == C && attr == 's') {
+                style = digits(valueStart, valueEnd);
+            }
+        }
+        if (!hasRef) {
+            if (tagName == ROW) rowNumber++;
+            else column++;
+        }
+    }
+
+    private int name(int start, int end) {
+        int length = end - start;
+        if (length == 1) {
+            switch (buf[start]) {
+                case 'c': return C;
+                case 'v': return V;
+                case 't': return T;
+                default:  return OTHER;
+            }
+        }
+        if (length == 3) {
+            if (buf[start] == 'r' && buf[start + 1] == 'o' && buf[start + 2] == 'w') return ROW;
+            if (buf[start] == 'r' && buf[start + 1] == 'P' && buf[start + 2] == 'h') return RPH;
+        }
+        return OTHER;
+    }
+
+    private String type(int start, int end) {
+        int length = end - start;
+        if (length == 1) {
+            switch (buf[start]) {
+                case 's': return "s";
+                case 'n': return "n";
+                case 'b': return "b";
+                case 'e': return "e";
+                case 'd': return "d";
+                default:  break;
+            }
+        }
+        String value = new String(buf, start, length, StandardCharsets.UTF_8);
+        if (value.equals("inlineStr")) return "inlineStr";
+        if (value.equals("str")) return "str";
+        return value;
+    }
+
+    private int digits(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buf[i];
+            if (b < '0' || b > '9') throw malformed("not a number: " + new String(buf, start, end - start, StandardCharsets.UTF_8));
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /** 0-based column of a reference such as {@code AB12}. */
+    private int letters(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buf[i];
+            if (b < 'A' || b > 'Z') break;
+            value = value * 26 + (b - 'A' + 1);
+        }
+        return value - 1;
+    }
+
+    // --- text ---
+
+    /** Appends the text up to the next tag to {@link #text}, decoding entities and CDATA. */
+    private void readText() throws IOException {
+        while (true) {
+            if (pos >= limit && !ensure(1)) throw malformed("unexpected end of input");
+            byte b = buf[pos];
+            if (b == '<') {
+                if (!startsWith(CDATA_OPEN)) return;
+                pos += CDATA_OPEN.length;
+                while (!startsWith(CDATA_CLOSE)) {
+                    if (!ensure(1)) throw malformed("unterminated CDATA");
+                    append(buf[pos++]);
+                }
+                pos += CDATA_CLOSE.length;
+            } else if (b == '&') {
+                entity();
+            } else if (b == '\r') {
+                // XML line-end handling: \r\n and lone \r become \n
+                append((byte) '\n');
+                pos++;
+                if (ensure(1) && buf[pos] == '\n') pos++;
+            } else {
+                append(b);
+                pos++;
+            }
+        }
+    }
+
+    private void entity() throws IOException {
+        int length = 1;
+        while (true) {
+            if (!ensure(length + 1) || length > 12) {
+                // not an entity reference; keep the ampersand as text
+                append((byte) '&');
+                pos++;
+                return;
+            }
+            if (buf[pos + length] == ';') break;
+            length++;
+        }
+        int start = pos + 1;
+        int end = pos + length;
+        int codePoint = -1;
+        if (buf[start] == '#') {
+            try {
+                String number = new String(buf, start + 1, end - start - 1, StandardCharsets.US_ASCII);
+                codePoint = number.startsWith("x") ? Integer.parseInt(number.substring(1), 16) : Integer.parseInt(number);
+            } catch (NumberFormatException e) {
+                codePoint = -1;
+            }
+        } else {
+            String name = new String(buf, start, end - start, StandardCharsets.US_ASCII);
+            switch (name) {
+                case "lt":   codePoint = '<'; break;
+                case "gt":   codePoint = '>'; break;
+                case "amp":  codePoint = '&'; break;
+                case "quot": codePoint = '"'; break;
+                case "apos": codePoint = '\''; break;
+                default:     break;
+            }
+        }
+        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+            append((byte) '&');
+            pos++;
+            return;
+        }
+        byte[] utf8 = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+        for (byte b : utf8) append(b);
+        pos = end + 1;
+    }
+
+    private void append(byte b) {
+        if (textLength == text.length) text = Arrays.copyOf(text, text.length * 2);
+        text[textLength++] = b;
+    }
+
+    // --- buffer ---
+
+    /** Advances {@code pos} to the next {@code b}; false if the input ends first. */
+    private boolean skipTo(byte b) throws IOException {
+        while (true) {
+            for (int i = pos; i < limit; i++) {
+                if (buf[i] == b) {
+                    pos = i;
+                    return true;
+                }
+            }
+            pos = limit;
+            if (!ensure(1)) return false;
+        }
+    }
+
+    /** Advances {@code pos} past the next occurrence of {@code sequence}. */
+    private void skipPast(byte[] sequence) throws IOException {
+        while (!startsWith(sequence)) {
+            if (!ensure(1)) throw malformed("unexpected end of input");
+            pos++;
+        }
+        pos += sequence.length;
+    }
+
+    private boolean startsWith(byte[] sequence) throws IOException {
+        if (!ensure(sequence.length)) return false;
+        for (int i = 0; i < sequence.length; i++) {
+            if (buf[pos + i] != sequence[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Makes at least {@code n} bytes available from {@code pos}, moving the
+     * unread bytes to the front of the buffer. False if the input ends first.
+     */
+    private boolean ensure(int n) throws IOException {
+        if (limit - pos >= n) return true;
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (n > buf.length) buf = Arrays.copyOf(buf, Math.max(n, buf.length * 2));
+        while (limit < n) {
+            int read = in.read(buf, limit, buf.length - limit);
+            if (read < 0) return false;
+            limit += read;
+        }
+        return true;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private IllegalStateException malformed(String detail) {
+        return new IllegalStateException("Malformed worksheet near row " + rowNumber + ": " + detail);
+    }
+}
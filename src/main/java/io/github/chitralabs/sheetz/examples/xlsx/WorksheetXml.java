@@ -0,0 +1,83 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The worksheet XML shared by the sheet writers: the sheet start with frozen
+ * header and column widths, rows, and numeric, text and boolean cells.
+ * Cell references are passed as column letters and row number separately,
+ * so callers can precompute both.
+ */
+final class WorksheetXml {
+
+    private WorksheetXml() {}
+
+    /** Writes everything up to and including {@code <sheetData>}. */
+    static void begin(Writer out, int[] widths, boolean freezeHeader) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        if (freezeHeader) {
+            out.write("<sheetViews><sheetView workbookViewId=\"0\">"
+                    + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+                    + "</sheetView></sheetViews>");
+        }
+        boolean anyWidth = false;
+        for (int width : widths) anyWidth |= width > 0;
+        if (anyWidth) {
+            out.write("<cols>");
+            for (int i = 0; i < widths.length; i++) {
+                if (widths[i] <= 0) continue;
+                String column = Integer.toString(i + 1);
+                out.write("<col min=\"" + column + "\" max=\"" + column + "\" width=\"" + widths[i] + "\" customWidth=\"1\"/>");
+            }
+            out.write("</cols>");
+        }
+        out.write("<sheetData>");
+    }
+
+    static void end(Writer out) throws IOException {
+        out.write("</sheetData></worksheet>");
+    }
+
+    static void startRow(Writer out, String rowNumber) throws IOException {
+        out.write("<row r=\"");
+        out.write(rowNumber);
+        out.write("\">");
+    }
+
+    static void endRow(Writer out) throws IOException {
+        out.write("</row>");
+    }
+
+    static void numeric(Writer out, String column, String row, String number, int style) throws IOException {
+        start(out, column, row, style);
+        out.write("\"><v>");
+        out.write(number);
+        out.write("</v></c>");
+    }
+
+    static void text(Writer out, String column, String row, String text, int style) throws IOException {
+        start(out, column, row, style);
+        out.write(XmlText.needsPreserve(text) ? "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">" : "\" t=\"inlineStr\"><is><t>");
+        XmlText.escape(out, text);
+        out.write("</t></is></c>");
+    }
+
+    static void bool(Writer out, String column, String row, boolean value) throws IOException {
+        start(out, column, row, StyleTable.DEFAULT);
+        out.write("\" t=\"b\"><v>");
+        out.write(value ? '1' : '0');
+        out.write("</v></c>");
+    }
+
+    private static void start(Writer out, String column, String row, int style) throws IOException {
+        out.write("<c r=\"");
+        out.write(column);
+        out.write(row);
+        if (style != StyleTable.DEFAULT) {
+            out.write("\" s=\"");
+            out.write(Integer.toString(style));
+        }
+    }
+}
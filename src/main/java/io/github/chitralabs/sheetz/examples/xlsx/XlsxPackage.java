@@ -0,0 +1,105 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The fixed parts of an XLSX package: content types, relationships, the
+ * workbook with its sheet list, and the style table. Worksheet parts are
+ * written separately under {@link #sheetEntry(int)}.
+ *
+ * Zip readers find parts through the central directory, so these can be
+ * written after the worksheets, once the sheet names are known.
+ */
+final class XlsxPackage {
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PACKAGE_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    /** Excel's limit on rows per sheet, header included. */
+    static final int MAX_ROWS = 1_048_576;
+
+    private XlsxPackage() {}
+
+    /** Zip entry name of the worksheet at {@code index} (0-based). */
+    static String sheetEntry(int index) {
+        return "xl/worksheets/sheet" + (index + 1) + ".xml";
+    }
+
+    /**
+     * Writes every part except the worksheets.
+     */
+    static void writeParts(ZipOutputStream zip, List<String> sheetNames, StyleTable styles) throws IOException {
+        for (Map.Entry<String, String> part : parts(sheetNames, styles).entrySet()) {
+            zip.putNextEntry(new ZipEntry(part.getKey()));
+            zip.write(part.getValue().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * Every part except the worksheets, by entry name.
+     */
+    static Map<String, String> parts(List<String> sheetNames, StyleTable styles) {
+        Map<String, String> parts = new LinkedHashMap<>();
+        StringBuilder types = new StringBuilder(XML_HEADER)
+            .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+            .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+            .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            types.append("<Override PartName=\"/").append(sheetEntry(i))
+                 .append("\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        types.append("</Types>");
+        parts.put("[Content_Types].xml", types.toString());
+
+        parts.put("_rels/.rels", XML_HEADER
+            + "<Relationships xmlns=\"" + PACKAGE_REL_NS + "\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>");
+
+        StringBuilder workbook = new StringBuilder(XML_HEADER)
+            .append("<workbook xmlns=\"").append(MAIN_NS).append("\" xmlns:r=\"").append(REL_NS).append("\"><sheets>");
+        StringBuilder rels = new StringBuilder(XML_HEADER)
+            .append("<Relationships xmlns=\"").append(PACKAGE_REL_NS).append("\">");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            workbook.append("<sheet name=\"");
+            XmlText.escape(workbook, sheetNames.get(i));
+            workbook.append("\" sheetId=\"").append(i + 1).append("\" r:id=\"rId").append(i + 1).append("\"/>");
+            rels.append("<Relationship Id=\"rId").append(i + 1).append("\" Type=\"").append(REL_NS)
+                .append("/worksheet\" Target=\"worksheets/sheet").append(i + 1).append(".xml\"/>");
+        }
+        workbook.append("</sheets></workbook>");
+        rels.append("<Relationship Id=\"rId").append(sheetNames.size() + 1).append("\" Type=\"").append(REL_NS)
+            .append("/styles\" Target=\"styles.xml\"/>");
+        rels.append("</Relationships>");
+        parts.put("xl/workbook.xml", workbook.toString());
+        parts.put("xl/_rels/workbook.xml.rels", rels.toString());
+        parts.put("xl/styles.xml", styles.xml());
+        return parts;
+    }
+
+    /**
+     * Checks a sheet name against Excel's rules: 1 to 31 characters, none of {@code []:*?/\}.
+     */
+    static String checkSheetName(String name) {
+        if (name == null || name.isEmpty() || name.length() > 31) {
+            throw new IllegalArgumentException("Sheet name must be 1 to 31 characters: " + name);
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if ("[]:*?/\\".indexOf(name.charAt(i)) >= 0) {
+                throw new IllegalArgumentException("Sheet name cannot contain " + name.charAt(i) + ": " + name);
+            }
+        }
+        return name;
+    }
+}
@@ -0,0 +1,226 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes rows of cell text straight into an XLSX file, for converters that
+ * never map rows onto a model. Nothing is buffered beyond the zip stream.
+ *
+ * Each cell gets the type its text suggests, so a CSV round trip keeps its
+ * types: plain numbers become numeric cells, {@code true}/{@code false}
+ * booleans, ISO dates ({@code 2024-03-15}, {@code 2024-03-15T10:30:00}) date
+ * cells, and everything else text. Numbers with leading zeros or more than
+ * 15 digits stay text, since Excel would change them. Like
+ * {@link StreamingXlsxWriter}, a full sheet continues on {@code "Sheet (2)"}
+ * with the header repeated.
+ */
+public final class XlsxRowWriter implements AutoCloseable {
+
+    /** Excel keeps 15 significant digits. */
+    private static final int MAX_DIGITS = 15;
+
+    private final String sheetName;
+    private final String[] header;
+    private final StyleTable styles = new StyleTable();
+    private final List<String> sheetNames = new ArrayList<>();
+    private final ZipOutputStream zip;
+    private final List<String> columns = new ArrayList<>();
+
+    private Writer out;
+    private int row;
+    private String rowNumber;
+    private long rowCount;
+    private boolean closed;
+
+    private XlsxRowWriter(Path file, String sheetName, String[] header) throws IOException {
+        this.sheetName = XlsxPackage.checkSheetName(sheetName);
+        this.header = header == null ? null : header.clone();
+        this.zip = StreamingXlsxWriter.openZip(file, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Opens {@code file} for writing. A non-null {@code header} is written in
+     * bold as the first row of every sheet, and frozen.
+     */
+    public static XlsxRowWriter open(Path file, String sheetName, String[] header) {
+        try {
+            return new XlsxRowWriter(file, sheetName, header);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Adds one row; {@code null} and empty cells are left blank. */
+    public void write(String[] cells) {
+        if (closed) throw new IllegalStateException("Writer is closed");
+        try {
+            if (out == null || row >= XlsxPackage.MAX_ROWS) {
+                if (out != null) finishSheet();
+                startSheet();
+            }
+            startRow();
+            for (int i = 0; i < cells.length; i++) {
+                cell(i, cells[i]);
+            }
+            WorksheetXml.endRow(out);
+            rowCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Data rows written so far, across all sheets. */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        try {
+            if (out == null) startSheet();
+            finishSheet();
+            XlsxPackage.writeParts(zip, sheetNames, styles);
+            zip.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closed = true;
+            StreamingXlsxWriter.closeQuietly(zip);
+        }
+    }
+
+    private void startSheet() throws IOException {
+        int index = sheetNames.size();
+        sheetNames.add(index == 0 ? sheetName : StreamingXlsxWriter.continuationName(sheetName, index + 1));
+        zip.putNextEntry(new ZipEntry(XlsxPackage.sheetEntry(index)));
+        out = new BufferedWriter(new OutputStreamWriter(new StreamingXlsxWriter.EntryStream(zip), StandardCharsets.UTF_8), 1 << 16);
+        row = 0;
+        WorksheetXml.begin(out, new int[0], header != null);
+        if (header != null) {
+            startRow();
+            for (int i = 0; i < header.length; i++) {
+                if (header[i] != null) {
+                    WorksheetXml.text(out, column(i), rowNumber, header[i], StyleTable.HEADER);
+                }
+            }
+            WorksheetXml.endRow(out);
+        }
+    }
+
+    private void finishSheet() throws IOException {
+        WorksheetXml.end(out);
+        out.close();
+    }
+
+    private void startRow() throws IOException {
+        rowNumber = Integer.toString(++row);
+        WorksheetXml.startRow(out, rowNumber);
+    }
+
+    private void cell(int i, String text) throws IOException {
+        if (text == null || text.isEmpty()) return;
+        String column = column(i);
+        if (isNumber(text)) {
+            WorksheetXml.numeric(out, column, rowNumber, text, StyleTable.DEFAULT);
+        } else if (text.equals("true") || text.equals("false")) {
+            WorksheetXml.bool(out, column, rowNumber, text.equals("true"));
+        } else if (text.length() == 10 && isIsoDate(text)) {
+            LocalDate date = parseDate(text);
+            if (date != null) {
+                WorksheetXml.numeric(out, column, rowNumber, Long.toString(date.toEpochDay() + SheetWriter.EPOCH_SERIAL), StyleTable.DATE);
+            } else {
+                WorksheetXml.text(out, column, rowNumber, text, StyleTable.DEFAULT);
+            }
+        } else if (text.length() >= 19 && isIsoDate(text) && (text.charAt(10) == 'T' || text.charAt(10) == ' ')) {
+            LocalDateTime dateTime = parseDateTime(text);
+            if (dateTime != null) {
+                WorksheetXml.numeric(out, column, rowNumber, Double.toString(SheetWriter.serial(dateTime)), StyleTable.DATE_TIME);
+            } else {
+                WorksheetXml.text(out, column, rowNumber, text, StyleTable.DEFAULT);
+            }
+        } else {
+            WorksheetXml.text(out, column, rowNumber, text, StyleTable.DEFAULT);
+        }
+    }
+
+    private String column(int i) {
+        while (columns.size() <= i) {
+            columns.add(SheetWriter.columnName(columns.size()));
+        }
+        return columns.get(i);
+    }
+
+    /**
+     * A number Excel stores exactly as written: optional minus, no leading
+     * zeros, at most 15 digits, optional fraction and exponent.
+     */
+    static boolean isNumber(String s) {
+        int i = 0;
+        int n = s.length();
+        if (i < n && s.charAt(i) == '-') i++;
+        int intStart = i;
+        while (i < n && isDigit(s.charAt(i))) i++;
+        int intDigits = i - intStart;
+        if (intDigits == 0 || (intDigits > 1 && s.charAt(intStart) == '0')) return false;
+        int digits = intDigits;
+        if (i < n && s.charAt(i) == '.') {
+            int fracStart = ++i;
+            while (i < n && isDigit(s.charAt(i))) i++;
+            if (i == fracStart) return false;
+            digits += i - fracStart;
+        }
+        if (digits > MAX_DIGITS) return false;
+        if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) i++;
+            int expStart = i;
+            while (i < n && isDigit(s.charAt(i))) i++;
+            if (i == expStart || i - expStart > 3) return false;
+        }
+        return i == n;
+    }
+
+    /** {@code yyyy-MM-dd} at the start of {@code s}, by shape only. */
+    private static boolean isIsoDate(String s) {
+        for (int i = 0; i < 10; i++) {
+            char c = s.charAt(i);
+            if (i == 4 || i == 7 ? c != '-' : !isDigit(c)) return false;
+        }
+        return true;
+    }
+
+    private static LocalDate parseDate(String text) {
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String text) {
+        try {
+            return LocalDateTime.parse(text.charAt(10) == ' ' ? text.substring(0, 10) + 'T' + text.substring(11) : text);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
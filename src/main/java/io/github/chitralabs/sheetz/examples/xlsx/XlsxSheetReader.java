@@ -0,0 +1,712 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Row-at-a-time access to the cell text of one XLSX worksheet, scanned
+ * straight from the inflated bytes (see {@link WorksheetScanner}) so memory
+ * stays flat however many rows the sheet has. Only the shared-string table is
+ * held in memory, and only the selected sheet's zip entry is ever inflated.
+ *
+ * With a {@link Projection}, cells outside the chosen columns are skipped
+ * without being decoded. If the shared-string table is large, the sheet is
+ * pre-scanned and only the strings the chosen columns use are loaded.
+ *
+ * The shared-string table is kept where {@link Builder#sharedStrings} says:
+ * on the heap by default, or encoded off-heap or in a mapped temp file, so
+ * that workbooks with millions of distinct strings read with bounded heap.
+ *
+ * Cells come back as the text a user would see in a CSV export: shared and
+ * inline strings as-is, numbers as stored, booleans as {@code true}/{@code false},
+ * and date-formatted numbers rendered with their cell format where it maps
+ * onto a Java pattern ({@code dd/mm/yyyy}), otherwise as ISO dates. Names of
+ * months and days come out in English whatever the JVM's locale. Elapsed-time
+ * formats such as {@code [h]:mm:ss} keep the stored number.
+ *
+ * <pre>
+ * try (XlsxSheetReader reader = XlsxSheetReader.open(path, "Products")) {
+ *     while (reader.next()) {
+ *         String[] cells = reader.toArray();
+ *     }
+ * }
+ *
+ * try (XlsxSheetReader reader = XlsxSheetReader.of(path)
+ *         .sheet("Products")
+ *         .sharedStrings(SharedStringsStore.TEMP_FILE)
+ *         .open()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class XlsxSheetReader implements AutoCloseable {
+
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final XMLInputFactory XML = xmlInputFactory();
+    /** Above this uncompressed size, a projected read loads only the shared strings it uses. */
+    private static final long FILTER_STRINGS_ABOVE = 1 << 20;
+
+    private final ZipFile zip;
+    private final ZipEntry sheetEntry;
+    private final Projection projection;
+    private final SharedStringsStore store;
+    private final int stringCache;
+    /** Shared strings by index; entries a projected read does not use are null or empty. */
+    private SharedStrings sharedStrings;
+    /** Per cellXfs index: the date format, {@link DateFormat#ISO} for built-in dates, or null if not a date. */
+    private final DateFormat[] dateFormats;
+    private final WorksheetScanner sheet;
+    /** Columns to read, decided from the header row; null when not projected or before the header. */
+    private boolean[] projected;
+    private int headerRow;
+
+    private String[] cells = new String[16];
+    private int width;
+    private int rowNumber;
+    private boolean finished;
+
+    private XlsxSheetReader(Builder builder) throws IOException, XMLStreamException {
+        Path file = builder.file;
+        this.zip = new ZipFile(file.toFile());
+        try {
+            Map<String, String> sheets = sheets(zip);
+            if (sheets.isEmpty()) throw new IllegalArgumentException("No sheets in " + file);
+            String entry = builder.sheet == null ? sheets.values().iterator().next() : sheets.get(builder.sheet);
+            if (entry == null) throw new IllegalArgumentException("No sheet '" + builder.sheet + "' in " + file + ", found " + sheets.keySet());
+            this.sheetEntry = required(zip, entry);
+            this.projection = builder.projection;
+            this.store = builder.store;
+            this.stringCache = builder.stringCache;
+            this.dateFormats = dateFormats(zip);
+            ZipEntry strings = zip.getEntry("xl/sharedStrings.xml");
+            boolean large = strings != null && (strings.getSize() < 0 || strings.getSize() > FILTER_STRINGS_ABOVE);
+            this.sharedStrings = projection != null && large ? projectedStrings() : sharedStrings(store, null);
+            this.sheet = new WorksheetScanner(zip.getInputStream(sheetEntry));
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            if (sharedStrings != null) sharedStrings.close();
+            zip.close();
+            throw e;
+        }
+    }
+
+    /** Reads the first sheet. */
+    public static XlsxSheetReader open(Path file) {
+        return open(file, null);
+    }
+
+    /** Reads the sheet called {@code sheetName}; {@code null} means the first sheet. */
+    public static XlsxSheetReader open(Path file, String sheetName) {
+        return open(file, sheetName, null);
+    }
+
+    /**
+     * Reads only the columns {@code projection} includes. Cells keep their
+     * positions; the others read as empty, in the header row too.
+     */
+    public static XlsxSheetReader open(Path file, String sheetName, Projection projection) {
+        return of(file).sheet(sheetName).projection(projection).open();
+    }
+
+    /** A reader with more settings than the {@code open} shortcuts take. */
+    public static Builder of(Path file) {
+        return new Builder(file);
+    }
+
+    /** Settings for an {@link XlsxSheetReader}. */
+    public static final class Builder {
+        private final Path file;
+        private String sheet;
+        private Projection projection;
+        private SharedStringsStore store = SharedStringsStore.ON_HEAP;
+        private int stringCache = SharedStrings.DEFAULT_CACHE;
+
+        private Builder(Path file) {
+            this.file = file;
+        }
+
+        /** The sheet to read; {@code null}, the default, means the first sheet. */
+        public Builder sheet(String name) {
+            this.sheet = name;
+            return this;
+        }
+
+        /** Reads only the columns {@code projection} includes; see {@link #open(Path, String, Projection)}. */
+        public Builder projection(Projection projection) {
+            this.projection = projection;
+            return this;
+        }
+
+        /** Where the shared-string table is kept. Default {@link SharedStringsStore#ON_HEAP}. */
+        public Builder sharedStrings(SharedStringsStore store) {
+            this.store = store == null ? SharedStringsStore.ON_HEAP : store;
+            return this;
+        }
+
+        /**
+         * Decoded strings an off-heap or temp-file table keeps on the heap,
+         * least recently used first out; 0 decodes on every lookup. Default 1024.
+         */
+        public Builder stringCache(int strings) {
+            if (strings < 0) throw new IllegalArgumentException("stringCache must not be negative");
+            this.stringCache = strings;
+            return this;
+        }
+
+        public XlsxSheetReader open() {
+            try {
+                return new XlsxSheetReader(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (XMLStreamException e) {
+                throw new IllegalArgumentException("Malformed workbook " + file, e);
+            }
+        }
+    }
+
+    /** Sheet names in workbook order. */
+    public static List<String> sheetNames(Path file) {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            return new ArrayList<>(sheets(zip).keySet());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Malformed workbook " + file, e);
+        }
+    }
+
+    /** Advances to the next row that has at least one cell. */
+    public boolean next() {
+        if (finished) return false;
+        try {
+            while (sheet.nextRow()) {
+                rowNumber = sheet.rowNumber();
+                readRow();
+                if (projection != null && projected == null && width > 0) {
+                    projected = project(cells, width);
+                    headerRow = rowNumber;
+                    clearUnprojected();
+                }
+                if (width > 0 || rowNumber == headerRow) return true;
+            }
+            finished = true;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Excel's 1-based number of the current row. */
+    public int rowNumber() {
+        return rowNumber;
+    }
+
+    /** Cells up to the last non-empty one in the current row. */
+    public int width() {
+        return width;
+    }
+
+    /** Text of cell {@code i} (0-based) in the current row, or {@code null} if empty. */
+    public String cell(int i) {
+        return i < width ? cells[i] : null;
+    }
+
+    /** The current row's cells, copied into a new array. */
+    public String[] toArray() {
+        return Arrays.copyOf(cells, width);
+    }
+
+    @Override
+    public void close() {
+        try {
+            sheet.close();
+        } catch (IOException ignored) {
+            // closing the zip below releases everything
+        }
+        try {
+            sharedStrings.close();
+        } catch (IOException ignored) {
+            // a temp file that cannot be deleted now is deleted on exit
+        }
+        try {
+            zip.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readRow() throws IOException {
+        Arrays.fill(cells, 0, width, null);
+        width = 0;
+        while (sheet.nextCell()) {
+            int column = sheet.column();
+            if (column < 0 || (projected != null && (column >= projected.length || !projected[column]))) {
+                sheet.skipCell();
+                continue;
+            }
+            String text = text(sheet.type(), sheet.style(), sheet.content());
+            if (text == null || text.isEmpty()) continue;
+            if (column >= cells.length) cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length * 2));
+            cells[column] = text;
+            width = Math.max(width, column + 1);
+        }
+    }
+
+    /** Which of the header's columns the projection includes. */
+    private boolean[] project(String[] header, int headerWidth) {
+        boolean[] include = new boolean[headerWidth];
+        for (int i = 0; i < headerWidth; i++) {
+            include[i] = projection.includes(i, header[i]);
+        }
+        return include;
+    }
+
+    private void clearUnprojected() {
+        int last = 0;
+        for (int i = 0; i < width; i++) {
+            if (i >= projected.length || !projected[i]) cells[i] = null;
+            else if (cells[i] != null) last = i + 1;
+        }
+        width = last;
+    }
+
+    /** The cell text for a cell's type, style and content. */
+    private String text(String type, int style, String content) {
+        if (content == null) return null;
+        if (type == null || "n".equals(type)) return number(content, style);
+        switch (type) {
+            case "s": return sharedStrings.get(Integer.parseInt(content.trim()));
+            case "b": return "1".equals(content) ? "true" : "false";
+            default:  return content;   // inlineStr, str, e (error text), d (ISO date)
+        }
+    }
+
+    /**
+     * Pre-scans the sheet for the shared strings the projected columns use,
+     * and loads only those. The header row is resolved first, with just its
+     * own strings loaded, to decide the projection.
+     */
+    private SharedStrings projectedStrings() throws IOException, XMLStreamException {
+        BitSet used = new BitSet();
+        try (WorksheetScanner scan = new WorksheetScanner(zip.getInputStream(sheetEntry))) {
+            while (scan.nextRow()) {
+                if (projected == null) {
+                    scanHeader(scan, used);
+                } else {
+                    scanRow(scan, used);
+                }
+            }
+        }
+        if (sharedStrings != null) sharedStrings.close();
+        sharedStrings = null;
+        return sharedStrings(store, used);
+    }
+
+    /** Reads a header candidate; once a row has text, sets the projection from it. */
+    private void scanHeader(WorksheetScanner scan, BitSet used) throws IOException, XMLStreamException {
+        List<RawCell> raw = new ArrayList<>();
+        BitSet strings = new BitSet();
+        while (scan.nextCell()) {
+            RawCell cell = new RawCell(scan.column(), scan.type(), scan.style(), scan.content());
+            if (cell.column < 0 || cell.content == null) continue;
+            if ("s".equals(cell.type)) strings.set(Integer.parseInt(cell.content.trim()));
+            raw.add(cell);
+        }
+        if (raw.isEmpty()) return;
+        sharedStrings = sharedStrings(SharedStringsStore.ON_HEAP, strings);
+        String[] header = new String[0];
+        int headerWidth = 0;
+        for (RawCell cell : raw) {
+            String text = text(cell.type, cell.style, cell.content);
+            if (text == null || text.isEmpty()) continue;
+            if (cell.column >= header.length) header = Arrays.copyOf(header, Math.max(cell.column + 1, header.length * 2));
+            header[cell.column] = text;
+            headerWidth = Math.max(headerWidth, cell.column + 1);
+        }
+        if (headerWidth == 0) return;
+        projected = project(header, headerWidth);
+        headerRow = scan.rowNumber();
+        for (RawCell cell : raw) {
+            if ("s".equals(cell.type) && cell.column < projected.length && projected[cell.column]) {
+                used.set(Integer.parseInt(cell.content.trim()));
+            }
+        }
+    }
+
+    /** Adds the shared strings of the current row's projected cells to {@code used}. */
+    private void scanRow(WorksheetScanner scan, BitSet used) throws IOException {
+        while (scan.nextCell()) {
+            int column = scan.column();
+            if (column >= 0 && column < projected.length && projected[column] && "s".equals(scan.type())) {
+                String content = scan.content();
+                if (content != null) used.set(Integer.parseInt(content.trim()));
+            } else {
+                scan.skipCell();
+            }
+        }
+    }
+
+    /** A header cell as stored, before its shared string is loaded. */
+    private static final class RawCell {
+        final int column;
+        final String type;
+        final int style;
+        final String content;
+
+        RawCell(int column, String type, int style, String content) {
+            this.column = column;
+            this.type = type;
+            this.style = style;
+            this.content = content;
+        }
+    }
+
+    private String number(String value, int style) {
+        DateFormat format = style >= 0 && style < dateFormats.length ? dateFormats[style] : null;
+        if (format == null) return value;
+        double serial;
+        try {
+            serial = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return value;
+        }
+        long days = (long) Math.floor(serial);
+        long seconds = Math.round((serial - days) * 86_400);
+        LocalDateTime dateTime = LocalDate.ofEpochDay(days - SheetWriter.EPOCH_SERIAL).atStartOfDay().plusSeconds(seconds);
+        if (format.pattern != null) return format.pattern.format(dateTime);
+        return seconds == 0 ? dateTime.toLocalDate().toString() : DATE_TIME.format(dateTime);
+    }
+
+    // --- workbook parts ---
+
+    /** Sheet name to worksheet entry, in workbook order. */
+    private static Map<String, String> sheets(ZipFile zip) throws IOException, XMLStreamException {
+        Map<String, String> targets = new HashMap<>();
+        ZipEntry relsEntry = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (relsEntry != null) {
+            try (InputStream in = zip.getInputStream(relsEntry)) {
+                XMLStreamReader rels = XML.createXMLStreamReader(in);
+                while (rels.hasNext()) {
+                    if (rels.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(rels.getLocalName())) {
+                        targets.put(rels.getAttributeValue(null, "Id"), rels.getAttributeValue(null, "Target"));
+                    }
+                }
+                rels.close();
+            }
+        }
+        Map<String, String> sheets = new LinkedHashMap<>();
+        try (InputStream in = zip.getInputStream(required(zip, "xl/workbook.xml"))) {
+            XMLStreamReader workbook = XML.createXMLStreamReader(in);
+            int index = 0;
+            while (workbook.hasNext()) {
+                if (workbook.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(workbook.getLocalName())) {
+                    index++;
+                    String target = targets.get(workbook.getAttributeValue(REL_NS, "id"));
+                    String entry = target == null ? "xl/worksheets/sheet" + index + ".xml"
+                            : target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                    sheets.put(workbook.getAttributeValue(null, "name"), entry);
+                }
+            }
+            workbook.close();
+        }
+        return sheets;
+    }
+
+    /**
+     * The shared-string table, kept in {@code store}. With {@code wanted}, only
+     * those entries are decoded, the rest are null, and reading stops after
+     * the last wanted one.
+     */
+    private SharedStrings sharedStrings(SharedStringsStore store, BitSet wanted) throws IOException, XMLStreamException {
+        SharedStrings strings = SharedStrings.create(store, stringCache);
+        try {
+            load(strings, wanted);
+            strings.seal();
+            return strings;
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            strings.close();
+            throw e;
+        }
+    }
+
+    private void load(SharedStrings strings, BitSet wanted) throws IOException, XMLStreamException {
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null || (wanted != null && wanted.isEmpty())) return;
+        int end = wanted == null ? Integer.MAX_VALUE : wanted.length();
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader sst = XML.createXMLStreamReader(in);
+            StringBuilder text = new StringBuilder();
+            boolean keep = false;
+            boolean phonetic = false;
+            while (sst.hasNext() && strings.size() < end) {
+                int event = sst.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = sst.getLocalName();
+                    if ("si".equals(name)) {
+                        text.setLength(0);
+                        keep = wanted == null || wanted.get(strings.size());
+                    } else if ("rPh".equals(name)) {
+                        phonetic = true;
+                    } else if ("t".equals(name) && keep && !phonetic) {
+                        text.append(sst.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = sst.getLocalName();
+                    if ("si".equals(name)) strings.add(keep ? text.toString() : null);
+                    else if ("rPh".equals(name)) phonetic = false;
+                }
+            }
+            sst.close();
+        }
+    }
+
+    private static DateFormat[] dateFormats(ZipFile zip) throws IOException, XMLStreamException {
+        ZipEntry entry = zip.getEntry("xl/styles.xml");
+        if (entry == null) return new DateFormat[0];
+        Map<Integer, String> codes = new HashMap<>();
+        List<DateFormat> formats = new ArrayList<>();
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader styles = XML.createXMLStreamReader(in);
+            boolean cellXfs = false;
+            while (styles.hasNext()) {
+                int event = styles.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = styles.getLocalName();
+                    if ("numFmt".equals(name)) {
+                        codes.put(Integer.parseInt(styles.getAttributeValue(null, "numFmtId")),
+                                styles.getAttributeValue(null, "formatCode"));
+                    } else if ("cellXfs".equals(name)) {
+                        cellXfs = true;
+                    } else if (cellXfs && "xf".equals(name)) {
+                        String id = styles.getAttributeValue(null, "numFmtId");
+                        formats.add(DateFormat.of(id == null ? 0 : Integer.parseInt(id), codes));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "cellXfs".equals(styles.getLocalName())) {
+                    cellXfs = false;
+                }
+            }
+            styles.close();
+        }
+        return formats.toArray(new DateFormat[0]);
+    }
+
+    private static ZipEntry required(ZipFile zip, String name) {
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) throw new IllegalArgumentException("Not an XLSX workbook: missing " + name);
+        return entry;
+    }
+
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Chooses the columns a projected reader decodes. It is asked once per
+     * header cell; columns past the header's last cell are never decoded.
+     */
+    @FunctionalInterface
+    public interface Projection {
+        /**
+         * @param column 0-based column
+         * @param header the header cell's text, or null if it is empty
+         */
+        boolean includes(int column, String header);
+    }
+
+    /** How a date-formatted cell is rendered: with {@code pattern}, or ISO when it is null. */
+    static final class DateFormat {
+        static final DateFormat ISO = new DateFormat(null);
+
+        final DateTimeFormatter pattern;
+
+        private DateFormat(DateTimeFormatter pattern) {
+            this.pattern = pattern;
+        }
+
+        /** The date format of numFmtId {@code id}, or null if it is not a date format. */
+        static DateFormat of(int id, Map<Integer, String> codes) {
+            String code = codes.get(id);
+            if (code == null) {
+                // Built-in date and time formats; their rendering depends on Excel's locale
+                boolean date = (id >= 14 && id <= 22) || (id >= 45 && id <= 47);
+                return date ? ISO : null;
+            }
+            // A duration such as [h]:mm:ss runs past 24 hours; it reads as the stored number
+            if (isElapsed(code)) return null;
+            String cleaned = clean(code);
+            if (!isDate(cleaned)) return null;
+            String pattern = javaPattern(cleaned);
+            if (pattern == null) return ISO;
+            try {
+                // Names and AM/PM as in English Excel, whatever the JVM's locale;
+                // Locale.ROOT would shorten mmmm to Mar
+                return new DateFormat(DateTimeFormatter.ofPattern(pattern, Locale.US));
+            } catch (IllegalArgumentException e) {
+                return ISO;
+            }
+        }
+
+        /** The format code without quoted text, padding, colors and locale tags; first section only. */
+        static String clean(String code) {
+            StringBuilder out = new StringBuilder(code.length());
+            for (int i = 0; i < code.length(); i++) {
+                char c = code.charAt(i);
+                if (c == ';') break;
+                if (c == '"') {
+                    int close = code.indexOf('"', i + 1);
+                    i = close < 0 ? code.length() : close;
+                } else if (c == '\\') {
+                    // escaped literal, e.g. d\-mmm\-yy
+                    if (i + 1 < code.length()) out.append(code.charAt(++i));
+                } else if (c == '_' || c == '*') {
+                    i++;   // padding and fill take one character
+                } else if (c == '[') {
+                    int close = code.indexOf(']', i + 1);
+                    i = close < 0 ? code.length() : close;
+                } else {
+                    out.append(c);
+                }
+            }
+            return out.toString();
+        }
+
+        /** Whether the first section has an elapsed-time code: {@code [h]}, {@code [mm]} or {@code [ss]}. */
+        static boolean isElapsed(String code) {
+            for (int i = 0; i < code.length(); i++) {
+                char c = code.charAt(i);
+                if (c == ';') return false;
+                if (c == '"') {
+                    int close = code.indexOf('"', i + 1);
+                    if (close < 0) return false;
+                    i = close;
+                } else if (c == '\\') {
+                    i++;
+                } else if (c == '[') {
+                    int close = code.indexOf(']', i + 1);
+                    if (close < 0) return false;
+                    if (close > i + 1 && sameLetter(code, i + 1, close)) return true;
+                    i = close;
+                }
+            }
+            return false;
+        }
+
+        /** Whether {@code code} from {@code start} to {@code end} repeats one of h, m or s. */
+        private static boolean sameLetter(String code, int start, int end) {
+            char first = Character.toLowerCase(code.charAt(start));
+            if (first != 'h' && first != 'm' && first != 's') return false;
+            for (int k = start + 1; k < end; k++) {
+                if (Character.toLowerCase(code.charAt(k)) != first) return false;
+            }
+            return true;
+        }
+
+        private static boolean isDate(String cleaned) {
+            if (cleaned.equalsIgnoreCase("General")) return false;
+            for (int i = 0; i < cleaned.length(); i++) {
+                switch (Character.toLowerCase(cleaned.charAt(i))) {
+                    case 'y': case 'm': case 'd': case 'h': case 's':
+                        return true;
+                    default:
+                        break;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Excel date code to a Java pattern, or null if it uses something
+         * without a simple equivalent. An {@code m} run is minutes after an
+         * hour or before a seconds token, months otherwise.
+         */
+        static String javaPattern(String cleaned) {
+            String code = cleaned.toLowerCase(Locale.ROOT);
+            boolean twelveHour = code.contains("am/pm");
+            if (twelveHour) code = code.replace("am/pm", "\u0000");
+            StringBuilder pattern = new StringBuilder();
+            char previous = 0;
+            for (int i = 0; i < code.length(); ) {
+                char c = code.charAt(i);
+                int run = 1;
+                while (i + run < code.length() && code.charAt(i + run) == c) run++;
+                switch (c) {
+                    case 'y':
+                        append(pattern, 'y', run <= 2 ? 2 : 4);
+                        break;
+                    case 'd':
+                        if (run <= 2) append(pattern, 'd', run);
+                        else append(pattern, 'E', run == 3 ? 3 : 4);
+                        break;
+                    case 'h':
+                        append(pattern, twelveHour ? 'h' : 'H', Math.min(run, 2));
+                        break;
+                    case 's':
+                        append(pattern, 's', Math.min(run, 2));
+                        break;
+                    case 'm':
+                        if (previous == 'h' || nextToken(code, i + run) == 's') append(pattern, 'm', Math.min(run, 2));
+                        else append(pattern, 'M', Math.min(run, 4));
+                        break;
+                    case '\u0000':
+                        pattern.append('a');
+                        break;
+                    case '.':
+                        // fractional seconds, e.g. ss.000
+                        int digits = 0;
+                        while (i + 1 + digits < code.length() && code.charAt(i + 1 + digits) == '0') digits++;
+                        if (digits > 0) {
+                            pattern.append('.');
+                            append(pattern, 'S', digits);
+                            run = 1 + digits;
+                        } else {
+                            pattern.append('.');
+                        }
+                        break;
+                    case '-': case '/': case ' ': case ':': case ',':
+                        for (int k = 0; k < run; k++) pattern.append(c);
+                        break;
+                    default:
+                        return null;
+                }
+                if (Character.isLetter(c)) previous = c;
+                i += run;
+            }
+            return pattern.toString();
+        }
+
+        private static char nextToken(String code, int from) {
+            for (int i = from; i < code.length(); i++) {
+                char c = code.charAt(i);
+                if (Character.isLetter(c)) return c;
+            }
+            return 0;
+        }
+
+        private static void append(StringBuilder pattern, char letter, int count) {
+            for (int i = 0; i < count; i++) pattern.append(letter);
+        }
+    }
+}
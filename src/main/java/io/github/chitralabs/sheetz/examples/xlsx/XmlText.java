@@ -0,0 +1,71 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * XML escaping for cell text, attribute values and sheet names.
+ *
+ * Characters XML 1.0 cannot carry at all (most C0 controls) are dropped.
+ */
+final class XmlText {
+
+    private XmlText() {}
+
+    static void escape(Writer out, String text) throws IOException {
+        int length = text.length();
+        int clean = 0;
+        while (clean < length && !needsEscape(text.charAt(clean))) clean++;
+        if (clean == length) {
+            out.write(text);
+            return;
+        }
+        out.write(text, 0, clean);
+        for (int i = clean; i < length; i++) {
+            char c = text.charAt(i);
+            if (needsEscape(c)) {
+                String entity = entity(c);
+                if (entity != null) out.write(entity);
+            } else {
+                out.write(c);
+            }
+        }
+    }
+
+    static void escape(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (needsEscape(c)) {
+                String entity = entity(c);
+                if (entity != null) out.append(entity);
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    /** Whether Excel needs {@code xml:space="preserve"} to keep the text's outer whitespace. */
+    static boolean needsPreserve(String text) {
+        return !text.isEmpty() && (isSpace(text.charAt(0)) || isSpace(text.charAt(text.length() - 1)));
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean needsEscape(char c) {
+        return c == '<' || c == '>' || c == '&' || c == '"' || (c < 0x20 && c != '\t' && c != '\n' && c != '\r')
+                || c == 0xFFFE || c == 0xFFFF;
+    }
+
+    /** The entity for {@code c}, or {@code null} to drop it. */
+    private static String entity(char c) {
+        switch (c) {
+            case '<': return "&lt;";
+            case '>': return "&gt;";
+            case '&': return "&amp;";
+            case '"': return "&quot;";
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.chitralabs.sheetz.examples.xlsx;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a zip file from entries that are already deflated, in one sequential
+ * pass: local header, compressed bytes, and the central directory at the end.
+ *
+ * ZIP64 is not written; a workbook over 4 GB is rejected.
+ */
+final class ZipAssembler implements AutoCloseable {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int VERSION = 20;
+    private static final int DEFLATED = 8;
+    private static final int UTF8_NAMES = 1 << 11;
+    private static final long MAX_32 = 0xFFFFFFFFL;
+
+    private final OutputStream out;
+    private final List<byte[]> centralDirectory = new ArrayList<>();
+    private final int dosTime;
+    private final int dosDate;
+    private long offset;
+
+    ZipAssembler(OutputStream out) {
+        this.out = out;
+        LocalDateTime now = LocalDateTime.now();
+        this.dosTime = now.getHour() << 11 | now.getMinute() << 5 | now.getSecond() / 2;
+        this.dosDate = (Math.max(now.getYear(), 1980) - 1980) << 9 | now.getMonthValue() << 5 | now.getDayOfMonth();
+    }
+
+    /** Appends a part; its temp file is copied, not read into memory. */
+    void add(DeflatedPart part) throws IOException {
+        if (part.size() > MAX_32 || part.compressedSize() > MAX_32 || offset > MAX_32) {
+            throw new IllegalStateException("Workbook exceeds the 4 GB zip limit at " + part.name());
+        }
+        byte[] name = part.name().getBytes(StandardCharsets.UTF_8);
+
+        Header local = new Header(30 + name.length);
+        local.int32(LOCAL_HEADER).int16(VERSION).int16(UTF8_NAMES).int16(DEFLATED)
+             .int16(dosTime).int16(dosDate)
+             .int32(part.crc()).int32(part.compressedSize()).int32(part.size())
+             .int16(name.length).int16(0).bytes(name);
+        out.write(local.bytes);
+
+        Header central = new Header(46 + name.length);
+        central.int32(CENTRAL_HEADER).int16(VERSION).int16(VERSION).int16(UTF8_NAMES).int16(DEFLATED)
+               .int16(dosTime).int16(dosDate)
+               .int32(part.crc()).int32(part.compressedSize()).int32(part.size())
+               .int16(name.length).int16(0).int16(0).int16(0).int16(0).int32(0).int32(offset)
+               .bytes(name);
+        centralDirectory.add(central.bytes);
+
+        Files.copy(part.data(), out);
+        offset += local.bytes.length + part.compressedSize();
+    }
+
+    /** Writes the central directory and closes the output. */
+    @Override
+    public void close() throws IOException {
+        long start = offset;
+        long length = 0;
+        for (byte[] entry : centralDirectory) {
+            out.write(entry);
+            length += entry.length;
+        }
+        if (start + length > MAX_32 || centralDirectory.size() > 0xFFFF) {
+            throw new IllegalStateException("Workbook exceeds the zip format limits");
+        }
+        Header end = new Header(22);
+        end.int32(END_OF_CENTRAL_DIRECTORY).int16(0).int16(0)
+           .int16(centralDirectory.size()).int16(centralDirectory.size())
+           .int32(length).int32(start).int16(0);
+        out.write(end.bytes);
+        out.close();
+    }
+
+    /** Little-endian header bytes. */
+    private static final class Header {
+        final byte[] bytes;
+        int position;
+
+        Header(int length) {
+            bytes = new byte[length];
+        }
+
+        Header int16(int value) {
+            bytes[position++] = (byte) value;
+            bytes[position++] = (byte) (value >>> 8);
+            return this;
+        }
+
+        Header int32(long value) {
+            int16((int) value);
+            return int16((int) (value >>> 16));
+        }
+
+        Header bytes(byte[] value) {
+            System.arraycopy(value, 0, bytes, position, value.length);
+            position += value.length;
+            return this;
+        }
+    }
+}